@@ -0,0 +1,120 @@
+package edu.csudh.lsu.revops.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.csudh.lsu.revops.cache.CatalogWriter;
+import edu.csudh.lsu.revops.model.ActivityResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * The {@code CatalogSerializationBenchmark} class compares the ways the activity catalog can be written to a response.
+ * </p>
+ *
+ * <p>
+ * {@code responseEntity} is what a {@code ResponseEntity<List<ActivityResponse>>} costs: the
+ * {@code MappingJackson2HttpMessageConverter} binding the list reflectively on every request. {@code objectMapper} is
+ * the same binding without the converter, {@code catalogWriter} the {@link CatalogWriter} that replaces it when a
+ * payload is built, and {@code cachedBytes} what a request costs between two catalog writes, when the
+ * {@code CatalogPayloadCache} already holds the bytes. Each benchmark writes into a fresh output message or buffer.
+ * </p>
+ *
+ * <p>
+ * Run with {@code ./gradlew benchmark}; results are written to {@code build/reports/benchmark/results.json}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatalogSerializationBenchmark {
+
+    private static final Type ACTIVITY_LIST = new ParameterizedTypeReference<List<ActivityResponse>>() {
+    }.getType();
+
+    private static final String[] CATEGORIES = {"Billiards", "Bowling", "Table Tennis", "Video Games", "Board Games"};
+
+    // Size of the catalog
+    @Param({"50", "500"})
+    public int activities;
+
+    private ObjectMapper objectMapper;
+
+    private MappingJackson2HttpMessageConverter converter;
+
+    private List<ActivityResponse> catalog;
+
+    private byte[] cached;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        converter = new MappingJackson2HttpMessageConverter(objectMapper);
+        Random random = new Random(42);
+        catalog = new ArrayList<>(activities);
+        for (int index = 0; index < activities; index++) {
+            ActivityResponse activity = new ActivityResponse();
+            activity.setId(new UUID(random.nextLong(), random.nextLong()));
+            activity.setActivity("Activity " + index);
+            activity.setCategory(CATEGORIES[index % CATEGORIES.length]);
+            activity.setPrice(random.nextInt(2_000));
+            activity.setImageLocation(index % 4 == 0 ? null : "https://cdn.lsu.csudh.edu/activities/" + index + ".png");
+            activity.setVenue("game-room");
+            catalog.add(activity);
+        }
+        cached = catalogWriter();
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage responseEntity() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(catalog, ACTIVITY_LIST, MediaType.APPLICATION_JSON, message);
+        return message;
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws IOException {
+        return objectMapper.writeValueAsBytes(catalog);
+    }
+
+    @Benchmark
+    public byte[] catalogWriter() throws IOException {
+        ByteArrayBuilder buffer = new ByteArrayBuilder();
+        try (JsonGenerator generator = objectMapper.createGenerator(buffer)) {
+            CatalogWriter.writeActivities(generator, catalog);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage cachedBytes() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        message.getBody().write(cached);
+        return message;
+    }
+}
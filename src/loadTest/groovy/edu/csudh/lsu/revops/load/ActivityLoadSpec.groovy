@@ -0,0 +1,127 @@
+package edu.csudh.lsu.revops.load
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres
+import org.springframework.beans.factory.annotation.Autowired
+import org.springframework.boot.test.context.SpringBootTest
+import org.springframework.boot.test.web.server.LocalServerPort
+import org.springframework.test.context.ActiveProfiles
+import org.springframework.test.context.DynamicPropertyRegistry
+import org.springframework.test.context.DynamicPropertySource
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ThreadLocalRandom
+import java.util.function.Supplier
+
+/**
+ * Drives a mix of creates, PUTs, PATCHes and category reads through {@code ActivityController} at the arrival rates of
+ * {@code load-profile.yml} and fails when the results fall outside its thresholds.
+ *
+ * <p>
+ * The application runs on a random port against an embedded PostgreSQL server, so the numbers include HTTP, JSON,
+ * the transaction executor and real SQL, but not network latency to CockroachDB. Run it with {@code ./gradlew loadTest};
+ * the summary is also written to {@code build/reports/loadTest/summary.txt}.
+ * </p>
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles('loadtest')
+class ActivityLoadSpec extends Specification {
+
+    static final List<String> CATEGORIES = ['Bowling', 'Billiards', 'Table Tennis', 'Arcade', 'Board Games']
+
+    @Shared
+    static EmbeddedPostgres postgres = EmbeddedPostgres.start()
+
+    @LocalServerPort
+    int port
+
+    @Autowired
+    ObjectMapper objectMapper
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add('spring.datasource.url') { postgres.getJdbcUrl('postgres', 'postgres') }
+        registry.add('spring.datasource.username') { 'postgres' }
+        registry.add('spring.datasource.password') { '' }
+    }
+
+    def cleanupSpec() {
+        postgres.close()
+    }
+
+    def "sustains the configured arrival rates within the thresholds"() {
+        given:
+        LoadProfile profile = LoadProfile.load()
+        URI activities = URI.create("http://localhost:${port}/activities")
+        List<UUID> seeded = seed(activities, profile.seedActivities)
+
+        Map<String, Supplier<HttpRequest>> requests = [
+                create    : { json(HttpRequest.newBuilder(activities), 'POST', activity(UUID.randomUUID())) } as Supplier<HttpRequest>,
+                put       : {
+                    UUID id = pick(seeded)
+                    json(HttpRequest.newBuilder(activities.resolve("activities/${id}")), 'PUT', activity(id))
+                } as Supplier<HttpRequest>,
+                patch     : {
+                    json(HttpRequest.newBuilder(activities.resolve("activities/${pick(seeded)}")), 'PATCH',
+                            [price: ThreadLocalRandom.current().nextInt(1, 20)])
+                } as Supplier<HttpRequest>,
+                categories: { HttpRequest.newBuilder(activities.resolve('activities/categories')).GET().build() } as Supplier<HttpRequest>
+        ]
+
+        when:
+        Map<String, OperationStats> stats = new OpenModelLoadGenerator(profile, requests).run()
+        List<String> violations = stats.values().collectMany { it.violations(profile.thresholds[it.operation]) }
+        report(profile, stats, violations)
+
+        then:
+        violations.isEmpty()
+    }
+
+    private List<UUID> seed(URI activities, int count) {
+        HttpClient client = HttpClient.newHttpClient()
+        (1..count).collect {
+            UUID id = UUID.randomUUID()
+            HttpResponse<String> response = client.send(json(HttpRequest.newBuilder(activities), 'POST', activity(id)),
+                    HttpResponse.BodyHandlers.ofString())
+            assert response.statusCode() == 200: "Seeding failed: ${response.body()}"
+            id
+        }
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, Object body) {
+        builder.header('Content-Type', 'application/json')
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build()
+    }
+
+    private static Map<String, Object> activity(UUID id) {
+        ThreadLocalRandom random = ThreadLocalRandom.current()
+        [id           : id,
+         activity     : "Load ${id.toString().substring(0, 8)}".toString(),
+         category     : CATEGORIES[random.nextInt(CATEGORIES.size())],
+         price        : random.nextInt(1, 20),
+         imageLocation: "images/${id}.png".toString()]
+    }
+
+    private static UUID pick(List<UUID> ids) {
+        ids[ThreadLocalRandom.current().nextInt(ids.size())]
+    }
+
+    private static void report(LoadProfile profile, Map<String, OperationStats> stats, List<String> violations) {
+        List<String> lines = ["Open-model load test: ${profile.durationSeconds} s measured after ${profile.warmupSeconds} s warm-up".toString()]
+        lines.addAll(stats.values()*.summaryLine())
+        lines << (violations ? 'FAILED thresholds:' : 'All thresholds met.')
+        lines.addAll(violations.collect { "  ${it}".toString() })
+        println lines.join(System.lineSeparator())
+
+        Path reportDir = Path.of(System.getProperty('loadTest.reportDir', 'build/reports/loadTest'))
+        Files.createDirectories(reportDir)
+        Files.write(reportDir.resolve('summary.txt'), lines)
+    }
+}
@@ -0,0 +1,65 @@
+package edu.csudh.lsu.revops.load
+
+import groovy.transform.CompileStatic
+import org.yaml.snakeyaml.Yaml
+
+/**
+ * Load profile and thresholds read from {@code load-profile.yml}.
+ *
+ * <p>
+ * System properties named {@code loadTest.durationSeconds}, {@code loadTest.warmupSeconds} and
+ * {@code loadTest.rateMultiplier} override the file, so a longer or heavier run does not need a change in the repo.
+ * Thresholds can only be changed in the file.
+ * </p>
+ */
+@CompileStatic
+class LoadProfile {
+
+    static final String RESOURCE = 'load-profile.yml'
+
+    int durationSeconds
+    int warmupSeconds
+    int seedActivities
+    int maxInFlight
+    Map<String, Double> ratesPerSecond = [:]
+    Map<String, Threshold> thresholds = [:]
+
+    static LoadProfile load() {
+        InputStream stream = LoadProfile.classLoader.getResourceAsStream(RESOURCE)
+        if (stream == null) {
+            throw new IllegalStateException("${RESOURCE} is missing from the loadTest resources")
+        }
+        Map<String, Object> yaml = stream.withCloseable { new Yaml().load(it) as Map<String, Object> }
+
+        double rateMultiplier = Double.parseDouble(System.getProperty('loadTest.rateMultiplier', '1'))
+        LoadProfile profile = new LoadProfile(
+                durationSeconds: Integer.getInteger('loadTest.durationSeconds', yaml.durationSeconds as Integer),
+                warmupSeconds: Integer.getInteger('loadTest.warmupSeconds', yaml.warmupSeconds as Integer),
+                seedActivities: yaml.seedActivities as Integer,
+                maxInFlight: yaml.maxInFlight as Integer)
+        (yaml.operations as Map<String, Map<String, Object>>).each { String operation, Map<String, Object> settings ->
+            profile.ratesPerSecond[operation] = (settings.ratePerSecond as Double) * rateMultiplier
+        }
+        (yaml.thresholds as Map<String, Map<String, Object>>).each { String operation, Map<String, Object> limits ->
+            profile.thresholds[operation] = new Threshold(
+                    minThroughputRatio: limits.minThroughputRatio as Double,
+                    maxErrorRate: limits.maxErrorRate as Double,
+                    p50Ms: limits.p50Ms as Double,
+                    p99Ms: limits.p99Ms as Double,
+                    p999Ms: limits.p999Ms as Double)
+        }
+        profile
+    }
+
+    /**
+     * Regression gate for one operation.
+     */
+    @CompileStatic
+    static class Threshold {
+        double minThroughputRatio
+        double maxErrorRate
+        double p50Ms
+        double p99Ms
+        double p999Ms
+    }
+}
@@ -0,0 +1,125 @@
+package edu.csudh.lsu.revops.load
+
+import groovy.transform.CompileStatic
+import groovy.util.logging.Slf4j
+
+import java.net.http.HttpClient
+import java.net.http.HttpRequest
+import java.net.http.HttpResponse
+import java.time.Duration
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.concurrent.locks.LockSupport
+import java.util.function.Supplier
+
+/**
+ * Starts requests at fixed arrival rates and records their latency.
+ *
+ * <p>
+ * Each operation gets its own pacing thread which sends request {@code i} at {@code start + i / rate} without waiting
+ * for earlier responses, so the offered load stays the same however slow the service becomes. Latency is measured
+ * from the time a request was due rather than from when it was actually sent; a pacing thread that fell behind does
+ * not hide the delay (no coordinated omission). When {@code maxInFlight} requests are already outstanding a new
+ * arrival is counted as an error instead of being queued in the client.
+ * </p>
+ */
+@Slf4j
+@CompileStatic
+class OpenModelLoadGenerator {
+
+    private static final long DRAIN_TIMEOUT_SECONDS = 30
+
+    private final HttpClient httpClient
+    private final LoadProfile profile
+    private final Map<String, Supplier<HttpRequest>> requests
+    private final AtomicInteger inFlight = new AtomicInteger()
+    private final ExecutorService responseExecutor = Executors.newCachedThreadPool()
+
+    OpenModelLoadGenerator(LoadProfile profile, Map<String, Supplier<HttpRequest>> requests) {
+        this.profile = profile
+        this.requests = requests
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(responseExecutor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build()
+    }
+
+    /**
+     * Runs the warm-up and the measured phase and returns the statistics of the measured phase.
+     *
+     * @return statistics per operation
+     */
+    Map<String, OperationStats> run() {
+        long warmupNanos = TimeUnit.SECONDS.toNanos(profile.warmupSeconds)
+        long measuredNanos = TimeUnit.SECONDS.toNanos(profile.durationSeconds)
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100)
+        long measureFromNanos = startNanos + warmupNanos
+        long endNanos = measureFromNanos + measuredNanos
+
+        Map<String, OperationStats> stats = [:]
+        List<Thread> pacers = []
+        requests.each { String operation, Supplier<HttpRequest> request ->
+            double rate = profile.ratesPerSecond[operation]
+            OperationStats operationStats = new OperationStats(operation, rate, profile.durationSeconds)
+            stats[operation] = operationStats
+            Thread pacer = new Thread({ pace(request, rate, operationStats, startNanos, measureFromNanos, endNanos) },
+                    "load-${operation}")
+            pacer.start()
+            pacers << pacer
+        }
+        pacers.each { it.join() }
+        awaitDrain()
+        responseExecutor.shutdownNow()
+        stats
+    }
+
+    private void pace(Supplier<HttpRequest> request, double rate, OperationStats stats,
+                      long startNanos, long measureFromNanos, long endNanos) {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate
+        for (long i = 0; ; i++) {
+            long dueNanos = startNanos + (long) (i * intervalNanos)
+            if (dueNanos >= endNanos) {
+                return
+            }
+            long waitNanos = dueNanos - System.nanoTime()
+            if (waitNanos > 0) {
+                LockSupport.parkNanos(waitNanos)
+            }
+            boolean measured = dueNanos >= measureFromNanos
+            if (inFlight.incrementAndGet() > profile.maxInFlight) {
+                inFlight.decrementAndGet()
+                if (measured) {
+                    stats.recordError()
+                }
+                continue
+            }
+            httpClient.sendAsync(request.get(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete { HttpResponse<Void> response, Throwable failure ->
+                        long latencyNanos = System.nanoTime() - dueNanos
+                        inFlight.decrementAndGet()
+                        if (!measured) {
+                            return
+                        }
+                        if (failure == null && response.statusCode() < 400) {
+                            stats.recordSuccess(latencyNanos)
+                        } else {
+                            stats.recordError()
+                        }
+                    }
+        }
+    }
+
+    private void awaitDrain() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS)
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            new CountDownLatch(1).await(50, TimeUnit.MILLISECONDS)
+        }
+        if (inFlight.get() > 0) {
+            log.warn('{} requests still in flight after {} s; they are not counted.', inFlight.get(), DRAIN_TIMEOUT_SECONDS)
+        }
+    }
+}
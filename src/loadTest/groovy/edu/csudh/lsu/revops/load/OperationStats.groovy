@@ -0,0 +1,82 @@
+package edu.csudh.lsu.revops.load
+
+import groovy.transform.CompileStatic
+import org.HdrHistogram.ConcurrentHistogram
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Throughput, error and latency statistics of one operation during the measured phase.
+ */
+@CompileStatic
+class OperationStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2)
+
+    final String operation
+    final double targetRatePerSecond
+    final int durationSeconds
+
+    private final ConcurrentHistogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3)
+    private final AtomicLong successes = new AtomicLong()
+    private final AtomicLong errors = new AtomicLong()
+
+    OperationStats(String operation, double targetRatePerSecond, int durationSeconds) {
+        this.operation = operation
+        this.targetRatePerSecond = targetRatePerSecond
+        this.durationSeconds = durationSeconds
+    }
+
+    void recordSuccess(long latencyNanos) {
+        successes.incrementAndGet()
+        latencyMicros.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS))
+    }
+
+    void recordError() {
+        errors.incrementAndGet()
+    }
+
+    double throughputPerSecond() {
+        successes.get() / (double) durationSeconds
+    }
+
+    double errorRate() {
+        long total = successes.get() + errors.get()
+        total == 0 ? 0d : errors.get() / (double) total
+    }
+
+    double percentileMs(double percentile) {
+        latencyMicros.getValueAtPercentile(percentile) / 1000d
+    }
+
+    /**
+     * Compares the statistics with a threshold.
+     *
+     * @param threshold the gate for this operation
+     * @return a description of every limit that was exceeded; empty if the operation passed
+     */
+    List<String> violations(LoadProfile.Threshold threshold) {
+        List<String> violations = []
+        double minThroughput = targetRatePerSecond * threshold.minThroughputRatio
+        if (throughputPerSecond() < minThroughput) {
+            violations << String.format('%s throughput %.1f/s below %.1f/s', operation, throughputPerSecond(), minThroughput)
+        }
+        if (errorRate() > threshold.maxErrorRate) {
+            violations << String.format('%s error rate %.4f above %.4f', operation, errorRate(), threshold.maxErrorRate)
+        }
+        [(50d): threshold.p50Ms, (99d): threshold.p99Ms, (99.9d): threshold.p999Ms].each { double percentile, double limitMs ->
+            if (percentileMs(percentile) > limitMs) {
+                violations << String.format('%s p%s %.1f ms above %.1f ms',
+                        operation, percentile == 99.9d ? '999' : (int) percentile, percentileMs(percentile), limitMs)
+            }
+        }
+        violations
+    }
+
+    String summaryLine() {
+        String.format('%-12s target %7.1f/s  actual %7.1f/s  errors %6.4f  p50 %8.2f ms  p99 %8.2f ms  p999 %8.2f ms  max %8.2f ms',
+                operation, targetRatePerSecond, throughputPerSecond(), errorRate(),
+                percentileMs(50d), percentileMs(99d), percentileMs(99.9d), latencyMicros.maxValue / 1000d)
+    }
+}
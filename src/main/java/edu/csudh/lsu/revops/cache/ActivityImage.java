@@ -0,0 +1,36 @@
+package edu.csudh.lsu.revops.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+
+/**
+ * <p>
+ * The {@code ActivityImage} class describes one thumbnail stored on disk by {@code ActivityImageCache}.
+ * </p>
+ *
+ * <p>
+ * The ETag is derived from the bytes of the thumbnail, so it is a strong validator: two files with the same ETag are
+ * byte-for-byte identical, even across restarts and across nodes that fetched the same source image.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class ActivityImage {
+
+    private final String key;
+    private final Path path;
+    private final String eTag;
+    private final String contentType;
+    private final long size;
+}
@@ -0,0 +1,494 @@
+package edu.csudh.lsu.revops.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * <p>
+ * The {@code ActivityImageCache} class keeps resized activity images on local disk.
+ * </p>
+ *
+ * <p>
+ * The first request for an image location fetches the source once, scales it down to fit within
+ * {@code images.thumbnail.maxWidth} x {@code images.thumbnail.maxHeight} and stores the result under
+ * {@code images.cache.directory}. Concurrent requests for the same location wait for that fetch instead of starting
+ * their own. Later requests are answered from the file without touching the source.
+ * </p>
+ *
+ * <p>
+ * The cache is bounded by {@code images.cache.maxBytes}; the least recently served files are deleted first. File names
+ * carry the cache key and a hash of the content, so the index, including the ETags, is rebuilt from the directory on
+ * startup and a restart does not refetch anything. An evicted file is kept on disk for {@code images.cache.deleteGraceMs}
+ * before it is deleted, since a response may have handed it to the connector's sendfile support already; the disk
+ * usage may therefore exceed the bound by the thumbnails evicted within that window.
+ * </p>
+ *
+ * <p>
+ * Image locations are stored by clients, so the sources are restricted: only HTTP and HTTPS URLs under
+ * {@code images.baseUrl} or on one of the {@code images.allowedHosts} are fetched, and redirects are not followed, so
+ * a stored location cannot make the server request internal hosts. A source is rejected before it is decoded if it
+ * exceeds {@code images.fetch.maxBytes} or, according to its header, {@code images.fetch.maxPixels}, so a small but
+ * highly compressed image cannot exhaust the heap.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ActivityImageCache {
+
+    private static final Pattern FILE_NAME = Pattern.compile("([0-9a-f]{32})-([0-9a-f]{32})\\.(jpg|png)");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${images.cache.directory:#{systemProperties['java.io.tmpdir']}/revops-images}")
+    private String directory;
+
+    // Total size of the thumbnails kept on disk
+    @Value("${images.cache.maxBytes:268435456}")
+    private long maxBytes;
+
+    @Value("${images.thumbnail.maxWidth:480}")
+    private int maxWidth;
+
+    @Value("${images.thumbnail.maxHeight:480}")
+    private int maxHeight;
+
+    @Value("${images.fetch.timeoutMs:5000}")
+    private long fetchTimeoutMs;
+
+    // Source images larger than this are rejected
+    @Value("${images.fetch.maxBytes:10485760}")
+    private int fetchMaxBytes;
+
+    // Source images with more pixels than this are rejected before they are decoded
+    @Value("${images.fetch.maxPixels:16777216}")
+    private long fetchMaxPixels;
+
+    // Base URL for image locations stored as relative paths; relative locations are rejected when empty
+    @Value("${images.baseUrl:}")
+    private String baseUrl;
+
+    // Hosts absolute image locations may point to, besides locations under images.baseUrl
+    @Value("${images.allowedHosts:}")
+    private List<String> allowedHosts;
+
+    // How long an evicted thumbnail stays on disk, so responses already sending it can finish
+    @Value("${images.cache.deleteGraceMs:60000}")
+    private long deleteGraceMs;
+
+    private Path cacheDirectory;
+
+    private URI baseUri;
+
+    private HttpClient httpClient;
+
+    // Access-ordered, so iteration starts at the least recently served image
+    private final LinkedHashMap<String, ActivityImage> index = new LinkedHashMap<>(64, 0.75f, true);
+
+    private long totalBytes;
+
+    // Evicted thumbnails in eviction order, each with the epoch millisecond it may be deleted at
+    private final ArrayDeque<Map.Entry<Path, Long>> retired = new ArrayDeque<>();
+
+    private final ConcurrentMap<String, CompletableFuture<ActivityImage>> fetches = new ConcurrentHashMap<>();
+
+    private Counter hitCounter;
+
+    private Counter missCounter;
+
+    private Timer fetchTimer;
+
+    /**
+     * Creates the cache directory, rebuilds the index from the files already in it and registers the metrics.
+     *
+     * @throws IOException if the cache directory cannot be created or read
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        cacheDirectory = Files.createDirectories(Paths.get(directory));
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(fetchTimeoutMs))
+                // A redirect could lead anywhere, including to hosts the allowlist keeps out
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+        baseUri = baseUrl.isBlank() ? null : URI.create(baseUrl.endsWith("/") ? baseUrl : baseUrl + '/').normalize();
+        allowedHosts = allowedHosts.stream().map(String::trim).filter(host -> !host.isEmpty()).toList();
+
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            List<Path> paths = new ArrayList<>(files.toList());
+            paths.sort(Comparator.comparing(ActivityImageCache::lastModified));
+            for (Path path : paths) {
+                Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches()) {
+                    store(new ActivityImage(matcher.group(1), path, eTag(matcher.group(2)),
+                            contentType(matcher.group(3)), Files.size(path)));
+                } else {
+                    // Leftovers of a fetch that was interrupted by a shutdown
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+        log.info("Image cache at {} holds {} thumbnails ({} bytes).", cacheDirectory, index.size(), totalBytes);
+
+        hitCounter = Counter.builder("revops.image.requests").tag("result", "hit").register(meterRegistry);
+        missCounter = Counter.builder("revops.image.requests").tag("result", "miss").register(meterRegistry);
+        fetchTimer = Timer.builder("revops.image.fetch")
+                .description("Time to fetch, resize and store a source image")
+                .register(meterRegistry);
+        Gauge.builder("revops.image.cache.size", this, cache -> cache.totalBytes())
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the thumbnail for an image location, fetching the source if it is not cached yet.
+     *
+     * @param imageLocation the image location of an activity
+     * @return the cached thumbnail
+     * @throws IOException if the source cannot be fetched or is not a readable image
+     */
+    public ActivityImage get(String imageLocation) throws IOException {
+        String key = cacheKey(imageLocation);
+        ActivityImage cached = lookup(key);
+        if (cached != null) {
+            hitCounter.increment();
+            return cached;
+        }
+
+        CompletableFuture<ActivityImage> fetch = new CompletableFuture<>();
+        CompletableFuture<ActivityImage> running = fetches.putIfAbsent(key, fetch);
+        if (running != null) {
+            hitCounter.increment();
+            return await(running);
+        }
+        try {
+            // Another request may have stored it between the lookup and claiming the fetch
+            ActivityImage image = lookup(key);
+            if (image == null) {
+                missCounter.increment();
+                image = fetchTimer.recordCallable(() -> fetchAndStore(key, imageLocation));
+            }
+            fetch.complete(image);
+            return image;
+        } catch (Exception ex) {
+            if (ex instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            fetch.completeExceptionally(ex);
+            throw ex instanceof IOException ioException ? ioException : new IOException(ex.getMessage(), ex);
+        } finally {
+            fetches.remove(key, fetch);
+        }
+    }
+
+    private synchronized ActivityImage lookup(String key) {
+        ActivityImage image = index.get(key);
+        if (image != null && !Files.exists(image.getPath())) {
+            // Deleted from outside the application; fetch it again
+            remove(key);
+            return null;
+        }
+        return image;
+    }
+
+    private synchronized void store(ActivityImage image) {
+        ActivityImage previous = index.put(image.getKey(), image);
+        if (previous != null) {
+            totalBytes -= previous.getSize();
+            if (!previous.getPath().equals(image.getPath())) {
+                retire(previous.getPath());
+            }
+        }
+        totalBytes += image.getSize();
+
+        Iterator<ActivityImage> leastRecentlyServed = index.values().iterator();
+        while (totalBytes > maxBytes && leastRecentlyServed.hasNext()) {
+            ActivityImage evicted = leastRecentlyServed.next();
+            if (evicted == image) {
+                continue;
+            }
+            leastRecentlyServed.remove();
+            totalBytes -= evicted.getSize();
+            retire(evicted.getPath());
+            log.debug("Evicted thumbnail {} from the image cache.", evicted.getPath().getFileName());
+        }
+    }
+
+    private void retire(Path path) {
+        retired.addLast(Map.entry(path, System.currentTimeMillis() + deleteGraceMs));
+    }
+
+    /**
+     * Deletes the evicted thumbnails whose grace period has passed.
+     */
+    @Scheduled(fixedDelayString = "${images.cache.deleteGraceMs:60000}")
+    public synchronized void deleteRetired() {
+        long now = System.currentTimeMillis();
+        while (!retired.isEmpty() && retired.peekFirst().getValue() <= now) {
+            Path path = retired.removeFirst().getKey();
+            // The same thumbnail may have been fetched again and stored under the same name meanwhile
+            boolean reused = index.values().stream().anyMatch(image -> image.getPath().equals(path));
+            if (!reused) {
+                deleteQuietly(path);
+            }
+        }
+    }
+
+    private synchronized void remove(String key) {
+        ActivityImage removed = index.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.getSize();
+        }
+    }
+
+    private synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private ActivityImage fetchAndStore(String key, String imageLocation) throws IOException, InterruptedException {
+        URI source = resolve(imageLocation);
+        HttpRequest request = HttpRequest.newBuilder(source)
+                .timeout(Duration.ofMillis(fetchTimeoutMs))
+                .GET()
+                .build();
+        HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        byte[] sourceBytes;
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != 200) {
+                throw new IOException("Fetching " + source + " returned HTTP " + response.statusCode());
+            }
+            sourceBytes = body.readNBytes(fetchMaxBytes + 1);
+        }
+        if (sourceBytes.length > fetchMaxBytes) {
+            throw new IOException("Image " + source + " is larger than " + fetchMaxBytes + " bytes");
+        }
+
+        BufferedImage sourceImage = decode(source, sourceBytes);
+        boolean alpha = sourceImage.getColorModel().hasAlpha();
+        String extension = alpha ? "png" : "jpg";
+        ByteArrayOutputStream thumbnail = new ByteArrayOutputStream();
+        ImageIO.write(resize(sourceImage, alpha), alpha ? "png" : "jpeg", thumbnail);
+        byte[] thumbnailBytes = thumbnail.toByteArray();
+
+        String contentHash = sha256(thumbnailBytes);
+        Path target = cacheDirectory.resolve(key + '-' + contentHash + '.' + extension);
+        Path temporary = Files.createTempFile(cacheDirectory, key, ".tmp");
+        try {
+            Files.write(temporary, thumbnailBytes);
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+
+        ActivityImage image = new ActivityImage(key, target, eTag(contentHash), contentType(extension), thumbnailBytes.length);
+        store(image);
+        log.info("Cached {} as a {} byte thumbnail (source {} bytes).", source, thumbnailBytes.length, sourceBytes.length);
+        return image;
+    }
+
+    /**
+     * Decodes the first image of the source, after checking its dimensions against {@code images.fetch.maxPixels}.
+     */
+    private BufferedImage decode(URI source, byte[] sourceBytes) throws IOException {
+        ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(sourceBytes));
+        if (input == null) {
+            throw new IOException("Image " + source + " is not in a readable image format");
+        }
+        try (input) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Image " + source + " is not in a readable image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                // Only the header has been read so far
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > fetchMaxPixels) {
+                    throw new IOException("Image " + source + " has " + pixels + " pixels, more than " + fetchMaxPixels);
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales the image down to fit the configured bounds, keeping its aspect ratio. Images are never scaled up.
+     */
+    private BufferedImage resize(BufferedImage source, boolean alpha) {
+        double scale = Math.min(1d, Math.min((double) maxWidth / source.getWidth(), (double) maxHeight / source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * scale));
+
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Resolves an image location to the URL it is fetched from. Only HTTP and HTTPS sources under
+     * {@code images.baseUrl} or on one of the {@code images.allowedHosts} are accepted.
+     */
+    URI resolve(String imageLocation) throws IOException {
+        URI location;
+        try {
+            location = new URI(imageLocation.trim());
+        } catch (URISyntaxException ex) {
+            throw new IOException("Malformed image location " + imageLocation, ex);
+        }
+        if (!location.isAbsolute()) {
+            if (baseUri == null) {
+                throw new IOException("Relative image location " + imageLocation + " and no images.baseUrl configured");
+            }
+            location = baseUri.resolve(location);
+        }
+        location = location.normalize();
+        String scheme = location.getScheme();
+        if (!"http".equalsIgnoreCase(scheme) && !"https".equalsIgnoreCase(scheme)) {
+            throw new IOException("Unsupported image location " + imageLocation);
+        }
+        if (location.getHost() == null || location.getRawUserInfo() != null
+                || !(isUnderBaseUrl(location) || isOnAllowedHost(location))) {
+            throw new IOException("Image location " + imageLocation + " is not under images.baseUrl or on images.allowedHosts");
+        }
+        return location;
+    }
+
+    private boolean isUnderBaseUrl(URI location) {
+        return baseUri != null
+                && baseUri.getScheme().equalsIgnoreCase(location.getScheme())
+                && location.getHost().equalsIgnoreCase(baseUri.getHost())
+                && port(baseUri) == port(location)
+                && location.getRawPath() != null
+                && location.getRawPath().startsWith(baseUri.getRawPath());
+    }
+
+    private boolean isOnAllowedHost(URI location) {
+        // Only on the default port of the scheme, so an allowed host cannot be used to reach its other services
+        return port(location) == defaultPort(location.getScheme())
+                && allowedHosts.stream().anyMatch(host -> host.equalsIgnoreCase(location.getHost()));
+    }
+
+    private static int port(URI uri) {
+        return uri.getPort() != -1 ? uri.getPort() : defaultPort(uri.getScheme());
+    }
+
+    private static int defaultPort(String scheme) {
+        return "https".equalsIgnoreCase(scheme) ? 443 : 80;
+    }
+
+    private String cacheKey(String imageLocation) {
+        // The thumbnail size is part of the key, so changing it does not serve thumbnails of the old size
+        return sha256((imageLocation.trim() + '@' + maxWidth + 'x' + maxHeight).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ActivityImage await(CompletableFuture<ActivityImage> fetch) throws IOException {
+        try {
+            return fetch.join();
+        } catch (CompletionException ex) {
+            Throwable cause = ex.getCause();
+            throw cause instanceof IOException ioException ? ioException : new IOException(cause.getMessage(), cause);
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            // 128 bits are plenty to tell images apart and keep file names short
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static String eTag(String contentHash) {
+        return '"' + contentHash + '"';
+    }
+
+    private static String contentType(String extension) {
+        return "png".equals(extension) ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.warn("Unable to delete cached thumbnail {}: {}", path, ex.getMessage());
+        }
+    }
+}
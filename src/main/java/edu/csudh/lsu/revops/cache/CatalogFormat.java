@@ -0,0 +1,85 @@
+package edu.csudh.lsu.revops.cache;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code CatalogFormat} enum lists the encodings the catalog read endpoints can serve.
+ * </p>
+ *
+ * <p>
+ * Besides JSON, kiosks can ask for CBOR or Smile through the {@code Accept} header. Both are binary encodings of the
+ * same Jackson data model, so no schema has to be shared with the clients, but field names and numbers are encoded
+ * more compactly and parse faster on low-power devices.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum CatalogFormat {
+
+    JSON(MediaType.APPLICATION_JSON),
+    CBOR(MediaType.APPLICATION_CBOR),
+    SMILE(MediaType.valueOf("application/x-jackson-smile"));
+
+    private final MediaType mediaType;
+
+    CatalogFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Returns the media type of this format.
+     *
+     * @return the media type sent as {@code Content-Type}
+     */
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Selects the format that best matches an {@code Accept} header.
+     *
+     * <p>
+     * Media ranges are tried in order of their quality value; the first range compatible with one of the formats
+     * wins. Missing, malformed or unmatched headers fall back to JSON.
+     * </p>
+     *
+     * @param acceptHeader the value of the {@code Accept} header, may be {@code null}
+     * @return the selected format
+     */
+    public static CatalogFormat fromAcceptHeader(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(acceptHeader));
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        accepted.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : accepted) {
+            if (mediaType.isWildcardType()) {
+                return JSON;
+            }
+            for (CatalogFormat format : values()) {
+                if (mediaType.isCompatibleWith(format.mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return JSON;
+    }
+}
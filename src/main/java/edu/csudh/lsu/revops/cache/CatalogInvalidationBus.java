@@ -0,0 +1,381 @@
+package edu.csudh.lsu.revops.cache;
+
+import edu.csudh.lsu.revops.dao.ActivityDAO;
+import edu.csudh.lsu.revops.model.ActivityChangeEvent;
+import edu.csudh.lsu.revops.venue.Venues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * The {@code CatalogInvalidationBus} class moves the {@code CatalogVersion} of every node forward when the catalog is
+ * written through any other node, so the caches keyed by it never serve a stale catalog for long.
+ * </p>
+ *
+ * <p>
+ * An invalidation is just a venue and a change version. Every notification received moves the generation of its venue
+ * in {@code CatalogVersion}, whatever its version: change versions are allocated before commit, so a notified write
+ * may well carry a lower version than one already seen. Repeating an invalidation only costs a rebuild, so
+ * invalidations may be repeated, reordered or dropped in favour of a later one. An invalidation only moves the
+ * generation of its venue, so the caches of the other venues are kept. Two transports are supported:
+ * </p>
+ *
+ * <ul>
+ *     <li>{@code notify}: the writing node sends {@code pg_notify} on the {@code revops_catalog} channel and every node
+ *     keeps a dedicated connection listening on it. Writes are batched: at most one notification per venue written
+ *     since the previous one, with the highest committed version of that venue, is sent every
+ *     {@code invalidation.batchMs}, so a bulk import
+ *     of thousands of activities costs a handful of notifications. After every (re)connect the listener reads the
+ *     latest versions once, to cover anything sent while it was not listening.</li>
+ *     <li>{@code poll}: every node reads the latest change version of each venue every
+ *     {@code invalidation.pollIntervalMs}, which picks up a write about as soon as it committed. Since a write can
+ *     commit after one with a higher version, the latest version alone would miss it; each poll therefore also reads
+ *     the latest version among the writes stamped at least {@code changes.settleMs} ago, the settle window of the delta
+ *     sync, and treats any move of it as a change. A write that committed late is thus picked up once it settled, at
+ *     the cost of a second rebuild for writes the latest version already announced. Both are lookups on
+ *     {@code idx_activity_venue_change_version}. CockroachDB does not support {@code LISTEN}, and its changefeeds need
+ *     an external sink, so this is the transport used against CockroachDB.</li>
+ * </ul>
+ *
+ * <p>
+ * With {@code invalidation.mode: auto} the bus tries {@code LISTEN} on startup and falls back to polling if the
+ * database rejects it as unsupported.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "invalidation.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogInvalidationBus {
+
+    static final String CHANNEL = "revops_catalog";
+
+    // SQLSTATE of statements the database does not implement
+    private static final String FEATURE_NOT_SUPPORTED = "0A000";
+
+    private enum Mode { AUTO, NOTIFY, POLL }
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ActivityDAO activityDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Venues venues;
+
+    @Value("${invalidation.mode:auto}")
+    private String configuredMode;
+
+    // Longest delay between a write and its notification; also the batching window
+    @Value("${invalidation.batchMs:100}")
+    private long batchMs;
+
+    @Value("${invalidation.pollIntervalMs:1000}")
+    private long pollIntervalMs;
+
+    @Value("${invalidation.reconnectBackoffMs:5000}")
+    private long reconnectBackoffMs;
+
+    // How long a write must have been stamped before polling takes it as committed; the settle window of delta sync
+    @Value("${changes.settleMs:2000}")
+    private long settleMs;
+
+    // Identifies notifications sent by this node, which it skips
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    // Highest version of each venue written through this node; only ever moves forward
+    private final Map<String, AtomicLong> writtenVersions = new ConcurrentHashMap<>();
+
+    // Number of writes to each venue through this node, whatever their version
+    private final Map<String, AtomicLong> writeCounts = new ConcurrentHashMap<>();
+
+    // Number of writes to each venue covered by a notification so far; only touched by the scheduler thread
+    private final Map<String, Long> notifiedCounts = new HashMap<>();
+
+    // Latest settled version of each venue seen by polling; only touched by the scheduler thread
+    private final Map<String, Long> settledVersions = new HashMap<>();
+
+    private volatile Mode activeMode;
+
+    private volatile boolean running = true;
+
+    private ScheduledExecutorService scheduler;
+
+    private Thread listener;
+
+    private Counter sentCounter;
+
+    private Counter receivedCounter;
+
+    /**
+     * Registers the invalidation metrics.
+     */
+    @PostConstruct
+    public void init() {
+        venues.ids().forEach(venue -> {
+            writtenVersions.put(venue, new AtomicLong());
+            writeCounts.put(venue, new AtomicLong());
+        });
+        sentCounter = Counter.builder("revops.invalidation.notifications").tag("direction", "sent")
+                .register(meterRegistry);
+        receivedCounter = Counter.builder("revops.invalidation.notifications").tag("direction", "received")
+                .register(meterRegistry);
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts listening or polling once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        Mode mode = Mode.valueOf(configuredMode.toUpperCase());
+        if (mode == Mode.POLL) {
+            startPolling();
+            return;
+        }
+        activeMode = mode;
+        listener = new Thread(this::listen, "catalog-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+        scheduler.scheduleWithFixedDelay(this::flush, batchMs, batchMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the listener and the scheduler.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Queues a committed write for the next batch.
+     *
+     * @param changeEvent the change event published by {@code ActivityDAO}
+     */
+    @EventListener
+    public void onActivityChanged(ActivityChangeEvent changeEvent) {
+        AtomicLong writtenVersion = writtenVersions.get(changeEvent.getVenue());
+        if (writtenVersion != null) {
+            writtenVersion.accumulateAndGet(changeEvent.getChangeVersion(), Math::max);
+            // Counted after the version, so a flush that sees the count also sees the version
+            writeCounts.get(changeEvent.getVenue()).incrementAndGet();
+        }
+    }
+
+    /**
+     * Sends one notification per venue for everything written to it since the last one. Runs on the scheduler thread.
+     */
+    private void flush() {
+        if (activeMode == Mode.POLL) {
+            return;
+        }
+        writeCounts.forEach((venue, writeCount) -> {
+            long count = writeCount.get();
+            if (count == notifiedCounts.getOrDefault(venue, 0L)) {
+                return;
+            }
+            long version = writtenVersions.get(venue).get();
+            try {
+                jdbcTemplate.query("SELECT pg_notify(?, ?)", resultSet -> null, CHANNEL,
+                        nodeId + ':' + venue + ':' + version);
+                notifiedCounts.put(venue, count);
+                sentCounter.increment();
+            } catch (Exception ex) {
+                // Retried with the then highest version on the next tick
+                log.warn("Unable to send catalog invalidation for venue {} at version {}: {}", venue, version,
+                        ex.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Holds a dedicated connection listening on the channel, reconnecting until shutdown. Runs on the listener thread.
+     */
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                activeMode = Mode.NOTIFY;
+                log.info("Listening for catalog invalidations on channel {} as node {}.", CHANNEL, nodeId);
+                catchUp();
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollIntervalMs);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException ex) {
+                if (activeMode == Mode.AUTO && FEATURE_NOT_SUPPORTED.equals(ex.getSQLState())) {
+                    log.info("The database does not support LISTEN; polling for catalog invalidations instead.");
+                    startPolling();
+                    return;
+                }
+                if (running) {
+                    log.warn("Catalog invalidation listener failed, reconnecting in {} ms: {}", reconnectBackoffMs,
+                            ex.getMessage());
+                    sleep(reconnectBackoffMs);
+                }
+            } catch (Exception ex) {
+                if (running) {
+                    log.error("Unexpected error in the catalog invalidation listener, reconnecting in {} ms.",
+                            reconnectBackoffMs, ex);
+                    sleep(reconnectBackoffMs);
+                }
+            }
+        }
+    }
+
+    private void startPolling() {
+        activeMode = Mode.POLL;
+        scheduler.scheduleWithFixedDelay(this::poll, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Polling for catalog invalidations every {} ms.", pollIntervalMs);
+    }
+
+    private void catchUp() {
+        for (String venue : venues.ids()) {
+            try {
+                advance(venue, activityDAO.fetchLatestChangeVersion(venue));
+            } catch (Exception ex) {
+                log.warn("Unable to read the latest catalog version of venue {}: {}", venue, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads the latest and the latest settled version of each venue. Runs on the scheduler thread.
+     */
+    private void poll() {
+        catchUp();
+        for (String venue : venues.ids()) {
+            try {
+                long settled = activityDAO.fetchSettledChangeVersion(venue, settleMs);
+                Long previous = settledVersions.put(venue, settled);
+                // Also a drop: the row holding the settled version was written again and is not settled yet
+                if (previous != null && previous != settled) {
+                    changed(venue, settled);
+                }
+            } catch (Exception ex) {
+                log.warn("Unable to read the settled catalog version of venue {}: {}", venue, ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Applies a {@code node:venue:version} notification.
+     */
+    private void apply(String payload) {
+        int first = payload.indexOf(':');
+        int last = payload.lastIndexOf(':');
+        if (first < 0 || payload.substring(0, first).equals(nodeId)) {
+            return;
+        }
+        if (first == last) {
+            // Sent by a node that does not know venues yet; the version does not tell which venue moved
+            receivedCounter.increment();
+            catchUp();
+            return;
+        }
+        try {
+            String venue = payload.substring(first + 1, last);
+            long version = Long.parseLong(payload.substring(last + 1));
+            receivedCounter.increment();
+            changed(venue, version);
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring malformed catalog invalidation: {}", payload);
+        }
+    }
+
+    /**
+     * Applies a change notified by another node, even if its version is not above the current one.
+     */
+    private void changed(String venue, long version) {
+        if (!writtenVersions.containsKey(venue)) {
+            log.debug("Ignoring catalog invalidation of venue {}, which is not served.", venue);
+            return;
+        }
+        long after = catalogVersion.changed(venue, version);
+        log.debug("Catalog of venue {} changed by another node at version {}, now at {}.", venue, version, after);
+    }
+
+    /**
+     * Applies the latest version read from the database, which only tells a change apart if it moved.
+     */
+    private void advance(String venue, long version) {
+        if (!writtenVersions.containsKey(venue)) {
+            log.debug("Ignoring catalog invalidation of venue {}, which is not served.", venue);
+            return;
+        }
+        long before = catalogVersion.current(venue);
+        long after = catalogVersion.advanceTo(venue, version);
+        if (after > before) {
+            log.debug("Catalog version of venue {} moved from {} to {} by another node.", venue, before, after);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package edu.csudh.lsu.revops.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <p>
+ * The {@code CatalogPayload} class holds one encoded catalog response as cached by {@code CatalogPayloadCache}.
+ * </p>
+ *
+ * <p>
+ * The gzip variant is only present when the encoded body reaches the configured compression threshold; smaller
+ * bodies are cheaper to send as they are. A payload that is not {@code settled} was built so soon after a write
+ * that a follower read may have missed it; it is served, but rebuilt by the next request after the staleness window.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+public class CatalogPayload {
+
+    // Generation of the catalog of the venue on this node, see CatalogVersion
+    private final long generation;
+    private final CatalogFormat format;
+    private final String eTag;
+    private final byte[] body;
+    private final byte[] gzippedBody;
+    private final boolean settled;
+
+    /**
+     * Returns whether a gzip variant of the body is available.
+     *
+     * @return {@code true} if the body was large enough to be compressed
+     */
+    public boolean isGzipAvailable() {
+        return gzippedBody != null;
+    }
+}
@@ -0,0 +1,275 @@
+package edu.csudh.lsu.revops.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.dao.SingleFlight;
+import edu.csudh.lsu.revops.service.RevOpsActivityService;
+import edu.csudh.lsu.revops.venue.Venues;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>
+ * The {@code CatalogPayloadCache} class keeps the encoded bodies of the catalog read endpoints.
+ * </p>
+ *
+ * <p>
+ * A body is encoded once per venue, catalog generation and format, together with a gzip variant when it is larger than
+ * {@code catalog.compression.minSize}. Requests in between two writes are then answered from memory without reading
+ * the database, serializing or compressing anything. Since the gzip variant is only built once, it is compressed at
+ * the highest level.
+ * </p>
+ *
+ * <p>
+ * Bodies are written by the {@link CatalogWriter} on a generator of the per-format mapper rather than bound
+ * reflectively by the mapper itself, which keeps the mapper's configuration and output while leaving out the
+ * per-element serializer lookups and getter calls.
+ * </p>
+ *
+ * <p>
+ * Each venue has a map of payloads and meters of its own, and its payloads are keyed by the catalog generation of
+ * that venue alone. A venue whose catalog is written often therefore rebuilds only its own payloads: it never invalidates
+ * or evicts those of another venue, and a rebuild in progress never holds up a lookup for another venue.
+ * </p>
+ *
+ * <p>
+ * A payload is loaded and encoded outside the payload map, through the {@code SingleFlight}: concurrent misses for the
+ * same payload share one build, and a slow load, retries and backoff included, never holds a lock of the map. The
+ * result is installed afterwards unless a payload of a newer generation got there first.
+ * </p>
+ *
+ * <p>
+ * The catalog reads may be follower reads that lag behind by up to {@code catalog.readStalenessMs}. A payload built
+ * within that window after the generation moved is therefore not trusted for the rest of the generation: it is
+ * rebuilt once the window has passed.
+ * </p>
+ *
+ * <p>
+ * The ETag of a payload is a digest of its encoded body and its format, so the same catalog has the same ETag on every
+ * node and across restarts, and a kiosk moved to another node behind the load balancer still gets a {@code 304}. The
+ * generation only decides when a body is rebuilt; a rebuild that produced the same bytes keeps the ETag.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CatalogPayloadCache {
+
+    private static final String ACTIVITIES = "activities";
+    private static final String CATEGORIES = "categories";
+
+    @Autowired
+    private RevOpsActivityService revOpsActivityService;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Venues venues;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    // Bodies smaller than this are not worth compressing
+    @Value("${catalog.compression.minSize:1024}")
+    private int compressionMinSize;
+
+    // Upper bound of the staleness of the catalog reads, see followerReads in application.yml
+    @Value("${catalog.readStalenessMs:5000}")
+    private long readStalenessMs;
+
+    private final Map<CatalogFormat, ObjectMapper> mappers = new EnumMap<>(CatalogFormat.class);
+
+    // One cache per configured venue, created up front and never changed afterwards
+    private final Map<String, VenueCache> caches = new HashMap<>();
+
+    /**
+     * Creates the per-format mappers from the application {@link ObjectMapper} and the cache and metrics of each venue.
+     */
+    @PostConstruct
+    public void init() {
+        mappers.put(CatalogFormat.JSON, objectMapper);
+        mappers.put(CatalogFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(CatalogFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
+
+        for (String venue : venues.ids()) {
+            caches.put(venue, new VenueCache(
+                    Counter.builder("revops.catalog.payload.requests").tag("venue", venue).tag("result", "hit")
+                            .register(meterRegistry),
+                    Counter.builder("revops.catalog.payload.requests").tag("venue", venue).tag("result", "miss")
+                            .register(meterRegistry),
+                    Timer.builder("revops.catalog.payload.encode")
+                            .description("Time to load, encode and compress a catalog payload")
+                            .tag("venue", venue)
+                            .register(meterRegistry)));
+        }
+    }
+
+    /**
+     * Returns the encoded activity catalog of a venue.
+     *
+     * @param venue the requested venue, or {@code null} for the default venue
+     * @param format the requested format
+     * @return the payload for the current catalog generation of the venue
+     * @throws IllegalArgumentException if the venue is not served
+     */
+    public CatalogPayload activities(String venue, CatalogFormat format) {
+        String resolved = venues.resolve(venue);
+        return payload(resolved, ACTIVITIES, format, () -> revOpsActivityService.fetchAllActivities(resolved),
+                CatalogWriter::writeActivities);
+    }
+
+    /**
+     * Returns the encoded category list of a venue.
+     *
+     * @param venue the requested venue, or {@code null} for the default venue
+     * @param format the requested format
+     * @return the payload for the current catalog generation of the venue
+     * @throws IllegalArgumentException if the venue is not served
+     */
+    public CatalogPayload categories(String venue, CatalogFormat format) {
+        String resolved = venues.resolve(venue);
+        return payload(resolved, CATEGORIES, format, () -> revOpsActivityService.fetchAllCategories(resolved),
+                CatalogWriter::writeCategories);
+    }
+
+    /**
+     * Returns the cached payload if it matches the current generation, or builds it otherwise.
+     *
+     * <p>
+     * The generation is read before the data is loaded. If a write commits while the payload is built, the payload is
+     * stored under the older generation and rebuilt on the next request. The build runs outside the payload map, so
+     * lookups of other payloads never wait for it.
+     * </p>
+     */
+    private <T> CatalogPayload payload(String venue, String name, CatalogFormat format, Supplier<T> loader,
+                                       BodyWriter<T> writer) {
+        VenueCache cache = caches.get(venue);
+        long generation = catalogVersion.generation(venue);
+        String key = name + ':' + format;
+        CatalogPayload cached = cache.payloads.get(key);
+        if (isCurrent(venue, cached, generation)) {
+            cache.hitCounter.increment();
+            return cached;
+        }
+        cache.missCounter.increment();
+        CatalogPayload built = singleFlight.execute("catalogPayload", List.of(venue, key, generation), () -> {
+            long builtAtMillis = System.currentTimeMillis();
+            boolean settled = builtAtMillis >= catalogVersion.lastAdvancedAtMillis(venue) + readStalenessMs;
+            return cache.encodeTimer.record(() ->
+                    encode(venue, name, format, generation, settled, loader.get(), writer));
+        });
+        // Install the payload unless one of a newer generation was installed while it was built
+        cache.payloads.merge(key, built, (existing, candidate) ->
+                existing.getGeneration() > candidate.getGeneration() ? existing : candidate);
+        return built;
+    }
+
+    private boolean isCurrent(String venue, CatalogPayload payload, long generation) {
+        if (payload == null || payload.getGeneration() != generation) {
+            return false;
+        }
+        return payload.isSettled()
+                || System.currentTimeMillis() < catalogVersion.lastAdvancedAtMillis(venue) + readStalenessMs;
+    }
+
+    private <T> CatalogPayload encode(String venue, String name, CatalogFormat format, long generation,
+                                      boolean settled, T data, BodyWriter<T> writer) {
+        try {
+            byte[] body;
+            try (ByteArrayBuilder buffer = new ByteArrayBuilder()) {
+                try (JsonGenerator generator = mappers.get(format).createGenerator(buffer)) {
+                    writer.write(generator, data);
+                }
+                body = buffer.toByteArray();
+            }
+            byte[] gzippedBody = body.length >= compressionMinSize ? gzip(body) : null;
+            String eTag = '"' + format.name().toLowerCase() + '-' + sha256(body) + '"';
+            log.info("Encoded {} catalog of venue {} generation {} as {}: {} bytes, {} bytes gzipped.", name, venue,
+                    generation, format, body.length, gzippedBody == null ? "-" : gzippedBody.length);
+            return new CatalogPayload(generation, format, eTag, body, gzippedBody, settled);
+        } catch (IOException ex) {
+            log.error("Unable to encode {} catalog of venue {} as {}.", name, venue, format, ex);
+            throw new PersistenceException("An exception occurred while encoding the catalog.", ex.getMessage());
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            // 128 bits are plenty to tell catalogs apart and keep the header short
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes), 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (OutputStream gzip = new GZIPOutputStream(buffer) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            gzip.write(body);
+        }
+        return buffer.toByteArray();
+    }
+
+    private static final class VenueCache {
+        private final ConcurrentMap<String, CatalogPayload> payloads = new ConcurrentHashMap<>();
+        private final Counter hitCounter;
+        private final Counter missCounter;
+        private final Timer encodeTimer;
+
+        private VenueCache(Counter hitCounter, Counter missCounter, Timer encodeTimer) {
+            this.hitCounter = hitCounter;
+            this.missCounter = missCounter;
+            this.encodeTimer = encodeTimer;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter<T> {
+        void write(JsonGenerator generator, T data) throws IOException;
+    }
+}
@@ -0,0 +1,212 @@
+package edu.csudh.lsu.revops.cache;
+
+import edu.csudh.lsu.revops.dao.ActivityDAO;
+import edu.csudh.lsu.revops.model.ActivityChangeEvent;
+import edu.csudh.lsu.revops.venue.Venues;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * The {@code CatalogVersion} class tracks the version of the activity catalog of each venue held by this node.
+ * </p>
+ *
+ * <p>
+ * The version of a venue follows the {@code change_version} stamped by {@code ActivityDAO} on its activities: it is
+ * loaded from the database at startup and advanced to the change version of every committed write to the venue.
+ * Writes to one venue never invalidate what was built for another.
+ * </p>
+ *
+ * <p>
+ * Change versions are drawn from a sequence in allocation order, not in commit order: a write holding a lower version
+ * may commit after one holding a higher version has been seen, and then does not move the version at all. Caches
+ * therefore key on the generation of a venue instead, a counter of this node that moves with every committed change
+ * this node learns of, whatever its version: every local write and every change notified by another node. Anything
+ * derived from the catalog of a venue, such as the encoded payloads of {@code CatalogPayloadCache}, is cached under the
+ * generation that was current when it was built and is rebuilt as soon as the generation moves on.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CatalogVersion {
+
+    @Autowired
+    private ActivityDAO activityDAO;
+
+    @Autowired
+    private Venues venues;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // One entry per configured venue, created up front and never changed afterwards
+    private final Map<String, VenueVersion> versions = new HashMap<>();
+
+    /**
+     * Creates the version of each venue and registers it as a gauge.
+     */
+    @PostConstruct
+    public void init() {
+        for (String venue : venues.ids()) {
+            VenueVersion venueVersion = new VenueVersion();
+            versions.put(venue, venueVersion);
+            Gauge.builder("revops.catalog.version", venueVersion.version, AtomicLong::get)
+                    .description("Catalog version held by this node")
+                    .tag("venue", venue)
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * Loads the latest change version of each venue once the application is ready.
+     *
+     * <p>
+     * If the database cannot be reached a version stays where it is; the next committed write moves it forward.
+     * </p>
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadLatestVersion() {
+        for (String venue : venues.ids()) {
+            try {
+                advanceTo(venue, activityDAO.fetchLatestChangeVersion(venue));
+                log.info("Catalog version of venue {} initialized to {}.", venue, current(venue));
+            } catch (Exception ex) {
+                log.error("Unable to load the latest catalog version of venue {}; starting from {}.", venue,
+                        current(venue), ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the current catalog version of a venue.
+     *
+     * @param venue a configured venue
+     * @return the current catalog version of the venue
+     */
+    public long current(String venue) {
+        return version(venue).version.get();
+    }
+
+    /**
+     * Returns the generation of the catalog of a venue on this node.
+     *
+     * @param venue a configured venue
+     * @return a counter that moves whenever this node learns of a change to the catalog of the venue
+     */
+    public long generation(String venue) {
+        return version(venue).generation.get();
+    }
+
+    /**
+     * Returns the highest catalog version of all venues, which moves whenever any catalog changes.
+     *
+     * @return the highest current catalog version
+     */
+    public long current() {
+        return versions.values().stream().mapToLong(venueVersion -> venueVersion.version.get()).max().orElse(0);
+    }
+
+    /**
+     * Returns when the generation of a venue last moved forward on this node.
+     *
+     * <p>
+     * Reads that may be served from a stale replica can miss changes made shortly before this instant.
+     * </p>
+     *
+     * @param venue a configured venue
+     * @return the epoch millisecond of the last advance, or 0 if the generation never moved
+     */
+    public long lastAdvancedAtMillis(String venue) {
+        return version(venue).advancedAtMillis;
+    }
+
+    /**
+     * Records a write of this node once it has committed.
+     *
+     * @param changeEvent the change event published by {@code ActivityDAO}
+     */
+    @EventListener
+    public void onActivityChanged(ActivityChangeEvent changeEvent) {
+        if (!versions.containsKey(changeEvent.getVenue())) {
+            // A row of a venue that was removed from venues.ids; nothing of it is cached
+            log.warn("Ignoring a change of activity {} at venue {}, which is not served.", changeEvent.getActivityId(),
+                    changeEvent.getVenue());
+            return;
+        }
+        long newVersion = changed(changeEvent.getVenue(), changeEvent.getChangeVersion());
+        log.debug("Catalog version of venue {} at {} after {} of activity {}.", changeEvent.getVenue(),
+                newVersion, changeEvent.getChangeType(), changeEvent.getActivityId());
+    }
+
+    /**
+     * Records a committed change of a venue and moves its generation forward, even if the change version is lower
+     * than one seen before.
+     *
+     * @param venue a configured venue
+     * @param changeVersion the change version of the change, or of the latest of a batch of changes
+     * @return the catalog version of the venue after the update
+     */
+    public long changed(String venue, long changeVersion) {
+        VenueVersion venueVersion = version(venue);
+        long version = venueVersion.version.accumulateAndGet(changeVersion, Math::max);
+        venueVersion.advance();
+        return version;
+    }
+
+    /**
+     * Moves the version of a venue forward to the given latest change version, as read from the database; the
+     * generation only moves if the version does.
+     *
+     * @param venue a configured venue
+     * @param changeVersion the latest committed change version of the venue
+     * @return the catalog version of the venue after the update
+     */
+    public long advanceTo(String venue, long changeVersion) {
+        VenueVersion venueVersion = version(venue);
+        long previous = venueVersion.version.getAndAccumulate(changeVersion, Math::max);
+        if (changeVersion > previous) {
+            venueVersion.advance();
+            return changeVersion;
+        }
+        return previous;
+    }
+
+    private VenueVersion version(String venue) {
+        VenueVersion venueVersion = versions.get(venue);
+        if (venueVersion == null) {
+            throw new IllegalArgumentException("Unknown venue: " + venue);
+        }
+        return venueVersion;
+    }
+
+    private static final class VenueVersion {
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicLong generation = new AtomicLong();
+        private volatile long advancedAtMillis;
+
+        private void advance() {
+            // Stamp the time first, so a payload built for the new generation is never taken for a settled one
+            advancedAtMillis = System.currentTimeMillis();
+            generation.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package edu.csudh.lsu.revops.cache;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import edu.csudh.lsu.revops.model.ActivityResponse;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code CatalogWriter} class writes the catalog bodies straight to a {@link JsonGenerator}.
+ * </p>
+ *
+ * <p>
+ * Binding an {@code ActivityResponse} list through the {@code ObjectMapper} looks up the bean serializer and calls
+ * every getter reflectively for every element. Here the properties are written by hand, with the field names
+ * encoded once in {@link SerializedString}s, so the only work left per element is encoding its values. The output is
+ * the same, byte for byte, as that of the {@code ObjectMapper} the generator was created from, in every
+ * {@link CatalogFormat}: properties in declaration order, nulls included, and UUIDs as strings in JSON and as 16
+ * bytes in the binary formats. A property added to {@code ActivityResponse} has to be added here as well.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public final class CatalogWriter {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString ACTIVITY = new SerializedString("activity");
+    private static final SerializedString CATEGORY = new SerializedString("category");
+    private static final SerializedString PRICE = new SerializedString("price");
+    private static final SerializedString IMAGE_LOCATION = new SerializedString("imageLocation");
+    private static final SerializedString VENUE = new SerializedString("venue");
+
+    private CatalogWriter() {
+    }
+
+    /**
+     * Writes a list of activities as an array of objects.
+     *
+     * @param generator the generator, JSON, CBOR or Smile
+     * @param activities the activities
+     * @throws IOException if the generator cannot write
+     */
+    public static void writeActivities(JsonGenerator generator, List<ActivityResponse> activities) throws IOException {
+        generator.writeStartArray(activities, activities.size());
+        for (ActivityResponse activity : activities) {
+            generator.writeStartObject(activity);
+            generator.writeFieldName(ID);
+            writeUuid(generator, activity.getId());
+            generator.writeFieldName(ACTIVITY);
+            generator.writeString(activity.getActivity());
+            generator.writeFieldName(CATEGORY);
+            generator.writeString(activity.getCategory());
+            generator.writeFieldName(PRICE);
+            if (activity.getPrice() == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(activity.getPrice().intValue());
+            }
+            generator.writeFieldName(IMAGE_LOCATION);
+            generator.writeString(activity.getImageLocation());
+            generator.writeFieldName(VENUE);
+            generator.writeString(activity.getVenue());
+            generator.writeEndObject();
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a list of categories as an array of strings.
+     *
+     * @param generator the generator, JSON, CBOR or Smile
+     * @param categories the categories
+     * @throws IOException if the generator cannot write
+     */
+    public static void writeCategories(JsonGenerator generator, List<String> categories) throws IOException {
+        generator.writeStartArray(categories, categories.size());
+        for (String category : categories) {
+            generator.writeString(category);
+        }
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes a UUID the way Jackson's {@code UUIDSerializer} does.
+     */
+    private static void writeUuid(JsonGenerator generator, UUID uuid) throws IOException {
+        if (uuid == null) {
+            generator.writeNull();
+        } else if (generator.canWriteBinaryNatively()) {
+            byte[] bytes = ByteBuffer.allocate(16)
+                    .putLong(uuid.getMostSignificantBits())
+                    .putLong(uuid.getLeastSignificantBits())
+                    .array();
+            generator.writeBinary(bytes);
+        } else {
+            generator.writeString(uuid.toString());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package edu.csudh.lsu.revops.configuration;
+
+import edu.csudh.lsu.revops.export.DataExporter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.ZoneId;
+
+/**
+ * <p>
+ * {@code ExportConfig} is responsible for configuring the {@link DataExporter} behind the {@code /exports} endpoints.
+ * </p>
+ *
+ * <p>
+ * The exporter is a plain class so the {@code exportData} Gradle task can use it without the application context;
+ * this configuration only feeds it the {@code export} properties. {@code export.parallelism} is also the number of
+ * database connections exports may hold, so it must stay well below the size of the connection pool.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Configuration
+public class ExportConfig {
+
+    // Days read at the same time, shared by all running exports
+    @Value("${export.parallelism:4}")
+    int parallelism;
+
+    // Rows fetched per round trip of the server-side cursor
+    @Value("${export.fetchSize:1000}")
+    int fetchSize;
+
+    // Rows a day read ahead may buffer while an ordered stream writes an earlier day
+    @Value("${export.bufferRows:1000}")
+    int bufferRows;
+
+    @Value("${export.parquetRowGroupMb:16}")
+    long parquetRowGroupMb;
+
+    // Business days follow the local calendar of the game room
+    @Value("${pricing.zoneId:America/Los_Angeles}")
+    ZoneId zoneId;
+
+    /**
+     * Configures and returns the {@link DataExporter}.
+     *
+     * @param jdbcTemplate the database to export from
+     * @return a configured {@link DataExporter}
+     */
+    @Bean(destroyMethod = "close")
+    public DataExporter dataExporter(JdbcTemplate jdbcTemplate) {
+        return new DataExporter(jdbcTemplate, zoneId, parallelism, fetchSize, bufferRows,
+                parquetRowGroupMb * 1024 * 1024);
+    }
+}
@@ -0,0 +1,59 @@
+package edu.csudh.lsu.revops.configuration;
+
+import graphql.analysis.MaxQueryComplexityInstrumentation;
+import graphql.analysis.MaxQueryDepthInstrumentation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * <p>
+ * {@code GraphQLConfig} is responsible for protecting the GraphQL endpoint against expensive operations.
+ * </p>
+ *
+ * <p>
+ * Spring Boot registers every {@code Instrumentation} bean with the GraphQL engine. The two instrumentations below
+ * reject an operation before it is executed when its nesting depth or its field complexity exceeds the configured
+ * limits, so a single request cannot fan out into enough resolver calls to exhaust the connection pool.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Configuration
+public class GraphQLConfig {
+
+    // Maximum nesting depth of a GraphQL operation
+    @Value("${graphql.limits.maxDepth:6}")
+    int maxDepth;
+
+    // Maximum complexity of a GraphQL operation, counted as one point per selected field
+    @Value("${graphql.limits.maxComplexity:200}")
+    int maxComplexity;
+
+    /**
+     * Configures the depth limit.
+     *
+     * @return a configured {@link MaxQueryDepthInstrumentation}
+     */
+    @Bean
+    public MaxQueryDepthInstrumentation maxQueryDepthInstrumentation() {
+        return new MaxQueryDepthInstrumentation(maxDepth);
+    }
+
+    /**
+     * Configures the complexity limit.
+     *
+     * @return a configured {@link MaxQueryComplexityInstrumentation}
+     */
+    @Bean
+    public MaxQueryComplexityInstrumentation maxQueryComplexityInstrumentation() {
+        return new MaxQueryComplexityInstrumentation(maxComplexity);
+    }
+}
@@ -1,14 +1,36 @@
 package edu.csudh.lsu.revops.controller;
 
+import edu.csudh.lsu.revops.cache.ActivityImage;
+import edu.csudh.lsu.revops.cache.ActivityImageCache;
+import edu.csudh.lsu.revops.cache.CatalogFormat;
+import edu.csudh.lsu.revops.cache.CatalogPayload;
+import edu.csudh.lsu.revops.cache.CatalogPayloadCache;
+import edu.csudh.lsu.revops.model.ActivityChange;
+import edu.csudh.lsu.revops.model.ActivityChangesResponse;
 import edu.csudh.lsu.revops.model.ActivityResponse;
+import edu.csudh.lsu.revops.model.ConditionalUpdateResult;
 import edu.csudh.lsu.revops.service.RevOpsActivityService;
+import edu.csudh.lsu.revops.utils.ApplicationConstants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -23,6 +45,11 @@ import java.util.UUID;
  * </p>
  *
  * <p>
+ * A write accepted while the database is unreachable is answered with 202 and {@code REGISTERED}; it is applied once
+ * the database is back.
+ * </p>
+ *
+ * <p>
  * Created by: Digvijay Hethur Jagadeesha
  * Date: August 24 2024
  * </p>
@@ -36,15 +63,36 @@ import java.util.UUID;
 @RequestMapping("/activities")
 public class ActivityController {
 
+    // Request attributes of Tomcat's sendfile support, see org.apache.coyote.Constants
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private RevOpsActivityService revOpsActivityService;
 
+    @Autowired
+    private CatalogPayloadCache catalogPayloadCache;
+
+    @Autowired
+    private ActivityImageCache activityImageCache;
+
+    // Rejects PUT and PATCH without If-Match once every client sends it
+    @Value("${activities.requireIfMatch:false}")
+    private boolean requireIfMatch;
+
+    // How long kiosks may use an image before revalidating it
+    @Value("${images.maxAgeSeconds:86400}")
+    private long imageMaxAgeSeconds;
+
     /**
      * Endpoint to create a new activity.
      *
      * <p>
      * This method accepts an {@code ActivityResponse} object, which is then passed to the {@code RevOpsActivityService}
-     * to save the activity in the database. The result of the operation is returned as an HTTP response.
+     * to save the activity in the database. The result of the operation is returned as an HTTP response. An activity
+     * without a venue is created at the default venue.
      * </p>
      *
      * @param activityResponse The {@code ActivityResponse} object containing activity data from the client.
@@ -54,6 +102,10 @@ public class ActivityController {
     public ResponseEntity<String> createActivity(@RequestBody ActivityResponse activityResponse) {
         try {
             int result = revOpsActivityService.saveOrUpdateActivity(activityResponse);
+            if (result == ApplicationConstants.WRITE_REGISTERED) {
+                log.warn("The database is unreachable; the write was registered for replay.");
+                return ResponseEntity.accepted().body(ApplicationConstants.REGISTERED);
+            }
             if (result > 0) {
                 log.info("Activity successfully created.");
                 return ResponseEntity.ok("Activity created successfully.");
@@ -61,12 +113,38 @@ public class ActivityController {
                 log.warn("Failed to create activity.");
                 return ResponseEntity.status(500).body("Failed to create activity.");
             }
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected new activity: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(ex.getMessage());
         } catch (Exception ex) {
             log.error("Error occurred while creating activity: {}", ex.getMessage(), ex);
             return ResponseEntity.status(500).body("An error occurred while creating the activity.");
         }
     }
 
+    /**
+     * Endpoint to fetch a single activity with its status and version.
+     *
+     * <p>
+     * The version is returned as the {@code ETag}; clients send it back as {@code If-Match} to update the activity
+     * only if nobody else changed it in the meantime.
+     * </p>
+     *
+     * @param id The ID of the activity.
+     * @return {@code ResponseEntity<ActivityChange>} The activity, or 404 if it does not exist.
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ActivityChange> getActivity(@PathVariable UUID id) {
+        try {
+            return revOpsActivityService.fetchActivity(id)
+                    .map(activity -> ResponseEntity.ok().eTag(toETag(activity.getChangeVersion())).body(activity))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching activity {}: {}", id, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
     /**
      * Endpoint to update an existing activity.
      *
@@ -76,14 +154,49 @@ public class ActivityController {
      * as an HTTP response.
      * </p>
      *
+     * <p>
+     * A PUT replaces the activity, so its name, category and price are required; a missing image location removes the
+     * image. Use PATCH to change single fields.
+     * </p>
+     *
+     * <p>
+     * With an {@code If-Match} header carrying the version from {@link #getActivity(UUID)}, the activity is replaced
+     * only if it still has that version; otherwise the response is a 412 with the current version as {@code ETag}.
+     * </p>
+     *
      * @param id The ID of the activity to update.
+     * @param ifMatch The {@code If-Match} header of the request.
      * @param activityResponse The {@code ActivityResponse} object containing updated activity data from the client.
      * @return {@code ResponseEntity<String>} A response entity with a message indicating the result of the operation.
      */
     @PutMapping("/{id}")
-    public ResponseEntity<String> updateActivity(@PathVariable UUID id, @RequestBody ActivityResponse activityResponse) {
+    public ResponseEntity<String> updateActivity(@PathVariable UUID id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                 @RequestBody ActivityResponse activityResponse) {
         try {
-            int result = revOpsActivityService.saveOrUpdateActivity(activityResponse); // Assuming service handles the update logic
+            if (activityResponse.getActivity() == null || activityResponse.getCategory() == null
+                    || activityResponse.getPrice() == null) {
+                log.warn("Rejected incomplete replacement of activity {}.", id);
+                return ResponseEntity.badRequest().body("A PUT replaces the activity; activity, category and price are required.");
+            }
+            Long expectedVersion = parseIfMatch(ifMatch);
+            if (expectedVersion != null) {
+                Map<String, Object> fields = new HashMap<>();
+                fields.put("activity", activityResponse.getActivity());
+                fields.put("category", activityResponse.getCategory());
+                fields.put("price", activityResponse.getPrice());
+                fields.put("imageLocation", activityResponse.getImageLocation());
+                return toResponse(revOpsActivityService.updateActivityIfVersion(id, fields, expectedVersion));
+            }
+            if (requireIfMatch) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("If-Match header is required.");
+            }
+            activityResponse.setId(id);
+            int result = revOpsActivityService.saveOrUpdateActivity(activityResponse);
+            if (result == ApplicationConstants.WRITE_REGISTERED) {
+                log.warn("The database is unreachable; the write was registered for replay.");
+                return ResponseEntity.accepted().body(ApplicationConstants.REGISTERED);
+            }
             if (result > 0) {
                 log.info("Activity successfully updated.");
                 return ResponseEntity.ok("Activity updated successfully.");
@@ -91,6 +204,9 @@ public class ActivityController {
                 log.warn("Failed to update activity.");
                 return ResponseEntity.status(500).body("Failed to update activity.");
             }
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected update of activity {}: {}", id, ex.getMessage());
+            return ResponseEntity.badRequest().body(ex.getMessage());
         } catch (Exception ex) {
             log.error("Error occurred while updating activity: {}", ex.getMessage(), ex);
             return ResponseEntity.status(500).body("An error occurred while updating the activity.");
@@ -106,14 +222,33 @@ public class ActivityController {
      * is returned as an HTTP response.
      * </p>
      *
+     * <p>
+     * With an {@code If-Match} header, the fields are updated with a single conditional statement only if the activity
+     * still has that version, the same way as {@link #updateActivity(UUID, String, ActivityResponse)}.
+     * </p>
+     *
      * @param id The ID of the activity to update.
+     * @param ifMatch The {@code If-Match} header of the request.
      * @param updates A map of field names and values to update.
      * @return {@code ResponseEntity<String>} A response entity with a message indicating the result of the operation.
      */
     @PatchMapping("/{id}")
-    public ResponseEntity<String> partialUpdateActivity(@PathVariable UUID id, @RequestBody Map<String, Object> updates) {
+    public ResponseEntity<String> partialUpdateActivity(@PathVariable UUID id,
+                                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                        @RequestBody Map<String, Object> updates) {
         try {
+            Long expectedVersion = parseIfMatch(ifMatch);
+            if (expectedVersion != null) {
+                return toResponse(revOpsActivityService.updateActivityIfVersion(id, updates, expectedVersion));
+            }
+            if (requireIfMatch) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED).body("If-Match header is required.");
+            }
             int result = revOpsActivityService.partialUpdateActivity(id, updates); // Implement partial update logic in service
+            if (result == ApplicationConstants.WRITE_REGISTERED) {
+                log.warn("The database is unreachable; the write was registered for replay.");
+                return ResponseEntity.accepted().body(ApplicationConstants.REGISTERED);
+            }
             if (result > 0) {
                 log.info("Activity successfully updated.");
                 return ResponseEntity.ok("Activity updated successfully.");
@@ -121,6 +256,9 @@ public class ActivityController {
                 log.warn("Failed to update activity.");
                 return ResponseEntity.status(500).body("Failed to update activity.");
             }
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected update of activity {}: {}", id, ex.getMessage());
+            return ResponseEntity.badRequest().body(ex.getMessage());
         } catch (Exception ex) {
             log.error("Error occurred while updating activity: {}", ex.getMessage(), ex);
             return ResponseEntity.status(500).body("An error occurred while updating the activity.");
@@ -128,23 +266,288 @@ public class ActivityController {
     }
 
     /**
-     * Endpoint to fetch all distinct activity categories.
+     * Endpoint to soft-delete an activity.
+     *
+     * <p>
+     * The activity is not removed; its status is set to {@code DISABLE}, which hides it from the catalog and reports
+     * it to kiosks through {@code GET /activities/changes}.
+     * </p>
+     *
+     * @param id The ID of the activity to disable.
+     * @return {@code ResponseEntity<String>} A response entity with a message indicating the result of the operation.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<String> disableActivity(@PathVariable UUID id) {
+        try {
+            int result = revOpsActivityService.disableActivity(id);
+            if (result == ApplicationConstants.WRITE_REGISTERED) {
+                log.warn("The database is unreachable; the write was registered for replay.");
+                return ResponseEntity.accepted().body(ApplicationConstants.REGISTERED);
+            }
+            if (result > 0) {
+                log.info("Activity successfully disabled.");
+                return ResponseEntity.ok("Activity disabled successfully.");
+            } else {
+                log.warn("Activity to disable was not found.");
+                return ResponseEntity.status(404).body("Activity not found.");
+            }
+        } catch (Exception ex) {
+            log.error("Error occurred while disabling activity: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(500).body("An error occurred while disabling the activity.");
+        }
+    }
+
+    /**
+     * Endpoint for kiosks to fetch the catalog changes after a change-version cursor.
+     *
+     * <p>
+     * Instead of downloading the whole catalog, a kiosk passes the {@code nextSince} of its previous call and gets
+     * only the activities inserted, updated or disabled since then. Omitting {@code since} returns the catalog from
+     * the start, including disabled activities. The cursor is kept per venue.
+     * </p>
+     *
+     * @param venue The venue, or none for the default venue.
+     * @param since The change version the client has already seen.
+     * @param limit The maximum number of changes to return.
+     * @return {@code ResponseEntity<ActivityChangesResponse>} A response entity containing the changes and the next cursor.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ActivityChangesResponse> getChanges(@RequestParam(required = false) String venue,
+                                                              @RequestParam(defaultValue = "-1") long since,
+                                                              @RequestParam(defaultValue = "500") int limit) {
+        try {
+            return ResponseEntity.ok(revOpsActivityService.fetchChangesSince(venue, since, limit));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected activity changes request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching activity changes: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to fetch the full activity catalog of a venue.
+     *
+     * <p>
+     * The body is encoded as JSON, CBOR or Smile depending on the {@code Accept} header and served from the
+     * {@code CatalogPayloadCache}, gzip-compressed when the client accepts it and the body is large enough. The
+     * response carries an {@code ETag} so clients can revalidate with {@code If-None-Match} and get a 304 while the
+     * catalog is unchanged. The cached bytes are written straight to the servlet output stream, without going
+     * through content negotiation and the message converters. A venue that is not served gets a 400.
+     * </p>
+     *
+     * @param venue The venue, or none for the default venue.
+     * @param accept The {@code Accept} header of the request.
+     * @param acceptEncoding The {@code Accept-Encoding} header of the request.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request.
+     * @param response The servlet response the encoded list of activities is written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping
+    public void getAllActivities(@RequestParam(required = false) String venue,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                 HttpServletResponse response) throws IOException {
+        CatalogPayload payload;
+        try {
+            payload = catalogPayloadCache.activities(venue, CatalogFormat.fromAcceptHeader(accept));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected activities request: {}", ex.getMessage());
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching activities: {}", ex.getMessage(), ex);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+        writePayload(payload, acceptEncoding, ifNoneMatch, response);
+    }
+
+    /**
+     * Endpoint to fetch all distinct activity categories of a venue.
      *
      * <p>
      * This method interacts with the {@code RevOpsActivityService} to retrieve a list of distinct categories from the database.
-     * The result is returned as an HTTP response with a list of categories.
+     * The result is returned as an HTTP response with a list of categories, negotiated and cached the same way as
+     * {@link #getAllActivities(String, String, String, String, HttpServletResponse)}.
      * </p>
      *
-     * @return {@code ResponseEntity<List<String>>} A response entity containing the list of categories.
+     * @param venue The venue, or none for the default venue.
+     * @param accept The {@code Accept} header of the request.
+     * @param acceptEncoding The {@code Accept-Encoding} header of the request.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request.
+     * @param response The servlet response the encoded list of categories is written to.
+     * @throws IOException if the response cannot be written.
      */
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getAllCategories() {
+    public void getAllCategories(@RequestParam(required = false) String venue,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                 HttpServletResponse response) throws IOException {
+        CatalogPayload payload;
         try {
-            List<String> categories = revOpsActivityService.fetchAllCategories();
-            return ResponseEntity.ok(categories);
+            payload = catalogPayloadCache.categories(venue, CatalogFormat.fromAcceptHeader(accept));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected categories request: {}", ex.getMessage());
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            return;
         } catch (Exception ex) {
             log.error("Error occurred while fetching categories: {}", ex.getMessage(), ex);
-            return ResponseEntity.status(500).build();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+        writePayload(payload, acceptEncoding, ifNoneMatch, response);
+    }
+
+    /**
+     * Endpoint to fetch the image of an activity.
+     *
+     * <p>
+     * The image at the activity's {@code imageLocation} is fetched once, resized and kept in the
+     * {@code ActivityImageCache} on local disk. The file is sent without copying it through the JVM heap: through
+     * Tomcat's sendfile support when the connector offers it, and with {@link FileChannel#transferTo} otherwise.
+     * The response carries a strong {@code ETag} and a long {@code Cache-Control} max-age, so kiosks keep the image
+     * and revalidate it with {@code If-None-Match} afterwards.
+     * </p>
+     *
+     * @param id The ID of the activity.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request.
+     * @param request The servlet request, used to hand the file to the connector.
+     * @param response The servlet response the file is written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping("/{id}/image")
+    public void getActivityImage(@PathVariable UUID id,
+                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                 HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ActivityImage image;
+        boolean sendfile = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED));
+        FileChannel file;
+        try {
+            Optional<String> imageLocation = revOpsActivityService.fetchImageLocation(id);
+            if (imageLocation.isEmpty()) {
+                log.warn("No image found for activity with ID: {}", id);
+                response.setStatus(HttpStatus.NOT_FOUND.value());
+                return;
+            }
+            image = activityImageCache.get(imageLocation.get());
+            // Opened before anything is written, since the cache may evict the file at any time; an open file stays
+            // readable. The connector opens the file itself for sendfile, within the cache's deletion grace period.
+            file = sendfile ? null : FileChannel.open(image.getPath(), StandardOpenOption.READ);
+        } catch (IOException ex) {
+            log.error("Error occurred while fetching the image of activity {}: {}", id, ex.getMessage());
+            response.setStatus(HttpStatus.BAD_GATEWAY.value());
+            return;
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching the image of activity {}: {}", id, ex.getMessage(), ex);
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+
+        try (file) {
+            response.setHeader(HttpHeaders.ETAG, image.getETag());
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.maxAge(Duration.ofSeconds(imageMaxAgeSeconds))
+                    .cachePublic()
+                    .getHeaderValue());
+            if (ifNoneMatch != null && ifNoneMatch.contains(image.getETag())) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+
+            response.setContentType(image.getContentType());
+            response.setContentLengthLong(image.getSize());
+            if (sendfile) {
+                request.setAttribute(SENDFILE_FILENAME, image.getPath().toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, 0L);
+                request.setAttribute(SENDFILE_END, image.getSize());
+                return;
+            }
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < image.getSize()) {
+                long transferred = file.transferTo(position, image.getSize() - position, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+            }
+        }
+    }
+
+    /**
+     * Reads the version from an {@code If-Match} header such as {@code "42"}.
+     *
+     * @param ifMatch The {@code If-Match} header of the request.
+     * @return The version, or {@code null} if the header is absent or {@code *}.
+     * @throws IllegalArgumentException if the header does not carry a version.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.startsWith("W/")) {
+            eTag = eTag.substring(2);
+        }
+        try {
+            return Long.parseLong(eTag.replace("\"", ""));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match must carry a single activity version: " + ifMatch, ex);
+        }
+    }
+
+    private static String toETag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Builds the response for a conditional update.
+     *
+     * @param result The outcome of the update.
+     * @return {@code ResponseEntity<String>} 200 with the new version, 412 with the current one, 404, or 503 if the
+     * version cannot be checked while the database is unreachable or the outage journal is replayed.
+     */
+    private static ResponseEntity<String> toResponse(ConditionalUpdateResult result) {
+        return switch (result.getOutcome()) {
+            case UPDATED -> ResponseEntity.ok().eTag(toETag(result.getVersion())).body("Activity updated successfully.");
+            case CONFLICT -> ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(toETag(result.getVersion()))
+                    .body("Activity was changed by someone else.");
+            case NOT_FOUND -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("Activity not found.");
+            case UNAVAILABLE -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("The activity version cannot be checked right now; retry the update later.");
+        };
+    }
+
+    /**
+     * Writes a cached catalog payload to the response.
+     *
+     * @param payload The cached payload.
+     * @param acceptEncoding The {@code Accept-Encoding} header of the request.
+     * @param ifNoneMatch The {@code If-None-Match} header of the request.
+     * @param response The servlet response, answered with a 304 if the client already has this version and with the
+     * payload otherwise.
+     * @throws IOException if the response cannot be written.
+     */
+    private static void writePayload(CatalogPayload payload, String acceptEncoding, String ifNoneMatch,
+                                     HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, payload.getETag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (ifNoneMatch != null && ifNoneMatch.contains(payload.getETag())) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(payload.getFormat().getMediaType().toString());
+        byte[] body = payload.getBody();
+        if (payload.isGzipAvailable() && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = payload.getGzippedBody();
         }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
     }
 }
@@ -0,0 +1,122 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.model.ActivityCategory;
+import edu.csudh.lsu.revops.model.ActivityResponse;
+import edu.csudh.lsu.revops.service.RevOpsActivityService;
+import edu.csudh.lsu.revops.venue.Venues;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * The {@code ActivityGraphQLController} class resolves the GraphQL queries for activities and categories.
+ * </p>
+ *
+ * <p>
+ * The {@code Category.activities} field is resolved through a {@link BatchMapping}, which Spring for GraphQL backs
+ * with a {@code DataLoader}. All categories selected by one operation are collected first and their activities are
+ * loaded with a single query, so a dashboard asking for 50 categories with their activities costs two SQL
+ * statements instead of 51. Every query takes an optional venue, resolved by {@code Venues}; the categories carry the
+ * venue they were read from, and the batch loads the activities of each venue with one query.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Controller
+public class ActivityGraphQLController {
+
+    @Autowired
+    private RevOpsActivityService revOpsActivityService;
+
+    @Autowired
+    private Venues venues;
+
+    /**
+     * Resolves the {@code categories} query.
+     *
+     * @param venue the venue, or {@code null} for the default venue
+     * @return all activity categories of the venue
+     */
+    @QueryMapping
+    public List<ActivityCategory> categories(@Argument String venue) {
+        String resolved = venues.resolve(venue);
+        return revOpsActivityService.fetchAllCategories(resolved).stream()
+                .map(name -> new ActivityCategory(name, resolved))
+                .toList();
+    }
+
+    /**
+     * Resolves the {@code category} query.
+     *
+     * @param name the name of the category
+     * @param venue the venue, or {@code null} for the default venue
+     * @return the category, or {@code null} if no activity of the venue uses it
+     */
+    @QueryMapping
+    public ActivityCategory category(@Argument String name, @Argument String venue) {
+        String resolved = venues.resolve(venue);
+        return revOpsActivityService.fetchAllCategories(resolved).contains(name)
+                ? new ActivityCategory(name, resolved)
+                : null;
+    }
+
+    /**
+     * Resolves the {@code activities} query.
+     *
+     * @param category an optional category to restrict the catalog to
+     * @param venue the venue, or {@code null} for the default venue
+     * @return the matching activities
+     */
+    @QueryMapping
+    public List<ActivityResponse> activities(@Argument String category, @Argument String venue) {
+        if (category == null) {
+            return revOpsActivityService.fetchAllActivities(venue);
+        }
+        return revOpsActivityService.fetchActivitiesByCategories(venue, List.of(category));
+    }
+
+    /**
+     * Resolves {@code Category.activities} for every category of the current operation in one batch.
+     *
+     * @param categories the categories collected by the {@code DataLoader}
+     * @return the activities of each category; categories without activities map to an empty list
+     */
+    @BatchMapping(typeName = "Category", field = "activities")
+    public Map<ActivityCategory, List<ActivityResponse>> categoryActivities(List<ActivityCategory> categories) {
+        log.info("Batch loading activities for {} categories.", categories.size());
+        Map<ActivityCategory, List<ActivityResponse>> activitiesByCategory = new LinkedHashMap<>();
+        categories.forEach(category -> activitiesByCategory.put(category, new ArrayList<>()));
+
+        Map<String, List<String>> namesByVenue = categories.stream()
+                .collect(Collectors.groupingBy(ActivityCategory::getVenue, LinkedHashMap::new,
+                        Collectors.mapping(ActivityCategory::getName, Collectors.toList())));
+        namesByVenue.forEach((venue, names) -> {
+            for (ActivityResponse activity : revOpsActivityService.fetchActivitiesByCategories(venue, names)) {
+                List<ActivityResponse> activities =
+                        activitiesByCategory.get(new ActivityCategory(activity.getCategory(), venue));
+                if (activities != null) {
+                    activities.add(activity);
+                }
+            }
+        });
+        return activitiesByCategory;
+    }
+}
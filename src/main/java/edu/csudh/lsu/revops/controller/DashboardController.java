@@ -0,0 +1,134 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.dashboard.DashboardStream;
+import edu.csudh.lsu.revops.leaderboard.Leaderboards;
+import edu.csudh.lsu.revops.model.DashboardSnapshot;
+import edu.csudh.lsu.revops.model.Leaderboard;
+import edu.csudh.lsu.revops.model.UsageMetric;
+import edu.csudh.lsu.revops.model.UsageSeries;
+import edu.csudh.lsu.revops.timeseries.UsageTimeSeries;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code DashboardController} class serves the live data of the manager dashboards.
+ * </p>
+ *
+ * <p>
+ * {@code GET /dashboard/stream} is a server-sent event stream of {@code update} events, each carrying a complete
+ * {@code DashboardSnapshot}. When the node already serves {@code dashboard.maxSubscribers} streams it answers with 503
+ * and the dashboard retries, ideally against another node. {@code GET /dashboard/snapshot} returns the latest
+ * snapshot for clients that cannot keep a stream open. {@code GET /dashboard/leaderboards/{board}} returns the most
+ * played activities or the busiest stations of the last hour or day from the {@code Leaderboards}.
+ * {@code GET /dashboard/usage/{metric}} charts sessions, billed minutes or revenue per minute, or per bucket of
+ * minutes, over the last days from the {@code UsageTimeSeries}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/dashboard")
+public class DashboardController {
+
+    @Autowired
+    private DashboardStream dashboardStream;
+
+    @Autowired
+    private Leaderboards leaderboards;
+
+    @Autowired
+    private UsageTimeSeries usageTimeSeries;
+
+    /**
+     * Endpoint to open a stream of dashboard snapshots.
+     *
+     * @return {@code ResponseEntity<SseEmitter>} The event stream, or 503 if this node has no room for another stream.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream() {
+        return dashboardStream.subscribe()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> {
+                    log.warn("Rejected dashboard stream: subscriber limit reached.");
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+                });
+    }
+
+    /**
+     * Endpoint to fetch the latest dashboard snapshot.
+     *
+     * @return {@code ResponseEntity<DashboardSnapshot>} A response entity containing the snapshot.
+     */
+    @GetMapping("/snapshot")
+    public ResponseEntity<DashboardSnapshot> snapshot() {
+        return ResponseEntity.ok(dashboardStream.snapshot());
+    }
+
+    /**
+     * Endpoint to fetch a leaderboard, such as the most played activities of the last hour.
+     *
+     * @param board {@code activities} or {@code stations}.
+     * @param window {@code hour} or {@code day}.
+     * @param limit The maximum number of entries.
+     * @return {@code ResponseEntity<Leaderboard>} A response entity containing the board, or 404 if it is unknown.
+     */
+    @GetMapping("/leaderboards/{board}")
+    public ResponseEntity<Leaderboard> leaderboard(@PathVariable String board,
+                                                   @RequestParam(defaultValue = Leaderboards.HOUR) String window,
+                                                   @RequestParam(defaultValue = "10") int limit) {
+        return leaderboards.top(board, window, Math.max(1, limit))
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint to chart a usage metric, for all stations, one category or one station.
+     *
+     * @param metric {@code sessions}, {@code billed_minutes} or {@code revenue_cents}.
+     * @param from The start of the range; 24 hours before {@code to} if omitted.
+     * @param to The end of the range; now if omitted.
+     * @param step The number of minutes of each point.
+     * @param category A category; all stations if neither a category nor a station is given.
+     * @param station A station.
+     * @return {@code ResponseEntity<UsageSeries>} A response entity containing the series, or 400 if the request is invalid.
+     */
+    @GetMapping("/usage/{metric}")
+    public ResponseEntity<UsageSeries> usage(@PathVariable String metric,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+                                             @RequestParam(defaultValue = "1") int step,
+                                             @RequestParam(required = false) String category,
+                                             @RequestParam(required = false) String station) {
+        try {
+            Instant end = to != null ? to : Instant.now();
+            Instant start = from != null ? from : end.minus(Duration.ofDays(1));
+            return ResponseEntity.ok(usageTimeSeries.series(UsageMetric.valueOf(metric.toUpperCase()), start, end, step,
+                    category, station));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected usage series request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
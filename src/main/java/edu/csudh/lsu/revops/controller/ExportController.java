@@ -0,0 +1,98 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.export.ExportDataset;
+import edu.csudh.lsu.revops.export.ExportFormat;
+import edu.csudh.lsu.revops.service.RevOpsExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * <p>
+ * The {@code ExportController} class handles incoming HTTP requests for finance exports.
+ * </p>
+ *
+ * <p>
+ * {@code GET /exports/{dataset}?format=csv|parquet&from=YYYY-MM-DD&to=YYYY-MM-DD} streams {@code activities},
+ * {@code sessions} or {@code revenue} for a range of business days as a chunked download; the first rows are on the
+ * wire while later days are still being read. Unknown datasets, formats or ranges are answered with 400, and 503 when
+ * {@code export.maxConcurrent} exports are already running. An export that fails after it started ends the connection
+ * without the final chunk, so clients see a failed download rather than a short file.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/exports")
+public class ExportController {
+
+    @Autowired
+    private RevOpsExportService revOpsExportService;
+
+    /**
+     * Endpoint to stream an export.
+     *
+     * @param dataset The dataset to export.
+     * @param format The output format.
+     * @param from The first business day, inclusive.
+     * @param to The last business day, inclusive.
+     * @param response The servlet response the export is written to.
+     * @throws IOException if the export fails after the response was committed.
+     */
+    @GetMapping("/{dataset}")
+    public void export(@PathVariable String dataset,
+                       @RequestParam(defaultValue = "csv") String format,
+                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                       HttpServletResponse response) throws IOException {
+        ExportDataset exportDataset;
+        ExportFormat exportFormat;
+        try {
+            exportDataset = ExportDataset.valueOf(dataset.toUpperCase());
+            exportFormat = ExportFormat.valueOf(format.toUpperCase());
+            revOpsExportService.validateRange(from, to);
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected export request for {} as {}: {}", dataset, format, ex.getMessage());
+            response.sendError(HttpStatus.BAD_REQUEST.value(), ex.getMessage());
+            return;
+        }
+
+        response.setContentType(exportFormat.getContentType());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + dataset.toLowerCase() + "-"
+                + from + "-" + to + "." + exportFormat.getExtension() + "\"");
+        try {
+            long rows = revOpsExportService.export(exportDataset, exportFormat, from, to, response.getOutputStream());
+            log.info("Streamed {} rows of {} from {} to {}.", rows, exportDataset, from, to);
+        } catch (IllegalStateException ex) {
+            if (response.isCommitted()) {
+                log.error("Export of {} from {} to {} failed: {}", exportDataset, from, to, ex.getMessage(), ex);
+                throw ex;
+            }
+            log.warn("Rejected export request: {}", ex.getMessage());
+            response.reset();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        } catch (IOException | RuntimeException ex) {
+            log.error("Export of {} from {} to {} failed: {}", exportDataset, from, to, ex.getMessage(), ex);
+            if (response.isCommitted()) {
+                throw ex;
+            }
+            response.reset();
+            response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+    }
+}
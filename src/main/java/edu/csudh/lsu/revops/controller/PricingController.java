@@ -0,0 +1,109 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.model.PricingRule;
+import edu.csudh.lsu.revops.model.SessionQuote;
+import edu.csudh.lsu.revops.model.SessionQuoteRequest;
+import edu.csudh.lsu.revops.service.RevOpsPricingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code PricingController} class handles incoming HTTP requests related to pricing rules and session charges.
+ * </p>
+ *
+ * <p>
+ * Rules are replaced as a complete set with {@code PUT /pricing/rules}. Single sessions are quoted with
+ * {@code POST /pricing/quote}; end-of-day reconciliation re-prices its sessions in one call to
+ * {@code POST /pricing/reprice}. Requests with out-of-range values are answered with 400.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/pricing")
+public class PricingController {
+
+    @Autowired
+    private RevOpsPricingService revOpsPricingService;
+
+    /**
+     * Endpoint to fetch the current pricing rules.
+     *
+     * @return {@code ResponseEntity<List<PricingRule>>} A response entity containing all rules.
+     */
+    @GetMapping("/rules")
+    public ResponseEntity<List<PricingRule>> getRules() {
+        try {
+            return ResponseEntity.ok(revOpsPricingService.fetchAllRules());
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching pricing rules: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to replace the complete set of pricing rules.
+     *
+     * @param rules The new rules.
+     * @return {@code ResponseEntity<String>} A response entity with the version of the new rate table.
+     */
+    @PutMapping("/rules")
+    public ResponseEntity<String> replaceRules(@RequestBody List<PricingRule> rules) {
+        try {
+            long version = revOpsPricingService.replaceRules(rules);
+            log.info("Pricing rules replaced; rate table version {}.", version);
+            return ResponseEntity.ok("Pricing rules replaced; rate table version " + version + ".");
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected pricing rules: {}", ex.getMessage());
+            return ResponseEntity.badRequest().body(ex.getMessage());
+        } catch (Exception ex) {
+            log.error("Error occurred while replacing pricing rules: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(500).body("An error occurred while replacing the pricing rules.");
+        }
+    }
+
+    /**
+     * Endpoint to quote the charge of a single session.
+     *
+     * @param request The session to price.
+     * @return {@code ResponseEntity<SessionQuote>} A response entity containing the charge.
+     */
+    @PostMapping("/quote")
+    public ResponseEntity<SessionQuote> quote(@RequestBody SessionQuoteRequest request) {
+        try {
+            return ResponseEntity.ok(revOpsPricingService.quote(request));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected quote request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to re-price a batch of sessions under the current rules.
+     *
+     * @param requests The sessions to price.
+     * @return {@code ResponseEntity<List<SessionQuote>>} A response entity containing the charges in request order.
+     */
+    @PostMapping("/reprice")
+    public ResponseEntity<List<SessionQuote>> reprice(@RequestBody List<SessionQuoteRequest> requests) {
+        try {
+            return ResponseEntity.ok(revOpsPricingService.reprice(requests));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected re-price request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.model.StudentProfile;
+import edu.csudh.lsu.revops.service.RevOpsProfileService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ProfileController} class handles incoming HTTP requests related to student profiles.
+ * </p>
+ *
+ * <p>
+ * {@code GET /profiles/search} is meant to be called on every keystroke at the counter; it is answered from the
+ * in-memory {@code ProfileSearchIndex} and never touches the database.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/profiles")
+public class ProfileController {
+
+    @Autowired
+    private RevOpsProfileService revOpsProfileService;
+
+    /**
+     * Endpoint to find the enabled profiles matching part of a name or student ID.
+     *
+     * @param q The text typed so far; every word must start a word of the name or the student ID.
+     * @param limit The maximum number of matches.
+     * @return {@code ResponseEntity<List<StudentProfile>>} A response entity containing the matches, best first.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<StudentProfile>> searchProfiles(@RequestParam String q,
+                                                               @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(revOpsProfileService.searchProfiles(q, limit));
+    }
+
+    /**
+     * Endpoint to fetch a profile.
+     *
+     * @param studentId The ID of the profile.
+     * @return {@code ResponseEntity<StudentProfile>} A response entity containing the profile, or 404 if it does not exist.
+     */
+    @GetMapping("/{studentId}")
+    public ResponseEntity<StudentProfile> getProfile(@PathVariable String studentId) {
+        try {
+            return revOpsProfileService.fetchProfile(studentId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching profile {}: {}", studentId, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to save or update a profile.
+     *
+     * @param studentId The ID of the profile.
+     * @param profile The profile.
+     * @return {@code ResponseEntity<StudentProfile>} A response entity containing the profile as stored.
+     */
+    @PutMapping("/{studentId}")
+    public ResponseEntity<StudentProfile> saveProfile(@PathVariable String studentId,
+                                                      @RequestBody StudentProfile profile) {
+        try {
+            profile.setStudentId(studentId);
+            return ResponseEntity.ok(revOpsProfileService.saveOrUpdateProfile(profile));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected profile {}: {}", studentId, ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("Error occurred while saving profile {}: {}", studentId, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to disable a profile, which removes it from search.
+     *
+     * @param studentId The ID of the profile.
+     * @return {@code ResponseEntity<String>} A response entity with the outcome.
+     */
+    @DeleteMapping("/{studentId}")
+    public ResponseEntity<String> disableProfile(@PathVariable String studentId) {
+        try {
+            if (revOpsProfileService.disableProfile(studentId) == 0) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok("Profile disabled successfully.");
+        } catch (Exception ex) {
+            log.error("Error occurred while disabling profile {}: {}", studentId, ex.getMessage(), ex);
+            return ResponseEntity.status(500).body("An error occurred while disabling the profile.");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.model.ReconcileStatus;
+import edu.csudh.lsu.revops.model.ReconciliationReport;
+import edu.csudh.lsu.revops.model.ShiftReconciliation;
+import edu.csudh.lsu.revops.service.RevOpsReconciliationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ReconciliationController} class handles incoming HTTP requests related to the nightly shift
+ * reconciliation.
+ * </p>
+ *
+ * <p>
+ * Staff list the shifts marked {@code FAILED_MANUAL} with {@code GET /reconciliation/shifts} and, once corrected,
+ * reconcile their day again with {@code POST /reconciliation/runs?date=YYYY-MM-DD}. A run requested while another
+ * one is in progress is answered with 409.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/reconciliation")
+public class ReconciliationController {
+
+    @Autowired
+    private RevOpsReconciliationService revOpsReconciliationService;
+
+    /**
+     * Endpoint to reconcile one business day now.
+     *
+     * @param date The business day.
+     * @return {@code ResponseEntity<ReconciliationReport>} A response entity containing the report of the run.
+     */
+    @PostMapping("/runs")
+    public ResponseEntity<ReconciliationReport> reconcile(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            return ResponseEntity.ok(revOpsReconciliationService.reconcile(date));
+        } catch (IllegalStateException ex) {
+            log.warn("Rejected reconciliation run for {}: {}", date, ex.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception ex) {
+            log.error("Error occurred while reconciling {}: {}", date, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to fetch the most recent shifts with a given reconciliation status.
+     *
+     * @param status The status to look for, {@code FAILED_MANUAL} by default.
+     * @param limit The maximum number of shifts.
+     * @return {@code ResponseEntity<List<ShiftReconciliation>>} A response entity containing the shifts, newest first.
+     */
+    @GetMapping("/shifts")
+    public ResponseEntity<List<ShiftReconciliation>> getShifts(
+            @RequestParam(defaultValue = "FAILED_MANUAL") ReconcileStatus status,
+            @RequestParam(defaultValue = "100") int limit) {
+        try {
+            return ResponseEntity.ok(revOpsReconciliationService.fetchShifts(status, Math.min(Math.max(limit, 1), 1000)));
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching {} shifts: {}", status, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.model.AvailabilityWindow;
+import edu.csudh.lsu.revops.model.ReservationRequest;
+import edu.csudh.lsu.revops.model.ReservationResult;
+import edu.csudh.lsu.revops.model.StationReservation;
+import edu.csudh.lsu.revops.service.RevOpsReservationService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code ReservationController} class books stations and tournament slots ahead of time.
+ * </p>
+ *
+ * <p>
+ * {@code POST /reservations} books one station, or several for a tournament slot, all or none; it answers 201 with the
+ * reservations made, or 409 with the confirmed reservations in the way. {@code GET /reservations/availability} lists the
+ * free windows of stations in a period.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/reservations")
+public class ReservationController {
+
+    @Autowired
+    private RevOpsReservationService revOpsReservationService;
+
+    /**
+     * Endpoint to book stations for a period.
+     *
+     * @param request The booking.
+     * @return {@code ResponseEntity<List<StationReservation>>} The reservations made with 201, or the reservations in
+     * the way with 409.
+     */
+    @PostMapping
+    public ResponseEntity<List<StationReservation>> book(@RequestBody ReservationRequest request) {
+        try {
+            ReservationResult result = revOpsReservationService.book(request);
+            if (result.getOutcome() == ReservationResult.Outcome.CONFLICT) {
+                log.info("Rejected reservation of {}: {} conflicting reservations.", request.getStationIds(),
+                        result.getReservations().size());
+                return ResponseEntity.status(HttpStatus.CONFLICT).body(result.getReservations());
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(result.getReservations());
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected reservation: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("Error occurred while booking stations {}: {}", request.getStationIds(), ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to fetch a reservation.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return {@code ResponseEntity<StationReservation>} The reservation, or 404 if it does not exist.
+     */
+    @GetMapping("/{reservationId}")
+    public ResponseEntity<StationReservation> getReservation(@PathVariable UUID reservationId) {
+        return revOpsReservationService.getReservation(reservationId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint to cancel a confirmed reservation.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return {@code ResponseEntity<StationReservation>} The cancelled reservation, or 404 if there is no confirmed
+     * reservation with that ID.
+     */
+    @DeleteMapping("/{reservationId}")
+    public ResponseEntity<StationReservation> cancel(@PathVariable UUID reservationId) {
+        return revOpsReservationService.cancel(reservationId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Endpoint to list the confirmed reservations of a station in a period.
+     *
+     * @param stationId The station.
+     * @param from The start of the period.
+     * @param to The end of the period, exclusive.
+     * @return {@code ResponseEntity<List<StationReservation>>} The reservations by start, or 400 if the period is invalid.
+     */
+    @GetMapping("/stations/{stationId}")
+    public ResponseEntity<List<StationReservation>> getStationReservations(
+            @PathVariable String stationId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to) {
+        try {
+            return ResponseEntity.ok(revOpsReservationService.getStationReservations(stationId, from, to));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected reservation listing: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Endpoint to find the free windows of stations in a period.
+     *
+     * @param stationIds The stations.
+     * @param from The start of the period.
+     * @param to The end of the period, exclusive.
+     * @param minMinutes The shortest window worth reporting.
+     * @return {@code ResponseEntity<List<AvailabilityWindow>>} The windows by station and start, or 400 if the request
+     * is invalid.
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<List<AvailabilityWindow>> getAvailability(
+            @RequestParam List<String> stationIds,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(defaultValue = "30") int minMinutes) {
+        try {
+            return ResponseEntity.ok(revOpsReservationService.getAvailability(stationIds, from, to, minMinutes));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected availability search: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
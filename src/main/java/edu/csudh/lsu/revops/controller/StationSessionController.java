@@ -0,0 +1,148 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.model.OccupancyResponse;
+import edu.csudh.lsu.revops.model.SessionQuote;
+import edu.csudh.lsu.revops.model.StationSession;
+import edu.csudh.lsu.revops.model.StationSessionRequest;
+import edu.csudh.lsu.revops.session.StationSessionRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>
+ * The {@code StationSessionController} class handles incoming HTTP requests related to sessions on game room stations.
+ * </p>
+ *
+ * <p>
+ * Occupancy and running sessions are answered from the {@code StationSessionRegistry} in memory and never touch the
+ * database. Starting a session on a station that is already in use is answered with 409; extending or ending a
+ * session on a free station with 404.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/stations")
+public class StationSessionController {
+
+    @Autowired
+    private StationSessionRegistry stationSessionRegistry;
+
+    /**
+     * Endpoint to fetch how many stations are in use, in total and per category.
+     *
+     * @return {@code ResponseEntity<OccupancyResponse>} A response entity containing the occupancy.
+     */
+    @GetMapping("/occupancy")
+    public ResponseEntity<OccupancyResponse> getOccupancy() {
+        return ResponseEntity.ok(new OccupancyResponse(stationSessionRegistry.occupiedCount(),
+                stationSessionRegistry.occupiedByCategory()));
+    }
+
+    /**
+     * Endpoint to fetch all running sessions.
+     *
+     * @return {@code ResponseEntity<List<StationSession>>} A response entity containing the running sessions.
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<List<StationSession>> getSessions() {
+        return ResponseEntity.ok(stationSessionRegistry.sessions());
+    }
+
+    /**
+     * Endpoint to fetch the running session of a station.
+     *
+     * @param stationId The station.
+     * @return {@code ResponseEntity<StationSession>} A response entity containing the session, or 404 if the station is free.
+     */
+    @GetMapping("/{stationId}/session")
+    public ResponseEntity<StationSession> getSession(@PathVariable String stationId) {
+        try {
+            return stationSessionRegistry.get(stationId)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception ex) {
+            log.error("Error occurred while fetching the session of station {}: {}", stationId, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to start a session on a station.
+     *
+     * @param stationId The station.
+     * @param request The booking.
+     * @return {@code ResponseEntity<StationSession>} A response entity containing the new session.
+     */
+    @PostMapping("/{stationId}/session")
+    public ResponseEntity<StationSession> startSession(@PathVariable String stationId,
+                                                       @RequestBody StationSessionRequest request) {
+        try {
+            StationSession session = stationSessionRegistry.start(stationId, request);
+            log.info("Started session {} on station {}.", session.getSessionId(), stationId);
+            return ResponseEntity.status(HttpStatus.CREATED).body(session);
+        } catch (IllegalStateException ex) {
+            log.warn("Rejected session start: {}", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected session start: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("Error occurred while starting a session on station {}: {}", stationId, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to extend the running session of a station.
+     *
+     * @param stationId The station.
+     * @param minutes The minutes to add.
+     * @return {@code ResponseEntity<StationSession>} A response entity containing the extended session.
+     */
+    @PostMapping("/{stationId}/session/extend")
+    public ResponseEntity<StationSession> extendSession(@PathVariable String stationId, @RequestParam int minutes) {
+        try {
+            return stationSessionRegistry.extend(stationId, minutes)
+                    .map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected session extension: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("Error occurred while extending the session on station {}: {}", stationId, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to end the running session of a station.
+     *
+     * @param stationId The station.
+     * @return {@code ResponseEntity<SessionQuote>} A response entity containing the charge of the ended session.
+     */
+    @DeleteMapping("/{stationId}/session")
+    public ResponseEntity<SessionQuote> endSession(@PathVariable String stationId) {
+        try {
+            Optional<SessionQuote> quote = stationSessionRegistry.end(stationId);
+            return quote.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (Exception ex) {
+            log.error("Error occurred while ending the session on station {}: {}", stationId, ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package edu.csudh.lsu.revops.controller;
+
+import edu.csudh.lsu.revops.model.SketchGranularity;
+import edu.csudh.lsu.revops.model.UniqueVisitors;
+import edu.csudh.lsu.revops.service.RevOpsVisitorService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code VisitorController} class handles incoming HTTP requests for unique visitor reports.
+ * </p>
+ *
+ * <p>
+ * Unique visitors are the distinct members who started a session. The counts are estimates from HyperLogLog sketches
+ * and carry their relative standard error.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@RestController
+@RequestMapping("/visitors")
+public class VisitorController {
+
+    private static final String BY_CATEGORY = "category";
+
+    @Autowired
+    private RevOpsVisitorService revOpsVisitorService;
+
+    /**
+     * Endpoint to estimate the unique visitors over a range of business days.
+     *
+     * @param from The first business day, inclusive.
+     * @param to The last business day, inclusive.
+     * @param category A category; all categories if omitted.
+     * @return {@code ResponseEntity<UniqueVisitors>} A response entity containing the estimate.
+     */
+    @GetMapping("/uniques")
+    public ResponseEntity<UniqueVisitors> uniques(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                  @RequestParam(required = false) String category) {
+        try {
+            return ResponseEntity.ok(revOpsVisitorService.uniques(from, to, category));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected unique visitor request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("Error occurred while estimating unique visitors: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+
+    /**
+     * Endpoint to estimate the unique visitors of each shift, day or category over a range of business days.
+     *
+     * @param from The first business day, inclusive.
+     * @param to The last business day, inclusive.
+     * @param by {@code shift}, {@code day} or {@code category}.
+     * @return {@code ResponseEntity<List<UniqueVisitors>>} A response entity containing one estimate per bucket or category.
+     */
+    @GetMapping("/uniques/breakdown")
+    public ResponseEntity<List<UniqueVisitors>> breakdown(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                          @RequestParam(defaultValue = "day") String by) {
+        try {
+            SketchGranularity granularity = BY_CATEGORY.equalsIgnoreCase(by) ? null : SketchGranularity.valueOf(by.toUpperCase());
+            return ResponseEntity.ok(revOpsVisitorService.breakdown(from, to, granularity));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Rejected unique visitor breakdown request: {}", ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("Error occurred while estimating unique visitors: {}", ex.getMessage(), ex);
+            return ResponseEntity.status(500).build();
+        }
+    }
+}
@@ -2,23 +2,43 @@ package edu.csudh.lsu.revops.dao;
 
 import edu.csudh.lsu.persistence.exception.PersistenceException;
 import edu.csudh.lsu.persistence.model.activity.Activity;
-import edu.csudh.lsu.persistence.repository.gamesroom.activity.ActivityRepository;
-import edu.csudh.lsu.persistence.service.ActivityService;
+import edu.csudh.lsu.revops.model.ActivityChange;
+import edu.csudh.lsu.revops.model.ActivityChangeEvent;
+import edu.csudh.lsu.revops.model.ActivityChangeType;
 import edu.csudh.lsu.revops.model.ActivityResponse;
+import edu.csudh.lsu.revops.model.ConditionalUpdateResult;
+import edu.csudh.lsu.revops.model.JournaledWrite;
 import edu.csudh.lsu.revops.utils.ActivityHelper;
+import edu.csudh.lsu.revops.utils.ApplicationConstants;
+import edu.csudh.lsu.revops.venue.Venues;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.TransactionException;
 import org.hibernate.exception.JDBCConnectionException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.orm.jpa.JpaSystemException;
 import org.springframework.retry.support.RetryTemplate;
 import org.springframework.stereotype.Component;
 
+import java.sql.Time;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * <p>
@@ -26,12 +46,44 @@ import java.util.UUID;
  * </p>
  *
  * <p>
- * This class encapsulates the logic for saving, updating, and partially updating activities using the {@code RevOpsActivityService}.
+ * This class encapsulates the logic for saving, updating, and partially updating activities.
  * It leverages the {@code RetryTemplate} to handle retries for potentially transient failures. All relevant logging is performed
  * for audit and monitoring purposes.
  * </p>
  *
  * <p>
+ * Every write runs through the {@code CockroachTransactionExecutor} in a single transaction together with an append to
+ * the {@code activity_outbox} table through {@code ActivityOutboxDAO}, so a change event exists if and only if the
+ * write committed. Writes use plain JDBC so that a serialization failure can be answered by rolling back to the restart
+ * savepoint; the columns of the entity they write are read from its Hibernate mapping by {@code ActivityTable}, so the
+ * DAO does not depend on how the persistence library names them. Once committed, the event is also published as a
+ * Spring application event for in-process listeners such as {@code CatalogVersion}.
+ * </p>
+ *
+ * <p>
+ * The catalog reads go through the {@code FollowerReadExecutor}, which can serve them as bounded-staleness follower
+ * reads from the nearest replica, depending on {@code followerReads.operations} in the configuration.
+ * </p>
+ *
+ * <p>
+ * The reads a kiosk fleet issues all at once, the catalog reads, go through {@code SingleFlight}: identical concurrent
+ * calls share one database call and its result. Shared lists are unmodifiable.
+ * </p>
+ *
+ * <p>
+ * The writes never read the activity first. A partial update sets only the given columns and a disable only the
+ * status, each with one {@code UPDATE} that returns the row as written, so concurrent updates of different fields do
+ * not overwrite each other.
+ * </p>
+ *
+ * <p>
+ * Every activity belongs to a venue, see {@code Venues}. The catalog reads, the delta sync and the latest change
+ * version are per venue and served by the venue-leading indexes of {@code revops-schema.sql}, so each reads only the
+ * key range of its venue. A venue is set when the activity is created and never changed by an update; the change
+ * event of every write carries the venue stored with the row.
+ * </p>
+ *
+ * <p>
  * Created by: Digvijay Hethur Jagadeesha
  * Date: August 22 2024
  * </p>
@@ -44,42 +96,179 @@ import java.util.UUID;
 @Component
 public class ActivityDAO {
 
+    private static final String SELECT_ENABLED_CATEGORIES =
+            "SELECT DISTINCT category FROM activity WHERE venue = ? AND status = ? ORDER BY category";
+
+    private static final String SELECT_ALL_ACTIVITIES =
+            "SELECT " + ActivityRowMapper.COLUMNS + " FROM activity WHERE venue = ? AND status = ? " +
+                    "ORDER BY category, activity";
+
+    private static final String SELECT_ACTIVITIES_BY_CATEGORIES =
+            "SELECT " + ActivityRowMapper.COLUMNS + " FROM activity WHERE venue = :venue AND status = :status " +
+                    "AND category IN (:categories) ORDER BY category, activity";
+
+    private static final String STAMP_CHANGE_VERSION =
+            "UPDATE activity SET change_version = nextval('activity_change_version_seq'), changed_at = clock_timestamp() " +
+                    "WHERE id = ? RETURNING change_version, venue";
+
+    // Entity properties an upsert of an existing activity overwrites; the creation properties are kept
+    private static final List<String> UPSERTED_PROPERTIES =
+            List.of("activity", "category", "price", "imageLocation", "lastUpdatedBy");
+
+    // Entity properties a client may update, and the one every update sets to the writing application
+    private static final List<String> UPDATABLE_PROPERTIES = List.of("activity", "category", "price", "imageLocation");
+    private static final String LAST_UPDATED_BY = "lastUpdatedBy";
+
+    // The SET clause is built from the columns of the entity mapping and holds only the columns a request changes
+    private static final String UPDATE_ACTIVITY =
+            "UPDATE activity SET %s WHERE id = ? RETURNING " + ActivityRowMapper.COLUMNS;
+
+    private static final String UPDATE_STATUS =
+            "UPDATE activity SET status = ? WHERE id = ? RETURNING " + ActivityRowMapper.COLUMNS;
+
+    // Rows stamped within the settle window are held back so a transaction that took a lower version but has not
+    // committed yet cannot be skipped by a cursor that already moved past it.
+    private static final String SELECT_CHANGES_SINCE =
+            "SELECT " + ActivityRowMapper.COLUMNS + ", status, change_version FROM activity " +
+                    "WHERE venue = ? AND change_version > ? AND (changed_at IS NULL OR changed_at < now() - CAST(? AS INTERVAL)) " +
+                    "ORDER BY change_version LIMIT ?";
+
+    private static final String SELECT_IMAGE_LOCATION =
+            "SELECT image_location FROM activity WHERE id = ? AND status = ?";
+
+    private static final String SELECT_ACTIVITY =
+            "SELECT " + ActivityRowMapper.COLUMNS + ", status, change_version FROM activity WHERE id = ?";
+
+    // The version check and the new version are part of the one UPDATE, so no row is locked before it
+    private static final String UPDATE_IF_VERSION =
+            "UPDATE activity SET %s, change_version = nextval('activity_change_version_seq'), " +
+                    "changed_at = clock_timestamp() WHERE id = ? AND change_version = ? " +
+                    "RETURNING " + ActivityRowMapper.COLUMNS + ", change_version";
+
+    private static final String CLAIM_REPLAY =
+            "INSERT INTO journal_replay (write_id) VALUES (?) ON CONFLICT (write_id) DO NOTHING";
+
+    private static final String SELECT_LATEST_CHANGE_VERSION =
+            "SELECT coalesce(max(change_version), 0) FROM activity WHERE venue = ?";
+
+    // Same settle window as SELECT_CHANGES_SINCE; reads down the venue-leading index until the first settled row
+    private static final String SELECT_SETTLED_CHANGE_VERSION =
+            "SELECT coalesce(max(change_version), 0) FROM activity " +
+                    "WHERE venue = ? AND (changed_at IS NULL OR changed_at < now() - CAST(? AS INTERVAL))";
+
+    // Returned by a write transaction whose journaled write was applied before
+    private static final ActivityChangeEvent ALREADY_REPLAYED = new ActivityChangeEvent();
+
+    private static final RowMapper<Activity> WRITTEN_ACTIVITY_ROW_MAPPER = (rs, rowNum) -> {
+        ActivityResponse activityResponse = ActivityRowMapper.INSTANCE.mapRow(rs, rowNum);
+        Activity activity = ActivityHelper.toActivity(activityResponse);
+        activity.setId(activityResponse.getId());
+        return activity;
+    };
+
+    private static final RowMapper<ActivityChange> ACTIVITY_CHANGE_ROW_MAPPER = (rs, rowNum) -> {
+        ActivityResponse activityResponse = ActivityRowMapper.INSTANCE.mapRow(rs, rowNum);
+        ActivityChange activityChange = new ActivityChange();
+        activityChange.setId(activityResponse.getId());
+        activityChange.setActivity(activityResponse.getActivity());
+        activityChange.setCategory(activityResponse.getCategory());
+        activityChange.setPrice(activityResponse.getPrice());
+        activityChange.setImageLocation(activityResponse.getImageLocation());
+        activityChange.setVenue(activityResponse.getVenue());
+        activityChange.setStatus(rs.getString("status"));
+        activityChange.setChangeVersion(rs.getLong("change_version"));
+        return activityChange;
+    };
+
     @Autowired
-    private ActivityService activityService;
+    private RetryTemplate retryTemplate;
 
     @Autowired
-    private ActivityRepository activityRepository;
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
 
     @Autowired
-    private RetryTemplate retryTemplate;
+    private ActivityOutboxDAO activityOutboxDAO;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private FollowerReadExecutor followerReadExecutor;
+
+    @Autowired
+    private SingleFlight singleFlight;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Venues venues;
+
+    @Autowired
+    private ActivityTable activityTable;
+
+    // Built from the entity mapping; the venue is only set by the insert, so an update never moves an activity
+    private String upsertActivitySql;
 
     /**
-     * Saves or updates an activity by interacting with the {@code RevOpsActivityService}.
+     * Builds the statements whose columns are read from the mapping of the {@code Activity} entity.
+     */
+    @PostConstruct
+    public void init() {
+        upsertActivitySql = activityTable.upsertSql(UPSERTED_PROPERTIES, "venue");
+    }
+
+    /**
+     * Saves or updates an activity.
      *
      * <p>
-     * This method attempts to save or update the provided activity data. In case of transient failures,
-     * retries are handled by the {@code RetryTemplate}. Logging is performed to record each attempt and
-     * its outcome, including successful saves and any exceptions encountered.
+     * This method inserts the provided activity, or updates it if an activity with the same ID already exists. The
+     * columns are those of the {@code Activity} entity, see {@code ActivityTable}. The write runs through the
+     * {@code CockroachTransactionExecutor}, which retries serialization failures with the savepoint restart protocol.
+     * Logging is performed to record the outcome, including successful saves and any exceptions encountered.
      * </p>
      *
      * @param activityResponse The {@code ActivityResponse} object containing data from the frontend.
      * @return int The number of records updated (1 for success, 0 for failure).
      */
     public int saveOrUpdateActivity(ActivityResponse activityResponse) {
+        return saveOrUpdateActivity(activityResponse, null);
+    }
+
+    private int saveOrUpdateActivity(ActivityResponse activityResponse, UUID journalWriteId) {
         try {
             // Convert ActivityResponse to Activity entity using ActivityHelper
             Activity activity = ActivityHelper.toActivity(activityResponse);
+            activity.setId(activityResponse.getId() != null ? activityResponse.getId() : UUID.randomUUID());
+            activity.setCreatedDate(new Date());
+            activity.setCreatedTime(Time.valueOf(LocalTime.now()));
+            activity.setLastUpdatedBy(ApplicationConstants.REV_OPS_APP);
+            activity.setAccessedBy(ApplicationConstants.REV_OPS_APP);
+            // Writes journaled before venues existed carry none
+            String venue = venues.resolve(activityResponse.getVenue());
+            log.info("Saving or updating activity: {} category: {} price: {} venue: {}",
+                    activity.getActivity(), activity.getCategory(), activity.getPrice(), venue);
 
-            // Execute the operation with retries
-            return retryTemplate.execute(retryContext -> {
-                log.info("Attempt {} to save or update activity: {} category: {} price: {}",
-                        retryContext.getRetryCount(),
-                        activity.getActivity(), activity.getCategory(), activity.getPrice());
-
-                activityService.saveActivity(activity);
-                log.info("Activity saved or updated successfully.");
-                return 1;  // Return 1 for success
+            ActivityChangeEvent changeEvent = cockroachTransactionExecutor.execute("saveOrUpdateActivity", status -> {
+                if (!claimReplay(journalWriteId)) {
+                    return ALREADY_REPLAYED;
+                }
+                jdbcTemplate.update(upsertActivitySql, activityTable.insertValues(activity, venue));
+                return recordChange(activity, ActivityChangeType.UPSERTED);
             });
+            if (changeEvent == ALREADY_REPLAYED) {
+                log.info("Journaled write {} was already replayed.", journalWriteId);
+                return 1;
+            }
+            applicationEventPublisher.publishEvent(changeEvent);
+            log.info("Activity saved or updated successfully.");
+            return 1;  // Return 1 for success
         } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
             log.error("Data access or transaction failure while saving or updating activity.", ex);
             throw ex;
@@ -90,44 +279,55 @@ public class ActivityDAO {
     }
 
     /**
-     * Partially updates an activity by interacting with the {@code RevOpsActivityService}.
+     * Partially updates an activity.
      *
      * <p>
-     * This method attempts to partially update the provided activity data. Only the fields that are present
-     * in the {@code updates} map will be modified. In case of transient failures, retries are handled by the
-     * {@code RetryTemplate}. Logging is performed to record each attempt and its outcome, including successful
-     * updates and any exceptions encountered.
+     * This method attempts to partially update the provided activity data. Only the columns of the fields that are
+     * present in the {@code updates} map are written, with a single {@code UPDATE} that returns the row as written; the
+     * activity is not read beforehand, so a concurrent update of other fields is kept. The update runs through the
+     * {@code CockroachTransactionExecutor}. Logging is performed to record the outcome, including successful updates
+     * and any exceptions encountered.
      * </p>
      *
      * @param id The ID of the activity to update.
      * @param updates A map of field names and values to update.
-     * @return int The number of records updated (1 for success, 0 for failure).
+     * @return int The number of records updated (1 for success, 0 if the activity does not exist).
+     * @throws IllegalArgumentException if a field is unknown or its value has the wrong type.
      */
     public int partialUpdateActivity(UUID id, Map<String, Object> updates) {
+        return partialUpdateActivity(id, updates, null);
+    }
+
+    private int partialUpdateActivity(UUID id, Map<String, Object> updates, UUID journalWriteId) {
+        // Validates the field names and value types
+        ActivityHelper.applyUpdates(new Activity(), updates);
         try {
-            // Fetch the existing activity
-            Optional<Activity> existingActivityOpt = retryTemplate.execute(retryContext -> {
-                log.info("Attempt {} to fetch activity for partial update with ID: {}", retryContext.getRetryCount(), id);
-                return activityRepository.findById(id);
-            });
+            // In a fixed order, so equal sets of fields give the same statement
+            List<String> fields = UPDATABLE_PROPERTIES.stream().filter(updates::containsKey).toList();
+            String sql = String.format(UPDATE_ACTIVITY, setClause(fields));
+            List<Object> args = new ArrayList<>(fields.size() + 2);
+            fields.forEach(field -> args.add(updates.get(field)));
+            args.add(ApplicationConstants.REV_OPS_APP);
+            args.add(id);
 
-            if (existingActivityOpt.isEmpty()) {
+            ActivityChangeEvent changeEvent = cockroachTransactionExecutor.execute("partialUpdateActivity", status -> {
+                if (!claimReplay(journalWriteId)) {
+                    return ALREADY_REPLAYED;
+                }
+                List<Activity> updated = jdbcTemplate.query(sql, WRITTEN_ACTIVITY_ROW_MAPPER, args.toArray());
+                return updated.isEmpty() ? null : recordChange(updated.get(0), ActivityChangeType.UPDATED);
+            });
+            if (changeEvent == ALREADY_REPLAYED) {
+                log.info("Journaled write {} was already replayed.", journalWriteId);
+                return 1;
+            }
+            if (changeEvent == null) {
                 log.warn("Activity with ID: {} not found for partial update.", id);
                 return 0;  // Activity not found
             }
-
-            Activity existingActivity = existingActivityOpt.get();
-            // Apply the updates using ActivityHelper or direct modification
-            ActivityHelper.applyUpdates(existingActivity, updates);
-
-            // Execute the update operation with retries
-            return retryTemplate.execute(retryContext -> {
-                log.info("Attempt {} to partially update activity with ID: {}", retryContext.getRetryCount(), id);
-
-                activityService.saveActivity(existingActivity);
-                log.info("Activity partially updated successfully.");
-                return 1;  // Return 1 for success
-            });
+            applicationEventPublisher.publishEvent(changeEvent);
+            log.info("Activity partially updated successfully: {}.", fields);
+            return 1;  // Return 1 for success
         } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
             log.error("Data access or transaction failure while partially updating activity with ID: {}", id, ex);
             throw ex;
@@ -138,26 +338,150 @@ public class ActivityDAO {
     }
 
     /**
-     * Fetches all distinct activity categories by interacting with the {@code RevOpsActivityService}.
+     * Updates an activity only if it still has the version the client last saw.
+     *
+     * <p>
+     * The version check, the update of the given fields and the new change version are a single conditional
+     * {@code UPDATE}, so no row is locked or read beforehand; the fields not given keep their value. Only if nothing
+     * was updated is the row read once more, to tell a version conflict from a missing activity. The write and its
+     * outbox event run through the {@code CockroachTransactionExecutor}. Outcomes are counted in
+     * {@code revops.activity.conditional_updates}, tagged with the outcome and the category and venue of the
+     * activity, so conflict rates show where edits contend.
+     * </p>
+     *
+     * @param id The ID of the activity to update.
+     * @param updates A map of field names and values to update; the same fields as {@link #partialUpdateActivity}.
+     * @param expectedVersion The change version the client last saw.
+     * @return {@code ConditionalUpdateResult} The outcome and the new or current version.
+     * @throws IllegalArgumentException if no field is given, a field is unknown or its value has the wrong type.
+     */
+    public ConditionalUpdateResult updateActivityIfVersion(UUID id, Map<String, Object> updates, long expectedVersion) {
+        // Validates the field names and value types the same way a partial update does
+        ActivityHelper.applyUpdates(new Activity(), updates);
+        if (updates.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        try {
+            List<String> fields = List.copyOf(updates.keySet());
+            String sql = String.format(UPDATE_IF_VERSION, setClause(fields));
+            List<Object> args = new ArrayList<>(fields.size() + 3);
+            fields.forEach(field -> args.add(updates.get(field)));
+            args.add(ApplicationConstants.REV_OPS_APP);
+            args.add(id);
+            args.add(expectedVersion);
+
+            ActivityChangeEvent changeEvent = cockroachTransactionExecutor.execute("updateActivityIfVersion", status -> {
+                List<ActivityChangeEvent> updated = jdbcTemplate.query(sql, (rs, rowNum) -> {
+                    Activity activity = ActivityHelper.toActivity(ActivityRowMapper.INSTANCE.mapRow(rs, rowNum));
+                    activity.setId(id);
+                    ActivityChangeEvent event = ActivityHelper.toChangeEvent(activity, ActivityChangeType.UPDATED);
+                    event.setChangeVersion(rs.getLong("change_version"));
+                    event.setVenue(rs.getString("venue"));
+                    return event;
+                }, args.toArray());
+                if (updated.isEmpty()) {
+                    return null;
+                }
+                activityOutboxDAO.append(updated.get(0));
+                return updated.get(0);
+            });
+
+            if (changeEvent == null) {
+                List<ActivityChange> current = retryTemplate.execute(retryContext -> jdbcTemplate.query(
+                        SELECT_ACTIVITY, ACTIVITY_CHANGE_ROW_MAPPER, id));
+                if (current.isEmpty()) {
+                    log.warn("Activity with ID: {} not found for conditional update.", id);
+                    countConditionalUpdate(ConditionalUpdateResult.Outcome.NOT_FOUND, "", "");
+                    return new ConditionalUpdateResult(ConditionalUpdateResult.Outcome.NOT_FOUND, 0);
+                }
+                long currentVersion = current.get(0).getChangeVersion();
+                countConditionalUpdate(ConditionalUpdateResult.Outcome.CONFLICT, current.get(0).getCategory(),
+                        current.get(0).getVenue());
+                log.info("Conditional update of activity {} rejected: expected version {} but found {}.", id,
+                        expectedVersion, currentVersion);
+                return new ConditionalUpdateResult(ConditionalUpdateResult.Outcome.CONFLICT, currentVersion);
+            }
+
+            applicationEventPublisher.publishEvent(changeEvent);
+            countConditionalUpdate(ConditionalUpdateResult.Outcome.UPDATED, changeEvent.getCategory(),
+                    changeEvent.getVenue());
+            log.info("Activity {} updated from version {} to {}.", id, expectedVersion, changeEvent.getChangeVersion());
+            return new ConditionalUpdateResult(ConditionalUpdateResult.Outcome.UPDATED, changeEvent.getChangeVersion());
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while conditionally updating activity with ID: {}", id, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while conditionally updating activity with ID: {}", id, ex);
+            throw new PersistenceException("An exception occurred while conditionally updating a record.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Applies a write from the outage journal.
      *
      * <p>
-     * This method fetches a list of distinct activity categories from the database. In case of
+     * The write runs like the original call, except that its {@code writeId} is inserted into {@code journal_replay}
+     * in the same transaction. A write whose id is already there was replayed before and is skipped, so a journal
+     * replayed again after a crash applies every write once.
+     * </p>
+     *
+     * @param journaledWrite The write accepted during the outage.
+     * @return int The number of records updated (1 for success or an earlier replay, 0 if the activity does not exist).
+     */
+    public int replayJournaledWrite(JournaledWrite journaledWrite) {
+        UUID writeId = journaledWrite.getWriteId();
+        return switch (journaledWrite.getType()) {
+            case SAVE -> saveOrUpdateActivity(journaledWrite.getActivity(), writeId);
+            case PARTIAL_UPDATE -> partialUpdateActivity(journaledWrite.getActivityId(), journaledWrite.getUpdates(), writeId);
+            case DISABLE -> disableActivity(journaledWrite.getActivityId(), writeId);
+        };
+    }
+
+    /**
+     * Fetches a single activity with its status and current version, whether enabled or not.
+     *
+     * @param id The ID of the activity.
+     * @return {@code Optional<ActivityChange>} The activity, or empty if it does not exist.
+     */
+    public Optional<ActivityChange> fetchActivity(UUID id) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_ACTIVITY, ACTIVITY_CHANGE_ROW_MAPPER, id)
+                    .stream()
+                    .findFirst());
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching activity {}.", id, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching activity {}.", id, ex);
+            throw new PersistenceException("An exception occurred while fetching an activity.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches all distinct activity categories of a venue.
+     *
+     * <p>
+     * This method fetches a list of distinct activity categories of the venue from the database, skipping categories
+     * whose activities are all disabled. In case of
      * transient failures, retries are handled by the {@code RetryTemplate}. Logging is performed
      * to record each attempt and its outcome, including successful fetches and any exceptions encountered.
      * </p>
      *
-     * @return List of distinct categories as {@code List<String>}.
+     * @param venue The venue.
+     * @return List of distinct categories as unmodifiable {@code List<String>}.
      */
-    public List<String> fetchAllCategories() {
+    public List<String> fetchAllCategories(String venue) {
         try {
-            // Execute the operation with retries
-            return retryTemplate.execute(retryContext -> {
-                log.info("Attempt {} to fetch all activity categories", retryContext.getRetryCount());
+            // Execute the operation with retries, sharing it with identical calls in flight
+            return singleFlight.execute("fetchAllCategories", venue, () -> retryTemplate.execute(retryContext -> {
+                log.info("Attempt {} to fetch all activity categories of venue {}", retryContext.getRetryCount(), venue);
 
-                List<String> categories = activityService.fetchAllCategories();
+                List<String> categories = followerReadExecutor.read("fetchAllCategories", () ->
+                        jdbcTemplate.queryForList(SELECT_ENABLED_CATEGORIES, String.class, venue,
+                                ApplicationConstants.ENABLE));
                 log.info("Fetched {} categories successfully.", categories.size());
-                return categories;
-            });
+                return Collections.unmodifiableList(categories);
+            }));
         } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
             log.error("Data access or transaction failure while fetching activity categories.", ex);
             throw ex;
@@ -166,4 +490,276 @@ public class ActivityDAO {
             throw new PersistenceException("An exception occurred while fetching categories.", ex.getMessage());
         }
     }
+
+    /**
+     * Fetches the full activity catalog of a venue.
+     *
+     * <p>
+     * This method reads every activity of the venue in a single query. In case of transient failures, retries are
+     * handled by the {@code RetryTemplate}. Concurrent calls for the same venue share one query.
+     * </p>
+     *
+     * @param venue The venue.
+     * @return Unmodifiable list of activities as {@code List<ActivityResponse>}, ordered by category and name.
+     */
+    public List<ActivityResponse> fetchAllActivities(String venue) {
+        try {
+            return singleFlight.execute("fetchAllActivities", venue, () -> retryTemplate.execute(retryContext -> {
+                log.info("Attempt {} to fetch all activities of venue {}", retryContext.getRetryCount(), venue);
+
+                List<ActivityResponse> activities = followerReadExecutor.read("fetchAllActivities", () ->
+                        jdbcTemplate.query(SELECT_ALL_ACTIVITIES, ActivityRowMapper.INSTANCE, venue,
+                                ApplicationConstants.ENABLE));
+                log.info("Fetched {} activities successfully.", activities.size());
+                return Collections.unmodifiableList(activities);
+            }));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching activities.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching activities.", ex);
+            throw new PersistenceException("An exception occurred while fetching activities.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the activities of several categories of a venue with a single query.
+     *
+     * <p>
+     * This method backs the batched GraphQL {@code Category.activities} resolver: all categories requested in one
+     * GraphQL operation are loaded with one {@code IN} query instead of one query per category. In case of
+     * transient failures, retries are handled by the {@code RetryTemplate}.
+     * </p>
+     *
+     * @param venue The venue.
+     * @param categories The categories to load activities for.
+     * @return List of activities of the given categories, ordered by category and name.
+     */
+    public List<ActivityResponse> fetchActivitiesByCategories(String venue, Collection<String> categories) {
+        if (categories.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return retryTemplate.execute(retryContext -> {
+                log.info("Attempt {} to fetch activities for {} categories of venue {}", retryContext.getRetryCount(),
+                        categories.size(), venue);
+
+                List<ActivityResponse> activities = followerReadExecutor.read("fetchActivitiesByCategories", () ->
+                        namedParameterJdbcTemplate.query(SELECT_ACTIVITIES_BY_CATEGORIES,
+                                new MapSqlParameterSource("categories", categories).addValue("venue", venue)
+                                        .addValue("status", ApplicationConstants.ENABLE),
+                                ActivityRowMapper.INSTANCE));
+                log.info("Fetched {} activities successfully.", activities.size());
+                return activities;
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching activities by category.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching activities by category.", ex);
+            throw new PersistenceException("An exception occurred while fetching activities by category.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Soft-deletes an activity by setting its status to {@code DISABLE}.
+     *
+     * <p>
+     * The row is kept and stamped with a new change version, so kiosks syncing through
+     * {@link #fetchChangesSince(String, long, int, long)} learn about the removal. Disabled activities are no longer returned
+     * by the catalog reads. The update runs through the {@code CockroachTransactionExecutor}.
+     * </p>
+     *
+     * @param id The ID of the activity to disable.
+     * @return int The number of records updated (1 for success, 0 if the activity does not exist).
+     */
+    public int disableActivity(UUID id) {
+        return disableActivity(id, null);
+    }
+
+    private int disableActivity(UUID id, UUID journalWriteId) {
+        try {
+            ActivityChangeEvent changeEvent = cockroachTransactionExecutor.execute("disableActivity", status -> {
+                if (!claimReplay(journalWriteId)) {
+                    return ALREADY_REPLAYED;
+                }
+                List<Activity> disabled = jdbcTemplate.query(UPDATE_STATUS, WRITTEN_ACTIVITY_ROW_MAPPER,
+                        ApplicationConstants.DISABLE, id);
+                return disabled.isEmpty() ? null : recordChange(disabled.get(0), ActivityChangeType.DISABLED);
+            });
+            if (changeEvent == ALREADY_REPLAYED) {
+                log.info("Journaled write {} was already replayed.", journalWriteId);
+                return 1;
+            }
+            if (changeEvent == null) {
+                log.warn("Activity with ID: {} not found for disabling.", id);
+                return 0;  // Activity not found
+            }
+            applicationEventPublisher.publishEvent(changeEvent);
+            log.info("Activity disabled successfully.");
+            return 1;  // Return 1 for success
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while disabling activity with ID: {}", id, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while disabling activity with ID: {}", id, ex);
+            throw new PersistenceException("An exception occurred while disabling a record.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the activities of a venue changed after the given change version.
+     *
+     * <p>
+     * The query is served by the index on {@code (venue, change_version)}, so its cost depends on the number of changes
+     * of the venue and not on the size of the catalog. Disabled activities are included with their {@code DISABLE}
+     * status. Rows stamped within the last {@code settleMs} milliseconds are left for the next call. In case of
+     * transient failures, retries are handled by the {@code RetryTemplate}.
+     * </p>
+     *
+     * @param venue The venue.
+     * @param since The change version the client has already seen; only later changes are returned.
+     * @param limit The maximum number of changes to return.
+     * @param settleMs How long a change must have been stamped before it is returned.
+     * @return List of changes as {@code List<ActivityChange>}, ordered by change version.
+     */
+    public List<ActivityChange> fetchChangesSince(String venue, long since, int limit, long settleMs) {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                log.info("Attempt {} to fetch activity changes of venue {} since version {}", retryContext.getRetryCount(),
+                        venue, since);
+
+                List<ActivityChange> changes = jdbcTemplate.query(SELECT_CHANGES_SINCE, ACTIVITY_CHANGE_ROW_MAPPER,
+                        venue, since, settleMs + " milliseconds", limit);
+                log.info("Fetched {} activity changes successfully.", changes.size());
+                return changes;
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching activity changes.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching activity changes.", ex);
+            throw new PersistenceException("An exception occurred while fetching activity changes.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the image location of an enabled activity.
+     *
+     * @param id The ID of the activity.
+     * @return {@code Optional<String>} The image location, or empty if the activity is unknown, disabled or has no image.
+     */
+    public Optional<String> fetchImageLocation(UUID id) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_IMAGE_LOCATION,
+                            (rs, rowNum) -> rs.getString("image_location"), id, ApplicationConstants.ENABLE)
+                    .stream()
+                    .filter(location -> location != null && !location.isBlank())
+                    .findFirst());
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching the image location of activity {}.", id, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching the image location of activity {}.", id, ex);
+            throw new PersistenceException("An exception occurred while fetching an image location.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the highest change version stamped on any activity of a venue.
+     *
+     * @param venue The venue.
+     * @return long The latest change version of the venue, or 0 if no activity of it has been written through this
+     * DAO yet.
+     */
+    public long fetchLatestChangeVersion(String venue) {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                Long latest = jdbcTemplate.queryForObject(SELECT_LATEST_CHANGE_VERSION, Long.class, venue);
+                return latest == null ? 0 : latest;
+            });
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching the latest change version.", ex);
+            throw new PersistenceException("An exception occurred while fetching the latest change version.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the highest change version of a venue among the activities stamped at least {@code settleMs}
+     * milliseconds ago.
+     *
+     * <p>
+     * Change versions are allocated before commit, so a write can commit after one with a higher version and never
+     * move the latest version. Once settled, a version is only followed by writes that have committed, as long as they
+     * commit within {@code settleMs} of being stamped, which is the window the delta sync relies on as well.
+     * </p>
+     *
+     * @param venue The venue.
+     * @param settleMs How long a change must have been stamped before it is counted.
+     * @return long The latest settled change version of the venue, or 0 if there is none.
+     */
+    public long fetchSettledChangeVersion(String venue, long settleMs) {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                Long settled = jdbcTemplate.queryForObject(SELECT_SETTLED_CHANGE_VERSION, Long.class, venue,
+                        settleMs + " milliseconds");
+                return settled == null ? 0 : settled;
+            });
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching the settled change version.", ex);
+            throw new PersistenceException("An exception occurred while fetching the settled change version.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Marks a journaled write as replayed in the current transaction.
+     *
+     * @param journalWriteId The id of the journaled write, or {@code null} for a live write.
+     * @return {@code true} if the write is to be applied, {@code false} if it was replayed before.
+     */
+    private boolean claimReplay(UUID journalWriteId) {
+        return journalWriteId == null || jdbcTemplate.update(CLAIM_REPLAY, journalWriteId) == 1;
+    }
+
+    /**
+     * Builds the assignments of the given entity properties, followed by that of {@code lastUpdatedBy}.
+     *
+     * @param properties The properties to assign, each bound as one parameter in the given order.
+     * @return The assignments, for a {@code SET} clause.
+     */
+    private String setClause(Collection<String> properties) {
+        return Stream.concat(properties.stream(), Stream.of(LAST_UPDATED_BY))
+                .map(property -> activityTable.column(property) + " = ?")
+                .collect(Collectors.joining(", "));
+    }
+
+    private void countConditionalUpdate(ConditionalUpdateResult.Outcome outcome, String category, String venue) {
+        meterRegistry.counter("revops.activity.conditional_updates", "outcome", outcome.name().toLowerCase(),
+                "category", category == null ? "" : category, "venue", venue == null ? "" : venue).increment();
+    }
+
+    /**
+     * Records a write in the current transaction.
+     *
+     * <p>
+     * The row is stamped with the next change version, the change event takes the venue stored with the row, and the
+     * event is appended to the outbox. The caller
+     * publishes the returned event as an application event once the transaction has committed, so in-process
+     * listeners never see a write that was rolled back or restarted.
+     * </p>
+     *
+     * @param activity The {@code Activity} entity as it was written.
+     * @param changeType The kind of write that was performed.
+     * @return {@code ActivityChangeEvent} The event describing the write.
+     */
+    private ActivityChangeEvent recordChange(Activity activity, ActivityChangeType changeType) {
+        ActivityChangeEvent changeEvent = ActivityHelper.toChangeEvent(activity, changeType);
+        jdbcTemplate.queryForObject(STAMP_CHANGE_VERSION, (rs, rowNum) -> {
+            changeEvent.setChangeVersion(rs.getLong("change_version"));
+            changeEvent.setVenue(rs.getString("venue"));
+            return changeEvent;
+        }, activity.getId());
+        activityOutboxDAO.append(changeEvent);
+        return changeEvent;
+    }
 }
@@ -0,0 +1,200 @@
+package edu.csudh.lsu.revops.dao;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.ActivityChangeEvent;
+import edu.csudh.lsu.revops.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code ActivityOutboxDAO} class is responsible for reading and writing the {@code activity_outbox} table.
+ * </p>
+ *
+ * <p>
+ * {@code ActivityDAO} appends one row per write through {@link #append(ActivityChangeEvent)} while its own transaction
+ * is still open, so a change is recorded if and only if the write commits. The {@code OutboxRelay} then claims the
+ * unpublished rows, publishes them and marks them as published. Plain JDBC is used here because the outbox table is
+ * owned by this service and not mapped by the persistence library.
+ * </p>
+ *
+ * <p>
+ * Rows are claimed in the order of the {@code change_version} the write stamped on the activity in the same
+ * transaction. Two writes of one activity take that version under the row lock of the activity, so their versions
+ * follow their commit order on every node, which the ids do not: on CockroachDB a {@code BIGSERIAL} is filled by
+ * {@code unique_rowid()}. A claim is a lease: the rows are marked as claimed in a short transaction of their own and
+ * published after it committed, so no lock is held while the broker is awaited, and a relay that dies mid-batch only
+ * delays its rows until the lease expires. A row is not claimed while an earlier row of the same activity is claimed
+ * by another relay, so relays on several nodes never publish the events of one activity side by side.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ActivityOutboxDAO {
+
+    private static final String INSERT_EVENT =
+            "INSERT INTO activity_outbox (aggregate_id, event_type, payload, change_version) VALUES (?, ?, ?, ?)";
+
+    // Rows appended before change_version was recorded all have 0 and keep their id order among themselves
+    private static final String SELECT_CLAIMABLE =
+            "SELECT o.id, o.aggregate_id, o.event_type, o.payload, o.created_at, o.change_version " +
+                    "FROM activity_outbox o " +
+                    "WHERE o.published_at IS NULL AND (o.claimed_until IS NULL OR o.claimed_until < now()) " +
+                    "AND NOT EXISTS (SELECT 1 FROM activity_outbox e WHERE e.aggregate_id = o.aggregate_id " +
+                    "AND e.published_at IS NULL AND e.claimed_until >= now() " +
+                    "AND (e.change_version, e.id) < (o.change_version, o.id)) " +
+                    "ORDER BY o.change_version, o.id LIMIT ? FOR UPDATE";
+
+    private static final String CLAIM =
+            "UPDATE activity_outbox SET claimed_by = :claimId, claimed_until = now() + CAST(:lease AS INTERVAL) " +
+                    "WHERE id IN (:ids)";
+
+    private static final String MARK_PUBLISHED =
+            "UPDATE activity_outbox SET published_at = now(), claimed_by = NULL, claimed_until = NULL " +
+                    "WHERE id IN (:ids)";
+
+    private static final String RELEASE_CLAIM =
+            "UPDATE activity_outbox SET claimed_by = NULL, claimed_until = NULL " +
+                    "WHERE claimed_by = :claimId AND published_at IS NULL";
+
+    private static final String SELECT_LAG =
+            "SELECT min(created_at) AS oldest, now() AS db_now FROM activity_outbox WHERE published_at IS NULL";
+
+    private static final String DELETE_PUBLISHED =
+            "DELETE FROM activity_outbox WHERE published_at IS NOT NULL AND published_at < ?";
+
+    private static final RowMapper<OutboxEvent> OUTBOX_EVENT_ROW_MAPPER = (rs, rowNum) -> OutboxEvent.builder()
+            .id(rs.getLong("id"))
+            .aggregateId(rs.getObject("aggregate_id", UUID.class))
+            .eventType(rs.getString("event_type"))
+            .payload(rs.getString("payload"))
+            .createdAt(rs.getTimestamp("created_at").toInstant())
+            .changeVersion(rs.getLong("change_version"))
+            .build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Appends a change event to the outbox.
+     *
+     * <p>
+     * This method must be called inside the transaction of the write it describes. It does not retry on its own;
+     * any failure is propagated so the surrounding transaction rolls back together with the write.
+     * </p>
+     *
+     * @param event The {@code ActivityChangeEvent} describing the write.
+     */
+    public void append(ActivityChangeEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            jdbcTemplate.update(INSERT_EVENT, event.getActivityId(), event.getChangeType().name(), payload,
+                    event.getChangeVersion());
+            log.debug("Appended {} event for activity {} to the outbox.", event.getChangeType(), event.getActivityId());
+        } catch (JsonProcessingException ex) {
+            log.error("Unable to serialize change event for activity {}.", event.getActivityId(), ex);
+            throw new PersistenceException("An exception occurred while writing an outbox event.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Claims the oldest unpublished events that are not claimed yet.
+     *
+     * <p>
+     * This method must be called inside a transaction, which should commit right away: the rows are locked while
+     * they are claimed, so relays running on other nodes wait instead of claiming the same rows, and the claim itself
+     * lasts for {@code leaseMs} after the commit.
+     * </p>
+     *
+     * @param claimId Identifies the claim, so that {@link #releaseClaim(UUID)} only releases its own rows.
+     * @param limit The maximum number of events to claim.
+     * @param leaseMs How long the events stay claimed unless they are marked as published or released before.
+     * @return The claimed events ordered by change version.
+     */
+    public List<OutboxEvent> claimUnpublished(UUID claimId, int limit, long leaseMs) {
+        List<OutboxEvent> batch = jdbcTemplate.query(SELECT_CLAIMABLE, OUTBOX_EVENT_ROW_MAPPER, limit);
+        if (!batch.isEmpty()) {
+            namedParameterJdbcTemplate.update(CLAIM, new MapSqlParameterSource("claimId", claimId)
+                    .addValue("lease", leaseMs + " milliseconds")
+                    .addValue("ids", batch.stream().map(OutboxEvent::getId).toList()));
+        }
+        return batch;
+    }
+
+    /**
+     * Releases the events of a claim that were not marked as published, so that the next claim takes them again
+     * without waiting for the lease to expire.
+     *
+     * @param claimId The claim to release.
+     * @return int The number of rows released.
+     */
+    public int releaseClaim(UUID claimId) {
+        return namedParameterJdbcTemplate.update(RELEASE_CLAIM, new MapSqlParameterSource("claimId", claimId));
+    }
+
+    /**
+     * Marks the given events as published.
+     *
+     * @param ids The ids of the events acknowledged by the broker.
+     * @return int The number of rows updated.
+     */
+    public int markPublished(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return namedParameterJdbcTemplate.update(MARK_PUBLISHED, new MapSqlParameterSource("ids", ids));
+    }
+
+    /**
+     * Measures how far the relay is behind, using the database clock on both ends.
+     *
+     * @return The age of the oldest unpublished event, or {@link Duration#ZERO} if the outbox is drained.
+     */
+    public Duration fetchRelayLag() {
+        return jdbcTemplate.queryForObject(SELECT_LAG, (rs, rowNum) -> {
+            Timestamp oldest = rs.getTimestamp("oldest");
+            if (oldest == null) {
+                return Duration.ZERO;
+            }
+            return Duration.between(oldest.toInstant(), rs.getTimestamp("db_now").toInstant());
+        });
+    }
+
+    /**
+     * Deletes events that were published before the given instant.
+     *
+     * @param publishedBefore The retention cut-off.
+     * @return int The number of rows deleted.
+     */
+    public int purgePublished(Instant publishedBefore) {
+        return jdbcTemplate.update(DELETE_PUBLISHED, Timestamp.from(publishedBefore));
+    }
+}
@@ -0,0 +1,59 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.revops.model.ActivityResponse;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code ActivityRowMapper} class maps a row of the activity table to an {@code ActivityResponse}.
+ * </p>
+ *
+ * <p>
+ * It is used by the read paths of {@code ActivityDAO} that query the table directly instead of loading
+ * {@code Activity} entities, which avoids building and dirty-checking managed entities for read-only results.
+ * The column names follow the default Hibernate naming of the {@code Activity} entity.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class ActivityRowMapper implements RowMapper<ActivityResponse> {
+
+    public static final ActivityRowMapper INSTANCE = new ActivityRowMapper();
+
+    /**
+     * Columns selected by every query that uses this mapper.
+     */
+    public static final String COLUMNS = "id, activity, category, price, image_location, venue";
+
+    /**
+     * Maps the current row of the result set.
+     *
+     * @param rs the result set positioned on the row to map
+     * @param rowNum the number of the current row
+     * @return the mapped {@code ActivityResponse}
+     * @throws SQLException if a column cannot be read
+     */
+    @Override
+    public ActivityResponse mapRow(ResultSet rs, int rowNum) throws SQLException {
+        ActivityResponse activityResponse = new ActivityResponse();
+        activityResponse.setId(rs.getObject("id", UUID.class));
+        activityResponse.setActivity(rs.getString("activity"));
+        activityResponse.setCategory(rs.getString("category"));
+        int price = rs.getInt("price");
+        activityResponse.setPrice(rs.wasNull() ? null : price);
+        activityResponse.setImageLocation(rs.getString("image_location"));
+        activityResponse.setVenue(rs.getString("venue"));
+        return activityResponse;
+    }
+}
@@ -0,0 +1,150 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.model.activity.Activity;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * <p>
+ * The {@code ActivityTable} class knows how the {@code Activity} entity of the persistence library is mapped to the
+ * activity table.
+ * </p>
+ *
+ * <p>
+ * The activity writes of {@code ActivityDAO} run as plain JDBC, since a Hibernate session cannot be rewound to the
+ * restart savepoint of the {@code CockroachTransactionExecutor}. The table, the identifier column and the column of
+ * every entity property are therefore read from the Hibernate mapping at startup instead of being written out by
+ * hand, so a column added to or renamed in the entity reaches the writes without a change here. The columns of the
+ * RevOps service itself, such as {@code venue}, {@code status} and {@code change_version}, are not part of the entity
+ * and are named by {@code ActivityDAO}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ActivityTable {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private AbstractEntityPersister persister;
+
+    private String tableName;
+
+    private String idColumn;
+
+    // Column of every single-column property, in the order of the entity's property values
+    private final Map<String, String> columns = new LinkedHashMap<>();
+
+    // Indexes of the properties written by an insert
+    private final List<Integer> insertedProperties = new ArrayList<>();
+
+    /**
+     * Reads the mapping of the {@code Activity} entity.
+     *
+     * @throws IllegalStateException if a property is mapped to several columns, which the writes do not support.
+     */
+    @PostConstruct
+    public void init() {
+        persister = (AbstractEntityPersister) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(Activity.class);
+        tableName = persister.getTableName();
+        idColumn = persister.getIdentifierColumnNames()[0];
+        String[] propertyNames = persister.getPropertyNames();
+        boolean[] insertable = persister.getPropertyInsertability();
+        for (int index = 0; index < propertyNames.length; index++) {
+            String[] propertyColumns = persister.getPropertyColumnNames(index);
+            if (propertyColumns.length != 1) {
+                throw new IllegalStateException("Activity property " + propertyNames[index] + " is mapped to "
+                        + propertyColumns.length + " columns");
+            }
+            columns.put(propertyNames[index], propertyColumns[0]);
+            if (insertable[index]) {
+                insertedProperties.add(index);
+            }
+        }
+        log.info("Activity entity mapped to table {} with columns {}.", tableName, columns);
+    }
+
+    /**
+     * @return the table the entity is mapped to
+     */
+    public String tableName() {
+        return tableName;
+    }
+
+    /**
+     * Returns the column of an entity property.
+     *
+     * @param property the name of the property
+     * @return the column of the property
+     * @throws IllegalArgumentException if the entity has no such property
+     */
+    public String column(String property) {
+        String column = columns.get(property);
+        if (column == null) {
+            throw new IllegalArgumentException("Unknown field: " + property);
+        }
+        return column;
+    }
+
+    /**
+     * Builds an insert of every insertable property that, on a conflict of the identifier, only updates the given
+     * properties.
+     *
+     * @param updatedProperties the properties an existing row takes from the insert
+     * @param extraColumns columns outside the entity, bound after the properties and never updated
+     * @return the statement; bind it with {@link #insertValues(Activity, Object...)}
+     */
+    public String upsertSql(Collection<String> updatedProperties, String... extraColumns) {
+        List<String> insertColumns = new ArrayList<>();
+        insertColumns.add(idColumn);
+        insertedProperties.forEach(index -> insertColumns.add(persister.getPropertyColumnNames(index)[0]));
+        insertColumns.addAll(List.of(extraColumns));
+        return "INSERT INTO " + tableName + " (" + String.join(", ", insertColumns) + ") VALUES ("
+                + insertColumns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ") "
+                + "ON CONFLICT (" + idColumn + ") DO UPDATE SET "
+                + updatedProperties.stream()
+                .map(this::column)
+                .map(column -> column + " = excluded." + column)
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns the arguments of a statement built by {@link #upsertSql(Collection, String...)}.
+     *
+     * @param activity the activity to write
+     * @param extraValues the values of the extra columns
+     * @return the identifier, the insertable property values and the extra values
+     */
+    public Object[] insertValues(Activity activity, Object... extraValues) {
+        Object[] values = persister.getPropertyValues(activity);
+        List<Object> args = new ArrayList<>(insertedProperties.size() + extraValues.length + 1);
+        args.add(activity.getId());
+        insertedProperties.forEach(index -> args.add(values[index]));
+        args.addAll(Arrays.asList(extraValues));
+        return args.toArray();
+    }
+}
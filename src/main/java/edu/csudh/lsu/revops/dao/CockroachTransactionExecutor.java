@@ -0,0 +1,273 @@
+package edu.csudh.lsu.revops.dao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * The {@code CockroachTransactionExecutor} class runs write transactions with CockroachDB's client-side retry protocol.
+ * </p>
+ *
+ * <p>
+ * Under contention CockroachDB aborts one of the conflicting transactions with SQLSTATE {@code 40001} and expects the
+ * client to retry it. Instead of rolling back and replaying the whole DAO call, the executor opens the transaction
+ * with {@code SAVEPOINT cockroach_restart}, runs the work and releases the savepoint. When the work or the release
+ * fails with {@code 40001}, it issues {@code ROLLBACK TO SAVEPOINT cockroach_restart} and runs the work again in the
+ * same transaction, which keeps the transaction's original timestamp and priority and so makes it more likely to win
+ * the next round. A {@code 40001} raised by the final {@code COMMIT} restarts the whole transaction instead.
+ * </p>
+ *
+ * <p>
+ * Attempts are bounded by {@code cockroachRetry.maxAttempts} and separated by an exponential backoff with full jitter,
+ * so clients contending for the same rows spread out instead of colliding again. Every transaction also runs inside the
+ * application {@code RetryTemplate}, so the transient failures it retries for every other database call, such as a lost
+ * connection or a transaction that cannot be started, retry the whole transaction with its backoff, as they did before
+ * the writes moved to this executor. A serialization failure is never retried by the {@code RetryTemplate}, even when
+ * it arrives wrapped in one of the exceptions it retries: {@code cockroachRetry.maxAttempts} is the whole budget for
+ * them, shared by the restarts and the retries after a failed commit. Any other exception is propagated unchanged on
+ * the first occurrence. Because the
+ * work can be run several times, it must only touch the database through JDBC on the transaction's connection: a
+ * Hibernate session cannot be rewound to a savepoint.
+ * </p>
+ *
+ * <p>
+ * Contention is reported through the {@code revops.tx.*} metrics, tagged with the operation name.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class CockroachTransactionExecutor {
+
+    public static final String SERIALIZATION_FAILURE = "40001";
+
+    private static final String RESTART_SAVEPOINT = "cockroach_restart";
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Maximum attempts per transaction, counting the first one
+    @Value("${cockroachRetry.maxAttempts:10}")
+    private int maxAttempts;
+
+    // Backoff before the first retry; doubled for each further retry
+    @Value("${cockroachRetry.initialBackoffMs:10}")
+    private long initialBackoffMs;
+
+    // Upper bound of the backoff between two attempts
+    @Value("${cockroachRetry.maxBackoffMs:1000}")
+    private long maxBackoffMs;
+
+    // Copies of the transaction template by isolation level other than the default
+    private final Map<Integer, TransactionTemplate> isolatedTransactionTemplates = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the work in a transaction, retrying it on serialization failures.
+     *
+     * @param operation the name of the DAO operation, used for logging and metrics
+     * @param work the transactional work; it may run several times and must only use JDBC
+     * @param <T> the type of the result
+     * @return the result of the successful attempt
+     */
+    public <T> T execute(String operation, TransactionCallback<T> work) {
+        return execute(operation, TransactionDefinition.ISOLATION_DEFAULT, work);
+    }
+
+    /**
+     * Runs the work in a transaction of the given isolation level, retrying it on serialization failures. Work whose
+     * correctness depends on the isolation level, such as a check for conflicting rows followed by an insert, states
+     * it here rather than relying on the cluster default.
+     *
+     * @param operation the name of the DAO operation, used for logging and metrics
+     * @param isolationLevel one of the {@code TransactionDefinition.ISOLATION_*} levels
+     * @param work the transactional work; it may run several times and must only use JDBC
+     * @param <T> the type of the result
+     * @return the result of the successful attempt
+     */
+    public <T> T execute(String operation, int isolationLevel, TransactionCallback<T> work) {
+        TransactionTemplate template = isolationLevel == TransactionDefinition.ISOLATION_DEFAULT
+                ? transactionTemplate
+                : isolatedTransactionTemplates.computeIfAbsent(isolationLevel, level -> {
+                    TransactionTemplate isolated = new TransactionTemplate(transactionTemplate.getTransactionManager(),
+                            transactionTemplate);
+                    isolated.setIsolationLevel(level);
+                    return isolated;
+                });
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int[] attempts = {0};
+        try {
+            T result = retryTemplate.execute(retryContext -> {
+                if (retryContext.getRetryCount() > 0) {
+                    log.warn("Transaction {} failed after {} attempts: {}; retrying.", operation, attempts[0],
+                            retryContext.getLastThrowable().getMessage());
+                }
+                try {
+                    return runTransaction(operation, template, work, attempts);
+                } catch (RuntimeException ex) {
+                    if (isSerializationFailure(ex)) {
+                        // The attempts at serialization failures are spent, whichever exception carries the last one
+                        retryContext.setExhaustedOnly();
+                    }
+                    throw ex;
+                }
+            });
+            record(operation, attempts[0], "committed");
+            return result;
+        } catch (RuntimeException ex) {
+            record(operation, attempts[0], isSerializationFailure(ex) ? "exhausted" : "failed");
+            throw ex;
+        } finally {
+            sample.stop(Timer.builder("revops.tx.duration")
+                    .description("Duration of retried write transactions including all attempts")
+                    .tag("operation", operation)
+                    .register(meterRegistry));
+        }
+    }
+
+    private <T> T runTransaction(String operation, TransactionTemplate template, TransactionCallback<T> work,
+                                 int[] attempts) {
+        while (true) {
+            try {
+                return template.execute(status -> runWithRestarts(operation, work, status, attempts));
+            } catch (RuntimeException ex) {
+                // A 40001 on COMMIT leaves no savepoint to go back to, so the whole transaction is retried
+                if (!isSerializationFailure(ex) || attempts[0] >= maxAttempts) {
+                    throw ex;
+                }
+                log.warn("Transaction {} hit a serialization failure on commit after {} attempts; retrying.",
+                        operation, attempts[0]);
+                backoff(attempts[0]);
+            }
+        }
+    }
+
+    private <T> T runWithRestarts(String operation, TransactionCallback<T> work,
+                                  TransactionStatus status, int[] attempts) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        Savepoint savepoint = setRestartSavepoint(connection);
+        while (true) {
+            attempts[0]++;
+            try {
+                T result = work.doInTransaction(status);
+                connection.releaseSavepoint(savepoint);
+                return result;
+            } catch (SQLException | RuntimeException ex) {
+                if (!isSerializationFailure(ex) || attempts[0] >= maxAttempts) {
+                    throw ex instanceof SQLException sqlException
+                            ? new UncategorizedSQLException(operation, "RELEASE SAVEPOINT " + RESTART_SAVEPOINT, sqlException)
+                            : (RuntimeException) ex;
+                }
+                Counter.builder("revops.tx.restarts")
+                        .description("Serialization failures answered with ROLLBACK TO SAVEPOINT")
+                        .tag("operation", operation)
+                        .register(meterRegistry)
+                        .increment();
+                log.info("Transaction {} restarted after serialization failure on attempt {}: {}",
+                        operation, attempts[0], ex.getMessage());
+                rollbackToSavepoint(connection, savepoint);
+                backoff(attempts[0]);
+            }
+        }
+    }
+
+    private static Savepoint setRestartSavepoint(Connection connection) {
+        try {
+            return connection.setSavepoint(RESTART_SAVEPOINT);
+        } catch (SQLException ex) {
+            throw new CannotGetJdbcConnectionException("Failed to set the " + RESTART_SAVEPOINT + " savepoint", ex);
+        }
+    }
+
+    private static void rollbackToSavepoint(Connection connection, Savepoint savepoint) {
+        try {
+            connection.rollback(savepoint);
+        } catch (SQLException ex) {
+            throw new CannotGetJdbcConnectionException("Failed to roll back to the " + RESTART_SAVEPOINT + " savepoint", ex);
+        }
+    }
+
+    private void backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            TimeUnit.MILLISECONDS.sleep(sleepMs);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while backing off from a serialization failure", ex);
+        }
+    }
+
+    private void record(String operation, int attempts, String outcome) {
+        DistributionSummary.builder("revops.tx.attempts")
+                .description("Attempts needed per write transaction")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(attempts);
+        if (attempts > 1 || !"committed".equals(outcome)) {
+            log.info("Transaction {} {} after {} attempts.", operation, outcome, attempts);
+        }
+    }
+
+    /**
+     * Checks whether an exception, or any of its causes, is a serialization failure that may be retried.
+     *
+     * @param throwable the exception to inspect
+     * @return {@code true} if SQLSTATE {@code 40001} is found in the cause chain
+     */
+    public static boolean isSerializationFailure(Throwable throwable) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException) {
+                for (SQLException next = sqlException; next != null; next = next.getNextException()) {
+                    if (SERIALIZATION_FAILURE.equals(next.getSQLState())) {
+                        return true;
+                    }
+                }
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,166 @@
+package edu.csudh.lsu.revops.dao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * The {@code FollowerReadExecutor} class routes designated read-only {@code ActivityDAO} operations to follower reads.
+ * </p>
+ *
+ * <p>
+ * A follower read runs in a read-only transaction that starts with {@code SET TRANSACTION AS OF SYSTEM TIME}, so
+ * CockroachDB can serve it from the closest replica instead of the leaseholder, which in a multi-region cluster is
+ * often in another region. The staleness is configured per operation under {@code followerReads.operations}:
+ * </p>
+ * <ul>
+ *     <li>{@code follower} reads at {@code follower_read_timestamp()}, the most recent time every replica can serve;</li>
+ *     <li>a duration such as {@code 10s} reads exactly that far in the past;</li>
+ *     <li>{@code strong}, or no entry, reads the latest committed data as before.</li>
+ * </ul>
+ *
+ * <p>
+ * Every read is timed under {@code revops.dao.read} tagged with the operation and the routing used. A configurable
+ * share of follower-routed reads is run as strong reads instead, so both timers keep being fed and the
+ * {@code revops.dao.read.saved} gauge can report the mean latency saved per operation. If the database rejects the
+ * {@code AS OF SYSTEM TIME} clause, for example a plain PostgreSQL instance, follower reads are switched off for the
+ * lifetime of the process.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class FollowerReadExecutor {
+
+    private static final String FOLLOWER = "follower";
+    private static final String STRONG = "strong";
+    private static final String FOLLOWER_READ_TIMESTAMP = "follower_read_timestamp()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Environment environment;
+
+    // Master switch for follower reads
+    @Value("${followerReads.enabled:true}")
+    private volatile boolean enabled;
+
+    // Share of follower-routed reads run as strong reads to keep the latency baseline current
+    @Value("${followerReads.baselineSampleRate:0.02}")
+    private double baselineSampleRate;
+
+    private TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Map<String, String> asOfClauses = new ConcurrentHashMap<>();
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the read-only transaction template.
+     */
+    @PostConstruct
+    public void init() {
+        readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Runs a read-only operation with the routing configured for it.
+     *
+     * @param operation the name of the DAO operation, used for configuration and metrics
+     * @param query the read to perform; it must only use the current transaction's connection
+     * @param <T> the type of the result
+     * @return the result of the read
+     */
+    public <T> T read(String operation, Supplier<T> query) {
+        String asOfClause = enabled ? asOfClauses.computeIfAbsent(operation, this::resolveAsOfClause) : "";
+        if (asOfClause.isEmpty() || ThreadLocalRandom.current().nextDouble() < baselineSampleRate) {
+            return timer(operation, STRONG).record(query);
+        }
+        try {
+            return timer(operation, FOLLOWER).record(() -> readOnlyTransactionTemplate.execute(status -> {
+                jdbcTemplate.execute("SET TRANSACTION AS OF SYSTEM TIME " + asOfClause);
+                return query.get();
+            }));
+        } catch (BadSqlGrammarException ex) {
+            log.warn("The database does not support AS OF SYSTEM TIME; follower reads are disabled. Cause: {}",
+                    ex.getMessage());
+            enabled = false;
+            return timer(operation, STRONG).record(query);
+        }
+    }
+
+    /**
+     * Translates the configured staleness of an operation into an {@code AS OF SYSTEM TIME} expression.
+     *
+     * @param operation the name of the DAO operation
+     * @return the expression, or an empty string for strong reads
+     */
+    private String resolveAsOfClause(String operation) {
+        String mode = environment.getProperty("followerReads.operations." + operation, STRONG).trim();
+        if (STRONG.equalsIgnoreCase(mode)) {
+            return "";
+        }
+        if (FOLLOWER.equalsIgnoreCase(mode)) {
+            registerSavedLatencyGauge(operation);
+            return FOLLOWER_READ_TIMESTAMP;
+        }
+        Duration staleness = DurationStyle.detectAndParse(mode);
+        registerSavedLatencyGauge(operation);
+        // Built from a parsed duration, never from the raw property, so the clause cannot carry arbitrary SQL
+        return String.format("'-%d.%03ds'", staleness.toSeconds(), staleness.toMillisPart());
+    }
+
+    private Timer timer(String operation, String routing) {
+        return timers.computeIfAbsent(operation + ':' + routing, key -> Timer.builder("revops.dao.read")
+                .description("Latency of read-only DAO operations by routing")
+                .tag("operation", operation)
+                .tag("routing", routing)
+                .register(meterRegistry));
+    }
+
+    private void registerSavedLatencyGauge(String operation) {
+        Timer strong = timer(operation, STRONG);
+        Timer follower = timer(operation, FOLLOWER);
+        Gauge.builder("revops.dao.read.saved", () -> strong.count() == 0 || follower.count() == 0 ? 0
+                        : strong.mean(TimeUnit.MILLISECONDS) - follower.mean(TimeUnit.MILLISECONDS))
+                .description("Mean latency saved by follower reads compared to strong reads")
+                .tag("operation", operation)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+}
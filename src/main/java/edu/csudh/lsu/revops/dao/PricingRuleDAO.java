@@ -0,0 +1,137 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.MemberType;
+import edu.csudh.lsu.revops.model.PricingRule;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code PricingRuleDAO} class is responsible for reading and writing the {@code pricing_rule} table.
+ * </p>
+ *
+ * <p>
+ * Rules are always replaced as a whole set, in one transaction run by the {@code CockroachTransactionExecutor}, so the
+ * {@code PricingEngine} never compiles a mix of an old and a new rule set. Reads are retried by the
+ * {@code RetryTemplate}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PricingRuleDAO {
+
+    private static final String SELECT_RULES =
+            "SELECT id, category, weekday, start_minute, end_minute, member_type, hourly_rate_cents, " +
+                    "billing_increment_minutes, priority FROM pricing_rule ORDER BY id";
+
+    private static final String DELETE_RULES = "DELETE FROM pricing_rule WHERE true";
+
+    private static final String INSERT_RULE =
+            "INSERT INTO pricing_rule (id, category, weekday, start_minute, end_minute, member_type, hourly_rate_cents, " +
+                    "billing_increment_minutes, priority) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final RowMapper<PricingRule> PRICING_RULE_ROW_MAPPER = (rs, rowNum) -> {
+        int weekday = rs.getInt("weekday");
+        Integer weekdayOrNull = rs.wasNull() ? null : weekday;
+        String memberType = rs.getString("member_type");
+        return PricingRule.builder()
+                .id(rs.getObject("id", UUID.class))
+                .category(rs.getString("category"))
+                .weekday(weekdayOrNull)
+                .startMinute(rs.getInt("start_minute"))
+                .endMinute(rs.getInt("end_minute"))
+                .memberType(memberType == null ? null : MemberType.valueOf(memberType))
+                .hourlyRateCents(rs.getInt("hourly_rate_cents"))
+                .billingIncrementMinutes(rs.getInt("billing_increment_minutes"))
+                .priority(rs.getInt("priority"))
+                .build();
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    @Autowired
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
+
+    /**
+     * Fetches every pricing rule.
+     *
+     * @return List of all rules as {@code List<PricingRule>}.
+     */
+    public List<PricingRule> fetchAllRules() {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                log.debug("Attempt {} to fetch pricing rules", retryContext.getRetryCount());
+                return jdbcTemplate.query(SELECT_RULES, PRICING_RULE_ROW_MAPPER);
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching pricing rules.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching pricing rules.", ex);
+            throw new PersistenceException("An exception occurred while fetching pricing rules.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the complete rule set.
+     *
+     * @param rules The new rules; rules without an ID get a random one.
+     * @return int The number of rules stored.
+     */
+    public int replaceRules(List<PricingRule> rules) {
+        try {
+            return cockroachTransactionExecutor.execute("replacePricingRules", status -> {
+                int deleted = jdbcTemplate.update(DELETE_RULES);
+                jdbcTemplate.batchUpdate(INSERT_RULE, rules, rules.size(), (ps, rule) -> {
+                    ps.setObject(1, rule.getId() != null ? rule.getId() : UUID.randomUUID());
+                    ps.setString(2, rule.getCategory());
+                    if (rule.getWeekday() == null) {
+                        ps.setNull(3, Types.SMALLINT);
+                    } else {
+                        ps.setInt(3, rule.getWeekday());
+                    }
+                    ps.setInt(4, rule.getStartMinute());
+                    ps.setInt(5, rule.getEndMinute());
+                    ps.setString(6, rule.getMemberType() == null ? null : rule.getMemberType().name());
+                    ps.setInt(7, rule.getHourlyRateCents());
+                    ps.setInt(8, Math.max(1, rule.getBillingIncrementMinutes()));
+                    ps.setInt(9, rule.getPriority());
+                });
+                log.info("Replaced {} pricing rules with {}.", deleted, rules.size());
+                return rules.size();
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while replacing pricing rules.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while replacing pricing rules.", ex);
+            throw new PersistenceException("An exception occurred while replacing pricing rules.", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.ReconcileStatus;
+import edu.csudh.lsu.revops.model.SessionCharge;
+import edu.csudh.lsu.revops.model.ShiftReconciliation;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code ShiftTotalDAO} class is responsible for the reads and writes of the nightly reconciliation: keyset scans
+ * over ended sessions and the stored totals in {@code shift_total}.
+ * </p>
+ *
+ * <p>
+ * Sessions are paged by {@code (ended_at, id)} through {@code idx_activity_session_ended}. Each page starts right after
+ * the last row of the previous one, so every page is an index range scan of the same cost however deep into the day it
+ * is, unlike {@code OFFSET} paging. The totals themselves are written by {@code StationSessionDAO} when a session ends.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ShiftTotalDAO {
+
+    private static final String SELECT_FIRST_CHARGES =
+            "SELECT id, ended_at, billed_minutes, amount_cents FROM activity_session " +
+                    "WHERE ended_at >= ? AND ended_at < ? ORDER BY ended_at, id LIMIT ?";
+
+    private static final String SELECT_NEXT_CHARGES =
+            "SELECT id, ended_at, billed_minutes, amount_cents FROM activity_session " +
+                    "WHERE ended_at >= ? AND ended_at < ? AND (ended_at, id) > (?, ?) ORDER BY ended_at, id LIMIT ?";
+
+    private static final String SELECT_SHIFT_TOTALS =
+            "SELECT shift_start, sessions, billed_minutes, revenue_cents, recomputed_sessions, recomputed_billed_minutes, " +
+                    "recomputed_revenue_cents, reconcile_status, reconciled_at FROM shift_total " +
+                    "WHERE shift_start >= ? AND shift_start < ? ORDER BY shift_start";
+
+    private static final String SELECT_SHIFT_TOTALS_BY_STATUS =
+            "SELECT shift_start, sessions, billed_minutes, revenue_cents, recomputed_sessions, recomputed_billed_minutes, " +
+                    "recomputed_revenue_cents, reconcile_status, reconciled_at FROM shift_total " +
+                    "WHERE reconcile_status = ? ORDER BY shift_start DESC LIMIT ?";
+
+    private static final String UPSERT_RECONCILIATION =
+            "INSERT INTO shift_total (shift_start, reconcile_status, reconciled_at, recomputed_sessions, " +
+                    "recomputed_billed_minutes, recomputed_revenue_cents) VALUES (?, ?, ?, ?, ?, ?) " +
+                    "ON CONFLICT (shift_start) DO UPDATE SET reconcile_status = excluded.reconcile_status, " +
+                    "reconciled_at = excluded.reconciled_at, recomputed_sessions = excluded.recomputed_sessions, " +
+                    "recomputed_billed_minutes = excluded.recomputed_billed_minutes, " +
+                    "recomputed_revenue_cents = excluded.recomputed_revenue_cents";
+
+    private static final RowMapper<SessionCharge> SESSION_CHARGE_ROW_MAPPER = (rs, rowNum) -> {
+        int billedMinutes = rs.getInt("billed_minutes");
+        Integer billedMinutesOrNull = rs.wasNull() ? null : billedMinutes;
+        long amountCents = rs.getLong("amount_cents");
+        Long amountCentsOrNull = rs.wasNull() ? null : amountCents;
+        return new SessionCharge(rs.getObject("id", UUID.class), rs.getTimestamp("ended_at").toInstant(),
+                billedMinutesOrNull, amountCentsOrNull);
+    };
+
+    private static final RowMapper<ShiftReconciliation> SHIFT_RECONCILIATION_ROW_MAPPER = (rs, rowNum) -> {
+        String status = rs.getString("reconcile_status");
+        Timestamp reconciledAt = rs.getTimestamp("reconciled_at");
+        return ShiftReconciliation.builder()
+                .shiftStart(rs.getTimestamp("shift_start").toInstant())
+                .sessions(rs.getLong("sessions"))
+                .billedMinutes(rs.getLong("billed_minutes"))
+                .revenueCents(rs.getLong("revenue_cents"))
+                .recomputedSessions(rs.getObject("recomputed_sessions", Long.class))
+                .recomputedBilledMinutes(rs.getObject("recomputed_billed_minutes", Long.class))
+                .recomputedRevenueCents(rs.getObject("recomputed_revenue_cents", Long.class))
+                .status(status == null ? null : ReconcileStatus.valueOf(status))
+                .reconciledAt(reconciledAt == null ? null : reconciledAt.toInstant())
+                .build();
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    @Autowired
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
+
+    /**
+     * Fetches one page of sessions that ended in a time range, in {@code (ended_at, id)} order.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, exclusive.
+     * @param after The last session of the previous page, or {@code null} for the first page.
+     * @param limit The page size.
+     * @return List of sessions as {@code List<SessionCharge>}; fewer than {@code limit} on the last page.
+     */
+    public List<SessionCharge> fetchChargesPage(Instant from, Instant to, SessionCharge after, int limit) {
+        try {
+            return retryTemplate.execute(retryContext -> after == null
+                    ? jdbcTemplate.query(SELECT_FIRST_CHARGES, SESSION_CHARGE_ROW_MAPPER,
+                    Timestamp.from(from), Timestamp.from(to), limit)
+                    : jdbcTemplate.query(SELECT_NEXT_CHARGES, SESSION_CHARGE_ROW_MAPPER,
+                    Timestamp.from(from), Timestamp.from(to), Timestamp.from(after.getEndedAt()),
+                    after.getSessionId(), limit));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while scanning session charges from {} to {}.", from, to, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while scanning session charges from {} to {}.", from, to, ex);
+            throw new PersistenceException("An exception occurred while scanning session charges.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the stored totals of the shifts starting in a time range.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, exclusive.
+     * @return List of shifts as {@code List<ShiftReconciliation>}, ordered by shift start.
+     */
+    public List<ShiftReconciliation> fetchShiftTotals(Instant from, Instant to) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_SHIFT_TOTALS,
+                    SHIFT_RECONCILIATION_ROW_MAPPER, Timestamp.from(from), Timestamp.from(to)));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching shift totals from {} to {}.", from, to, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching shift totals from {} to {}.", from, to, ex);
+            throw new PersistenceException("An exception occurred while fetching shift totals.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the most recent shifts with a given reconciliation status.
+     *
+     * @param status The status to look for.
+     * @param limit The maximum number of shifts.
+     * @return List of shifts as {@code List<ShiftReconciliation>}, newest first.
+     */
+    public List<ShiftReconciliation> fetchShiftTotalsByStatus(ReconcileStatus status, int limit) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_SHIFT_TOTALS_BY_STATUS,
+                    SHIFT_RECONCILIATION_ROW_MAPPER, status.name(), limit));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching {} shifts.", status, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching {} shifts.", status, ex);
+            throw new PersistenceException("An exception occurred while fetching shifts by status.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Stores the outcome of a reconciliation. Shifts without stored totals get a row with zero totals, so they show up
+     * for review like any other mismatch.
+     *
+     * @param reconciliations The reconciled shifts.
+     * @return int The number of shifts written.
+     */
+    public int recordReconciliations(List<ShiftReconciliation> reconciliations) {
+        try {
+            return cockroachTransactionExecutor.execute("recordShiftReconciliations", status -> {
+                jdbcTemplate.batchUpdate(UPSERT_RECONCILIATION, reconciliations, reconciliations.size(), (ps, shift) -> {
+                    ps.setTimestamp(1, Timestamp.from(shift.getShiftStart()));
+                    ps.setString(2, shift.getStatus().name());
+                    ps.setTimestamp(3, Timestamp.from(shift.getReconciledAt()));
+                    ps.setLong(4, shift.getRecomputedSessions());
+                    ps.setLong(5, shift.getRecomputedBilledMinutes());
+                    ps.setLong(6, shift.getRecomputedRevenueCents());
+                });
+                return reconciliations.size();
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while recording shift reconciliations.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while recording shift reconciliations.", ex);
+            throw new PersistenceException("An exception occurred while recording shift reconciliations.", ex.getMessage());
+        }
+    }
+}
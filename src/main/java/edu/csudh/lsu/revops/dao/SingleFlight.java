@@ -0,0 +1,118 @@
+package edu.csudh.lsu.revops.dao;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * <p>
+ * The {@code SingleFlight} class collapses identical concurrent reads into one database call.
+ * </p>
+ *
+ * <p>
+ * The first caller for an operation and key runs the read; every caller arriving with the same operation and key while
+ * it is in flight waits for it and receives the same result, or the same exception. The entry is removed as soon as
+ * the read completes, so nothing is cached: a caller arriving afterwards starts a new read. A caller that joined may
+ * therefore see the database as it was when the read started, at most one query duration before it arrived.
+ * </p>
+ *
+ * <p>
+ * Results are handed to every caller as is and must not be modified; the {@code ActivityDAO} returns unmodifiable
+ * lists and copies entities before handing them out. Calls are counted in {@code revops.dao.singleflight.calls},
+ * tagged with the operation and whether the call was {@code executed} or {@code collapsed} into another. The tag is the
+ * operation rather than the key, so the number of meters stays bounded.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Component
+public class SingleFlight {
+
+    private static final String EXECUTED = "executed";
+    private static final String COLLAPSED = "collapsed";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${singleFlight.enabled:true}")
+    private boolean enabled;
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Runs a read, or joins the identical read already in flight.
+     *
+     * @param operation the name of the DAO operation, used for metrics
+     * @param key the non-null arguments of the read; reads are identical if their operation and key are equal
+     * @param read the read to perform
+     * @param <T> the type of the result
+     * @return the result of the read
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> read) {
+        if (!enabled) {
+            return read.get();
+        }
+        List<Object> flightKey = List.of(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            counter(operation, COLLAPSED).increment();
+            return (T) join(existing);
+        }
+
+        counter(operation, EXECUTED).increment();
+        try {
+            T result = read.get();
+            inFlight.remove(flightKey, flight);
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(flightKey, flight);
+            flight.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    private static Object join(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            // Rethrow what the read threw, so callers handle a collapsed call exactly like one they ran
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+
+    private Counter counter(String operation, String outcome) {
+        return counters.computeIfAbsent(operation + ':' + outcome, name -> Counter.builder("revops.dao.singleflight.calls")
+                .description("Reads run against the database or collapsed into an identical read in flight")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+    }
+}
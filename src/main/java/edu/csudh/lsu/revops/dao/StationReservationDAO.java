@@ -0,0 +1,263 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.ReservationResult;
+import edu.csudh.lsu.revops.model.ReservationStatus;
+import edu.csudh.lsu.revops.model.ReservationType;
+import edu.csudh.lsu.revops.model.StationReservation;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code StationReservationDAO} class is responsible for reading and writing the {@code station_reservation} table.
+ * </p>
+ *
+ * <p>
+ * A booking looks for confirmed reservations overlapping each requested station and period and inserts the new ones in
+ * the same transaction, run by the {@code CockroachTransactionExecutor}. The transaction is explicitly serializable,
+ * whatever the default isolation of the cluster, so when two nodes book overlapping periods at the same time one of
+ * them is restarted by the executor and then sees the other's reservation. Under a weaker isolation both checks could
+ * miss the other's uncommitted insert and both bookings would succeed. Every write stamps the row with the next
+ * {@code change_version}, which the {@code ReservationBook} of each node follows. Reads are retried by the
+ * {@code RetryTemplate}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StationReservationDAO {
+
+    private static final String COLUMNS =
+            "id, group_id, station_id, member_id, type, title, starts_at, ends_at, status, change_version";
+
+    private static final String INSERT_RESERVATION =
+            "INSERT INTO station_reservation (id, group_id, station_id, member_id, type, title, starts_at, ends_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?) RETURNING " + COLUMNS;
+
+    // No reservation is longer than the longest that can be booked, so one overlapping the period starts after the
+    // period start minus that length; the bound keeps the scan off the station's past reservations.
+    private static final String SELECT_OVERLAPPING =
+            "SELECT " + COLUMNS + " FROM station_reservation WHERE station_id = ? AND status = 'CONFIRMED' " +
+                    "AND starts_at > ? AND starts_at < ? AND ends_at > ? ORDER BY starts_at";
+
+    private static final String CANCEL_RESERVATION =
+            "UPDATE station_reservation SET status = 'CANCELLED', " +
+                    "change_version = nextval('station_reservation_change_version_seq'), changed_at = clock_timestamp() " +
+                    "WHERE id = ? AND status = 'CONFIRMED' RETURNING " + COLUMNS;
+
+    private static final String SELECT_RESERVATION = "SELECT " + COLUMNS + " FROM station_reservation WHERE id = ?";
+
+    private static final String SELECT_UPCOMING =
+            "SELECT " + COLUMNS + " FROM station_reservation WHERE status = 'CONFIRMED' AND ends_at > ? " +
+                    "ORDER BY station_id, starts_at";
+
+    private static final String SELECT_SETTLED_VERSION =
+            "SELECT change_version FROM station_reservation WHERE changed_at < now() - CAST(? AS INTERVAL) " +
+                    "ORDER BY change_version DESC LIMIT 1";
+
+    // Rows stamped within the settle window are held back so a transaction that took a lower version but has not
+    // committed yet cannot be skipped by a cursor that already moved past it.
+    private static final String SELECT_CHANGES_SINCE =
+            "SELECT " + COLUMNS + " FROM station_reservation " +
+                    "WHERE change_version > ? AND changed_at < now() - CAST(? AS INTERVAL) " +
+                    "ORDER BY change_version LIMIT ?";
+
+    private static final RowMapper<StationReservation> STATION_RESERVATION_ROW_MAPPER = (rs, rowNum) ->
+            StationReservation.builder()
+                    .reservationId(rs.getObject("id", UUID.class))
+                    .groupId(rs.getObject("group_id", UUID.class))
+                    .stationId(rs.getString("station_id"))
+                    .memberId(rs.getString("member_id"))
+                    .type(ReservationType.valueOf(rs.getString("type")))
+                    .title(rs.getString("title"))
+                    .startsAt(rs.getTimestamp("starts_at").toInstant())
+                    .endsAt(rs.getTimestamp("ends_at").toInstant())
+                    .status(ReservationStatus.valueOf(rs.getString("status")))
+                    .changeVersion(rs.getLong("change_version"))
+                    .build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    @Autowired
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
+
+    /**
+     * Books reservations, all of them or none: nothing is written if any of them overlaps a confirmed reservation.
+     *
+     * @param reservations The reservations to book.
+     * @param maxLength The longest reservation that can exist.
+     * @return {@code ReservationResult} The reservations as stored, or the confirmed reservations in the way.
+     */
+    public ReservationResult insertReservations(List<StationReservation> reservations, Duration maxLength) {
+        try {
+            // The overlap check only guards the insert if the transaction is serializable
+            ReservationResult result = cockroachTransactionExecutor.execute("insertStationReservations",
+                    TransactionDefinition.ISOLATION_SERIALIZABLE, status -> {
+                List<StationReservation> conflicts = new ArrayList<>();
+                for (StationReservation reservation : reservations) {
+                    conflicts.addAll(jdbcTemplate.query(SELECT_OVERLAPPING, STATION_RESERVATION_ROW_MAPPER,
+                            reservation.getStationId(), Timestamp.from(reservation.getStartsAt().minus(maxLength)),
+                            Timestamp.from(reservation.getEndsAt()), Timestamp.from(reservation.getStartsAt())));
+                }
+                if (!conflicts.isEmpty()) {
+                    return new ReservationResult(ReservationResult.Outcome.CONFLICT, conflicts);
+                }
+                List<StationReservation> booked = new ArrayList<>(reservations.size());
+                for (StationReservation reservation : reservations) {
+                    booked.add(jdbcTemplate.queryForObject(INSERT_RESERVATION, STATION_RESERVATION_ROW_MAPPER,
+                            reservation.getReservationId(), reservation.getGroupId(), reservation.getStationId(),
+                            reservation.getMemberId(), reservation.getType().name(), reservation.getTitle(),
+                            Timestamp.from(reservation.getStartsAt()), Timestamp.from(reservation.getEndsAt())));
+                }
+                return new ReservationResult(ReservationResult.Outcome.BOOKED, booked);
+            });
+            log.info("Booking of {} station reservations: {}.", reservations.size(), result.getOutcome());
+            return result;
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while booking station reservations.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while booking station reservations.", ex);
+            throw new PersistenceException("An exception occurred while booking station reservations.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Cancels a confirmed reservation.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return {@code Optional<StationReservation>} The cancelled reservation, or empty if there is no confirmed
+     * reservation with that ID.
+     */
+    public Optional<StationReservation> cancelReservation(UUID reservationId) {
+        try {
+            List<StationReservation> cancelled = cockroachTransactionExecutor.execute("cancelStationReservation",
+                    status -> jdbcTemplate.query(CANCEL_RESERVATION, STATION_RESERVATION_ROW_MAPPER, reservationId));
+            if (cancelled.isEmpty()) {
+                log.warn("No confirmed reservation found with ID: {}", reservationId);
+                return Optional.empty();
+            }
+            log.info("Cancelled reservation {}.", reservationId);
+            return Optional.of(cancelled.get(0));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while cancelling reservation {}.", reservationId, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while cancelling reservation {}.", reservationId, ex);
+            throw new PersistenceException("An exception occurred while cancelling a reservation.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches a reservation.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return {@code Optional<StationReservation>} The reservation, confirmed or cancelled, or empty if it does not exist.
+     */
+    public Optional<StationReservation> fetchReservation(UUID reservationId) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_RESERVATION,
+                    STATION_RESERVATION_ROW_MAPPER, reservationId).stream().findFirst());
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching reservation {}.", reservationId, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching reservation {}.", reservationId, ex);
+            throw new PersistenceException("An exception occurred while fetching a reservation.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the confirmed reservations that have not ended.
+     *
+     * @param now The current time.
+     * @return List of reservations as {@code List<StationReservation>}, ordered by station and start.
+     */
+    public List<StationReservation> fetchUpcomingReservations(Instant now) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_UPCOMING,
+                    STATION_RESERVATION_ROW_MAPPER, Timestamp.from(now)));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching upcoming reservations.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching upcoming reservations.", ex);
+            throw new PersistenceException("An exception occurred while fetching upcoming reservations.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the highest change version older than the settle window, from which changes can be followed after
+     * loading the upcoming reservations.
+     *
+     * @param settleMs The settle window in milliseconds.
+     * @return long The version, or 0 if there is none.
+     */
+    public long fetchSettledVersion(long settleMs) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.queryForList(SELECT_SETTLED_VERSION, Long.class,
+                    settleMs + " milliseconds").stream().findFirst().orElse(0L));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching the settled reservation version.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching the settled reservation version.", ex);
+            throw new PersistenceException("An exception occurred while fetching the reservation version.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the reservations booked or cancelled since a change version, leaving out the most recent
+     * {@code settleMs} milliseconds.
+     *
+     * @param since The last change version already seen.
+     * @param limit The maximum number of reservations.
+     * @param settleMs The settle window in milliseconds.
+     * @return List of reservations as {@code List<StationReservation>}, ordered by change version.
+     */
+    public List<StationReservation> fetchChangesSince(long since, int limit, long settleMs) {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                log.debug("Attempt {} to fetch reservation changes since version {}", retryContext.getRetryCount(), since);
+                return jdbcTemplate.query(SELECT_CHANGES_SINCE, STATION_RESERVATION_ROW_MAPPER, since,
+                        settleMs + " milliseconds", limit);
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching reservation changes.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching reservation changes.", ex);
+            throw new PersistenceException("An exception occurred while fetching reservation changes.", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.MemberType;
+import edu.csudh.lsu.revops.model.SessionQuote;
+import edu.csudh.lsu.revops.model.ShiftTotals;
+import edu.csudh.lsu.revops.model.StationSession;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code StationSessionDAO} class is responsible for reading and writing the {@code activity_session} table.
+ * </p>
+ *
+ * <p>
+ * The {@code StationSessionRegistry} keeps running sessions in memory and calls this class when a session starts, is
+ * extended or ends, when it is asked about a station it holds no session for, and once on startup to recover the
+ * sessions that were still open. A partial unique index allows only one open session per station, so two nodes cannot
+ * start a session on the same station. Extensions and expiries are conditional on the stored expiry, so a node
+ * holding an outdated copy of a session changed through another node cannot overwrite it. Writes run through the
+ * {@code CockroachTransactionExecutor}. Every session end also adds its charge to {@code shift_total}, the stored
+ * shift totals checked by the nightly reconciliation.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StationSessionDAO {
+
+    private static final String INSERT_SESSION =
+            "INSERT INTO activity_session (id, station_id, activity_id, category, member_id, member_type, started_at, " +
+                    "expires_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String END_SESSION =
+            "UPDATE activity_session SET ended_at = ?, end_reason = ?, billed_minutes = ?, amount_cents = ?, " +
+                    "rules_version = ? WHERE id = ? AND ended_at IS NULL";
+
+    // Only ends the session if no node has extended it past the time it is ended at
+    private static final String END_EXPIRED_SESSION = END_SESSION + " AND expires_at <= ?";
+
+    private static final String EXTEND_SESSION =
+            "UPDATE activity_session SET expires_at = ? WHERE id = ? AND expires_at = ? AND ended_at IS NULL";
+
+    private static final String ADD_TO_SHIFT_TOTAL =
+            "INSERT INTO shift_total (shift_start, sessions, billed_minutes, revenue_cents, updated_at) " +
+                    "VALUES (?, 1, ?, ?, now()) ON CONFLICT (shift_start) DO UPDATE SET " +
+                    "sessions = shift_total.sessions + 1, " +
+                    "billed_minutes = shift_total.billed_minutes + excluded.billed_minutes, " +
+                    "revenue_cents = shift_total.revenue_cents + excluded.revenue_cents, updated_at = now()";
+
+    private static final String SELECT_OPEN_SESSIONS =
+            "SELECT id, station_id, activity_id, category, member_id, member_type, started_at, expires_at " +
+                    "FROM activity_session WHERE ended_at IS NULL";
+
+    private static final String SELECT_OPEN_SESSION = SELECT_OPEN_SESSIONS + " AND station_id = ?";
+
+    private static final String SELECT_SHIFT_TOTALS =
+            "SELECT count(*) FILTER (WHERE started_at >= ?) AS sessions_started, " +
+                    "count(*) FILTER (WHERE ended_at >= ?) AS sessions_ended, " +
+                    "coalesce(sum(billed_minutes) FILTER (WHERE ended_at >= ?), 0) AS billed_minutes, " +
+                    "coalesce(sum(amount_cents) FILTER (WHERE ended_at >= ?), 0) AS revenue_cents " +
+                    "FROM activity_session WHERE started_at >= ? OR ended_at >= ?";
+
+    private static final RowMapper<StationSession> STATION_SESSION_ROW_MAPPER = (rs, rowNum) -> {
+        String memberType = rs.getString("member_type");
+        return StationSession.builder()
+                .sessionId(rs.getObject("id", UUID.class))
+                .stationId(rs.getString("station_id"))
+                .activityId(rs.getObject("activity_id", UUID.class))
+                .category(rs.getString("category"))
+                .memberId(rs.getString("member_id"))
+                .memberType(memberType == null ? null : MemberType.valueOf(memberType))
+                .startedAt(rs.getTimestamp("started_at").toInstant())
+                .expiresAt(rs.getTimestamp("expires_at").toInstant())
+                .build();
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    @Autowired
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
+
+    /**
+     * Records the start of a session.
+     *
+     * @param session The session that started.
+     * @throws DuplicateKeyException if the station already has an open session.
+     */
+    public void insertSession(StationSession session) {
+        try {
+            cockroachTransactionExecutor.execute("insertStationSession", status -> jdbcTemplate.update(INSERT_SESSION,
+                    session.getSessionId(), session.getStationId(), session.getActivityId(), session.getCategory(),
+                    session.getMemberId(), session.getMemberType() == null ? null : session.getMemberType().name(),
+                    Timestamp.from(session.getStartedAt()), Timestamp.from(session.getExpiresAt())));
+            log.info("Recorded start of session {} on station {}.", session.getSessionId(), session.getStationId());
+        } catch (DuplicateKeyException | JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while recording start of session on station {}.",
+                    session.getStationId(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while recording start of session on station {}.",
+                    session.getStationId(), ex);
+            throw new PersistenceException("An exception occurred while recording a session start.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Records the end of a session together with its charge, and adds the charge to the stored totals of its shift in
+     * the same transaction.
+     *
+     * @param sessionId The ID of the session.
+     * @param endedAt When the session ended.
+     * @param shiftStart The start of the shift the session ended in.
+     * @param endReason Why the session ended.
+     * @param quote The charge of the session.
+     * @param expired Whether the session ends because it expired; it is then only ended if its stored expiry has
+     *                passed by {@code endedAt}.
+     * @return int The number of records updated (1 for success, 0 if the session was already ended or, when expired,
+     *         was extended meanwhile).
+     */
+    public int endSession(UUID sessionId, Instant endedAt, Instant shiftStart, String endReason, SessionQuote quote,
+                          boolean expired) {
+        try {
+            int updated = cockroachTransactionExecutor.execute("endStationSession", status -> {
+                Timestamp endedAtTimestamp = Timestamp.from(endedAt);
+                int ended = expired
+                        ? jdbcTemplate.update(END_EXPIRED_SESSION, endedAtTimestamp, endReason, quote.getBilledMinutes(),
+                        quote.getAmountCents(), quote.getRulesVersion(), sessionId, endedAtTimestamp)
+                        : jdbcTemplate.update(END_SESSION, endedAtTimestamp, endReason, quote.getBilledMinutes(),
+                        quote.getAmountCents(), quote.getRulesVersion(), sessionId);
+                if (ended == 1) {
+                    jdbcTemplate.update(ADD_TO_SHIFT_TOTAL, Timestamp.from(shiftStart), quote.getBilledMinutes(),
+                            quote.getAmountCents());
+                }
+                return ended;
+            });
+            if (updated == 1) {
+                log.info("Recorded end of session {} ({}).", sessionId, endReason);
+            } else {
+                log.info("Session {} was not ended ({}); it was ended or extended through another node.", sessionId,
+                        endReason);
+            }
+            return updated;
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while recording end of session {}.", sessionId, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while recording end of session {}.", sessionId, ex);
+            throw new PersistenceException("An exception occurred while recording a session end.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Moves the expiry of an open session, provided it still has the expected expiry.
+     *
+     * @param sessionId The ID of the session.
+     * @param expectedExpiresAt The expiry the caller extended.
+     * @param expiresAt The new expiry.
+     * @return int The number of records updated (1 for success, 0 if the session was ended or its expiry changed).
+     */
+    public int extendSession(UUID sessionId, Instant expectedExpiresAt, Instant expiresAt) {
+        try {
+            return cockroachTransactionExecutor.execute("extendStationSession", status -> jdbcTemplate.update(
+                    EXTEND_SESSION, Timestamp.from(expiresAt), sessionId, Timestamp.from(expectedExpiresAt)));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while extending session {}.", sessionId, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while extending session {}.", sessionId, ex);
+            throw new PersistenceException("An exception occurred while extending a session.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the open session of a station.
+     *
+     * @param stationId The station.
+     * @return {@code Optional<StationSession>} The open session, or empty if the station is free.
+     */
+    public Optional<StationSession> fetchOpenSession(String stationId) {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                log.debug("Attempt {} to fetch the open session of station {}", retryContext.getRetryCount(), stationId);
+                return jdbcTemplate.query(SELECT_OPEN_SESSION, STATION_SESSION_ROW_MAPPER, stationId).stream().findFirst();
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching the open session of station {}.", stationId, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching the open session of station {}.", stationId, ex);
+            throw new PersistenceException("An exception occurred while fetching an open session.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the sessions that have not ended yet.
+     *
+     * @return List of open sessions as {@code List<StationSession>}.
+     */
+    public List<StationSession> fetchOpenSessions() {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                log.info("Attempt {} to fetch open station sessions", retryContext.getRetryCount());
+                return jdbcTemplate.query(SELECT_OPEN_SESSIONS, STATION_SESSION_ROW_MAPPER);
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching open station sessions.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching open station sessions.", ex);
+            throw new PersistenceException("An exception occurred while fetching open sessions.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Sums the sessions started and ended since the given instant.
+     *
+     * @param shiftStart The start of the shift.
+     * @return {@code ShiftTotals} The totals of the shift so far.
+     */
+    public ShiftTotals fetchShiftTotals(Instant shiftStart) {
+        try {
+            Timestamp since = Timestamp.from(shiftStart);
+            return retryTemplate.execute(retryContext -> {
+                log.info("Attempt {} to fetch shift totals since {}", retryContext.getRetryCount(), shiftStart);
+                return jdbcTemplate.queryForObject(SELECT_SHIFT_TOTALS, (rs, rowNum) -> new ShiftTotals(shiftStart,
+                                rs.getLong("sessions_started"), rs.getLong("sessions_ended"),
+                                rs.getLong("billed_minutes"), rs.getLong("revenue_cents")),
+                        since, since, since, since, since, since);
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching shift totals.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching shift totals.", ex);
+            throw new PersistenceException("An exception occurred while fetching shift totals.", ex.getMessage());
+        }
+    }
+}
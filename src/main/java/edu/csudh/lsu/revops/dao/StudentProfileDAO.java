@@ -0,0 +1,186 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.MemberType;
+import edu.csudh.lsu.revops.model.StudentProfile;
+import edu.csudh.lsu.revops.utils.ApplicationConstants;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>
+ * The {@code StudentProfileDAO} class is responsible for reading and writing the {@code student_profile} table.
+ * </p>
+ *
+ * <p>
+ * Every write stamps the profile with the next {@code change_version} and publishes the written profile once the
+ * transaction has committed, so the {@code ProfileSearchIndex} of this node follows right away. Other nodes page
+ * through the changes with {@link #fetchChangesSince(long, int, long)}. Profiles are never deleted, only disabled, so
+ * a disable reaches every node the same way as any other change. Writes run through the
+ * {@code CockroachTransactionExecutor}; reads are retried by the {@code RetryTemplate}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StudentProfileDAO {
+
+    private static final String COLUMNS = "student_id, first_name, last_name, member_type, status, change_version";
+
+    private static final String UPSERT_PROFILE =
+            "INSERT INTO student_profile (student_id, first_name, last_name, member_type, status) " +
+                    "VALUES (?, ?, ?, ?, ?) ON CONFLICT (student_id) DO UPDATE SET first_name = excluded.first_name, " +
+                    "last_name = excluded.last_name, member_type = excluded.member_type, status = excluded.status, " +
+                    "change_version = nextval('student_profile_change_version_seq'), changed_at = clock_timestamp() " +
+                    "RETURNING " + COLUMNS;
+
+    private static final String DISABLE_PROFILE =
+            "UPDATE student_profile SET status = ?, change_version = nextval('student_profile_change_version_seq'), " +
+                    "changed_at = clock_timestamp() WHERE student_id = ? RETURNING " + COLUMNS;
+
+    private static final String SELECT_PROFILE = "SELECT " + COLUMNS + " FROM student_profile WHERE student_id = ?";
+
+    // Rows stamped within the settle window are held back so a transaction that took a lower version but has not
+    // committed yet cannot be skipped by a cursor that already moved past it.
+    private static final String SELECT_CHANGES_SINCE =
+            "SELECT " + COLUMNS + " FROM student_profile " +
+                    "WHERE change_version > ? AND changed_at < now() - CAST(? AS INTERVAL) " +
+                    "ORDER BY change_version LIMIT ?";
+
+    private static final RowMapper<StudentProfile> STUDENT_PROFILE_ROW_MAPPER = (rs, rowNum) -> StudentProfile.builder()
+            .studentId(rs.getString("student_id"))
+            .firstName(rs.getString("first_name"))
+            .lastName(rs.getString("last_name"))
+            .memberType(MemberType.valueOf(rs.getString("member_type")))
+            .status(rs.getString("status"))
+            .changeVersion(rs.getLong("change_version"))
+            .build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    @Autowired
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    /**
+     * Saves or updates a profile.
+     *
+     * @param profile The profile; a missing member type defaults to {@code STUDENT} and a missing status to
+     *                {@code ENABLE}.
+     * @return {@code StudentProfile} The profile as stored, with its new change version.
+     */
+    public StudentProfile saveOrUpdateProfile(StudentProfile profile) {
+        try {
+            StudentProfile saved = cockroachTransactionExecutor.execute("upsertStudentProfile",
+                    status -> jdbcTemplate.queryForObject(UPSERT_PROFILE, STUDENT_PROFILE_ROW_MAPPER,
+                            profile.getStudentId(), profile.getFirstName(), profile.getLastName(),
+                            (profile.getMemberType() == null ? MemberType.STUDENT : profile.getMemberType()).name(),
+                            profile.getStatus() == null ? ApplicationConstants.ENABLE : profile.getStatus()));
+            log.info("Saved profile {} at version {}.", saved.getStudentId(), saved.getChangeVersion());
+            applicationEventPublisher.publishEvent(saved);
+            return saved;
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while saving profile {}.", profile.getStudentId(), ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while saving profile {}.", profile.getStudentId(), ex);
+            throw new PersistenceException("An exception occurred while saving a profile.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Disables a profile, which removes it from search.
+     *
+     * @param studentId The ID of the profile.
+     * @return int The number of records updated (1 for success, 0 if the profile does not exist).
+     */
+    public int disableProfile(String studentId) {
+        try {
+            List<StudentProfile> disabled = cockroachTransactionExecutor.execute("disableStudentProfile",
+                    status -> jdbcTemplate.query(DISABLE_PROFILE, STUDENT_PROFILE_ROW_MAPPER,
+                            ApplicationConstants.DISABLE, studentId));
+            if (disabled.isEmpty()) {
+                log.warn("No profile found with ID: {}", studentId);
+                return 0;
+            }
+            log.info("Disabled profile {}.", studentId);
+            applicationEventPublisher.publishEvent(disabled.get(0));
+            return 1;
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while disabling profile {}.", studentId, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while disabling profile {}.", studentId, ex);
+            throw new PersistenceException("An exception occurred while disabling a profile.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches a profile, enabled or not.
+     *
+     * @param studentId The ID of the profile.
+     * @return {@code Optional<StudentProfile>} The profile, or empty if it does not exist.
+     */
+    public Optional<StudentProfile> fetchProfile(String studentId) {
+        try {
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_PROFILE, STUDENT_PROFILE_ROW_MAPPER,
+                    studentId).stream().findFirst());
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching profile {}.", studentId, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching profile {}.", studentId, ex);
+            throw new PersistenceException("An exception occurred while fetching a profile.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the profiles changed after the given change version, disabled ones included.
+     *
+     * @param since The change version already seen; only later changes are returned. 0 pages through every profile.
+     * @param limit The maximum number of profiles to return.
+     * @param settleMs How long a change must have been stamped before it is returned.
+     * @return List of profiles as {@code List<StudentProfile>}, ordered by change version.
+     */
+    public List<StudentProfile> fetchChangesSince(long since, int limit, long settleMs) {
+        try {
+            return retryTemplate.execute(retryContext -> {
+                log.debug("Attempt {} to fetch profile changes since version {}", retryContext.getRetryCount(), since);
+                return jdbcTemplate.query(SELECT_CHANGES_SINCE, STUDENT_PROFILE_ROW_MAPPER, since,
+                        settleMs + " milliseconds", limit);
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching profile changes.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching profile changes.", ex);
+            throw new PersistenceException("An exception occurred while fetching profile changes.", ex.getMessage());
+        }
+    }
+}
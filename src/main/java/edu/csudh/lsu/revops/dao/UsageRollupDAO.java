@@ -0,0 +1,90 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.UsageRollup;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code UsageRollupDAO} class is responsible for rolling {@code activity_session} up by minute and station for
+ * the dashboard time series.
+ * </p>
+ *
+ * <p>
+ * A session counts in the minute it started, and its billed minutes and amount in the minute it ended, like the shift
+ * totals. Both halves are range scans, over {@code idx_activity_session_started} and {@code idx_activity_session_ended}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UsageRollupDAO {
+
+    private static final String SELECT_MINUTE_ROLLUPS =
+            "SELECT minute, station_id, category, sum(sessions) AS sessions, sum(billed_minutes) AS billed_minutes, " +
+                    "sum(revenue_cents) AS revenue_cents FROM (" +
+                    "SELECT date_trunc('minute', started_at) AS minute, station_id, category, 1 AS sessions, " +
+                    "0 AS billed_minutes, 0 AS revenue_cents FROM activity_session " +
+                    "WHERE started_at >= ? AND started_at < ? " +
+                    "UNION ALL " +
+                    "SELECT date_trunc('minute', ended_at), station_id, category, 0, coalesce(billed_minutes, 0), " +
+                    "coalesce(amount_cents, 0) FROM activity_session WHERE ended_at >= ? AND ended_at < ?" +
+                    ") AS usage GROUP BY minute, station_id, category ORDER BY minute";
+
+    private static final RowMapper<UsageRollup> USAGE_ROLLUP_ROW_MAPPER = (rs, rowNum) -> new UsageRollup(
+            rs.getTimestamp("minute").toInstant(),
+            rs.getString("station_id"),
+            rs.getString("category"),
+            rs.getLong("sessions"),
+            rs.getLong("billed_minutes"),
+            rs.getLong("revenue_cents"));
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    /**
+     * Rolls up the sessions started or ended in a time range by minute and station.
+     *
+     * @param from The start of the range, inclusive.
+     * @param to The end of the range, exclusive.
+     * @return List of rollups as {@code List<UsageRollup>}, ordered by minute.
+     */
+    public List<UsageRollup> fetchMinuteRollups(Instant from, Instant to) {
+        try {
+            Timestamp start = Timestamp.from(from);
+            Timestamp end = Timestamp.from(to);
+            return retryTemplate.execute(retryContext -> jdbcTemplate.query(SELECT_MINUTE_ROLLUPS,
+                    USAGE_ROLLUP_ROW_MAPPER, start, end, start, end));
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while rolling up usage from {} to {}.", from, to, ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while rolling up usage from {} to {}.", from, to, ex);
+            throw new PersistenceException("An exception occurred while rolling up usage.", ex.getMessage());
+        }
+    }
+}
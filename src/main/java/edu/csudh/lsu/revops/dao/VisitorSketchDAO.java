@@ -0,0 +1,154 @@
+package edu.csudh.lsu.revops.dao;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.SketchGranularity;
+import edu.csudh.lsu.revops.model.VisitorSketchKey;
+import edu.csudh.lsu.revops.visitor.HyperLogLog;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.TransactionException;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.JpaSystemException;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * The {@code VisitorSketchDAO} class is responsible for reading and writing the {@code visitor_sketch} table.
+ * </p>
+ *
+ * <p>
+ * Sketches are only ever merged into the stored ones: each stored sketch is read and locked, merged with the new
+ * visitors and written back in one transaction run by the {@code CockroachTransactionExecutor}, so nodes writing the
+ * same bucket at the same time never lose each other's visitors. Merging is idempotent, so a retried transaction or a
+ * batch written twice does not count anyone twice. Reads are retried by the {@code RetryTemplate}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VisitorSketchDAO {
+
+    private static final String SELECT_SKETCH_FOR_UPDATE =
+            "SELECT sketch FROM visitor_sketch WHERE granularity = ? AND bucket_start = ? AND category = ? FOR UPDATE";
+
+    private static final String UPSERT_SKETCH =
+            "INSERT INTO visitor_sketch (granularity, bucket_start, category, sketch, updated_at) " +
+                    "VALUES (?, ?, ?, ?, now()) ON CONFLICT (granularity, bucket_start, category) " +
+                    "DO UPDATE SET sketch = excluded.sketch, updated_at = now()";
+
+    private static final String SELECT_SKETCHES =
+            "SELECT bucket_start, category, sketch FROM visitor_sketch " +
+                    "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? AND category = ? ORDER BY bucket_start";
+
+    private static final String SELECT_CATEGORY_SKETCHES =
+            "SELECT bucket_start, category, sketch FROM visitor_sketch " +
+                    "WHERE granularity = ? AND bucket_start >= ? AND bucket_start < ? AND category <> '' " +
+                    "ORDER BY bucket_start, category";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetryTemplate retryTemplate;
+
+    @Autowired
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
+
+    /**
+     * Merges sketches into the stored ones, creating those that do not exist yet.
+     *
+     * @param sketches The new visitors by sketch; the sketches are not modified.
+     */
+    public void mergeSketches(Map<VisitorSketchKey, HyperLogLog> sketches) {
+        try {
+            cockroachTransactionExecutor.execute("mergeVisitorSketches", status -> {
+                for (Map.Entry<VisitorSketchKey, HyperLogLog> entry : sketches.entrySet()) {
+                    VisitorSketchKey key = entry.getKey();
+                    Timestamp bucketStart = Timestamp.from(key.getBucketStart());
+                    List<byte[]> stored = jdbcTemplate.query(SELECT_SKETCH_FOR_UPDATE, (rs, rowNum) -> rs.getBytes("sketch"),
+                            key.getGranularity().name(), bucketStart, key.getCategory());
+                    HyperLogLog merged = stored.isEmpty()
+                            ? new HyperLogLog(entry.getValue().getPrecision())
+                            : HyperLogLog.fromBytes(stored.get(0));
+                    merged.merge(entry.getValue());
+                    jdbcTemplate.update(UPSERT_SKETCH, key.getGranularity().name(), bucketStart, key.getCategory(),
+                            merged.toBytes());
+                }
+                return sketches.size();
+            });
+            log.debug("Merged {} visitor sketches.", sketches.size());
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while merging visitor sketches.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while merging visitor sketches.", ex);
+            throw new PersistenceException("An exception occurred while merging visitor sketches.", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the sketches of one category, or of all categories together, whose bucket starts in a period.
+     *
+     * @param granularity The buckets.
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, exclusive.
+     * @param category The category, or {@link VisitorSketchKey#ALL_CATEGORIES}.
+     * @return The sketches as {@code Map<VisitorSketchKey, HyperLogLog>}, ordered by bucket.
+     */
+    public Map<VisitorSketchKey, HyperLogLog> fetchSketches(SketchGranularity granularity, Instant from, Instant to,
+                                                           String category) {
+        return fetch(SELECT_SKETCHES, granularity, Timestamp.from(from), Timestamp.from(to), category);
+    }
+
+    /**
+     * Fetches the sketches of every single category whose bucket starts in a period.
+     *
+     * @param granularity The buckets.
+     * @param from The start of the period, inclusive.
+     * @param to The end of the period, exclusive.
+     * @return The sketches as {@code Map<VisitorSketchKey, HyperLogLog>}, ordered by bucket and category.
+     */
+    public Map<VisitorSketchKey, HyperLogLog> fetchCategorySketches(SketchGranularity granularity, Instant from, Instant to) {
+        return fetch(SELECT_CATEGORY_SKETCHES, granularity, Timestamp.from(from), Timestamp.from(to));
+    }
+
+    private Map<VisitorSketchKey, HyperLogLog> fetch(String sql, SketchGranularity granularity, Object... args) {
+        try {
+            Object[] params = new Object[args.length + 1];
+            params[0] = granularity.name();
+            System.arraycopy(args, 0, params, 1, args.length);
+            return retryTemplate.execute(retryContext -> {
+                log.debug("Attempt {} to fetch {} visitor sketches", retryContext.getRetryCount(), granularity);
+                Map<VisitorSketchKey, HyperLogLog> sketches = new LinkedHashMap<>();
+                jdbcTemplate.query(sql, rs -> {
+                    sketches.put(new VisitorSketchKey(granularity, rs.getTimestamp("bucket_start").toInstant(),
+                            rs.getString("category")), HyperLogLog.fromBytes(rs.getBytes("sketch")));
+                }, params);
+                return sketches;
+            });
+        } catch (JDBCConnectionException | JpaSystemException | TransactionException | DataAccessResourceFailureException ex) {
+            log.error("Data access or transaction failure while fetching visitor sketches.", ex);
+            throw ex;
+        } catch (Exception ex) {
+            log.error("An unexpected error occurred while fetching visitor sketches.", ex);
+            throw new PersistenceException("An exception occurred while fetching visitor sketches.", ex.getMessage());
+        }
+    }
+}
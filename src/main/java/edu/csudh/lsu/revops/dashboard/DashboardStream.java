@@ -0,0 +1,384 @@
+package edu.csudh.lsu.revops.dashboard;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.csudh.lsu.revops.cache.CatalogVersion;
+import edu.csudh.lsu.revops.dao.StationSessionDAO;
+import edu.csudh.lsu.revops.model.ActivityChangeEvent;
+import edu.csudh.lsu.revops.model.DashboardSnapshot;
+import edu.csudh.lsu.revops.model.OccupancyResponse;
+import edu.csudh.lsu.revops.model.SessionQuote;
+import edu.csudh.lsu.revops.model.ShiftTotals;
+import edu.csudh.lsu.revops.model.StationSessionEvent;
+import edu.csudh.lsu.revops.model.StationSessionEventType;
+import edu.csudh.lsu.revops.session.ShiftCalendar;
+import edu.csudh.lsu.revops.session.StationSessionRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * <p>
+ * The {@code DashboardStream} class pushes station occupancy, shift totals and the catalog version to manager
+ * dashboards over server-sent events, replacing dashboards polling several REST endpoints each.
+ * </p>
+ *
+ * <p>
+ * Session and catalog changes only mark the stream dirty. A single thread wakes up every {@code dashboard.tickMs}
+ * and, if anything changed, builds one {@code DashboardSnapshot} from memory and serializes it once; however many
+ * changes happened during the tick, subscribers get one {@code update} event. The frame is then offered to the
+ * bounded queue of every subscriber and written to the client by a small pool of sender threads, so the producer
+ * never writes to a socket. A subscriber is dropped when its queue is full or when a single send has been stuck for
+ * longer than {@code dashboard.slowConsumerMs}; its dashboard reconnects and starts again from a fresh snapshot.
+ * A comment is sent every {@code dashboard.heartbeatMs} while nothing changes, so dead connections are noticed.
+ * </p>
+ *
+ * <p>
+ * Shift totals are loaded from {@code activity_session} on startup and then kept up to date from the session events of
+ * this node. Shifts are defined by the {@code ShiftCalendar}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class DashboardStream {
+
+    private static final String UPDATE_EVENT = "update";
+
+    @Autowired
+    private StationSessionRegistry stationSessionRegistry;
+
+    @Autowired
+    private StationSessionDAO stationSessionDAO;
+
+    @Autowired
+    private CatalogVersion catalogVersion;
+
+    @Autowired
+    private ShiftCalendar shiftCalendar;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${dashboard.tickMs:1000}")
+    private long tickMs;
+
+    @Value("${dashboard.heartbeatMs:15000}")
+    private long heartbeatMs;
+
+    // Frames a subscriber may fall behind before it is dropped
+    @Value("${dashboard.subscriberQueueSize:16}")
+    private int subscriberQueueSize;
+
+    // How long a single send may block before the subscriber is dropped
+    @Value("${dashboard.slowConsumerMs:5000}")
+    private long slowConsumerMs;
+
+    @Value("${dashboard.maxSubscribers:500}")
+    private int maxSubscribers;
+
+    @Value("${dashboard.senderThreads:4}")
+    private int senderThreads;
+
+    // Dashboards reconnect after this long, which also bounds the life of a stuck connection
+    @Value("${dashboard.streamTimeoutMs:1800000}")
+    private long streamTimeoutMs;
+
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<Long, DashboardSubscriber> subscribers = new ConcurrentHashMap<>();
+
+    private final AtomicLong subscriberIds = new AtomicLong();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
+    private final AtomicReference<ShiftTotals> shiftTotals = new AtomicReference<>();
+
+    private volatile DashboardSubscriber.Frame latestFrame;
+
+    private volatile DashboardSnapshot latestSnapshot;
+
+    private long lastFrameAtMillis;
+
+    private ScheduledExecutorService producer;
+
+    private ExecutorService senders;
+
+    private Counter droppedCounter;
+
+    /**
+     * Starts the producer and sender threads and registers the stream metrics.
+     */
+    @PostConstruct
+    public void init() {
+        shiftTotals.set(new ShiftTotals(currentShiftStart(), 0, 0, 0, 0));
+        producer = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "dashboard-producer"));
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> daemon(runnable, "dashboard-sender"));
+        producer.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("revops.dashboard.subscribers", subscribers, Map::size)
+                .description("Open dashboard streams")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("revops.dashboard.dropped")
+                .description("Dashboard streams dropped for falling behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Closes all streams; dashboards reconnect to another node.
+     */
+    @PreDestroy
+    public void shutdown() {
+        producer.shutdownNow();
+        subscribers.values().forEach(subscriber -> remove(subscriber, false));
+        senders.shutdown();
+    }
+
+    /**
+     * Loads the totals of the current shift once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadShiftTotals() {
+        try {
+            Instant shiftStart = currentShiftStart();
+            ShiftTotals loaded = stationSessionDAO.fetchShiftTotals(shiftStart);
+            // Sessions that ended while the query ran are counted in both; the difference is at most a few sessions
+            shiftTotals.updateAndGet(current -> current.getShiftStart().equals(shiftStart)
+                    ? add(loaded, current.getSessionsStarted(), current.getSessionsEnded(), current.getBilledMinutes(),
+                    current.getRevenueCents())
+                    : current);
+            dirty.set(true);
+        } catch (Exception ex) {
+            log.error("Unable to load the shift totals; counting from zero.", ex);
+        }
+    }
+
+    /**
+     * Opens a new stream. The first event is the latest snapshot.
+     *
+     * @return the emitter for the stream, or empty if too many streams are open
+     */
+    public Optional<SseEmitter> subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            return Optional.empty();
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        DashboardSubscriber subscriber = new DashboardSubscriber(subscriberIds.incrementAndGet(), emitter,
+                subscriberQueueSize);
+        emitter.onCompletion(() -> remove(subscriber, false));
+        emitter.onTimeout(() -> remove(subscriber, false));
+        emitter.onError(error -> remove(subscriber, false));
+        subscribers.put(subscriber.id(), subscriber);
+
+        DashboardSubscriber.Frame frame = latestFrame;
+        if (frame != null) {
+            subscriber.offer(frame);
+            scheduleDrain(subscriber);
+        }
+        log.debug("Dashboard stream {} opened; {} open.", subscriber.id(), subscribers.size());
+        return Optional.of(emitter);
+    }
+
+    /**
+     * Returns the latest snapshot, for dashboards that cannot use server-sent events.
+     *
+     * @return the latest snapshot
+     */
+    public DashboardSnapshot snapshot() {
+        DashboardSnapshot snapshot = latestSnapshot;
+        return snapshot != null ? snapshot : buildSnapshot();
+    }
+
+    /**
+     * Counts a session in the shift totals and marks the stream dirty.
+     *
+     * @param event the session event published by the {@code StationSessionRegistry}
+     */
+    @EventListener
+    public void onStationSessionEvent(StationSessionEvent event) {
+        StationSessionEventType type = event.getType();
+        if (type == StationSessionEventType.STARTED) {
+            updateShiftTotals(1, 0, 0, 0);
+        } else if (type == StationSessionEventType.ENDED || type == StationSessionEventType.EXPIRED) {
+            SessionQuote quote = event.getQuote();
+            updateShiftTotals(0, 1, quote == null ? 0 : quote.getBilledMinutes(),
+                    quote == null ? 0 : quote.getAmountCents());
+        }
+        dirty.set(true);
+    }
+
+    /**
+     * Marks the stream dirty after a catalog write.
+     *
+     * @param changeEvent the change event published by {@code ActivityDAO}
+     */
+    @EventListener
+    public void onActivityChanged(ActivityChangeEvent changeEvent) {
+        dirty.set(true);
+    }
+
+    /**
+     * Runs on the producer thread only.
+     */
+    private void tick() {
+        try {
+            long now = clock.millis();
+            rollOverShift();
+            dropStuckSubscribers(now);
+            if (dirty.getAndSet(false)) {
+                DashboardSnapshot snapshot = buildSnapshot();
+                DashboardSubscriber.Frame frame = new DashboardSubscriber.Frame(Long.toString(snapshot.getSequence()),
+                        UPDATE_EVENT, objectMapper.writeValueAsString(snapshot));
+                latestSnapshot = snapshot;
+                latestFrame = frame;
+                publish(frame);
+                lastFrameAtMillis = now;
+            } else if (now - lastFrameAtMillis >= heartbeatMs) {
+                publish(DashboardSubscriber.Frame.heartbeat());
+                lastFrameAtMillis = now;
+            }
+        } catch (Exception ex) {
+            dirty.set(true);
+            log.error("Error while publishing the dashboard snapshot.", ex);
+        }
+    }
+
+    private DashboardSnapshot buildSnapshot() {
+        return new DashboardSnapshot(sequence.incrementAndGet(), clock.instant(),
+                new OccupancyResponse(stationSessionRegistry.occupiedCount(), stationSessionRegistry.occupiedByCategory()),
+                shiftTotals.get(), catalogVersion.current());
+    }
+
+    private void publish(DashboardSubscriber.Frame frame) {
+        for (DashboardSubscriber subscriber : subscribers.values()) {
+            if (subscriber.offer(frame)) {
+                scheduleDrain(subscriber);
+            } else {
+                log.warn("Dropping dashboard stream {}: {} frames behind.", subscriber.id(), subscriberQueueSize);
+                remove(subscriber, true);
+            }
+        }
+    }
+
+    private void dropStuckSubscribers(long now) {
+        for (DashboardSubscriber subscriber : subscribers.values()) {
+            long sendingSince = subscriber.sendingSinceMillis();
+            if (sendingSince > 0 && now - sendingSince > slowConsumerMs) {
+                log.warn("Dropping dashboard stream {}: a send has been blocked for {} ms.",
+                        subscriber.id(), now - sendingSince);
+                remove(subscriber, true);
+            }
+        }
+    }
+
+    private void scheduleDrain(DashboardSubscriber subscriber) {
+        if (subscriber.claimDrain()) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(DashboardSubscriber subscriber) {
+        try {
+            while (subscriber.drain()) {
+                // More frames arrived while sending; keep this thread on the subscriber
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Dashboard stream {} is gone: {}", subscriber.id(), ex.getMessage());
+            remove(subscriber, false);
+        }
+    }
+
+    /**
+     * Removes a subscriber. Completing the emitter can wait for a send that is stuck on the socket, so it is never done
+     * on the producer thread.
+     */
+    private void remove(DashboardSubscriber subscriber, boolean dropped) {
+        if (!subscriber.close()) {
+            return;
+        }
+        subscribers.remove(subscriber.id(), subscriber);
+        if (dropped) {
+            droppedCounter.increment();
+        }
+        if (!senders.isShutdown()) {
+            senders.execute(() -> completeQuietly(subscriber.emitter()));
+        }
+    }
+
+    private void completeQuietly(SseEmitter emitter) {
+        try {
+            emitter.complete();
+        } catch (Exception ex) {
+            log.debug("Dashboard stream was already closed: {}", ex.getMessage());
+        }
+    }
+
+    private void updateShiftTotals(long started, long ended, long billedMinutes, long revenueCents) {
+        Instant shiftStart = currentShiftStart();
+        shiftTotals.updateAndGet(current -> current.getShiftStart().equals(shiftStart)
+                ? add(current, started, ended, billedMinutes, revenueCents)
+                : new ShiftTotals(shiftStart, started, ended, billedMinutes, revenueCents));
+    }
+
+    private void rollOverShift() {
+        Instant shiftStart = currentShiftStart();
+        ShiftTotals current = shiftTotals.get();
+        if (!current.getShiftStart().equals(shiftStart)
+                && shiftTotals.compareAndSet(current, new ShiftTotals(shiftStart, 0, 0, 0, 0))) {
+            log.info("New shift started at {}; previous shift billed {} cents over {} sessions.",
+                    shiftStart, current.getRevenueCents(), current.getSessionsEnded());
+            dirty.set(true);
+        }
+    }
+
+    private Instant currentShiftStart() {
+        return shiftCalendar.shiftStart(clock.instant());
+    }
+
+    private static ShiftTotals add(ShiftTotals totals, long started, long ended, long billedMinutes, long revenueCents) {
+        return new ShiftTotals(totals.getShiftStart(), totals.getSessionsStarted() + started,
+                totals.getSessionsEnded() + ended, totals.getBilledMinutes() + billedMinutes,
+                totals.getRevenueCents() + revenueCents);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
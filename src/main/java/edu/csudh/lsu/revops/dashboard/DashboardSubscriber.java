@@ -0,0 +1,132 @@
+package edu.csudh.lsu.revops.dashboard;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * The {@code DashboardSubscriber} class is one open dashboard stream together with the frames waiting to be sent to
+ * it.
+ * </p>
+ *
+ * <p>
+ * The {@code DashboardStream} only ever offers frames to the bounded queue, which never blocks. At most one sender
+ * thread drains the queue at a time, so frames reach the client in order, and a client that stops reading only ever
+ * blocks its own sender. {@link #sendingSinceMillis()} tells the stream how long the current send has been stuck.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+class DashboardSubscriber {
+
+    /**
+     * A serialized event; the same frame is shared by all subscribers.
+     *
+     * @param id the event id, or {@code null} for a heartbeat
+     * @param name the event name, or {@code null} for a heartbeat
+     * @param data the JSON data, or a comment for a heartbeat
+     */
+    record Frame(String id, String name, String data) {
+
+        static Frame heartbeat() {
+            return new Frame(null, null, "heartbeat");
+        }
+
+        private SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment(data);
+            }
+            return SseEmitter.event().id(id).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    private final long id;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Frame> frames;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long sendingSinceMillis;
+
+    DashboardSubscriber(long id, SseEmitter emitter, int queueSize) {
+        this.id = id;
+        this.emitter = emitter;
+        this.frames = new ArrayBlockingQueue<>(queueSize);
+    }
+
+    long id() {
+        return id;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    /**
+     * Queues a frame without blocking.
+     *
+     * @return {@code false} if the queue is full
+     */
+    boolean offer(Frame frame) {
+        return frames.offer(frame);
+    }
+
+    /**
+     * Claims the right to drain the queue.
+     *
+     * @return {@code true} if the caller must now call {@link #drain()}
+     */
+    boolean claimDrain() {
+        return !closed.get() && !frames.isEmpty() && draining.compareAndSet(false, true);
+    }
+
+    /**
+     * Sends all queued frames. Only called by the thread that won {@link #claimDrain()}.
+     *
+     * @return {@code true} if more frames arrived after the queue was emptied and another drain is needed
+     * @throws IOException if the client is gone
+     */
+    boolean drain() throws IOException {
+        try {
+            for (Frame frame = frames.poll(); frame != null && !closed.get(); frame = frames.poll()) {
+                sendingSinceMillis = System.currentTimeMillis();
+                emitter.send(frame.toEvent());
+                sendingSinceMillis = 0;
+            }
+        } finally {
+            sendingSinceMillis = 0;
+            draining.set(false);
+        }
+        return claimDrain();
+    }
+
+    /**
+     * Returns when the send in progress started.
+     *
+     * @return the epoch millisecond the current send started, or 0 if no send is in progress
+     */
+    long sendingSinceMillis() {
+        return sendingSinceMillis;
+    }
+
+    /**
+     * Marks the subscriber closed.
+     *
+     * @return {@code true} for the first caller only
+     */
+    boolean close() {
+        frames.clear();
+        return closed.compareAndSet(false, true);
+    }
+}
@@ -0,0 +1,73 @@
+package edu.csudh.lsu.revops.export;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code CsvExportWriter} class writes RFC 4180 CSV with a header row. Timestamps are written as ISO-8601 instants
+ * in UTC and {@code null} as an empty field.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+class CsvExportWriter implements ExportWriter {
+
+    private static final int BUFFER_CHARS = 64 * 1024;
+
+    private final Writer writer;
+
+    CsvExportWriter(OutputStream out, List<ExportColumn> columns) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_CHARS);
+        Object[] header = new Object[columns.size()];
+        for (int i = 0; i < header.length; i++) {
+            header[i] = columns.get(i).name();
+        }
+        write(header);
+    }
+
+    @Override
+    public void write(Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (row[i] != null) {
+                writeField(row[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.close();
+    }
+
+    private void writeField(String value) throws IOException {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,293 @@
+package edu.csudh.lsu.revops.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * The {@code DataExporter} class streams an {@code ExportDataset} for a range of business days into CSV or Parquet.
+ * </p>
+ *
+ * <p>
+ * The range is split into one {@code ExportPartition} per day, and up to {@code parallelism} days are read at the same
+ * time, each through a server-side cursor that fetches {@code fetchSize} rows per round trip. Nothing is ever collected
+ * into a list, so memory depends on the settings, not on the size of the range:
+ * </p>
+ *
+ * <ul>
+ *     <li>{@link #export(ExportDataset, ExportFormat, LocalDate, LocalDate, OutputStream)} writes one ordered stream.
+ *     Each day being read hands its rows to the writer through a queue of {@code bufferRows} rows; the writer takes
+ *     the days in date order, and a day that is read ahead waits once its queue is full.</li>
+ *     <li>{@link #exportToDirectory(ExportDataset, ExportFormat, LocalDate, LocalDate, Path)} writes one file per
+ *     day, each from its own reader with no queue in between.</li>
+ * </ul>
+ *
+ * <p>
+ * Readers run on a pool of {@code parallelism} threads shared by all exports, which also caps the database connections
+ * held by exports. Days are queued in order, so the day the writer waits for has always started. A failed export stops
+ * all its readers and never completes its output.
+ * </p>
+ *
+ * <p>
+ * This class does not depend on the Spring context, so the {@code exportData} Gradle task can run it against a bare
+ * {@code DataSource}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+public class DataExporter implements AutoCloseable {
+
+    private static final Object[] END_OF_PARTITION = new Object[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ZoneId zoneId;
+    private final int fetchSize;
+    private final int bufferRows;
+    private final long parquetRowGroupBytes;
+    private final ExecutorService readers;
+
+    /**
+     * Creates an exporter.
+     *
+     * @param jdbcTemplate the database to read from
+     * @param zoneId the time zone of the business days
+     * @param parallelism the number of days read at the same time
+     * @param fetchSize the rows fetched per cursor round trip
+     * @param bufferRows the rows a day read ahead may buffer for an ordered stream
+     * @param parquetRowGroupBytes the row group size of Parquet output
+     */
+    public DataExporter(JdbcTemplate jdbcTemplate, ZoneId zoneId, int parallelism, int fetchSize, int bufferRows,
+                        long parquetRowGroupBytes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.zoneId = zoneId;
+        this.fetchSize = fetchSize;
+        this.bufferRows = bufferRows;
+        this.parquetRowGroupBytes = parquetRowGroupBytes;
+        AtomicInteger threads = new AtomicInteger();
+        this.readers = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "export-reader-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Exports a range of days into a single stream, in date order.
+     *
+     * @param dataset what to export
+     * @param format the output format
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param out the stream to write to; closed once the export is complete
+     * @return the number of rows written
+     * @throws IOException if writing fails or a partition cannot be read
+     */
+    public long export(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to, OutputStream out)
+            throws IOException {
+        long startedAt = System.currentTimeMillis();
+        List<ExportPartition> partitions = ExportPartition.days(from, to, zoneId);
+        List<BlockingQueue<Object[]>> queues = new ArrayList<>(partitions.size());
+        List<Future<Long>> futures = new ArrayList<>(partitions.size());
+        for (ExportPartition partition : partitions) {
+            BlockingQueue<Object[]> queue = new ArrayBlockingQueue<>(bufferRows);
+            queues.add(queue);
+            futures.add(readers.submit(() -> {
+                long rows = readPartition(dataset, partition, queue::put);
+                queue.put(END_OF_PARTITION);
+                return rows;
+            }));
+        }
+        try {
+            ExportWriter writer = format.open(out, dataset.getColumns(), parquetRowGroupBytes);
+            long rows = 0;
+            for (int i = 0; i < partitions.size(); i++) {
+                rows += drainPartition(queues.get(i), futures.get(i), writer);
+            }
+            writer.finish();
+            log.info("Exported {} {} rows for {} to {} as {} in {} ms.", rows, dataset, from, to, format,
+                    System.currentTimeMillis() - startedAt);
+            return rows;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Exports a range of days into one file per day, named {@code <dataset>-<date>.<extension>}. Each file is written
+     * under a temporary name and only renamed once complete.
+     *
+     * @param dataset what to export
+     * @param format the output format
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param directory the directory to write to
+     * @return the files written, in date order
+     * @throws IOException if writing fails or a partition cannot be read
+     */
+    public List<Path> exportToDirectory(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to,
+                                        Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<Future<Path>> futures = new ArrayList<>();
+        for (ExportPartition partition : ExportPartition.days(from, to, zoneId)) {
+            futures.add(readers.submit(() -> exportPartitionFile(dataset, format, partition, directory)));
+        }
+        try {
+            List<Path> files = new ArrayList<>(futures.size());
+            for (Future<Path> future : futures) {
+                files.add(await(future));
+            }
+            return files;
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Stops the reader threads.
+     */
+    @Override
+    public void close() {
+        readers.shutdownNow();
+    }
+
+    private long drainPartition(BlockingQueue<Object[]> queue, Future<Long> reader, ExportWriter writer)
+            throws IOException {
+        long rows = 0;
+        try {
+            while (true) {
+                Object[] row = queue.poll(1, TimeUnit.SECONDS);
+                if (row == END_OF_PARTITION) {
+                    return rows;
+                }
+                if (row != null) {
+                    writer.write(row);
+                    rows++;
+                } else if (reader.isDone() && queue.isEmpty()) {
+                    // The reader failed before handing over the end marker
+                    await(reader);
+                    throw new IOException("Export reader stopped without finishing its partition");
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", ex);
+        }
+    }
+
+    private Path exportPartitionFile(ExportDataset dataset, ExportFormat format, ExportPartition partition,
+                                     Path directory) throws Exception {
+        Path target = directory.resolve(dataset.name().toLowerCase() + "-" + partition.date() + "." + format.getExtension());
+        Path partial = directory.resolve(target.getFileName() + ".partial");
+        try {
+            ExportWriter writer = format.open(Files.newOutputStream(partial), dataset.getColumns(), parquetRowGroupBytes);
+            long rows = readPartition(dataset, partition, writer::write);
+            writer.finish();
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Exported {} {} rows for {} to {}.", rows, dataset, partition.date(), target);
+            return target;
+        } catch (Exception ex) {
+            Files.deleteIfExists(partial);
+            throw ex;
+        }
+    }
+
+    /**
+     * Reads one partition through a server-side cursor. PostgreSQL drivers only use a cursor inside a transaction, so
+     * auto-commit is switched off for the duration of the read.
+     */
+    private long readPartition(ExportDataset dataset, ExportPartition partition, RowHandler handler) {
+        int columnCount = dataset.getColumns().size();
+        Long rows = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(dataset.getSql(),
+                    ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                statement.setFetchSize(fetchSize);
+                dataset.bind(statement, partition);
+                long count = 0;
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        Object[] row = new Object[columnCount];
+                        for (int i = 0; i < columnCount; i++) {
+                            row[i] = readValue(resultSet, i + 1, dataset.getColumns().get(i).type());
+                        }
+                        handler.accept(row);
+                        count++;
+                    }
+                }
+                connection.commit();
+                return count;
+            } catch (SQLException ex) {
+                connection.rollback();
+                throw ex;
+            } catch (Exception ex) {
+                connection.rollback();
+                throw new IllegalStateException("Export of " + dataset + " for " + partition.date() + " failed", ex);
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        });
+        return rows == null ? 0 : rows;
+    }
+
+    private static Object readValue(ResultSet resultSet, int index, ExportColumn.Type type) throws SQLException {
+        Object value = switch (type) {
+            case STRING -> resultSet.getString(index);
+            case INT32 -> resultSet.getInt(index);
+            case INT64 -> resultSet.getLong(index);
+            case TIMESTAMP -> {
+                Timestamp timestamp = resultSet.getTimestamp(index);
+                yield timestamp == null ? null : timestamp.toInstant();
+            }
+            case DATE -> resultSet.getObject(index, LocalDate.class);
+        };
+        return resultSet.wasNull() ? null : value;
+    }
+
+    private static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Export interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IOException("Export failed: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void accept(Object[] row) throws Exception;
+    }
+}
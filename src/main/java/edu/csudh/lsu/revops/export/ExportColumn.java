@@ -0,0 +1,54 @@
+package edu.csudh.lsu.revops.export;
+
+/**
+ * <p>
+ * The {@code ExportColumn} record describes one column of an export: its name in the CSV header and the Parquet schema,
+ * and the type it is read from the result set as.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ *
+ * @param name the column name
+ * @param type the column type
+ */
+public record ExportColumn(String name, Type type) {
+
+    /**
+     * Column types. Values are read as {@code String}, {@code Integer}, {@code Long}, {@code Instant} and
+     * {@code LocalDate} respectively, or {@code null}.
+     */
+    public enum Type {
+        STRING,
+        INT32,
+        INT64,
+        TIMESTAMP,
+        DATE
+    }
+
+    static ExportColumn string(String name) {
+        return new ExportColumn(name, Type.STRING);
+    }
+
+    static ExportColumn int32(String name) {
+        return new ExportColumn(name, Type.INT32);
+    }
+
+    static ExportColumn int64(String name) {
+        return new ExportColumn(name, Type.INT64);
+    }
+
+    static ExportColumn timestamp(String name) {
+        return new ExportColumn(name, Type.TIMESTAMP);
+    }
+
+    static ExportColumn date(String name) {
+        return new ExportColumn(name, Type.DATE);
+    }
+}
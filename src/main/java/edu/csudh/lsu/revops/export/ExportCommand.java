@@ -0,0 +1,90 @@
+package edu.csudh.lsu.revops.export;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * <p>
+ * The {@code ExportCommand} class runs a finance export from the command line, without starting the application.
+ * </p>
+ *
+ * <p>
+ * It writes one file per business day into {@code --out}, reading up to {@code --parallelism} days at the same time
+ * straight from the database. Run it through Gradle:
+ * </p>
+ *
+ * <pre>
+ * ./gradlew exportData -Pexport.dataset=revenue -Pexport.format=parquet \
+ *     -Pexport.from=2026-08-24 -Pexport.to=2026-12-18 -Pexport.url=jdbc:postgresql://host:26257/revops
+ * </pre>
+ *
+ * <p>
+ * {@code --user} and {@code --password} default to the {@code EXPORT_DB_USER} and {@code EXPORT_DB_PASSWORD}
+ * environment variables, so credentials need not appear on the command line.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+public final class ExportCommand {
+
+    private ExportCommand() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        ExportDataset dataset = ExportDataset.valueOf(required(options, "dataset").toUpperCase());
+        ExportFormat format = ExportFormat.valueOf(options.getOrDefault("format", "csv").toUpperCase());
+        LocalDate from = LocalDate.parse(required(options, "from"));
+        LocalDate to = LocalDate.parse(options.getOrDefault("to", from.toString()));
+        Path out = Path.of(options.getOrDefault("out", "build/exports"));
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(required(options, "url"),
+                options.getOrDefault("user", System.getenv("EXPORT_DB_USER")),
+                options.getOrDefault("password", System.getenv("EXPORT_DB_PASSWORD")));
+        try (DataExporter exporter = new DataExporter(new JdbcTemplate(dataSource),
+                ZoneId.of(options.getOrDefault("zoneId", "America/Los_Angeles")),
+                Integer.parseInt(options.getOrDefault("parallelism", "4")),
+                Integer.parseInt(options.getOrDefault("fetchSize", "1000")),
+                Integer.parseInt(options.getOrDefault("bufferRows", "1000")),
+                Long.parseLong(options.getOrDefault("parquetRowGroupMb", "16")) * 1024 * 1024)) {
+            List<Path> files = exporter.exportToDirectory(dataset, format, from, to, out);
+            log.info("Wrote {} files for {} from {} to {} into {}.", files.size(), dataset, from, to, out.toAbsolutePath());
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing --" + name);
+        }
+        return value;
+    }
+}
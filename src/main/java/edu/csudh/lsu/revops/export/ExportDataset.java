@@ -0,0 +1,92 @@
+package edu.csudh.lsu.revops.export;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static edu.csudh.lsu.revops.export.ExportColumn.date;
+import static edu.csudh.lsu.revops.export.ExportColumn.int32;
+import static edu.csudh.lsu.revops.export.ExportColumn.int64;
+import static edu.csudh.lsu.revops.export.ExportColumn.string;
+import static edu.csudh.lsu.revops.export.ExportColumn.timestamp;
+
+/**
+ * <p>
+ * The {@code ExportDataset} enum lists what can be exported, with the query that reads one {@code ExportPartition}.
+ * </p>
+ *
+ * <ul>
+ *     <li>{@code ACTIVITIES}: catalog rows, by the day they were last changed. Rows written before delta sync have no
+ *     {@code changed_at} and are not exported.</li>
+ *     <li>{@code SESSIONS}: ended station sessions with their charge, by the day they ended.</li>
+ *     <li>{@code REVENUE}: sessions, billed minutes and revenue per day, category and member type.</li>
+ * </ul>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum ExportDataset {
+
+    ACTIVITIES(false,
+            "SELECT id, activity, category, price, image_location, venue, status, change_version, changed_at FROM activity " +
+                    "WHERE changed_at >= ? AND changed_at < ? ORDER BY changed_at, id",
+            List.of(string("id"), string("activity"), string("category"), int32("price"), string("image_location"),
+                    string("venue"), string("status"), int64("change_version"), timestamp("changed_at"))),
+
+    SESSIONS(false,
+            "SELECT id, station_id, activity_id, category, member_id, member_type, started_at, expires_at, ended_at, " +
+                    "end_reason, billed_minutes, amount_cents, rules_version FROM activity_session " +
+                    "WHERE ended_at >= ? AND ended_at < ? ORDER BY ended_at, id",
+            List.of(string("id"), string("station_id"), string("activity_id"), string("category"), string("member_id"),
+                    string("member_type"), timestamp("started_at"), timestamp("expires_at"), timestamp("ended_at"),
+                    string("end_reason"), int32("billed_minutes"), int64("amount_cents"), int64("rules_version"))),
+
+    REVENUE(true,
+            "SELECT CAST(? AS DATE) AS business_date, category, member_type, count(*) AS sessions, " +
+                    "coalesce(sum(billed_minutes), 0) AS billed_minutes, coalesce(sum(amount_cents), 0) AS revenue_cents " +
+                    "FROM activity_session WHERE ended_at >= ? AND ended_at < ? " +
+                    "GROUP BY category, member_type ORDER BY category, member_type",
+            List.of(date("business_date"), string("category"), string("member_type"), int64("sessions"),
+                    int64("billed_minutes"), int64("revenue_cents")));
+
+    private final boolean bindsDate;
+    private final String sql;
+    private final List<ExportColumn> columns;
+
+    ExportDataset(boolean bindsDate, String sql, List<ExportColumn> columns) {
+        this.bindsDate = bindsDate;
+        this.sql = sql;
+        this.columns = columns;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public List<ExportColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Binds the partition to the parameters of {@link #getSql()}.
+     *
+     * @param statement the prepared query
+     * @param partition the partition to read
+     * @throws SQLException if binding fails
+     */
+    public void bind(PreparedStatement statement, ExportPartition partition) throws SQLException {
+        int index = 1;
+        if (bindsDate) {
+            statement.setObject(index++, partition.date());
+        }
+        statement.setTimestamp(index++, Timestamp.from(partition.start()));
+        statement.setTimestamp(index, Timestamp.from(partition.end()));
+    }
+}
@@ -0,0 +1,56 @@
+package edu.csudh.lsu.revops.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ExportFormat} enum lists the file formats an export can be written in.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum ExportFormat {
+
+    CSV("text/csv", "csv"),
+    PARQUET("application/vnd.apache.parquet", "parquet");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Opens a writer on a stream.
+     *
+     * @param out the stream, closed by {@link ExportWriter#finish()}
+     * @param columns the export columns
+     * @param parquetRowGroupBytes the row group size of Parquet output
+     * @return the writer
+     * @throws IOException if the output fails
+     */
+    public ExportWriter open(OutputStream out, List<ExportColumn> columns, long parquetRowGroupBytes) throws IOException {
+        return this == PARQUET
+                ? new ParquetExportWriter(out, columns, parquetRowGroupBytes)
+                : new CsvExportWriter(out, columns);
+    }
+}
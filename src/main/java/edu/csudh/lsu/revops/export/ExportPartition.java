@@ -0,0 +1,47 @@
+package edu.csudh.lsu.revops.export;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ExportPartition} record is one local business day of an export, the unit that is read, and written to
+ * its own file, in parallel.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ *
+ * @param date the business day
+ * @param start the first instant of the day, inclusive
+ * @param end the first instant of the next day, exclusive
+ */
+public record ExportPartition(LocalDate date, Instant start, Instant end) {
+
+    /**
+     * Splits a range of business days into one partition per day. Days follow the local calendar, so a day with a
+     * daylight saving change is 23 or 25 hours long.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive
+     * @param zoneId the time zone of the business days
+     * @return the partitions in date order
+     */
+    public static List<ExportPartition> days(LocalDate from, LocalDate to, ZoneId zoneId) {
+        List<ExportPartition> partitions = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            partitions.add(new ExportPartition(date, date.atStartOfDay(zoneId).toInstant(),
+                    date.plusDays(1).atStartOfDay(zoneId).toInstant()));
+        }
+        return partitions;
+    }
+}
@@ -0,0 +1,41 @@
+package edu.csudh.lsu.revops.export;
+
+import java.io.IOException;
+
+/**
+ * <p>
+ * The {@code ExportWriter} interface is implemented by the CSV and Parquet encoders of an export.
+ * </p>
+ *
+ * <p>
+ * Writers hold at most a bounded buffer: a few kilobytes for CSV, one row group for Parquet. {@link #finish()} completes
+ * the file and closes the stream. A failed export never calls it, so a truncated export is never mistaken for a
+ * complete one: an HTTP download ends without its final chunk and a file export leaves no file behind.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public interface ExportWriter {
+
+    /**
+     * Writes one row.
+     *
+     * @param row the values, in the order of the export columns
+     * @throws IOException if the output fails
+     */
+    void write(Object[] row) throws IOException;
+
+    /**
+     * Completes the output and closes the underlying stream.
+     *
+     * @throws IOException if the output fails
+     */
+    void finish() throws IOException;
+}
@@ -0,0 +1,85 @@
+package edu.csudh.lsu.revops.health;
+
+import edu.csudh.lsu.revops.journal.OutageJournal;
+import edu.csudh.lsu.revops.utils.ApplicationConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code JournalHealthCheck} class reports the writes accepted during a database outage that are not replayed yet.
+ * </p>
+ *
+ * <p>
+ * The check fails when the oldest waiting write is older than {@code journal.maxAgeMs}, which means the replay is not
+ * making progress, or when the journal is more than {@code journal.maxUsage} full, since further writes will be
+ * rejected once it is.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Component
+public class JournalHealthCheck implements HealthCheckAware {
+
+    @Autowired
+    private OutageJournal outageJournal;
+
+    @Value("${journal.maxAgeMs:900000}")
+    private long maxAgeMs;
+
+    @Value("${journal.maxUsage:0.8}")
+    private double maxUsage;
+
+    /**
+     * Provides the list of health checks for the outage journal.
+     *
+     * @return a list of health checks for the outage journal
+     */
+    @Override
+    public List<HealthCheck> getChecks() {
+        List<HealthCheck> healthChecks = new ArrayList<>();
+        healthChecks.add(this::checkJournalHealth);
+        return healthChecks;
+    }
+
+    /**
+     * Performs the journal depth and age check.
+     *
+     * @return the health check result for the outage journal
+     */
+    public HealthCheckResult checkJournalHealth() {
+        HealthCheckResult healthCheckResult = new HealthCheckResult(
+                ApplicationConstants.JOURNAL, ApplicationConstants.OUTAGE_JOURNAL,
+                HealthCheckResult.Result.success, "Success."
+        );
+
+        int depth = outageJournal.depth();
+        long ageMs = outageJournal.oldestAgeMs();
+        double usage = outageJournal.usage();
+        healthCheckResult.getDetails().put("depth", Integer.toString(depth));
+        healthCheckResult.getDetails().put("ageMs", Long.toString(ageMs));
+        healthCheckResult.getDetails().put("usage", String.format("%.3f", usage));
+        if (ageMs > maxAgeMs) {
+            healthCheckResult.setResult(HealthCheckResult.Result.failure);
+            healthCheckResult.getDetails().put(ApplicationConstants.MESSAGE,
+                    depth + " journaled writes are waiting, the oldest for " + ageMs + " ms, above the limit of "
+                            + maxAgeMs + " ms.");
+        } else if (usage > maxUsage) {
+            healthCheckResult.setResult(HealthCheckResult.Result.failure);
+            healthCheckResult.getDetails().put(ApplicationConstants.MESSAGE,
+                    "The outage journal is " + Math.round(usage * 100) + "% full.");
+        }
+        return healthCheckResult;
+    }
+}
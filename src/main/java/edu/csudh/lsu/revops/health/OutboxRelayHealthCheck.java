@@ -0,0 +1,78 @@
+package edu.csudh.lsu.revops.health;
+
+import edu.csudh.lsu.revops.outbox.OutboxRelay;
+import edu.csudh.lsu.revops.utils.ApplicationConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code OutboxRelayHealthCheck} class reports whether the outbox relay keeps up with the writes.
+ * </p>
+ *
+ * <p>
+ * The check fails when the age of the oldest unpublished outbox event exceeds {@code outbox.relay.maxLagMs}, which
+ * means downstream consumers are no longer seeing activity changes in time.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Component
+public class OutboxRelayHealthCheck implements HealthCheckAware {
+
+    @Autowired(required = false)
+    private OutboxRelay outboxRelay;
+
+    @Value("${outbox.relay.maxLagMs:60000}")
+    private long maxLagMs;
+
+    /**
+     * Provides the list of health checks for the outbox relay.
+     *
+     * @return a list of health checks for the outbox relay
+     */
+    @Override
+    public List<HealthCheck> getChecks() {
+        List<HealthCheck> healthChecks = new ArrayList<>();
+        healthChecks.add(this::checkOutboxRelayHealth);
+        return healthChecks;
+    }
+
+    /**
+     * Performs the relay lag check.
+     *
+     * @return the health check result for the outbox relay
+     */
+    public HealthCheckResult checkOutboxRelayHealth() {
+        HealthCheckResult healthCheckResult = new HealthCheckResult(
+                ApplicationConstants.OUTBOX, ApplicationConstants.OUTBOX_RELAY,
+                HealthCheckResult.Result.success, "Success."
+        );
+
+        if (outboxRelay == null) {
+            healthCheckResult.getDetails().put(ApplicationConstants.MESSAGE, "The outbox relay is disabled on this node.");
+            return healthCheckResult;
+        }
+
+        long lagMs = outboxRelay.getRelayLagMs();
+        healthCheckResult.getDetails().put("lagMs", Long.toString(lagMs));
+        healthCheckResult.getDetails().put("lastRelayAt", String.valueOf(outboxRelay.getLastRelayAt()));
+        if (lagMs > maxLagMs) {
+            healthCheckResult.setResult(HealthCheckResult.Result.failure);
+            healthCheckResult.getDetails().put(ApplicationConstants.MESSAGE,
+                    "The outbox relay is " + lagMs + " ms behind, above the limit of " + maxLagMs + " ms.");
+        }
+        return healthCheckResult;
+    }
+}
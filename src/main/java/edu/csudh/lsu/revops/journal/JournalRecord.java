@@ -0,0 +1,23 @@
+package edu.csudh.lsu.revops.journal;
+
+/**
+ * <p>
+ * The {@code JournalRecord} record is one record read from a {@link WriteAheadJournal}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ *
+ * @param offset the offset of the record in the journal file
+ * @param nextOffset the offset right after the record, to pass to {@link WriteAheadJournal#markDrained(long)}
+ * @param appendedAtMillis the epoch millisecond the record was appended
+ * @param payload the record
+ */
+public record JournalRecord(long offset, long nextOffset, long appendedAtMillis, byte[] payload) {
+}
@@ -0,0 +1,137 @@
+package edu.csudh.lsu.revops.journal;
+
+import edu.csudh.lsu.revops.dao.ActivityDAO;
+import edu.csudh.lsu.revops.health.DataBaseHealthCheck;
+import edu.csudh.lsu.revops.health.HealthCheckResult;
+import edu.csudh.lsu.revops.model.JournaledWrite;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code JournalReplayer} class applies the writes of the {@code OutageJournal} once the database is reachable
+ * again.
+ * </p>
+ *
+ * <p>
+ * Every {@code journal.replayIntervalMs}, if writes are waiting and {@code DataBaseHealthCheck} succeeds, the journal
+ * is drained in order, {@code journal.replayBatchSize} writes at a time; the drained position is stored after each
+ * batch. Each write is applied through {@code ActivityDAO.replayJournaledWrite}, which records its id in the same
+ * transaction, so writes of a batch that was applied but not yet marked drained before a crash are skipped the next
+ * time. If the database becomes unreachable again the replay stops at that write and resumes on a later run. A write
+ * that fails for any other reason would fail on every run; it is logged with its full content for manual entry,
+ * counted in {@code revops.journal.dropped} and skipped, so it does not hold back the writes behind it.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class JournalReplayer {
+
+    @Autowired
+    private OutageJournal outageJournal;
+
+    @Autowired
+    private ActivityDAO activityDAO;
+
+    @Autowired
+    private DataBaseHealthCheck dataBaseHealthCheck;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${journal.replayBatchSize:100}")
+    private int batchSize;
+
+    private Counter replayedCounter;
+
+    private Counter droppedCounter;
+
+    /**
+     * Registers the replay metrics.
+     */
+    @PostConstruct
+    public void init() {
+        replayedCounter = Counter.builder("revops.journal.replayed")
+                .description("Journaled activity writes applied to the database")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("revops.journal.dropped")
+                .description("Journaled activity writes skipped because they failed for a reason other than an outage")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Drains the journal if writes are waiting and the database is healthy.
+     */
+    @Scheduled(fixedDelayString = "${journal.replayIntervalMs:5000}")
+    public void replay() {
+        if (!outageJournal.isActive()
+                || dataBaseHealthCheck.checkDataBaseHealth().getResult() != HealthCheckResult.Result.success) {
+            return;
+        }
+        log.info("The database is reachable again; replaying {} journaled writes.", outageJournal.depth());
+        int replayed = 0;
+        List<JournalRecord> batch;
+        while (!(batch = outageJournal.read(batchSize)).isEmpty()) {
+            long drainedTo = -1;
+            for (JournalRecord journalRecord : batch) {
+                if (!apply(journalRecord)) {
+                    if (drainedTo >= 0) {
+                        outageJournal.markDrained(drainedTo);
+                    }
+                    log.warn("Stopped the journal replay after {} writes; {} are still waiting.", replayed,
+                            outageJournal.depth());
+                    return;
+                }
+                drainedTo = journalRecord.nextOffset();
+                replayed++;
+            }
+            outageJournal.markDrained(drainedTo);
+        }
+        log.info("Replayed {} journaled writes; the journal is empty.", replayed);
+    }
+
+    /**
+     * Applies one journaled write.
+     *
+     * @return {@code false} if the database became unreachable and the replay must stop
+     */
+    private boolean apply(JournalRecord journalRecord) {
+        JournaledWrite journaledWrite = null;
+        try {
+            journaledWrite = outageJournal.decode(journalRecord);
+            if (activityDAO.replayJournaledWrite(journaledWrite) == 0) {
+                log.warn("Journaled write {} targets activity {}, which does not exist.", journaledWrite.getWriteId(),
+                        journaledWrite.getActivityId());
+            }
+            replayedCounter.increment();
+            return true;
+        } catch (Exception ex) {
+            if (outageJournal.isOutage(ex)) {
+                return false;
+            }
+            droppedCounter.increment();
+            log.error("Dropping journaled write {} that cannot be applied; enter it manually: {}",
+                    journaledWrite == null ? "?" : journaledWrite.getWriteId(),
+                    new String(journalRecord.payload(), StandardCharsets.UTF_8), ex);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package edu.csudh.lsu.revops.journal;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.csudh.lsu.revops.health.DataBaseHealthCheck;
+import edu.csudh.lsu.revops.health.HealthCheckResult;
+import edu.csudh.lsu.revops.model.JournaledWrite;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.JDBCConnectionException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code OutageJournal} class accepts activity writes while the database is unreachable, so the front desk can
+ * keep working through an outage.
+ * </p>
+ *
+ * <p>
+ * When a write fails because the database cannot be reached, {@code RevOpsActivityService} registers it here instead
+ * of failing: it is appended to a local {@link WriteAheadJournal} at {@code journal.file} and acknowledged as
+ * {@code REGISTERED}. A failure counts as an outage if a connection failure is among its causes or if
+ * {@code DataBaseHealthCheck} fails right after it. As long as any write is waiting in the journal, later writes are
+ * registered too without trying the database, so they are applied in the order they were accepted. The
+ * {@code JournalReplayer} drains the journal once the database is back.
+ * </p>
+ *
+ * <p>
+ * The journal is local to the node; a write registered on one node is only visible to the others once replayed.
+ * Registered writes are counted in {@code revops.journal.registered}; {@code revops.journal.depth} and
+ * {@code revops.journal.age} report the backlog.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class OutageJournal {
+
+    // SQLSTATE class of connection exceptions
+    private static final String CONNECTION_EXCEPTION_CLASS = "08";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DataBaseHealthCheck dataBaseHealthCheck;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${journal.enabled:true}")
+    private boolean enabled;
+
+    @Value("${journal.file:journal/activity-writes.journal}")
+    private Path file;
+
+    @Value("${journal.capacityMb:64}")
+    private int capacityMb;
+
+    // Forces every append to disk before it is acknowledged
+    @Value("${journal.forceOnWrite:true}")
+    private boolean forceOnWrite;
+
+    private WriteAheadJournal journal;
+
+    private Counter registeredCounter;
+
+    /**
+     * Opens the journal, recovering the writes not replayed before a restart, and registers its metrics.
+     *
+     * @throws IOException if the journal file cannot be opened
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journal = new WriteAheadJournal(file, capacityMb * 1024 * 1024, forceOnWrite);
+        registeredCounter = Counter.builder("revops.journal.registered")
+                .description("Activity writes registered in the outage journal")
+                .register(meterRegistry);
+        Gauge.builder("revops.journal.depth", journal, WriteAheadJournal::depth)
+                .description("Registered activity writes not replayed yet")
+                .register(meterRegistry);
+        Gauge.builder("revops.journal.age", this, OutageJournal::oldestAgeMs)
+                .description("Age of the oldest registered activity write not replayed yet")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Closes the journal file.
+     *
+     * @throws IOException if the journal cannot be flushed
+     */
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    /**
+     * @return whether writes are waiting to be replayed, in which case new writes must be registered as well
+     */
+    public boolean isActive() {
+        return journal != null && journal.depth() > 0;
+    }
+
+    /**
+     * Tells whether a failed write should be registered because the database is unreachable.
+     *
+     * @param failure the exception the write failed with
+     * @return {@code true} if the journal is enabled and the database is unreachable
+     */
+    public boolean isOutage(Exception failure) {
+        return journal != null && (isConnectionFailure(failure)
+                || dataBaseHealthCheck.checkDataBaseHealth().getResult() == HealthCheckResult.Result.failure);
+    }
+
+    /**
+     * Registers a write for replay, giving it its id and registration time.
+     *
+     * @param journaledWrite the write to register
+     * @throws IllegalStateException if the journal is full or disabled
+     */
+    public void register(JournaledWrite journaledWrite) {
+        if (journal == null) {
+            throw new IllegalStateException("The outage journal is disabled");
+        }
+        journaledWrite.setWriteId(UUID.randomUUID());
+        journaledWrite.setRegisteredAt(Instant.now());
+        try {
+            journal.append(objectMapper.writeValueAsBytes(journaledWrite));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        registeredCounter.increment();
+        log.warn("Registered {} of activity {} as write {} in the outage journal; {} writes are waiting.",
+                journaledWrite.getType(), journaledWrite.getActivityId(), journaledWrite.getWriteId(), journal.depth());
+    }
+
+    /**
+     * @return the number of writes waiting to be replayed
+     */
+    public int depth() {
+        return journal == null ? 0 : journal.depth();
+    }
+
+    /**
+     * @return the age of the oldest write waiting to be replayed in milliseconds, or 0 if there is none
+     */
+    public long oldestAgeMs() {
+        long appendedAtMillis = journal == null ? 0 : journal.oldestAppendedAtMillis();
+        return appendedAtMillis == 0 ? 0 : System.currentTimeMillis() - appendedAtMillis;
+    }
+
+    /**
+     * @return the share of the journal capacity in use, between 0 and 1
+     */
+    public double usage() {
+        return journal == null ? 0 : journal.usage();
+    }
+
+    List<JournalRecord> read(int maxRecords) {
+        return journal.read(maxRecords);
+    }
+
+    void markDrained(long nextOffset) {
+        journal.markDrained(nextOffset);
+    }
+
+    JournaledWrite decode(JournalRecord journalRecord) throws IOException {
+        return objectMapper.readValue(journalRecord.payload(), JournaledWrite.class);
+    }
+
+    private static boolean isConnectionFailure(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException || cause instanceof CannotCreateTransactionException
+                    || cause instanceof JDBCConnectionException || cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+            if (cause instanceof SQLException sqlException && sqlException.getSQLState() != null
+                    && sqlException.getSQLState().startsWith(CONNECTION_EXCEPTION_CLASS)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
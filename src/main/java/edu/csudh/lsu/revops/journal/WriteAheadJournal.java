@@ -0,0 +1,265 @@
+package edu.csudh.lsu.revops.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * <p>
+ * The {@code WriteAheadJournal} class is an append-only journal of opaque records in a single memory-mapped file.
+ * </p>
+ *
+ * <p>
+ * The file has a fixed capacity and starts with a header holding a magic number and the drained offset, the offset of
+ * the first record not yet consumed. Each record is laid out as
+ * </p>
+ *
+ * <pre>
+ * int length | int crc32c | long appendedAtMillis | byte[length] payload
+ * </pre>
+ *
+ * <p>
+ * where the checksum covers the timestamp and the payload. A zero length marks the end of the journal: the file is
+ * zero-filled when created and every append writes a zero length right after its record. On open, the records from the
+ * drained offset are scanned and checked; the first one with a bad checksum, left behind by a crash in the middle of an
+ * append, ends the journal and everything after it is cleared. Appends and the drained offset are forced to disk before
+ * they return, unless {@code forceOnWrite} is off.
+ * </p>
+ *
+ * <p>
+ * Drained records are reclaimed by compaction: once the drained records take at least as much room as those still
+ * waiting, {@link #markDrained(long)} copies the waiting records to the beginning of the file and only then moves the
+ * drained offset there. The copy only overwrites drained records, so a crash during it leaves the journal as it was.
+ * The journal therefore keeps taking appends while it is being drained, as long as the replay keeps up with them. A
+ * crash right after the drained offset moved can leave stale records behind the end of the journal; they are never
+ * read, since the end of the journal is marked, and a record replayed twice is skipped by {@code journal_replay}
+ * anyway.
+ * </p>
+ *
+ * <p>
+ * All methods are synchronized; the journal is meant for a low rate of appends, such as the writes of an outage.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+public class WriteAheadJournal implements Closeable {
+
+    private static final int MAGIC = 0x52564A31; // "RVJ1"
+    private static final int HEADER_BYTES = 64;
+    private static final int DRAINED_OFFSET_POSITION = 8;
+    private static final int RECORD_HEADER_BYTES = 16;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final boolean forceOnWrite;
+
+    private int drainedOffset;
+    private int writeOffset;
+    private int depth;
+
+    /**
+     * Opens the journal in the given file, creating it if needed, and recovers its records.
+     *
+     * @param file the journal file
+     * @param capacityBytes the size of the file; fixed once the file exists
+     * @param forceOnWrite whether appends and drains are forced to disk before returning
+     * @throws IOException if the file cannot be opened or mapped
+     */
+    public WriteAheadJournal(Path file, int capacityBytes, boolean forceOnWrite) throws IOException {
+        this.forceOnWrite = forceOnWrite;
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        boolean created = Files.notExists(file);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        int capacity = created ? capacityBytes : (int) Math.max(channel.size(), HEADER_BYTES);
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        if (created || buffer.getInt(0) != MAGIC) {
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(DRAINED_OFFSET_POSITION, HEADER_BYTES);
+            force(0, HEADER_BYTES);
+        }
+        drainedOffset = buffer.getInt(DRAINED_OFFSET_POSITION);
+        recover();
+    }
+
+    /**
+     * Appends a record.
+     *
+     * @param payload the record
+     * @throws IllegalStateException if the journal has no room left for the record
+     */
+    public synchronized void append(byte[] payload) {
+        int recordBytes = RECORD_HEADER_BYTES + payload.length;
+        if (writeOffset + recordBytes > buffer.capacity()) {
+            throw new IllegalStateException("The journal is full: " + depth + " records, "
+                    + (writeOffset - drainedOffset) + " bytes");
+        }
+        long appendedAtMillis = System.currentTimeMillis();
+        int endOffset = writeOffset + recordBytes;
+        // Marks the end of the journal again, in case a compaction left stale records behind
+        int endMarkerBytes = endOffset + 4 <= buffer.capacity() ? 4 : 0;
+        if (endMarkerBytes > 0) {
+            buffer.putInt(endOffset, 0);
+        }
+        // Length last, so a record only becomes visible once it is complete
+        buffer.putInt(writeOffset + 4, checksum(appendedAtMillis, payload));
+        buffer.putLong(writeOffset + 8, appendedAtMillis);
+        buffer.put(writeOffset + RECORD_HEADER_BYTES, payload);
+        buffer.putInt(writeOffset, payload.length);
+        force(writeOffset, recordBytes + endMarkerBytes);
+        writeOffset = endOffset;
+        depth++;
+    }
+
+    /**
+     * Reads the oldest records not yet drained, without consuming them.
+     *
+     * @param maxRecords the maximum number of records to read
+     * @return the records in append order
+     */
+    public synchronized List<JournalRecord> read(int maxRecords) {
+        List<JournalRecord> records = new ArrayList<>(Math.min(maxRecords, depth));
+        int offset = drainedOffset;
+        while (offset < writeOffset && records.size() < maxRecords) {
+            int length = buffer.getInt(offset);
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_BYTES, payload);
+            int nextOffset = offset + RECORD_HEADER_BYTES + length;
+            records.add(new JournalRecord(offset, nextOffset, buffer.getLong(offset + 8), payload));
+            offset = nextOffset;
+        }
+        return records;
+    }
+
+    /**
+     * Consumes every record before the given offset, and compacts the journal once the drained records take at least
+     * as much room as those still waiting. The offsets of records read before are no longer valid after this call.
+     *
+     * @param nextOffset the {@link JournalRecord#nextOffset()} of the last record consumed
+     */
+    public synchronized void markDrained(long nextOffset) {
+        if (nextOffset <= drainedOffset || nextOffset > writeOffset) {
+            return;
+        }
+        int consumed = 0;
+        for (int offset = drainedOffset; offset < nextOffset; consumed++) {
+            offset += RECORD_HEADER_BYTES + buffer.getInt(offset);
+        }
+        setDrainedOffset((int) nextOffset);
+        depth -= consumed;
+        compact();
+    }
+
+    /**
+     * @return the number of records not yet drained
+     */
+    public synchronized int depth() {
+        return depth;
+    }
+
+    /**
+     * @return the epoch millisecond the oldest record not yet drained was appended, or 0 if there is none
+     */
+    public synchronized long oldestAppendedAtMillis() {
+        return depth == 0 ? 0 : buffer.getLong(drainedOffset + 8);
+    }
+
+    /**
+     * @return the share of the capacity taken by records not yet drained, between 0 and 1
+     */
+    public synchronized double usage() {
+        return (double) (writeOffset - drainedOffset) / (buffer.capacity() - HEADER_BYTES);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private void recover() {
+        int offset = drainedOffset;
+        int records = 0;
+        while (offset + RECORD_HEADER_BYTES <= buffer.capacity()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + RECORD_HEADER_BYTES + length > buffer.capacity()) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(offset + RECORD_HEADER_BYTES, payload);
+            if (buffer.getInt(offset + 4) != checksum(buffer.getLong(offset + 8), payload)) {
+                log.warn("Discarding a torn record at offset {} of the journal.", offset);
+                clear(offset, buffer.capacity());
+                break;
+            }
+            offset += RECORD_HEADER_BYTES + length;
+            records++;
+        }
+        writeOffset = offset;
+        depth = records;
+        if (records > 0) {
+            log.info("Recovered {} journal records that were not replayed yet.", records);
+        }
+    }
+
+    /**
+     * Moves the records not yet drained to the beginning of the file, if they fit in front of the drained offset
+     * together with the end marker behind them.
+     */
+    private void compact() {
+        int waitingBytes = writeOffset - drainedOffset;
+        if (drainedOffset == HEADER_BYTES || HEADER_BYTES + waitingBytes + 4 > drainedOffset) {
+            return;
+        }
+        // Overwrites drained records only; the records stay where they are until the drained offset moves
+        buffer.put(HEADER_BYTES, buffer, drainedOffset, waitingBytes);
+        buffer.putInt(HEADER_BYTES + waitingBytes, 0);
+        force(HEADER_BYTES, waitingBytes + 4);
+        setDrainedOffset(HEADER_BYTES);
+        writeOffset = HEADER_BYTES + waitingBytes;
+    }
+
+    private void setDrainedOffset(int offset) {
+        drainedOffset = offset;
+        buffer.putInt(DRAINED_OFFSET_POSITION, offset);
+        force(DRAINED_OFFSET_POSITION, 4);
+    }
+
+    private void clear(int from, int to) {
+        for (int offset = from; offset < to; offset++) {
+            buffer.put(offset, (byte) 0);
+        }
+        force(from, to - from);
+    }
+
+    private void force(int offset, int length) {
+        if (forceOnWrite) {
+            buffer.force(offset, length);
+        }
+    }
+
+    private static int checksum(long appendedAtMillis, byte[] payload) {
+        CRC32C crc = new CRC32C();
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (appendedAtMillis >>> shift));
+        }
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,117 @@
+package edu.csudh.lsu.revops.leaderboard;
+
+import edu.csudh.lsu.revops.model.Leaderboard;
+import edu.csudh.lsu.revops.model.StationSession;
+import edu.csudh.lsu.revops.model.StationSessionEvent;
+import edu.csudh.lsu.revops.model.StationSessionEventType;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * <p>
+ * The {@code Leaderboards} class keeps the live "most played activities" and "busiest stations" boards.
+ * </p>
+ *
+ * <p>
+ * Every session start published by the {@code StationSessionRegistry} counts as one play of its activity and one use
+ * of its station. Each board is tracked over the trailing hour and the trailing day by a {@link SlidingTopK}, so the
+ * boards are answered from a fixed number of counters and never by a {@code GROUP BY} over the session table. The
+ * hour is made of {@code leaderboards.hourBuckets} buckets and the day of {@code leaderboards.dayBuckets}, each
+ * holding {@code leaderboards.capacity} counters.
+ * </p>
+ *
+ * <p>
+ * The boards are kept in memory on each node and count the sessions started through that node since it started.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class Leaderboards {
+
+    public static final String ACTIVITIES = "activities";
+    public static final String STATIONS = "stations";
+    public static final String HOUR = "hour";
+    public static final String DAY = "day";
+
+    @Value("${leaderboards.capacity:200}")
+    private int capacity;
+
+    @Value("${leaderboards.hourBuckets:12}")
+    private int hourBuckets;
+
+    @Value("${leaderboards.dayBuckets:24}")
+    private int dayBuckets;
+
+    private Map<String, Map<String, SlidingTopK>> boards;
+
+    /**
+     * Creates the empty boards.
+     */
+    @PostConstruct
+    public void init() {
+        boards = Map.of(ACTIVITIES, windows(), STATIONS, windows());
+    }
+
+    /**
+     * Counts a started session.
+     *
+     * @param event the session event
+     */
+    @EventListener
+    public void onStationSessionEvent(StationSessionEvent event) {
+        if (event.getType() != StationSessionEventType.STARTED) {
+            return;
+        }
+        StationSession session = event.getSession();
+        String activity = session.getActivityId() != null ? session.getActivityId().toString() : session.getCategory();
+        for (SlidingTopK window : boards.get(ACTIVITIES).values()) {
+            if (activity != null) {
+                window.record(activity, event.getOccurredAt());
+            }
+        }
+        for (SlidingTopK window : boards.get(STATIONS).values()) {
+            window.record(session.getStationId(), event.getOccurredAt());
+        }
+    }
+
+    /**
+     * Reads a board.
+     *
+     * @param board {@code activities} or {@code stations}
+     * @param window {@code hour} or {@code day}
+     * @param limit the maximum number of entries
+     * @return the board, or empty if the board or window is unknown
+     */
+    public Optional<Leaderboard> top(String board, String window, int limit) {
+        Map<String, SlidingTopK> windows = boards.get(board);
+        SlidingTopK topK = windows == null ? null : windows.get(window);
+        if (topK == null) {
+            return Optional.empty();
+        }
+        Instant now = Instant.now();
+        return Optional.of(new Leaderboard(board, window, topK.windowStart(now), now, topK.top(limit, now)));
+    }
+
+    private Map<String, SlidingTopK> windows() {
+        return Map.of(
+                HOUR, new SlidingTopK(hourBuckets, Duration.ofHours(1).dividedBy(hourBuckets), capacity),
+                DAY, new SlidingTopK(dayBuckets, Duration.ofDays(1).dividedBy(dayBuckets), capacity));
+    }
+}
@@ -0,0 +1,135 @@
+package edu.csudh.lsu.revops.leaderboard;
+
+import edu.csudh.lsu.revops.model.LeaderboardEntry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * <p>
+ * The {@code SlidingTopK} class tracks the most frequent keys over a trailing window of fixed length in fixed memory.
+ * </p>
+ *
+ * <p>
+ * The window is split into {@code buckets} consecutive buckets of {@code bucketWidth}, held in a ring, each counting
+ * its keys in its own {@link SpaceSavingSketch}. An occurrence is counted in the bucket of its time; a bucket whose
+ * time has left the window is cleared when the ring comes back to it. A query merges the buckets still in the window:
+ * a key's count is the sum of its counts, plus the floor of every full bucket that does not hold it, since the key may
+ * have been evicted there. The window therefore slides by one bucket at a time, and the oldest bucket may already be
+ * partly outside of it. Memory is {@code buckets * capacity} counters whatever the traffic.
+ * </p>
+ *
+ * <p>
+ * All methods are synchronized; occurrences arrive at the rate sessions are started.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class SlidingTopK {
+
+    private static final Comparator<LeaderboardEntry> MOST_FIRST = Comparator.comparingLong(LeaderboardEntry::getCount)
+            .reversed()
+            .thenComparing(Comparator.comparingLong(LeaderboardEntry::getGuaranteedCount).reversed())
+            .thenComparing(LeaderboardEntry::getKey);
+
+    private final long bucketMillis;
+    private final SpaceSavingSketch[] sketches;
+    // Number of the bucket, counted from the epoch, each slot of the ring holds; -1 if none
+    private final long[] bucketNumbers;
+
+    /**
+     * @param buckets the number of buckets the window is made of
+     * @param bucketWidth the length of a bucket
+     * @param capacity the number of counters of each bucket
+     */
+    public SlidingTopK(int buckets, Duration bucketWidth, int capacity) {
+        bucketMillis = bucketWidth.toMillis();
+        sketches = new SpaceSavingSketch[buckets];
+        bucketNumbers = new long[buckets];
+        for (int slot = 0; slot < buckets; slot++) {
+            sketches[slot] = new SpaceSavingSketch(capacity);
+            bucketNumbers[slot] = -1;
+        }
+    }
+
+    /**
+     * Counts an occurrence of a key.
+     *
+     * @param key the key
+     * @param at when it occurred
+     */
+    public synchronized void record(String key, Instant at) {
+        long bucketNumber = at.toEpochMilli() / bucketMillis;
+        int slot = (int) (bucketNumber % sketches.length);
+        if (bucketNumbers[slot] != bucketNumber) {
+            if (bucketNumbers[slot] > bucketNumber) {
+                // Older than anything the ring still holds
+                return;
+            }
+            sketches[slot].clear();
+            bucketNumbers[slot] = bucketNumber;
+        }
+        sketches[slot].offer(key, 1);
+    }
+
+    /**
+     * Finds the most frequent keys of the window ending now.
+     *
+     * @param limit the maximum number of keys
+     * @param now the end of the window
+     * @return the keys, most frequent first
+     */
+    public synchronized List<LeaderboardEntry> top(int limit, Instant now) {
+        long currentBucket = now.toEpochMilli() / bucketMillis;
+        List<SpaceSavingSketch> window = new ArrayList<>(sketches.length);
+        for (int slot = 0; slot < sketches.length; slot++) {
+            if (bucketNumbers[slot] > currentBucket - sketches.length && bucketNumbers[slot] <= currentBucket) {
+                window.add(sketches[slot]);
+            }
+        }
+
+        Map<String, long[]> merged = new HashMap<>();
+        for (SpaceSavingSketch sketch : window) {
+            sketch.forEach((key, count, error) -> {
+                long[] bounds = merged.computeIfAbsent(key, k -> new long[2]);
+                bounds[0] += count;
+                bounds[1] += count - error;
+            });
+        }
+        long[] floors = new long[window.size()];
+        for (int index = 0; index < floors.length; index++) {
+            floors[index] = window.get(index).floor();
+        }
+        List<LeaderboardEntry> entries = new ArrayList<>(merged.size());
+        for (Map.Entry<String, long[]> entry : merged.entrySet()) {
+            long count = entry.getValue()[0];
+            for (int index = 0; index < floors.length; index++) {
+                if (floors[index] > 0 && !window.get(index).contains(entry.getKey())) {
+                    count += floors[index];
+                }
+            }
+            entries.add(new LeaderboardEntry(entry.getKey(), count, entry.getValue()[1]));
+        }
+        entries.sort(MOST_FIRST);
+        return entries.size() > limit ? List.copyOf(entries.subList(0, limit)) : entries;
+    }
+
+    /**
+     * Tells where the window ending now starts.
+     *
+     * @param now the end of the window
+     * @return the start of the oldest bucket of the window
+     */
+    public Instant windowStart(Instant now) {
+        long currentBucket = now.toEpochMilli() / bucketMillis;
+        return Instant.ofEpochMilli((currentBucket - sketches.length + 1) * bucketMillis);
+    }
+}
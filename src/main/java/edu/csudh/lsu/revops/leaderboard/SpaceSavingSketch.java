@@ -0,0 +1,146 @@
+package edu.csudh.lsu.revops.leaderboard;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * The {@code SpaceSavingSketch} class counts the most frequent keys of a stream in a fixed number of counters, using
+ * the Space-Saving algorithm of Metwally, Agrawal and El Abbadi.
+ * </p>
+ *
+ * <p>
+ * A key already counted is incremented. A new key takes a free counter while there is one; once all
+ * {@code capacity} counters are in use, it takes over the counter with the lowest count and starts from that count,
+ * remembering it as its error. A key's count is therefore never below its true count and at most its error above it,
+ * and every key whose true count exceeds {@code total / capacity} is guaranteed to be held. Memory does not grow with
+ * the number of distinct keys; only the counters held are stored.
+ * </p>
+ *
+ * <p>
+ * The lowest counter is found by a scan of the counters, which only happens when a new key arrives at a full sketch;
+ * with the few hundred counters a leaderboard needs this costs less than a hash map resize. The class is not thread
+ * safe.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class SpaceSavingSketch {
+
+    private final String[] keys;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<String, Integer> slots;
+
+    private int size;
+
+    /**
+     * @param capacity the number of counters
+     */
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A sketch needs at least one counter: " + capacity);
+        }
+        keys = new String[capacity];
+        counts = new long[capacity];
+        errors = new long[capacity];
+        slots = new HashMap<>(capacity * 2);
+    }
+
+    /**
+     * Counts an occurrence of a key.
+     *
+     * @param key the key
+     * @param weight the number of occurrences, at least 1
+     */
+    public void offer(String key, long weight) {
+        Integer slot = slots.get(key);
+        if (slot != null) {
+            counts[slot] += weight;
+            return;
+        }
+        if (size < keys.length) {
+            take(size++, key, 0, weight);
+            return;
+        }
+        int lowest = lowestSlot();
+        slots.remove(keys[lowest]);
+        take(lowest, key, counts[lowest], weight);
+    }
+
+    /**
+     * @return the count every key not held may have reached: the lowest count if the sketch is full, otherwise 0
+     */
+    public long floor() {
+        return size < keys.length ? 0 : counts[lowestSlot()];
+    }
+
+    /**
+     * Hands every key held to a consumer with its count and error.
+     *
+     * @param consumer receives the key, the count and the error
+     */
+    public void forEach(CounterConsumer consumer) {
+        for (int slot = 0; slot < size; slot++) {
+            consumer.accept(keys[slot], counts[slot], errors[slot]);
+        }
+    }
+
+    /**
+     * Tells whether a key is held.
+     *
+     * @param key the key
+     * @return {@code true} if the key has a counter
+     */
+    public boolean contains(String key) {
+        return slots.containsKey(key);
+    }
+
+    /**
+     * Forgets every key.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0, size, null);
+        slots.clear();
+        size = 0;
+    }
+
+    private void take(int slot, String key, long error, long weight) {
+        keys[slot] = key;
+        counts[slot] = error + weight;
+        errors[slot] = error;
+        slots.put(key, slot);
+    }
+
+    private int lowestSlot() {
+        int lowest = 0;
+        for (int slot = 1; slot < size; slot++) {
+            if (counts[slot] < counts[lowest]) {
+                lowest = slot;
+            }
+        }
+        return lowest;
+    }
+
+    /**
+     * Receives a counter of the sketch.
+     */
+    @FunctionalInterface
+    public interface CounterConsumer {
+
+        /**
+         * @param key the key
+         * @param count the count, never below the true count
+         * @param error how much the count may exceed the true count
+         */
+        void accept(String key, long count, long error);
+    }
+}
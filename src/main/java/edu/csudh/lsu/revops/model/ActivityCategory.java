@@ -0,0 +1,34 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+/**
+ * <p>
+ * The {@code ActivityCategory} class represents a category in the GraphQL API.
+ * </p>
+ *
+ * <p>
+ * Categories are only stored as a column of the activity table, so the name and the venue it was queried for are
+ * the whole identity. Equality on both is required because the batched {@code activities} resolver returns its
+ * results keyed by category, and one operation may ask for the same category name at two venues.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class ActivityCategory {
+
+    private final String name;
+
+    private final String venue;
+}
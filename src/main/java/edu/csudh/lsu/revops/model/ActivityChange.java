@@ -0,0 +1,40 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code ActivityChange} class represents one changed activity in a delta sync response.
+ * </p>
+ *
+ * <p>
+ * Besides the catalog fields it carries the {@code status}, {@code ENABLE} or {@code DISABLE}, so kiosks can drop
+ * soft-deleted activities, and the {@code changeVersion} the row was stamped with by its last write.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@ToString
+public class ActivityChange {
+
+    private UUID id;
+    private String activity;
+    private String category;
+    private Integer price;
+    private String imageLocation;
+    private String venue;
+    private String status;
+    private long changeVersion;
+}
@@ -0,0 +1,44 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code ActivityChangeEvent} class is the payload published for every write made through {@code ActivityDAO}.
+ * </p>
+ *
+ * <p>
+ * It carries the full state of the activity after the write, so consumers can update their own copies without
+ * reading the database back.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ActivityChangeEvent {
+
+    private UUID activityId;
+    private long changeVersion;
+    private ActivityChangeType changeType;
+    private String activity;
+    private String category;
+    private Integer price;
+    private String imageLocation;
+    private String venue;
+    private Instant occurredAt;
+}
@@ -0,0 +1,24 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code ActivityChangeType} enum lists the kinds of writes {@code ActivityDAO} records for an activity.
+ * </p>
+ *
+ * <p>
+ * The value is stored with every outbox row and sent as the {@code eventType} header, so downstream consumers can
+ * tell a full upsert apart from a partial update without parsing the payload.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum ActivityChangeType {
+    UPSERTED, UPDATED, DISABLED
+}
@@ -0,0 +1,37 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ActivityChangesResponse} class is the body of {@code GET /activities/changes}.
+ * </p>
+ *
+ * <p>
+ * Clients pass {@code nextSince} as the {@code since} cursor of their next call. While {@code hasMore} is set, more
+ * changes are waiting beyond the page limit and the client should call again right away.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ActivityChangesResponse {
+
+    private long since;
+    private long nextSince;
+    private boolean hasMore;
+    private List<ActivityChange> changes;
+}
@@ -2,14 +2,18 @@ package edu.csudh.lsu.revops.model;
 
 import lombok.*;
 
+import java.util.UUID;
+
 @Getter
 @Setter
 @NoArgsConstructor
 @ToString
 public class ActivityResponse {
 
+    private UUID id;
     private String activity;
     private String category;
     private Integer price;
     private String imageLocation;
+    private String venue;
 }
@@ -0,0 +1,30 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code AvailabilityWindow} class describes a period, from {@code from} inclusive to {@code to} exclusive, during
+ * which a station has no confirmed reservation.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class AvailabilityWindow {
+
+    private final String stationId;
+    private final Instant from;
+    private final Instant to;
+}
@@ -0,0 +1,35 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+/**
+ * <p>
+ * The {@code ConditionalUpdateResult} class is the outcome of an update made only if the activity still had the
+ * version the client last saw.
+ * </p>
+ *
+ * <p>
+ * {@code version} is the new version of the activity if it was updated and its current version on a conflict, so the
+ * client can send it back as {@code ETag}; it is 0 if the activity does not exist. {@code UNAVAILABLE} means the
+ * update was not attempted because the version could not be checked, see {@code RevOpsActivityService}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ConditionalUpdateResult {
+
+    public enum Outcome { UPDATED, CONFLICT, NOT_FOUND, UNAVAILABLE }
+
+    private final Outcome outcome;
+    private final long version;
+}
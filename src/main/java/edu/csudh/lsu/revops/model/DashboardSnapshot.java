@@ -0,0 +1,37 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code DashboardSnapshot} class is the data of every {@code update} event on {@code GET /dashboard/stream} and
+ * the body of {@code GET /dashboard/snapshot}.
+ * </p>
+ *
+ * <p>
+ * Each snapshot is complete, so a dashboard only ever keeps the latest one. {@code sequence} grows by one per
+ * snapshot published by this node.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class DashboardSnapshot {
+
+    private final long sequence;
+    private final Instant generatedAt;
+    private final OccupancyResponse occupancy;
+    private final ShiftTotals shift;
+    private final long catalogVersion;
+}
@@ -0,0 +1,45 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code JournaledWrite} class is an activity write accepted while the database was unreachable, as stored in the
+ * outage journal until it is replayed.
+ * </p>
+ *
+ * <p>
+ * {@code writeId} identifies the write across replays, so a write replayed twice is applied once. Depending on the
+ * type, {@code activity} holds the full activity to save or {@code updates} the fields of a partial update.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class JournaledWrite {
+
+    public enum Type { SAVE, PARTIAL_UPDATE, DISABLE }
+
+    private UUID writeId;
+    private Type type;
+    private UUID activityId;
+    private ActivityResponse activity;
+    private Map<String, Object> updates;
+    private Instant registeredAt;
+}
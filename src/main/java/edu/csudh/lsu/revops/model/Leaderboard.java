@@ -0,0 +1,33 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code Leaderboard} class describes the most frequent keys of a board, such as the most played activities, over
+ * a trailing window.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class Leaderboard {
+
+    private final String board;
+    private final String window;
+    private final Instant from;
+    private final Instant to;
+    private final List<LeaderboardEntry> entries;
+}
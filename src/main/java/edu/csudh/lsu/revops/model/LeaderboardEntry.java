@@ -0,0 +1,33 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+/**
+ * <p>
+ * The {@code LeaderboardEntry} class describes one key of a leaderboard with its estimated count.
+ * </p>
+ *
+ * <p>
+ * Counts come from a sketch: the true count of the key in the window lies between {@code guaranteedCount} and
+ * {@code count}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class LeaderboardEntry {
+
+    private final String key;
+    private final long count;
+    private final long guaranteedCount;
+}
@@ -0,0 +1,21 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code MemberType} enum lists the kinds of customers that pricing rules can tell apart.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum MemberType {
+    STUDENT,
+    STAFF,
+    GUEST
+}
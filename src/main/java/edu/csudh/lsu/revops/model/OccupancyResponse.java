@@ -0,0 +1,28 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * <p>
+ * The {@code OccupancyResponse} class is the body of {@code GET /stations/occupancy}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class OccupancyResponse {
+
+    private final int occupied;
+    private final Map<String, Integer> occupiedByCategory;
+}
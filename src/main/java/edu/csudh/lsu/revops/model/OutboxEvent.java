@@ -0,0 +1,42 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code OutboxEvent} class represents one row of the {@code activity_outbox} table.
+ * </p>
+ *
+ * <p>
+ * The {@code aggregateId} is used as the Kafka record key, which keeps all events of one activity on the same
+ * partition and therefore in order.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class OutboxEvent {
+
+    private long id;
+    private UUID aggregateId;
+    private String eventType;
+    private String payload;
+    private Instant createdAt;
+    // Change version the write stamped on the activity; orders the events of one activity by commit
+    private long changeVersion;
+}
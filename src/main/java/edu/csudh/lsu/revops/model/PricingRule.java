@@ -0,0 +1,48 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code PricingRule} class is one row of the {@code pricing_rule} table.
+ * </p>
+ *
+ * <p>
+ * A rule sets the hourly rate for the minutes of the day in {@code [startMinute, endMinute)}. A band whose end is not
+ * after its start runs past midnight into the next day. {@code category}, {@code weekday} (ISO, 1 = Monday) and
+ * {@code memberType} narrow the rule down; a {@code null} value matches everything. Where rules overlap, the one with
+ * the higher {@code priority} wins, and at equal priority the more specific one. {@code billingIncrementMinutes}
+ * rounds the length of a session up before it is priced, for example 1 for per-minute console billing or 30 for
+ * tables rented by the half hour.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EqualsAndHashCode
+@ToString
+public class PricingRule {
+
+    private UUID id;
+    private String category;
+    private Integer weekday;
+    private int startMinute;
+    private int endMinute;
+    private MemberType memberType;
+    private int hourlyRateCents;
+    private int billingIncrementMinutes;
+    private int priority;
+}
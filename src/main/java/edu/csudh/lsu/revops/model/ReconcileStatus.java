@@ -0,0 +1,25 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code ReconcileStatus} enum lists the outcomes of the nightly reconciliation of a shift.
+ * </p>
+ *
+ * <p>
+ * {@code FAILED_MANUAL} marks a shift whose stored totals disagree with the sessions recorded in it, or that has
+ * sessions without a charge. Staff review those shifts; a later run that finds the shift consistent sets it back to
+ * {@code OK}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum ReconcileStatus {
+    OK, FAILED_MANUAL
+}
@@ -0,0 +1,34 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ReconciliationReport} class summarizes one run of the nightly reconciliation.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ReconciliationReport {
+
+    private final LocalDate businessDay;
+    private final int partitions;
+    private final long rowsScanned;
+    private final long durationMs;
+    private final long rowsPerSecond;
+    private final int shiftsChecked;
+    private final List<ShiftReconciliation> mismatches;
+}
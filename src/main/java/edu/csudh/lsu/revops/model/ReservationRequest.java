@@ -0,0 +1,36 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ReservationRequest} class is the body of a reservation: one station for regular play, or several for a
+ * tournament slot, all booked or none.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class ReservationRequest {
+
+    private List<String> stationIds;
+    private String memberId;
+    private ReservationType type;
+    private String title;
+    private Instant startsAt;
+    private Instant endsAt;
+}
@@ -0,0 +1,31 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ReservationResult} class is the outcome of a booking: the reservations made, or on a conflict the
+ * confirmed reservations that overlap the requested period.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ReservationResult {
+
+    public enum Outcome { BOOKED, CONFLICT }
+
+    private final Outcome outcome;
+    private final List<StationReservation> reservations;
+}
@@ -0,0 +1,21 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code ReservationStatus} enum lists the states of a station reservation. A cancelled reservation frees its
+ * time and cannot be confirmed again.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum ReservationStatus {
+    CONFIRMED,
+    CANCELLED
+}
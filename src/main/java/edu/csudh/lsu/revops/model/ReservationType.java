@@ -0,0 +1,20 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code ReservationType} enum lists what a station is reserved for: regular play or a tournament slot.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum ReservationType {
+    PLAY,
+    TOURNAMENT
+}
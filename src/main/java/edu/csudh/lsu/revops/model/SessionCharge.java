@@ -0,0 +1,35 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code SessionCharge} class is one ended session as read by the keyset scans of the nightly reconciliation.
+ * </p>
+ *
+ * <p>
+ * {@code billedMinutes} and {@code amountCents} are {@code null} for a session that was ended without a charge.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class SessionCharge {
+
+    private final UUID sessionId;
+    private final Instant endedAt;
+    private final Integer billedMinutes;
+    private final Long amountCents;
+}
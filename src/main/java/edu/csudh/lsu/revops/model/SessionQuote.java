@@ -0,0 +1,39 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code SessionQuote} class is the charge computed by the {@code PricingEngine} for one session.
+ * </p>
+ *
+ * <p>
+ * {@code billedMinutes} is the session length after rounding up to the category's billing increment.
+ * {@code rulesVersion} identifies the compiled rule set that produced the charge, so a reconciliation can tell which
+ * quotes were made under an older set of rules.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SessionQuote {
+
+    private UUID sessionId;
+    private int minutes;
+    private int billedMinutes;
+    private long amountCents;
+    private long rulesVersion;
+}
@@ -0,0 +1,40 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code SessionQuoteRequest} class describes a session to be priced, either a single quote or one entry of a
+ * bulk re-price.
+ * </p>
+ *
+ * <p>
+ * {@code sessionId} is optional and only echoed back, so callers can match the quotes of a bulk re-price to their
+ * sessions.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class SessionQuoteRequest {
+
+    private UUID sessionId;
+    private String category;
+    private MemberType memberType;
+    private OffsetDateTime start;
+    private int minutes;
+}
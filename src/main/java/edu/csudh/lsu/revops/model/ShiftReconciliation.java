@@ -0,0 +1,39 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code ShiftReconciliation} class is the stored totals of one shift next to the totals recomputed from its
+ * sessions by the last reconciliation.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@ToString
+public class ShiftReconciliation {
+
+    private Instant shiftStart;
+    private long sessions;
+    private long billedMinutes;
+    private long revenueCents;
+    private Long recomputedSessions;
+    private Long recomputedBilledMinutes;
+    private Long recomputedRevenueCents;
+    private ReconcileStatus status;
+    private Instant reconciledAt;
+}
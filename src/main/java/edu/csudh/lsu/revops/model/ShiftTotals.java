@@ -0,0 +1,32 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code ShiftTotals} class holds the station sessions started and ended, and the revenue they billed, since the
+ * start of the current shift.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class ShiftTotals {
+
+    private final Instant shiftStart;
+    private final long sessionsStarted;
+    private final long sessionsEnded;
+    private final long billedMinutes;
+    private final long revenueCents;
+}
@@ -0,0 +1,20 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code SketchGranularity} enum lists the time buckets unique visitor sketches are kept for.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum SketchGranularity {
+    SHIFT,
+    DAY
+}
@@ -0,0 +1,43 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code StationReservation} class describes the booking of one station for a period, from {@code startsAt}
+ * inclusive to {@code endsAt} exclusive, so back-to-back reservations do not overlap.
+ * </p>
+ *
+ * <p>
+ * Reservations booked together, such as the stations of a tournament slot, share a {@code groupId}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@ToString
+public class StationReservation {
+
+    private final UUID reservationId;
+    private final UUID groupId;
+    private final String stationId;
+    private final String memberId;
+    private final ReservationType type;
+    private final String title;
+    private final Instant startsAt;
+    private final Instant endsAt;
+    private final ReservationStatus status;
+    private final long changeVersion;
+}
@@ -0,0 +1,42 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code StationSession} class describes a session running on a station, such as a console, a pool table or a
+ * ping-pong table.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable; extending a session creates a new instance with a later {@code expiresAt}, so readers of
+ * the {@code StationSessionRegistry} always see a consistent session without locking.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@ToString
+public class StationSession {
+
+    private final UUID sessionId;
+    private final String stationId;
+    private final UUID activityId;
+    private final String category;
+    private final String memberId;
+    private final MemberType memberType;
+    private final Instant startedAt;
+    private final Instant expiresAt;
+}
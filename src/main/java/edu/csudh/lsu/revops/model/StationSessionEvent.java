@@ -0,0 +1,35 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code StationSessionEvent} class is published by the {@code StationSessionRegistry} as a Spring application
+ * event whenever a session starts, is about to expire, is extended or ends.
+ * </p>
+ *
+ * <p>
+ * {@code quote} is only set for {@code ENDED} and {@code EXPIRED} events and holds the charge of the session.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class StationSessionEvent {
+
+    private final StationSessionEventType type;
+    private final StationSession session;
+    private final Instant occurredAt;
+    private final SessionQuote quote;
+}
@@ -0,0 +1,23 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code StationSessionEventType} enum lists the lifecycle events of a station session.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum StationSessionEventType {
+    STARTED,
+    WARNING,
+    EXTENDED,
+    ENDED,
+    EXPIRED
+}
@@ -0,0 +1,37 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code StationSessionRequest} class is the body of {@code POST /stations/{stationId}/session}.
+ * </p>
+ *
+ * <p>
+ * {@code minutes} is the booked length; the session expires after it unless it is extended or ended first.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+public class StationSessionRequest {
+
+    private UUID activityId;
+    private String category;
+    private String memberId;
+    private MemberType memberType;
+    private int minutes;
+}
@@ -0,0 +1,39 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+/**
+ * <p>
+ * The {@code StudentProfile} class describes a member of the game room as looked up at the counter on check-in.
+ * </p>
+ *
+ * <p>
+ * The {@code studentId} is the campus ID for students and the badge or guest number otherwise. {@code changeVersion}
+ * is stamped by the database on every write and is ignored when a profile is sent in.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@EqualsAndHashCode
+@ToString
+public class StudentProfile {
+
+    private String studentId;
+    private String firstName;
+    private String lastName;
+    private MemberType memberType;
+    private String status;
+    private long changeVersion;
+}
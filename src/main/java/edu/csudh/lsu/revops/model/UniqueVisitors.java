@@ -0,0 +1,38 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code UniqueVisitors} class describes the estimated number of distinct members who started a session in a
+ * period, overall or in one category.
+ * </p>
+ *
+ * <p>
+ * The estimate comes from merged HyperLogLog sketches; {@code relativeStandardError} is its standard error relative
+ * to the exact count, and {@code sketches} the number of sketches merged.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class UniqueVisitors {
+
+    private final String category;
+    private final Instant from;
+    private final Instant to;
+    private final long estimate;
+    private final double relativeStandardError;
+    private final int sketches;
+}
@@ -0,0 +1,22 @@
+package edu.csudh.lsu.revops.model;
+
+/**
+ * <p>
+ * The {@code UsageMetric} enum lists the per-minute series charted by the dashboards: sessions started, and minutes
+ * billed and revenue of sessions ended.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public enum UsageMetric {
+    SESSIONS,
+    BILLED_MINUTES,
+    REVENUE_CENTS
+}
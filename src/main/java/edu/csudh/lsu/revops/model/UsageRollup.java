@@ -0,0 +1,33 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code UsageRollup} class holds the sessions started, and the minutes billed and revenue of the sessions ended,
+ * at one station in one minute.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class UsageRollup {
+
+    private final Instant minute;
+    private final String stationId;
+    private final String category;
+    private final long sessions;
+    private final long billedMinutes;
+    private final long revenueCents;
+}
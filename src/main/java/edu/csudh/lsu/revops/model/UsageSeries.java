@@ -0,0 +1,35 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code UsageSeries} class holds one usage metric over a time range, totalled in buckets of {@code stepMinutes},
+ * for all stations, one category or one station.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class UsageSeries {
+
+    private final UsageMetric metric;
+    private final String category;
+    private final String stationId;
+    private final Instant from;
+    private final Instant to;
+    private final int stepMinutes;
+    private final long total;
+    private final long[] values;
+}
@@ -0,0 +1,37 @@
+package edu.csudh.lsu.revops.model;
+
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * <p>
+ * The {@code VisitorSketchKey} class identifies one unique visitor sketch: a time bucket and a category.
+ * </p>
+ *
+ * <p>
+ * The category {@link #ALL_CATEGORIES} holds the visitors of every category, so uniques across categories are read
+ * from one sketch per bucket.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+@ToString
+public class VisitorSketchKey {
+
+    public static final String ALL_CATEGORIES = "";
+
+    private final SketchGranularity granularity;
+    private final Instant bucketStart;
+    private final String category;
+}
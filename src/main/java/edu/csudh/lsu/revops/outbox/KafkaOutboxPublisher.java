@@ -0,0 +1,94 @@
+package edu.csudh.lsu.revops.outbox;
+
+import edu.csudh.lsu.revops.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * The {@code KafkaOutboxPublisher} class publishes outbox events to the activity change topic.
+ * </p>
+ *
+ * <p>
+ * Every record is keyed by the activity id, so all events of one activity land on the same partition and are
+ * consumed in the order they were written. The whole batch is handed to the producer before any acknowledgement
+ * is awaited, which lets the producer group the records into as few requests as possible. The outbox id is sent as
+ * the {@code eventId} header so consumers can drop the duplicates an at-least-once relay may produce.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class KafkaOutboxPublisher implements OutboxPublisher {
+
+    public static final String EVENT_ID_HEADER = "eventId";
+    public static final String EVENT_TYPE_HEADER = "eventType";
+
+    @Autowired
+    private KafkaTemplate<String, String> kafkaTemplate;
+
+    @Value("${outbox.topic}")
+    private String topic;
+
+    @Value("${outbox.relay.sendTimeoutMs:10000}")
+    private long sendTimeoutMs;
+
+    /**
+     * Sends the batch to Kafka and collects the ids acknowledged within the configured send timeout.
+     *
+     * @param events The events to publish, ordered by change version.
+     * @return The ids of the events acknowledged by the broker.
+     */
+    @Override
+    public Set<Long> publish(List<OutboxEvent> events) {
+        List<CompletableFuture<SendResult<String, String>>> futures = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            ProducerRecord<String, String> producerRecord =
+                    new ProducerRecord<>(topic, event.getAggregateId().toString(), event.getPayload());
+            producerRecord.headers().add(EVENT_ID_HEADER,
+                    Long.toString(event.getId()).getBytes(StandardCharsets.UTF_8));
+            producerRecord.headers().add(EVENT_TYPE_HEADER,
+                    event.getEventType().getBytes(StandardCharsets.UTF_8));
+            futures.add(kafkaTemplate.send(producerRecord));
+        }
+
+        Set<Long> acknowledged = new HashSet<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+        for (int i = 0; i < futures.size(); i++) {
+            OutboxEvent event = events.get(i);
+            try {
+                futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                acknowledged.add(event.getId());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                log.warn("Interrupted while waiting for outbox event {} to be acknowledged.", event.getId());
+                break;
+            } catch (Exception ex) {
+                log.warn("Outbox event {} for activity {} was not acknowledged: {}",
+                        event.getId(), event.getAggregateId(), ex.getMessage());
+            }
+        }
+        return acknowledged;
+    }
+}
@@ -0,0 +1,41 @@
+package edu.csudh.lsu.revops.outbox;
+
+import edu.csudh.lsu.revops.model.OutboxEvent;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * <p>
+ * The {@code OutboxPublisher} interface defines how the {@code OutboxRelay} hands a batch of events to a broker.
+ * </p>
+ *
+ * <p>
+ * The production implementation is {@link KafkaOutboxPublisher}. Keeping the broker behind this interface lets the
+ * relay be exercised against an embedded broker or a simple in-memory stand-in.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public interface OutboxPublisher {
+
+    /**
+     * Publishes a batch of events and waits for the broker to acknowledge them.
+     *
+     * <p>
+     * Implementations must send the events in the order given and must not throw for individual send failures;
+     * events that were not acknowledged are simply left out of the returned set.
+     * </p>
+     *
+     * @param events The events to publish, ordered by change version.
+     * @return The ids of the events acknowledged by the broker.
+     */
+    Set<Long> publish(List<OutboxEvent> events);
+}
@@ -0,0 +1,232 @@
+package edu.csudh.lsu.revops.outbox;
+
+import edu.csudh.lsu.revops.dao.ActivityOutboxDAO;
+import edu.csudh.lsu.revops.dao.CockroachTransactionExecutor;
+import edu.csudh.lsu.revops.model.OutboxEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * The {@code OutboxRelay} class drains the {@code activity_outbox} table to the broker in the background.
+ * </p>
+ *
+ * <p>
+ * On every tick the relay claims the oldest unpublished events in a short transaction, see
+ * {@link ActivityOutboxDAO#claimUnpublished(UUID, int, long)}, publishes them as one batch through the
+ * {@link OutboxPublisher} once the claim has committed, and then marks the acknowledged ones as published. No row lock
+ * is held while the broker is awaited. Delivery is at-least-once: the events of a relay that dies mid-batch are
+ * claimed again once {@code outbox.relay.claimLeaseMs} has passed, which must exceed
+ * {@code outbox.relay.sendTimeoutMs}. Ordering per activity is preserved: events are claimed in change version order,
+ * and once an event of an activity fails, the later events of the same activity in that batch are not marked either;
+ * the claim is released, so they are re-sent behind it on the next tick.
+ * </p>
+ *
+ * <p>
+ * The relay lag, i.e. the age of the oldest unpublished event, is exposed as the {@code revops.outbox.relay.lag}
+ * gauge and checked by {@code OutboxRelayHealthCheck}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    @Autowired
+    private ActivityOutboxDAO activityOutboxDAO;
+
+    @Autowired
+    private OutboxPublisher outboxPublisher;
+
+    @Autowired
+    private CockroachTransactionExecutor cockroachTransactionExecutor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${outbox.relay.batchSize:200}")
+    private int batchSize;
+
+    // How long claimed events are left to this relay; longer than it may wait for the broker
+    @Value("${outbox.relay.claimLeaseMs:30000}")
+    private long claimLeaseMs;
+
+    @Value("${outbox.purge.retentionHours:72}")
+    private long retentionHours;
+
+    private final AtomicLong relayLagMs = new AtomicLong();
+
+    private volatile Instant lastRelayAt;
+
+    private Counter publishedCounter;
+
+    private Counter failedCounter;
+
+    private Timer batchTimer;
+
+    /**
+     * Registers the relay metrics with the {@link MeterRegistry}.
+     */
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("revops.outbox.relay.lag", relayLagMs, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        publishedCounter = Counter.builder("revops.outbox.published")
+                .description("Outbox events acknowledged by the broker")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("revops.outbox.failed")
+                .description("Outbox events left for the next relay tick")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("revops.outbox.relay.batch")
+                .description("Time to claim, publish and mark one outbox batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays outbox batches until a partial batch is seen, then refreshes the lag gauge.
+     *
+     * <p>
+     * Exceptions are logged and swallowed so the schedule keeps running; the events stay in the outbox and are
+     * picked up again on the next tick.
+     * </p>
+     */
+    @Scheduled(fixedDelayString = "${outbox.relay.pollIntervalMs:500}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = relayBatch();
+            } while (published == batchSize);
+            relayLagMs.set(activityOutboxDAO.fetchRelayLag().toMillis());
+            lastRelayAt = Instant.now();
+        } catch (Exception ex) {
+            log.error("Outbox relay tick failed; events will be retried on the next tick.", ex);
+        }
+    }
+
+    /**
+     * Claims, publishes and marks a single batch of outbox events.
+     *
+     * @return int The number of events marked as published.
+     */
+    public int relayBatch() {
+        Integer published = batchTimer.record(() -> {
+            UUID claimId = UUID.randomUUID();
+            List<OutboxEvent> batch = cockroachTransactionExecutor.execute("claimOutboxBatch",
+                    status -> activityOutboxDAO.claimUnpublished(claimId, batchSize, claimLeaseMs));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+
+            Set<Long> acknowledged;
+            try {
+                acknowledged = outboxPublisher.publish(batch);
+            } catch (RuntimeException ex) {
+                activityOutboxDAO.releaseClaim(claimId);
+                throw ex;
+            }
+            List<Long> publishable = publishableInOrder(batch, acknowledged);
+            activityOutboxDAO.markPublished(publishable);
+            if (publishable.size() < batch.size()) {
+                activityOutboxDAO.releaseClaim(claimId);
+            }
+
+            publishedCounter.increment(publishable.size());
+            failedCounter.increment((double) batch.size() - publishable.size());
+            if (publishable.size() < batch.size()) {
+                log.warn("Relayed {} of {} outbox events; the rest will be retried.", publishable.size(), batch.size());
+            } else {
+                log.debug("Relayed {} outbox events.", publishable.size());
+            }
+            return publishable.size();
+        });
+        return published == null ? 0 : published;
+    }
+
+    /**
+     * Deletes outbox rows that were published longer ago than the configured retention.
+     */
+    @Scheduled(fixedDelayString = "${outbox.purge.intervalMs:3600000}")
+    public void purgePublished() {
+        try {
+            int purged = activityOutboxDAO.purgePublished(Instant.now().minus(Duration.ofHours(retentionHours)));
+            log.info("Purged {} published outbox events.", purged);
+        } catch (Exception ex) {
+            log.error("Failed to purge published outbox events.", ex);
+        }
+    }
+
+    /**
+     * Returns the ids that can be marked as published without breaking per-activity ordering.
+     *
+     * <p>
+     * An acknowledged event is only kept if no earlier event of the same activity in the batch failed.
+     * </p>
+     *
+     * @param batch The batch in change version order.
+     * @param acknowledged The ids acknowledged by the broker.
+     * @return The ids to mark as published.
+     */
+    static List<Long> publishableInOrder(List<OutboxEvent> batch, Set<Long> acknowledged) {
+        List<Long> publishable = new ArrayList<>(batch.size());
+        Set<UUID> blockedAggregates = new HashSet<>();
+        for (OutboxEvent event : batch) {
+            if (blockedAggregates.contains(event.getAggregateId())) {
+                continue;
+            }
+            if (acknowledged.contains(event.getId())) {
+                publishable.add(event.getId());
+            } else {
+                blockedAggregates.add(event.getAggregateId());
+            }
+        }
+        return publishable;
+    }
+
+    /**
+     * Returns the relay lag measured at the end of the last successful tick.
+     *
+     * @return the relay lag in milliseconds
+     */
+    public long getRelayLagMs() {
+        return relayLagMs.get();
+    }
+
+    /**
+     * Returns when the last relay tick completed successfully.
+     *
+     * @return the instant of the last successful tick, or {@code null} if none has completed yet
+     */
+    public Instant getLastRelayAt() {
+        return lastRelayAt;
+    }
+}
@@ -0,0 +1,196 @@
+package edu.csudh.lsu.revops.pricing;
+
+import edu.csudh.lsu.revops.dao.PricingRuleDAO;
+import edu.csudh.lsu.revops.model.MemberType;
+import edu.csudh.lsu.revops.model.PricingRule;
+import edu.csudh.lsu.revops.model.SessionQuote;
+import edu.csudh.lsu.revops.model.SessionQuoteRequest;
+import edu.csudh.lsu.revops.service.RevOpsActivityService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * <p>
+ * The {@code PricingEngine} class quotes session charges from the current {@code RateTable}.
+ * </p>
+ *
+ * <p>
+ * The rules in {@code pricing_rule} are compiled into a new {@code RateTable} on startup, after every rule change made
+ * through this node and every {@code pricing.reloadIntervalMs} to pick up changes made through other nodes. The new
+ * table replaces the old one with a single volatile write, so a quote sees either the old or the new rule set, never a
+ * mix, and quoting never waits for a compile. A reload whose rules and categories are unchanged keeps the current
+ * table.
+ * </p>
+ *
+ * <p>
+ * Session starts are converted to local wall-clock time in {@code pricing.zoneId} before pricing, so time bands follow
+ * the opening hours across daylight saving changes.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class PricingEngine {
+
+    @Autowired
+    private PricingRuleDAO pricingRuleDAO;
+
+    @Autowired
+    private RevOpsActivityService revOpsActivityService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Time zone of the game room; time bands are local wall-clock times
+    @Value("${pricing.zoneId:America/Los_Angeles}")
+    private ZoneId zoneId;
+
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile RateTable rateTable = RateTable.compile(0, List.of(), List.of());
+
+    private List<PricingRule> compiledRules = List.of();
+
+    private List<String> compiledCategories = List.of();
+
+    private Timer compileTimer;
+
+    /**
+     * Registers the pricing metrics.
+     */
+    @PostConstruct
+    public void init() {
+        compileTimer = Timer.builder("revops.pricing.compile")
+                .description("Time to compile the pricing rules into a rate table")
+                .register(meterRegistry);
+        Gauge.builder("revops.pricing.rules", this, engine -> engine.rateTable.getRuleCount())
+                .description("Pricing rules in the current rate table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Compiles the rules once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledReload();
+    }
+
+    /**
+     * Reloads the rules periodically to pick up changes made through other nodes.
+     */
+    @Scheduled(fixedDelayString = "${pricing.reloadIntervalMs:60000}", initialDelayString = "${pricing.reloadIntervalMs:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception ex) {
+            log.error("Reloading the pricing rules failed; keeping rate table version {}.", rateTable.getVersion(), ex);
+        }
+    }
+
+    /**
+     * Reads the rules and the catalog categories and swaps in a newly compiled rate table if either changed.
+     *
+     * @return the version of the rate table in use afterwards
+     */
+    public synchronized long reload() {
+        List<PricingRule> rules = pricingRuleDAO.fetchAllRules();
+        List<String> categories = revOpsActivityService.fetchCategoriesOfAllVenues();
+        if (rules.equals(compiledRules) && categories.equals(compiledCategories) && rateTable.getVersion() > 0) {
+            return rateTable.getVersion();
+        }
+        RateTable compiled = compileTimer.record(() -> RateTable.compile(versions.incrementAndGet(), rules, categories));
+        rateTable = compiled;
+        compiledRules = rules;
+        compiledCategories = categories;
+        log.info("Compiled {} pricing rules for {} categories into rate table version {}.",
+                rules.size(), categories.size(), compiled.getVersion());
+        return compiled.getVersion();
+    }
+
+    /**
+     * Checks that a rule set compiles, without using it.
+     *
+     * @param rules the rules to check
+     * @throws IllegalArgumentException if a rule is out of range
+     */
+    public void validate(List<PricingRule> rules) {
+        RateTable.compile(0, rules, List.of());
+    }
+
+    /**
+     * Quotes a single session.
+     *
+     * @param request the session to price
+     * @return the charge
+     */
+    public SessionQuote quote(SessionQuoteRequest request) {
+        return quote(rateTable, request);
+    }
+
+    /**
+     * Re-prices a batch of sessions against one rate table, so the whole batch is priced under the same rules even if
+     * a new table is swapped in meanwhile.
+     *
+     * @param requests the sessions to price
+     * @return the charges, in the order of the requests
+     */
+    public List<SessionQuote> reprice(List<SessionQuoteRequest> requests) {
+        RateTable table = rateTable;
+        List<SessionQuote> quotes = new ArrayList<>(requests.size());
+        for (SessionQuoteRequest request : requests) {
+            quotes.add(quote(table, request));
+        }
+        return quotes;
+    }
+
+    /**
+     * Returns the version of the rate table currently in use.
+     *
+     * @return the rate table version
+     */
+    public long currentVersion() {
+        return rateTable.getVersion();
+    }
+
+    private SessionQuote quote(RateTable table, SessionQuoteRequest request) {
+        if (request.getStart() == null || request.getMinutes() < 0) {
+            throw new IllegalArgumentException("A session needs a start and a non-negative length: " + request);
+        }
+        int categorySlot = table.categorySlot(request.getCategory());
+        MemberType memberType = request.getMemberType() == null ? MemberType.GUEST : request.getMemberType();
+        long amountCents = table.charge(categorySlot, memberType.ordinal(), minuteOfWeek(request.getStart()),
+                request.getMinutes());
+        return new SessionQuote(request.getSessionId(), request.getMinutes(),
+                table.billedMinutes(categorySlot, request.getMinutes()), amountCents, table.getVersion());
+    }
+
+    private int minuteOfWeek(OffsetDateTime start) {
+        LocalDateTime local = start.atZoneSameInstant(zoneId).toLocalDateTime();
+        return (local.getDayOfWeek().getValue() - 1) * RateTable.MINUTES_PER_DAY + local.getHour() * 60 + local.getMinute();
+    }
+}
@@ -0,0 +1,215 @@
+package edu.csudh.lsu.revops.pricing;
+
+import edu.csudh.lsu.revops.model.MemberType;
+import edu.csudh.lsu.revops.model.PricingRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * The {@code RateTable} class is an immutable set of pricing rules compiled into flat primitive arrays.
+ * </p>
+ *
+ * <p>
+ * Every combination of category and member type owns a slot of {@value #MINUTES_PER_WEEK} + 1 entries in one
+ * {@code long[]}. Entry {@code i} of a slot holds the sum of the hourly rates of the first {@code i} minutes of the
+ * week, starting Monday 00:00 local time, with the winning rule already resolved for every minute. The price of any
+ * span of the week is therefore the difference of two array entries, whatever the number of rules or bands it
+ * crosses. Categories that are unknown to the table fall back to a slot built from the category-independent rules
+ * only. Minutes that no rule covers cost nothing.
+ * </p>
+ *
+ * <p>
+ * A table is never modified after {@link #compile(long, Collection, Collection)} returns, so it can be read from any
+ * number of threads while the {@code PricingEngine} compiles its replacement.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public final class RateTable {
+
+    public static final int MINUTES_PER_DAY = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final int SLOT_SIZE = MINUTES_PER_WEEK + 1;
+    private static final MemberType[] MEMBER_TYPES = MemberType.values();
+
+    private final long version;
+    private final int ruleCount;
+    private final Map<String, Integer> categoryIndex;
+    private final int fallbackCategory;
+    private final long[] rateSums;
+    private final int[] billingIncrements;
+
+    private RateTable(long version, int ruleCount, Map<String, Integer> categoryIndex, long[] rateSums,
+                      int[] billingIncrements) {
+        this.version = version;
+        this.ruleCount = ruleCount;
+        this.categoryIndex = categoryIndex;
+        this.fallbackCategory = categoryIndex.size();
+        this.rateSums = rateSums;
+        this.billingIncrements = billingIncrements;
+    }
+
+    /**
+     * Compiles a set of rules.
+     *
+     * @param version the version to stamp on quotes made with this table
+     * @param rules the pricing rules
+     * @param knownCategories the catalog categories; categories named by rules are added automatically
+     * @return the compiled table
+     * @throws IllegalArgumentException if a rule is out of range
+     */
+    public static RateTable compile(long version, Collection<PricingRule> rules, Collection<String> knownCategories) {
+        rules.forEach(RateTable::validate);
+
+        Set<String> categories = new LinkedHashSet<>(knownCategories);
+        rules.stream().map(PricingRule::getCategory).filter(category -> category != null).forEach(categories::add);
+        Map<String, Integer> categoryIndex = new HashMap<>();
+        for (String category : categories) {
+            categoryIndex.put(category, categoryIndex.size());
+        }
+
+        // Lowest precedence first, so later rules overwrite earlier ones minute by minute
+        List<PricingRule> ordered = new ArrayList<>(rules);
+        ordered.sort(Comparator.comparingInt(PricingRule::getPriority).thenComparingInt(RateTable::specificity));
+
+        int categorySlots = categoryIndex.size() + 1;
+        long[] rateSums = new long[categorySlots * MEMBER_TYPES.length * SLOT_SIZE];
+        int[] billingIncrements = new int[categorySlots];
+        int[] rates = new int[MINUTES_PER_WEEK];
+        List<String> slotCategories = new ArrayList<>(categories);
+        slotCategories.add(null);
+
+        for (int categorySlot = 0; categorySlot < categorySlots; categorySlot++) {
+            String category = slotCategories.get(categorySlot);
+            billingIncrements[categorySlot] = 1;
+            for (PricingRule rule : ordered) {
+                if (matches(rule.getCategory(), category)) {
+                    // The increment is a property of the category, taken from its highest-precedence rule
+                    billingIncrements[categorySlot] = Math.max(1, rule.getBillingIncrementMinutes());
+                }
+            }
+            for (MemberType memberType : MEMBER_TYPES) {
+                Arrays.fill(rates, 0);
+                for (PricingRule rule : ordered) {
+                    if (matches(rule.getCategory(), category) && matches(rule.getMemberType(), memberType)) {
+                        apply(rule, rates);
+                    }
+                }
+                int offset = (categorySlot * MEMBER_TYPES.length + memberType.ordinal()) * SLOT_SIZE;
+                for (int minute = 0; minute < MINUTES_PER_WEEK; minute++) {
+                    rateSums[offset + minute + 1] = rateSums[offset + minute] + rates[minute];
+                }
+            }
+        }
+        return new RateTable(version, rules.size(), Map.copyOf(categoryIndex), rateSums, billingIncrements);
+    }
+
+    /**
+     * Returns the slot index of a category, or the fallback slot if the category is unknown.
+     *
+     * @param category the activity category
+     * @return the category slot to pass to {@link #charge(int, int, int, int)}
+     */
+    public int categorySlot(String category) {
+        Integer slot = category == null ? null : categoryIndex.get(category);
+        return slot == null ? fallbackCategory : slot;
+    }
+
+    /**
+     * Returns the session length after rounding up to the billing increment of the category.
+     *
+     * @param categorySlot the slot returned by {@link #categorySlot(String)}
+     * @param minutes the actual session length
+     * @return the billed session length
+     */
+    public int billedMinutes(int categorySlot, int minutes) {
+        int increment = billingIncrements[categorySlot];
+        return (Math.max(0, minutes) + increment - 1) / increment * increment;
+    }
+
+    /**
+     * Computes the charge of a session. This method only reads the arrays and allocates nothing.
+     *
+     * @param categorySlot the slot returned by {@link #categorySlot(String)}
+     * @param memberType the ordinal of the member type
+     * @param startMinuteOfWeek the start of the session in minutes since Monday 00:00 local time
+     * @param minutes the actual session length
+     * @return the charge in cents, rounded half up
+     */
+    public long charge(int categorySlot, int memberType, int startMinuteOfWeek, int minutes) {
+        int offset = (categorySlot * MEMBER_TYPES.length + memberType) * SLOT_SIZE;
+        int billed = billedMinutes(categorySlot, minutes);
+        long weekSum = rateSums[offset + MINUTES_PER_WEEK];
+
+        long rateMinutes = (long) (billed / MINUTES_PER_WEEK) * weekSum;
+        int end = startMinuteOfWeek + billed % MINUTES_PER_WEEK;
+        if (end <= MINUTES_PER_WEEK) {
+            rateMinutes += rateSums[offset + end] - rateSums[offset + startMinuteOfWeek];
+        } else {
+            rateMinutes += weekSum - rateSums[offset + startMinuteOfWeek] + rateSums[offset + end - MINUTES_PER_WEEK];
+        }
+        // Hourly rates summed per minute, converted back to cents
+        return (rateMinutes + 30) / 60;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    private static void apply(PricingRule rule, int[] rates) {
+        int start = rule.getStartMinute();
+        int end = rule.getEndMinute() > start ? rule.getEndMinute() : rule.getEndMinute() + MINUTES_PER_DAY;
+        for (int day = 0; day < 7; day++) {
+            if (rule.getWeekday() != null && rule.getWeekday() != day + 1) {
+                continue;
+            }
+            int dayStart = day * MINUTES_PER_DAY;
+            for (int minute = start; minute < end; minute++) {
+                // Bands past midnight continue into the next day, and Sunday night into Monday morning
+                rates[(dayStart + minute) % MINUTES_PER_WEEK] = rule.getHourlyRateCents();
+            }
+        }
+    }
+
+    private static <T> boolean matches(T ruleValue, T value) {
+        return ruleValue == null || ruleValue.equals(value);
+    }
+
+    private static int specificity(PricingRule rule) {
+        return (rule.getCategory() != null ? 4 : 0) + (rule.getMemberType() != null ? 2 : 0) + (rule.getWeekday() != null ? 1 : 0);
+    }
+
+    private static void validate(PricingRule rule) {
+        if (rule.getStartMinute() < 0 || rule.getStartMinute() >= MINUTES_PER_DAY
+                || rule.getEndMinute() < 0 || rule.getEndMinute() > MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Time band out of range in pricing rule " + rule);
+        }
+        if (rule.getWeekday() != null && (rule.getWeekday() < 1 || rule.getWeekday() > 7)) {
+            throw new IllegalArgumentException("Weekday out of range in pricing rule " + rule);
+        }
+        if (rule.getHourlyRateCents() < 0 || rule.getBillingIncrementMinutes() < 0) {
+            throw new IllegalArgumentException("Negative rate or billing increment in pricing rule " + rule);
+        }
+    }
+}
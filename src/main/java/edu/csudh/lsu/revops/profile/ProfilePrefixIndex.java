@@ -0,0 +1,251 @@
+package edu.csudh.lsu.revops.profile;
+
+import edu.csudh.lsu.revops.model.StudentProfile;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * <p>
+ * The {@code ProfilePrefixIndex} class finds profiles by prefixes of their name tokens and of their student ID.
+ * </p>
+ *
+ * <p>
+ * Names and IDs are normalized to lower-case ASCII letters and digits: accents are stripped, apostrophes dropped
+ * ({@code O'Brien} becomes {@code obrien}) and anything else splits tokens, so {@code Smith-Jones} is found by both
+ * {@code smith} and {@code jones}. A query matches a profile if each of its tokens is a prefix of some token of the
+ * profile, so {@code "jo sm"} finds John Smith. A match scores, per query token, the share of the profile token it
+ * covers, so a complete word ranks above the start of a longer one.
+ * </p>
+ *
+ * <p>
+ * Every token of a profile is a key of one sorted map, ordered by the length of the token, then the token, then the
+ * name. All tokens of one length starting with a prefix are one contiguous range of the map, and reading the ranges of
+ * the longest query token from the shortest length up yields the candidates from the highest score for that token
+ * down. The other query tokens can add at most one each, so the search stops as soon as no longer token can beat the
+ * worst of the best {@code limit} matches: a single-letter query reads {@code limit} entries, not every name starting
+ * with that letter. Equal scores keep the order they were read in, so ties go to the shorter and then alphabetically
+ * first matched word, then to last name, first name and student ID. At most {@code maxScan} entries are read, which
+ * bounds queries whose other tokens match few of the candidates.
+ * </p>
+ *
+ * <p>
+ * Updates replace the tokens of one profile and are serialized; searches take no lock and may see a profile being
+ * updated under its old or new tokens. A profile is only replaced by a later {@code changeVersion}, so a delayed copy
+ * of an older write cannot undo a newer one.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class ProfilePrefixIndex {
+
+    // Sorts below every token character, so "jo" + SEPARATOR + name precedes "joe" + SEPARATOR + name
+    private static final char SEPARATOR = '\u0000';
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern APOSTROPHES = Pattern.compile("['\\u2019]");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-z0-9]+");
+
+    private static final Comparator<Match> BEST_FIRST = Comparator.comparingDouble(Match::score).reversed()
+            .thenComparingInt(Match::readOrder);
+
+    private final ConcurrentSkipListMap<String, Entry> tokens = new ConcurrentSkipListMap<>();
+
+    private final Map<String, Entry> byStudentId = new ConcurrentHashMap<>();
+
+    private final int maxScan;
+
+    private volatile int maxTokenLength;
+
+    /**
+     * @param maxScan the maximum number of index entries a search reads
+     */
+    public ProfilePrefixIndex(int maxScan) {
+        this.maxScan = maxScan;
+    }
+
+    /**
+     * Adds, replaces or, if it is not enabled, removes a profile.
+     *
+     * @param profile the profile as stored
+     * @param enabled whether the profile should be found
+     * @return {@code false} if the index already holds a later version of the profile
+     */
+    public synchronized boolean apply(StudentProfile profile, boolean enabled) {
+        Entry existing = byStudentId.get(profile.getStudentId());
+        if (existing != null && existing.profile().getChangeVersion() > profile.getChangeVersion()) {
+            return false;
+        }
+        Entry entry = enabled ? Entry.of(profile) : null;
+        Set<String> keys = new HashSet<>();
+        if (entry != null) {
+            // The new keys go in before the old ones go out, so a concurrent search never misses the profile
+            for (String token : entry.tokens()) {
+                keys.add(entry.key(token));
+                tokens.put(entry.key(token), entry);
+                maxTokenLength = Math.max(maxTokenLength, token.length());
+            }
+            byStudentId.put(profile.getStudentId(), entry);
+        } else {
+            byStudentId.remove(profile.getStudentId());
+        }
+        if (existing != null) {
+            for (String token : existing.tokens()) {
+                if (!keys.contains(existing.key(token))) {
+                    tokens.remove(existing.key(token));
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the best matches of a query.
+     *
+     * @param query the text typed so far
+     * @param limit the maximum number of matches
+     * @return the matching profiles, best first; empty if the query has no letters or digits
+     */
+    public List<StudentProfile> search(String query, int limit) {
+        String[] queryTokens = tokenize(query);
+        if (queryTokens.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        String driver = queryTokens[0];
+        for (String queryToken : queryTokens) {
+            if (queryToken.length() > driver.length()) {
+                driver = queryToken;
+            }
+        }
+        String[] others = new String[queryTokens.length - 1];
+        int otherCount = 0;
+        for (String queryToken : queryTokens) {
+            if (!queryToken.equals(driver)) {
+                others[otherCount++] = queryToken;
+            }
+        }
+
+        // Worst match on top, so it is the one dropped when a better one comes along
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        Set<String> seen = new HashSet<>();
+        int scanned = 0;
+        lengths:
+        for (int length = driver.length(); length <= maxTokenLength; length++) {
+            double driverScore = (double) driver.length() / length;
+            if (best.size() == limit && driverScore + others.length <= best.peek().score()) {
+                break;
+            }
+            String from = (char) length + driver;
+            for (Entry entry : tokens.subMap(from, true, from + Character.MAX_VALUE, false).values()) {
+                if (++scanned > maxScan) {
+                    break lengths;
+                }
+                // Read from the shortest token up, so the first time a profile is read is its best match
+                if (!seen.add(entry.profile().getStudentId())) {
+                    continue;
+                }
+                double score = score(others, entry.tokens());
+                if (score < 0) {
+                    continue;
+                }
+                Match match = new Match(entry.profile(), driverScore + score, scanned);
+                if (best.size() < limit) {
+                    best.add(match);
+                } else if (match.score() > best.peek().score()) {
+                    best.poll();
+                    best.add(match);
+                } else if (others.length == 0) {
+                    // Every later entry scores the same or less and was read later
+                    break lengths;
+                }
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(BEST_FIRST);
+        List<StudentProfile> profiles = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            profiles.add(match.profile());
+        }
+        return profiles;
+    }
+
+    /**
+     * @return the number of profiles that can be found
+     */
+    public int size() {
+        return byStudentId.size();
+    }
+
+    /**
+     * Splits a name, an ID or a query into normalized tokens.
+     *
+     * @param text the text
+     * @return the distinct tokens, in order of appearance
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return new String[0];
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        normalized = APOSTROPHES.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll("");
+        return Arrays.stream(NON_ALPHANUMERIC.split(normalized))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toArray(String[]::new);
+    }
+
+    /**
+     * @return the summed score of the query tokens against the best profile token each, or -1 if one matches none
+     */
+    private static double score(String[] queryTokens, String[] profileTokens) {
+        double score = 0;
+        for (String queryToken : queryTokens) {
+            double best = 0;
+            for (String profileToken : profileTokens) {
+                if (profileToken.startsWith(queryToken)) {
+                    best = Math.max(best, (double) queryToken.length() / profileToken.length());
+                }
+            }
+            if (best == 0) {
+                return -1;
+            }
+            score += best;
+        }
+        return score;
+    }
+
+    private record Entry(StudentProfile profile, String[] tokens, String sortName) {
+
+        static Entry of(StudentProfile profile) {
+            Set<String> profileTokens = new LinkedHashSet<>();
+            profileTokens.addAll(Arrays.asList(tokenize(profile.getFirstName())));
+            profileTokens.addAll(Arrays.asList(tokenize(profile.getLastName())));
+            // The ID by its parts and as one token, so "2024-0012" is found by "0012" as well as by "20240"
+            String[] idTokens = tokenize(profile.getStudentId());
+            profileTokens.addAll(Arrays.asList(idTokens));
+            profileTokens.add(String.join("", idTokens));
+            profileTokens.remove("");
+            return new Entry(profile, profileTokens.toArray(String[]::new),
+                    String.join(" ", tokenize(profile.getLastName())) + SEPARATOR
+                            + String.join(" ", tokenize(profile.getFirstName())));
+        }
+
+        String key(String token) {
+            return (char) token.length() + token + SEPARATOR + sortName + SEPARATOR + profile.getStudentId();
+        }
+    }
+
+    private record Match(StudentProfile profile, double score, int readOrder) {
+    }
+}
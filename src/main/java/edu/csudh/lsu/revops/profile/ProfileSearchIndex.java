@@ -0,0 +1,157 @@
+package edu.csudh.lsu.revops.profile;
+
+import edu.csudh.lsu.revops.dao.StudentProfileDAO;
+import edu.csudh.lsu.revops.model.StudentProfile;
+import edu.csudh.lsu.revops.utils.ApplicationConstants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code ProfileSearchIndex} class answers the as-you-type profile search at the counter from memory.
+ * </p>
+ *
+ * <p>
+ * On startup every enabled profile is loaded into a {@link ProfilePrefixIndex}, {@code profiles.pageSize} profiles at
+ * a time in {@code change_version} order. From then on the index is kept current one profile at a time: writes made
+ * through this node are applied as soon as they commit, and every {@code profiles.refreshIntervalMs} the profiles
+ * changed since the last version seen are read to pick up writes made through other nodes. The index is never rebuilt
+ * as a whole, and searches never query the database.
+ * </p>
+ *
+ * <p>
+ * Search latency is recorded in {@code revops.profiles.search} and the number of searchable profiles in
+ * {@code revops.profiles.indexed}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ProfileSearchIndex {
+
+    @Autowired
+    private StudentProfileDAO studentProfileDAO;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${profiles.pageSize:5000}")
+    private int pageSize;
+
+    @Value("${profiles.settleMs:2000}")
+    private long settleMs;
+
+    @Value("${profiles.maxScan:2000}")
+    private int maxScan;
+
+    @Value("${profiles.maxLimit:25}")
+    private int maxLimit;
+
+    private ProfilePrefixIndex index;
+
+    // Change version of the last profile read from the database
+    private long cursor;
+
+    private Timer searchTimer;
+
+    /**
+     * Creates the empty index and registers its metrics.
+     */
+    @PostConstruct
+    public void init() {
+        index = new ProfilePrefixIndex(maxScan);
+        searchTimer = Timer.builder("revops.profiles.search")
+                .description("Time to answer a profile search from the in-memory index")
+                .register(meterRegistry);
+        Gauge.builder("revops.profiles.indexed", index, ProfilePrefixIndex::size)
+                .description("Profiles that can be found by the profile search")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the profiles once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduledRefresh();
+    }
+
+    /**
+     * Applies a profile written through this node.
+     *
+     * @param profile the profile as stored
+     */
+    @EventListener
+    public void onProfileChanged(StudentProfile profile) {
+        apply(profile);
+    }
+
+    /**
+     * Reads the profiles changed through other nodes.
+     */
+    @Scheduled(fixedDelayString = "${profiles.refreshIntervalMs:5000}", initialDelayString = "${profiles.refreshIntervalMs:5000}")
+    public void scheduledRefresh() {
+        try {
+            refresh();
+        } catch (Exception ex) {
+            log.error("Refreshing the profile search index failed; it stays at version {}.", cursor, ex);
+        }
+    }
+
+    /**
+     * Reads and applies every profile changed since the last version seen.
+     *
+     * @return the number of profiles read
+     */
+    public synchronized int refresh() {
+        int read = 0;
+        List<StudentProfile> changes;
+        do {
+            changes = studentProfileDAO.fetchChangesSince(cursor, pageSize, settleMs);
+            for (StudentProfile profile : changes) {
+                apply(profile);
+                cursor = profile.getChangeVersion();
+            }
+            read += changes.size();
+        } while (changes.size() == pageSize);
+        if (read > 0) {
+            log.info("Applied {} profile changes; the search index holds {} profiles at version {}.", read,
+                    index.size(), cursor);
+        }
+        return read;
+    }
+
+    /**
+     * Finds the enabled profiles best matching the text typed so far.
+     *
+     * @param query the text typed so far, part of a name or student ID
+     * @param limit the maximum number of matches, capped at {@code profiles.maxLimit}
+     * @return the matching profiles, best first
+     */
+    public List<StudentProfile> search(String query, int limit) {
+        return searchTimer.record(() -> index.search(query, Math.min(limit, maxLimit)));
+    }
+
+    private void apply(StudentProfile profile) {
+        index.apply(profile, ApplicationConstants.ENABLE.equals(profile.getStatus()));
+    }
+}
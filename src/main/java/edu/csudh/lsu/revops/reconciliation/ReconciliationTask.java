@@ -0,0 +1,91 @@
+package edu.csudh.lsu.revops.reconciliation;
+
+import edu.csudh.lsu.revops.dao.ShiftTotalDAO;
+import edu.csudh.lsu.revops.model.SessionCharge;
+import edu.csudh.lsu.revops.session.ShiftCalendar;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * <p>
+ * The {@code ReconciliationTask} class recomputes the shift totals of a time range on a fork-join pool.
+ * </p>
+ *
+ * <p>
+ * A range longer than one partition is split in two at a partition boundary and both halves are computed in
+ * parallel; a single partition is scanned page by page with keyset paging and tallied per shift. Partitions are fixed
+ * slices of time, so a partition may hold parts of two shifts; each session is tallied under the shift it ended in.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+class ReconciliationTask extends RecursiveTask<Map<Instant, ShiftTally>> {
+
+    private final ShiftTotalDAO shiftTotalDAO;
+    private final ShiftCalendar shiftCalendar;
+    private final Instant from;
+    private final Instant to;
+    private final Duration partition;
+    private final int pageSize;
+
+    ReconciliationTask(ShiftTotalDAO shiftTotalDAO, ShiftCalendar shiftCalendar, Instant from, Instant to,
+                       Duration partition, int pageSize) {
+        this.shiftTotalDAO = shiftTotalDAO;
+        this.shiftCalendar = shiftCalendar;
+        this.from = from;
+        this.to = to;
+        this.partition = partition;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Returns the number of partitions a range is split into.
+     */
+    static int partitions(Instant from, Instant to, Duration partition) {
+        long millis = Duration.between(from, to).toMillis();
+        return (int) Math.max(1, (millis + partition.toMillis() - 1) / partition.toMillis());
+    }
+
+    @Override
+    protected Map<Instant, ShiftTally> compute() {
+        int partitions = partitions(from, to, partition);
+        if (partitions == 1) {
+            return scan();
+        }
+        Instant middle = from.plus(partition.multipliedBy(partitions / 2));
+        ReconciliationTask left = new ReconciliationTask(shiftTotalDAO, shiftCalendar, from, middle, partition, pageSize);
+        ReconciliationTask right = new ReconciliationTask(shiftTotalDAO, shiftCalendar, middle, to, partition, pageSize);
+        right.fork();
+        Map<Instant, ShiftTally> tallies = left.compute();
+        right.join().forEach((shiftStart, tally) -> tallies.merge(shiftStart, tally, ShiftTally::merge));
+        return tallies;
+    }
+
+    private Map<Instant, ShiftTally> scan() {
+        Map<Instant, ShiftTally> tallies = new HashMap<>();
+        SessionCharge last = null;
+        while (true) {
+            List<SessionCharge> page = shiftTotalDAO.fetchChargesPage(from, to, last, pageSize);
+            for (SessionCharge charge : page) {
+                tallies.computeIfAbsent(shiftCalendar.shiftStart(charge.getEndedAt()), shiftStart -> new ShiftTally())
+                        .add(charge);
+            }
+            if (page.size() < pageSize) {
+                return tallies;
+            }
+            last = page.get(page.size() - 1);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package edu.csudh.lsu.revops.reconciliation;
+
+import edu.csudh.lsu.revops.dao.ShiftTotalDAO;
+import edu.csudh.lsu.revops.model.ReconcileStatus;
+import edu.csudh.lsu.revops.model.ReconciliationReport;
+import edu.csudh.lsu.revops.model.ShiftReconciliation;
+import edu.csudh.lsu.revops.session.ShiftCalendar;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * The {@code ShiftReconciliationJob} class checks every night that the stored shift totals of the previous business
+ * day match the sessions recorded in it.
+ * </p>
+ *
+ * <p>
+ * The day is split into {@code reconciliation.partitionMinutes} partitions, which a {@code ReconciliationTask} scans in
+ * parallel on a dedicated fork-join pool of {@code reconciliation.parallelism} threads, one keyset-paged query per page.
+ * The recomputed totals are compared with {@code shift_total}; a shift whose session count, billed minutes or revenue
+ * differ, that has sessions without a charge, or that has sessions but no stored totals at all is marked
+ * {@code FAILED_MANUAL}, every other shift {@code OK}. Runs are idempotent, so a day can be reconciled again through
+ * {@code POST /reconciliation/runs} after staff corrected it.
+ * </p>
+ *
+ * <p>
+ * Every run logs its runtime and rows per second and records them as {@code revops.reconciliation.duration} and
+ * {@code revops.reconciliation.rows}; mismatches are counted in {@code revops.reconciliation.mismatches}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ShiftReconciliationJob {
+
+    @Autowired
+    private ShiftTotalDAO shiftTotalDAO;
+
+    @Autowired
+    private ShiftCalendar shiftCalendar;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reconciliation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${reconciliation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${reconciliation.partitionMinutes:60}")
+    private long partitionMinutes;
+
+    @Value("${reconciliation.pageSize:5000}")
+    private int pageSize;
+
+    private final Clock clock = Clock.systemUTC();
+
+    // One run at a time, whether scheduled or requested
+    private final ReentrantLock runLock = new ReentrantLock();
+
+    private ForkJoinPool pool;
+
+    private Timer durationTimer;
+
+    private Counter rowsCounter;
+
+    private Counter mismatchCounter;
+
+    /**
+     * Creates the fork-join pool and registers the reconciliation metrics.
+     */
+    @PostConstruct
+    public void init() {
+        pool = new ForkJoinPool(parallelism);
+        durationTimer = Timer.builder("revops.reconciliation.duration")
+                .description("Runtime of a shift reconciliation")
+                .register(meterRegistry);
+        rowsCounter = Counter.builder("revops.reconciliation.rows")
+                .description("Sessions scanned by shift reconciliations")
+                .register(meterRegistry);
+        mismatchCounter = Counter.builder("revops.reconciliation.mismatches")
+                .description("Shifts marked FAILED_MANUAL")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stops the fork-join pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    /**
+     * Reconciles the previous business day.
+     */
+    @Scheduled(cron = "${reconciliation.cron:0 30 3 * * *}", zone = "${pricing.zoneId:America/Los_Angeles}")
+    public void reconcilePreviousDay() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcile(shiftCalendar.businessDay(clock.instant()).minusDays(1));
+        } catch (Exception ex) {
+            log.error("The nightly shift reconciliation failed.", ex);
+        }
+    }
+
+    /**
+     * Reconciles one business day.
+     *
+     * @param businessDay the day to reconcile
+     * @return the report of the run
+     * @throws IllegalStateException if a reconciliation is already running
+     */
+    public ReconciliationReport reconcile(LocalDate businessDay) {
+        if (!runLock.tryLock()) {
+            throw new IllegalStateException("A reconciliation is already running");
+        }
+        try {
+            long startedAt = System.nanoTime();
+            Instant from = shiftCalendar.dayStart(businessDay);
+            Instant to = shiftCalendar.dayStart(businessDay.plusDays(1));
+            Duration partition = Duration.ofMinutes(partitionMinutes);
+
+            Map<Instant, ShiftTally> tallies = pool.invoke(
+                    new ReconciliationTask(shiftTotalDAO, shiftCalendar, from, to, partition, pageSize));
+            List<ShiftReconciliation> shifts = diff(tallies, shiftTotalDAO.fetchShiftTotals(from, to));
+            shiftTotalDAO.recordReconciliations(shifts);
+
+            long durationNanos = System.nanoTime() - startedAt;
+            long rows = tallies.values().stream().mapToLong(tally -> tally.sessions).sum();
+            long durationMs = Math.max(1, TimeUnit.NANOSECONDS.toMillis(durationNanos));
+            List<ShiftReconciliation> mismatches = shifts.stream()
+                    .filter(shift -> shift.getStatus() == ReconcileStatus.FAILED_MANUAL)
+                    .toList();
+            ReconciliationReport report = new ReconciliationReport(businessDay,
+                    ReconciliationTask.partitions(from, to, partition), rows, durationMs, rows * 1000 / durationMs,
+                    shifts.size(), mismatches);
+
+            durationTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+            rowsCounter.increment(rows);
+            mismatchCounter.increment(mismatches.size());
+            log.info("Reconciled {}: {} sessions in {} partitions, {} shifts, {} marked FAILED_MANUAL, {} ms ({} rows/s).",
+                    businessDay, rows, report.getPartitions(), shifts.size(), mismatches.size(), durationMs,
+                    report.getRowsPerSecond());
+            mismatches.forEach(shift -> log.warn("Shift starting {} does not reconcile: stored {}/{}/{}, recomputed {}/{}/{} " +
+                            "(sessions/billed minutes/revenue cents).", shift.getShiftStart(), shift.getSessions(),
+                    shift.getBilledMinutes(), shift.getRevenueCents(), shift.getRecomputedSessions(),
+                    shift.getRecomputedBilledMinutes(), shift.getRecomputedRevenueCents()));
+            return report;
+        } finally {
+            runLock.unlock();
+        }
+    }
+
+    /**
+     * Pairs the recomputed tallies with the stored totals, over the shifts found on either side.
+     */
+    private List<ShiftReconciliation> diff(Map<Instant, ShiftTally> tallies, List<ShiftReconciliation> stored) {
+        Map<Instant, ShiftReconciliation> shifts = new TreeMap<>();
+        stored.forEach(shift -> shifts.put(shift.getShiftStart(), shift));
+        tallies.keySet().forEach(shiftStart -> shifts.computeIfAbsent(shiftStart,
+                start -> ShiftReconciliation.builder().shiftStart(start).build()));
+
+        Instant reconciledAt = clock.instant();
+        List<ShiftReconciliation> reconciled = new ArrayList<>(shifts.size());
+        for (ShiftReconciliation shift : shifts.values()) {
+            ShiftTally tally = tallies.getOrDefault(shift.getShiftStart(), new ShiftTally());
+            boolean matches = tally.unpriced == 0
+                    && tally.sessions == shift.getSessions()
+                    && tally.billedMinutes == shift.getBilledMinutes()
+                    && tally.revenueCents == shift.getRevenueCents();
+            shift.setRecomputedSessions(tally.sessions);
+            shift.setRecomputedBilledMinutes(tally.billedMinutes);
+            shift.setRecomputedRevenueCents(tally.revenueCents);
+            shift.setStatus(matches ? ReconcileStatus.OK : ReconcileStatus.FAILED_MANUAL);
+            shift.setReconciledAt(reconciledAt);
+            reconciled.add(shift);
+        }
+        return reconciled;
+    }
+}
@@ -0,0 +1,45 @@
+package edu.csudh.lsu.revops.reconciliation;
+
+import edu.csudh.lsu.revops.model.SessionCharge;
+
+/**
+ * <p>
+ * The {@code ShiftTally} class adds up the sessions of one shift within one partition. Tallies of the same shift from
+ * different partitions are merged when the fork-join tasks join.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+class ShiftTally {
+
+    long sessions;
+    long billedMinutes;
+    long revenueCents;
+    // Sessions ended without a charge
+    long unpriced;
+
+    void add(SessionCharge charge) {
+        sessions++;
+        if (charge.getAmountCents() == null || charge.getBilledMinutes() == null) {
+            unpriced++;
+            return;
+        }
+        billedMinutes += charge.getBilledMinutes();
+        revenueCents += charge.getAmountCents();
+    }
+
+    ShiftTally merge(ShiftTally other) {
+        sessions += other.sessions;
+        billedMinutes += other.billedMinutes;
+        revenueCents += other.revenueCents;
+        unpriced += other.unpriced;
+        return this;
+    }
+}
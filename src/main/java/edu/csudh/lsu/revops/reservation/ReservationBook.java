@@ -0,0 +1,248 @@
+package edu.csudh.lsu.revops.reservation;
+
+import edu.csudh.lsu.revops.dao.StationReservationDAO;
+import edu.csudh.lsu.revops.model.*;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * The {@code ReservationBook} class books stations ahead of time and answers conflict and availability questions
+ * from memory.
+ * </p>
+ *
+ * <p>
+ * The confirmed reservations that have not ended are kept in one {@link StationSchedule} per station, where a conflict
+ * check or an availability search is {@code O(log n)} in the reservations of that station. Bookings of the same
+ * station are serialized by {@link StripedLocks} of {@code reservations.lockStripes} stripes rather than one global
+ * lock, so bookings of different stations run in parallel; a tournament slot locks all of its stations, in stripe
+ * order. Under the lock a booking is first checked against the schedules, which turns most conflicts away without a
+ * database round trip, and then stored by the {@code StationReservationDAO}, which checks again inside its
+ * transaction so bookings made through other nodes are never double booked.
+ * </p>
+ *
+ * <p>
+ * The schedules are loaded on startup and follow {@code change_version} every {@code reservations.refreshIntervalMs}
+ * to pick up bookings and cancellations made through other nodes. The latest version of each reservation seen is
+ * kept, cancelled ones included, until it ends, so an older version read late never overrides a newer one.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class ReservationBook {
+
+    @Autowired
+    private StationReservationDAO stationReservationDAO;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${reservations.lockStripes:64}")
+    private int lockStripes;
+
+    // Longest reservation that can be booked
+    @Value("${reservations.maxMinutes:480}")
+    private long maxMinutes;
+
+    @Value("${reservations.pageSize:1000}")
+    private int pageSize;
+
+    @Value("${reservations.settleMs:2000}")
+    private long settleMs;
+
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<String, StationSchedule> schedules = new ConcurrentHashMap<>();
+
+    private final Map<UUID, StationReservation> latest = new ConcurrentHashMap<>();
+
+    private StripedLocks locks;
+
+    // Change version of the last reservation read from the database
+    private long cursor;
+
+    /**
+     * Creates the locks and registers the metrics of the book.
+     */
+    @PostConstruct
+    public void init() {
+        locks = new StripedLocks(lockStripes);
+        Gauge.builder("revops.reservations.upcoming", schedules,
+                        map -> map.values().stream().mapToInt(StationSchedule::size).sum())
+                .description("Confirmed reservations that have not ended")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the confirmed reservations that have not ended once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        try {
+            cursor = stationReservationDAO.fetchSettledVersion(settleMs);
+            List<StationReservation> upcoming = stationReservationDAO.fetchUpcomingReservations(clock.instant());
+            upcoming.forEach(this::apply);
+            log.info("Loaded {} upcoming reservations; following changes from version {}.", upcoming.size(), cursor);
+        } catch (Exception ex) {
+            log.error("Unable to load the upcoming reservations; the refresh will read them from version {}.", cursor, ex);
+        }
+    }
+
+    /**
+     * Reads the reservations booked or cancelled through other nodes and forgets the ones that ended.
+     */
+    @Scheduled(fixedDelayString = "${reservations.refreshIntervalMs:5000}", initialDelayString = "${reservations.refreshIntervalMs:5000}")
+    public synchronized void refresh() {
+        try {
+            List<StationReservation> changes;
+            do {
+                changes = stationReservationDAO.fetchChangesSince(cursor, pageSize, settleMs);
+                for (StationReservation reservation : changes) {
+                    apply(reservation);
+                    cursor = reservation.getChangeVersion();
+                }
+            } while (changes.size() == pageSize);
+        } catch (Exception ex) {
+            log.error("Refreshing the reservation book failed; it stays at version {}.", cursor, ex);
+        }
+        Instant now = clock.instant();
+        latest.values().removeIf(reservation -> !reservation.getEndsAt().isAfter(now));
+        schedules.values().forEach(schedule -> schedule.removeEndedBefore(now));
+    }
+
+    /**
+     * Books stations for a period, all of them or none.
+     *
+     * @param reservations the reservations, one per station, all of the same group
+     * @return the reservations as stored, or the confirmed reservations in the way
+     */
+    public ReservationResult book(List<StationReservation> reservations) {
+        List<String> stationIds = reservations.stream().map(StationReservation::getStationId).toList();
+        int[] locked = locks.lockAll(stationIds);
+        try {
+            List<StationReservation> conflicts = new ArrayList<>();
+            for (StationReservation reservation : reservations) {
+                StationSchedule schedule = schedules.get(reservation.getStationId());
+                if (schedule != null) {
+                    schedule.conflict(reservation.getStartsAt(), reservation.getEndsAt()).ifPresent(conflicts::add);
+                }
+            }
+            if (!conflicts.isEmpty()) {
+                return new ReservationResult(ReservationResult.Outcome.CONFLICT, conflicts);
+            }
+            ReservationResult result = stationReservationDAO.insertReservations(reservations,
+                    Duration.ofMinutes(maxMinutes));
+            // Either the new reservations or the ones booked through other nodes that were in the way
+            result.getReservations().forEach(this::apply);
+            return result;
+        } finally {
+            locks.unlockAll(locked);
+        }
+    }
+
+    /**
+     * Cancels a confirmed reservation.
+     *
+     * @param reservationId the reservation
+     * @return the cancelled reservation, or empty if there is no confirmed reservation with that ID
+     */
+    public Optional<StationReservation> cancel(UUID reservationId) {
+        Optional<StationReservation> cancelled = stationReservationDAO.cancelReservation(reservationId);
+        cancelled.ifPresent(this::apply);
+        return cancelled;
+    }
+
+    /**
+     * Lists the confirmed reservations of a station overlapping a period.
+     *
+     * @param stationId the station
+     * @param from the start of the period
+     * @param to the end of the period, exclusive
+     * @return the reservations, by start
+     */
+    public List<StationReservation> reservations(String stationId, Instant from, Instant to) {
+        StationSchedule schedule = schedules.get(stationId);
+        return schedule == null ? List.of() : schedule.reservations(from, to);
+    }
+
+    /**
+     * Finds the free windows of stations in a period.
+     *
+     * @param stationIds the stations
+     * @param from the start of the period
+     * @param to the end of the period, exclusive
+     * @param minLength the shortest window worth reporting
+     * @return the windows, by station in the order given and then by start
+     */
+    public List<AvailabilityWindow> availability(Collection<String> stationIds, Instant from, Instant to,
+                                                 Duration minLength) {
+        List<AvailabilityWindow> windows = new ArrayList<>();
+        for (String stationId : stationIds) {
+            StationSchedule schedule = schedules.get(stationId);
+            if (schedule != null) {
+                windows.addAll(schedule.available(stationId, from, to, minLength));
+            } else if (Duration.between(from, to).compareTo(minLength) >= 0) {
+                windows.add(new AvailabilityWindow(stationId, from, to));
+            }
+        }
+        return windows;
+    }
+
+    /**
+     * @return the longest reservation that can be booked
+     */
+    public Duration maxLength() {
+        return Duration.ofMinutes(maxMinutes);
+    }
+
+    /**
+     * Applies a version of a reservation read from the database, unless a later one was already applied.
+     */
+    private void apply(StationReservation reservation) {
+        int[] locked = locks.lockAll(List.of(reservation.getStationId()));
+        try {
+            StationReservation seen = latest.get(reservation.getReservationId());
+            if (seen != null && seen.getChangeVersion() >= reservation.getChangeVersion()) {
+                return;
+            }
+            StationSchedule schedule = schedules.computeIfAbsent(reservation.getStationId(), id -> new StationSchedule());
+            boolean upcoming = reservation.getEndsAt().isAfter(clock.instant());
+            if (upcoming) {
+                latest.put(reservation.getReservationId(), reservation);
+            }
+            if (upcoming && reservation.getStatus() == ReservationStatus.CONFIRMED) {
+                for (StationReservation dropped : schedule.put(reservation)) {
+                    log.debug("Reservation {} replaced the stale reservation {} on station {}.",
+                            reservation.getReservationId(), dropped.getReservationId(), reservation.getStationId());
+                }
+            } else {
+                schedule.remove(reservation);
+            }
+        } finally {
+            locks.unlockAll(locked);
+        }
+    }
+}
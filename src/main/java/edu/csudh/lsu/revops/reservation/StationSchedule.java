@@ -0,0 +1,165 @@
+package edu.csudh.lsu.revops.reservation;
+
+import edu.csudh.lsu.revops.model.AvailabilityWindow;
+import edu.csudh.lsu.revops.model.StationReservation;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * <p>
+ * The {@code StationSchedule} class holds the confirmed reservations of one station, sorted by start.
+ * </p>
+ *
+ * <p>
+ * Confirmed reservations of a station never overlap, so sorted by start they are sorted by end as well, and the
+ * reservation starting last before the end of a period is the one reaching furthest into it. A conflict check is
+ * therefore a single {@code lowerEntry} lookup, {@code O(log n)}, without the end augmentation of an interval tree,
+ * which is only needed when intervals may overlap. Free windows in a period are found from that same lookup by
+ * walking the reservations of the period in order, {@code O(log n + k)} for {@code k} reservations.
+ * </p>
+ *
+ * <p>
+ * Reads never block; the {@code ReservationBook} serializes the writes to a station under its lock stripe.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class StationSchedule {
+
+    private final ConcurrentSkipListMap<Instant, StationReservation> byStart = new ConcurrentSkipListMap<>();
+
+    /**
+     * Finds a reservation overlapping a period.
+     *
+     * @param startsAt the start of the period
+     * @param endsAt the end of the period, exclusive
+     * @return the overlapping reservation ending last, or empty if the station is free for the whole period
+     */
+    public Optional<StationReservation> conflict(Instant startsAt, Instant endsAt) {
+        Map.Entry<Instant, StationReservation> entry = byStart.lowerEntry(endsAt);
+        return entry != null && entry.getValue().getEndsAt().isAfter(startsAt)
+                ? Optional.of(entry.getValue())
+                : Optional.empty();
+    }
+
+    /**
+     * Adds a reservation confirmed by the database, dropping the reservations it overlaps: those can only be stale
+     * copies of reservations cancelled since.
+     *
+     * @param reservation the reservation
+     * @return the reservations dropped
+     */
+    public List<StationReservation> put(StationReservation reservation) {
+        List<StationReservation> dropped = new ArrayList<>(0);
+        Iterator<StationReservation> earlier = byStart.headMap(reservation.getEndsAt(), false)
+                .descendingMap().values().iterator();
+        while (earlier.hasNext()) {
+            StationReservation other = earlier.next();
+            if (!other.getEndsAt().isAfter(reservation.getStartsAt())) {
+                break;
+            }
+            if (!other.getReservationId().equals(reservation.getReservationId())) {
+                dropped.add(other);
+            }
+            earlier.remove();
+        }
+        byStart.put(reservation.getStartsAt(), reservation);
+        return dropped;
+    }
+
+    /**
+     * Removes a reservation.
+     *
+     * @param reservation the reservation, in any version
+     */
+    public void remove(StationReservation reservation) {
+        byStart.computeIfPresent(reservation.getStartsAt(), (startsAt, current) ->
+                current.getReservationId().equals(reservation.getReservationId()) ? null : current);
+    }
+
+    /**
+     * Lists the reservations overlapping a period.
+     *
+     * @param from the start of the period
+     * @param to the end of the period, exclusive
+     * @return the reservations, by start
+     */
+    public List<StationReservation> reservations(Instant from, Instant to) {
+        List<StationReservation> reservations = new ArrayList<>();
+        Map.Entry<Instant, StationReservation> before = byStart.lowerEntry(from);
+        if (before != null && before.getValue().getEndsAt().isAfter(from)) {
+            reservations.add(before.getValue());
+        }
+        reservations.addAll(byStart.subMap(from, true, to, false).values());
+        return reservations;
+    }
+
+    /**
+     * Finds the free windows of a period that are at least a given length.
+     *
+     * @param stationId the station, reported with each window
+     * @param from the start of the period
+     * @param to the end of the period, exclusive
+     * @param minLength the shortest window worth reporting
+     * @return the windows, in order
+     */
+    public List<AvailabilityWindow> available(String stationId, Instant from, Instant to, Duration minLength) {
+        List<AvailabilityWindow> windows = new ArrayList<>();
+        Instant cursor = from;
+        Map.Entry<Instant, StationReservation> before = byStart.lowerEntry(from);
+        if (before != null && before.getValue().getEndsAt().isAfter(cursor)) {
+            cursor = before.getValue().getEndsAt();
+        }
+        for (StationReservation reservation : byStart.subMap(from, true, to, false).values()) {
+            addWindow(windows, stationId, cursor, reservation.getStartsAt(), minLength);
+            if (reservation.getEndsAt().isAfter(cursor)) {
+                cursor = reservation.getEndsAt();
+            }
+        }
+        addWindow(windows, stationId, cursor, to, minLength);
+        return windows;
+    }
+
+    /**
+     * Removes the reservations that ended.
+     *
+     * @param now the current time
+     */
+    public void removeEndedBefore(Instant now) {
+        Iterator<StationReservation> started = byStart.headMap(now, true).values().iterator();
+        while (started.hasNext()) {
+            if (started.next().getEndsAt().isAfter(now)) {
+                break;
+            }
+            started.remove();
+        }
+    }
+
+    /**
+     * @return the number of reservations held
+     */
+    public int size() {
+        return byStart.size();
+    }
+
+    private static void addWindow(List<AvailabilityWindow> windows, String stationId, Instant from, Instant to,
+                                  Duration minLength) {
+        if (from.isBefore(to) && Duration.between(from, to).compareTo(minLength) >= 0) {
+            windows.add(new AvailabilityWindow(stationId, from, to));
+        }
+    }
+}
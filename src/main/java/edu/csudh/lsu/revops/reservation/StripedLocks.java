@@ -0,0 +1,77 @@
+package edu.csudh.lsu.revops.reservation;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * The {@code StripedLocks} class maps keys, such as station IDs, onto a fixed number of locks.
+ * </p>
+ *
+ * <p>
+ * Writers to the same key always take the same lock, while writers to different keys usually take different ones and
+ * do not wait for each other; memory stays at {@code stripes} locks however many keys there are. Several keys are
+ * locked in stripe order, so two callers locking overlapping sets of keys cannot deadlock. The locks are reentrant.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class StripedLocks {
+
+    private final ReentrantLock[] stripes;
+
+    /**
+     * @param stripes the number of locks, rounded up to a power of two
+     */
+    public StripedLocks(int stripes) {
+        int size = stripes <= 1 ? 1 : Integer.highestOneBit(stripes - 1) << 1;
+        this.stripes = new ReentrantLock[size];
+        for (int index = 0; index < size; index++) {
+            this.stripes[index] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Locks the stripes of some keys, waiting as long as needed.
+     *
+     * @param keys the keys
+     * @return the stripes locked, to be passed to {@link #unlockAll(int[])}
+     */
+    public int[] lockAll(Collection<String> keys) {
+        int[] locked = keys.stream().mapToInt(this::stripe).distinct().sorted().toArray();
+        for (int stripe : locked) {
+            stripes[stripe].lock();
+        }
+        return locked;
+    }
+
+    /**
+     * Unlocks stripes locked by {@link #lockAll(Collection)}.
+     *
+     * @param locked the stripes locked
+     */
+    public void unlockAll(int[] locked) {
+        for (int index = locked.length - 1; index >= 0; index--) {
+            stripes[locked[index]].unlock();
+        }
+    }
+
+    /**
+     * @return the number of locks
+     */
+    public int size() {
+        return stripes.length;
+    }
+
+    private int stripe(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (stripes.length - 1);
+    }
+}
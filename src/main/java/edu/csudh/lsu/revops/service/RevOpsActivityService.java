@@ -1,15 +1,29 @@
 package edu.csudh.lsu.revops.service;
 
 import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.persistence.model.activity.Activity;
 import edu.csudh.lsu.revops.dao.ActivityDAO;
+import edu.csudh.lsu.revops.model.ActivityChange;
+import edu.csudh.lsu.revops.model.ActivityChangesResponse;
 import edu.csudh.lsu.revops.model.ActivityResponse;
+import edu.csudh.lsu.revops.journal.OutageJournal;
+import edu.csudh.lsu.revops.model.ConditionalUpdateResult;
+import edu.csudh.lsu.revops.model.JournaledWrite;
+import edu.csudh.lsu.revops.utils.ActivityHelper;
+import edu.csudh.lsu.revops.utils.ApplicationConstants;
+import edu.csudh.lsu.revops.venue.Venues;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.function.Supplier;
 
 /**
  * <p>
@@ -23,6 +37,20 @@ import java.util.UUID;
  * </p>
  *
  * <p>
+ * Saves, partial updates and disables that fail because the database is unreachable are registered in the
+ * {@code OutageJournal} and replayed later; the caller is told so by the result {@code WRITE_REGISTERED}. Updates
+ * conditional on the version are not registered: their version check has to be made against the database when the
+ * client sends them, and the outcome, including a conflict, answered to that client. They are rejected as
+ * {@code UNAVAILABLE} while the database is unreachable and while registered writes are waiting, since the version
+ * they would be checked against does not include those writes yet.
+ * </p>
+ *
+ * <p>
+ * The catalog reads and new activities name a venue, resolved by {@code Venues}: a missing venue is the default
+ * venue, and a venue that is not served is rejected with an {@code IllegalArgumentException}.
+ * </p>
+ *
+ * <p>
  * Created by: Digvijay Hethur Jagadeesha
  * Date: August 24 2024
  * </p>
@@ -38,21 +66,46 @@ public class RevOpsActivityService {
     @Autowired
     private ActivityDAO activityDAO;
 
+    @Autowired
+    private OutageJournal outageJournal;
+
+    @Autowired
+    private Venues venues;
+
+    // Maximum number of changes returned by one delta sync call
+    @Value("${changes.maxLimit:500}")
+    private int changesMaxLimit;
+
+    // How long a change must have been stamped before delta sync returns it
+    @Value("${changes.settleMs:2000}")
+    private long changesSettleMs;
+
     /**
      * Saves or updates an activity by interacting with the {@code ActivityDAO}.
      *
      * <p>
      * This method processes the incoming {@code ActivityResponse} object and passes it to the DAO layer
-     * for saving or updating the activity in the database.
+     * for saving or updating the activity in the database. The venue of the activity is only used when it is
+     * created.
      * </p>
      *
      * @param activityResponse The {@code ActivityResponse} object containing activity data from the client.
-     * @return int The number of records updated (1 for success, 0 for failure).
+     * @return int The number of records updated (1 for success, 0 for failure), or
+     * {@code WRITE_REGISTERED} if the write was registered in the outage journal.
+     * @throws IllegalArgumentException if the venue is not served.
      */
     public int saveOrUpdateActivity(ActivityResponse activityResponse) {
+        activityResponse.setVenue(venues.resolve(activityResponse.getVenue()));
+        // The id is fixed before the first attempt, so a write whose commit was lost with the connection and which is
+        // then journaled and replayed upserts the same activity instead of creating a second one
+        if (activityResponse.getId() == null) {
+            activityResponse.setId(UUID.randomUUID());
+        }
         try {
             log.info("Processing saveOrUpdateActivity in RevOpsActivityService.");
-            return activityDAO.saveOrUpdateActivity(activityResponse);
+            return writeOrRegister(() -> activityDAO.saveOrUpdateActivity(activityResponse), () ->
+                    JournaledWrite.builder().type(JournaledWrite.Type.SAVE).activityId(activityResponse.getId())
+                            .activity(activityResponse).build());
         } catch (Exception ex) {
             log.error("An error occurred in RevOpsActivityService while saving or updating activity: {}", ex.getMessage(), ex);
             throw new PersistenceException("Error occurred while saving or updating activity", ex.getMessage());
@@ -69,14 +122,18 @@ public class RevOpsActivityService {
      *
      * @param id The ID of the activity to update.
      * @param updates A map of field names and values to update.
-     * @return int The number of records updated (1 for success, 0 for failure).
+     * @return int The number of records updated (1 for success, 0 for failure), or
+     * {@code WRITE_REGISTERED} if the write was registered in the outage journal.
+     * @throws IllegalArgumentException if a field is unknown or its value has the wrong type.
      */
     public int partialUpdateActivity(UUID id, Map<String, Object> updates) {
+        // Reject invalid fields now rather than on replay
+        ActivityHelper.applyUpdates(new Activity(), updates);
         try {
             log.info("Processing partialUpdateActivity in RevOpsActivityService for activity ID: {}", id);
-            // Implement the logic to partially update the activity in the DAO
-            // This might involve fetching the existing activity and applying the updates
-            return activityDAO.partialUpdateActivity(id, updates); // You need to implement this in DAO
+            return writeOrRegister(() -> activityDAO.partialUpdateActivity(id, updates), () ->
+                    JournaledWrite.builder().type(JournaledWrite.Type.PARTIAL_UPDATE).activityId(id)
+                            .updates(updates).build());
         } catch (Exception ex) {
             log.error("An error occurred in RevOpsActivityService while partially updating activity: {}", ex.getMessage(), ex);
             throw new PersistenceException("Error occurred while partially updating activity", ex.getMessage());
@@ -84,21 +141,224 @@ public class RevOpsActivityService {
     }
 
     /**
-     * Fetches all distinct activity categories by interacting with the {@code ActivityDAO}.
+     * Updates an activity only if it still has the version the client last saw, by interacting with the
+     * {@code ActivityDAO}.
+     *
+     * @param id The ID of the activity to update.
+     * @param updates A map of field names and values to update.
+     * @param expectedVersion The version the client last saw, from its {@code If-Match} header.
+     * @return {@code ConditionalUpdateResult} The outcome and the new or current version, or {@code UNAVAILABLE} if
+     * the database is unreachable or registered writes are waiting to be replayed.
+     * @throws IllegalArgumentException if no field is given, a field is unknown or its value has the wrong type.
+     */
+    public ConditionalUpdateResult updateActivityIfVersion(UUID id, Map<String, Object> updates, long expectedVersion) {
+        ActivityHelper.applyUpdates(new Activity(), updates);
+        if (updates.isEmpty()) {
+            throw new IllegalArgumentException("No fields to update");
+        }
+        if (outageJournal.isActive()) {
+            log.warn("Conditional update of activity {} rejected while {} registered writes are waiting.", id,
+                    outageJournal.depth());
+            return new ConditionalUpdateResult(ConditionalUpdateResult.Outcome.UNAVAILABLE, 0);
+        }
+        try {
+            log.info("Processing updateActivityIfVersion in RevOpsActivityService for activity ID: {} at version {}",
+                    id, expectedVersion);
+            return activityDAO.updateActivityIfVersion(id, updates, expectedVersion);
+        } catch (Exception ex) {
+            if (outageJournal.isOutage(ex)) {
+                log.warn("The database is unreachable; conditional update of activity {} rejected. Cause: {}", id,
+                        ex.getMessage());
+                return new ConditionalUpdateResult(ConditionalUpdateResult.Outcome.UNAVAILABLE, 0);
+            }
+            log.error("An error occurred in RevOpsActivityService while conditionally updating activity: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while conditionally updating activity", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches a single activity with its status and version by interacting with the {@code ActivityDAO}.
+     *
+     * @param id The ID of the activity.
+     * @return {@code Optional<ActivityChange>} The activity, or empty if it does not exist.
+     */
+    public Optional<ActivityChange> fetchActivity(UUID id) {
+        try {
+            log.debug("Fetching activity ID: {} in RevOpsActivityService.", id);
+            return activityDAO.fetchActivity(id);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsActivityService while fetching an activity: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching activity", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches all distinct activity categories of a venue by interacting with the {@code ActivityDAO}.
      *
      * <p>
      * This method retrieves a list of distinct categories from the DAO layer, which queries the database.
      * </p>
      *
+     * @param venue The venue, or {@code null} for the default venue.
      * @return List of distinct categories as {@code List<String>}.
+     * @throws IllegalArgumentException if the venue is not served.
+     */
+    public List<String> fetchAllCategories(String venue) {
+        String resolved = venues.resolve(venue);
+        try {
+            log.info("Fetching all categories of venue {} in RevOpsActivityService.", resolved);
+            return activityDAO.fetchAllCategories(resolved);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsActivityService while fetching categories: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching categories", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the distinct activity categories of every venue by interacting with the {@code ActivityDAO}.
+     *
+     * @return List of distinct categories as {@code List<String>}, sorted.
      */
-    public List<String> fetchAllCategories() {
+    public List<String> fetchCategoriesOfAllVenues() {
         try {
-            log.info("Fetching all categories in RevOpsActivityService.");
-            return activityDAO.fetchAllCategories();
+            log.info("Fetching the categories of all venues in RevOpsActivityService.");
+            TreeSet<String> categories = new TreeSet<>();
+            venues.ids().forEach(venue -> categories.addAll(activityDAO.fetchAllCategories(venue)));
+            return List.copyOf(categories);
         } catch (Exception ex) {
             log.error("An error occurred in RevOpsActivityService while fetching categories: {}", ex.getMessage(), ex);
             throw new PersistenceException("Error occurred while fetching categories", ex.getMessage());
         }
     }
+
+    /**
+     * Fetches the full activity catalog of a venue by interacting with the {@code ActivityDAO}.
+     *
+     * @param venue The venue, or {@code null} for the default venue.
+     * @return List of activities as {@code List<ActivityResponse>}.
+     * @throws IllegalArgumentException if the venue is not served.
+     */
+    public List<ActivityResponse> fetchAllActivities(String venue) {
+        String resolved = venues.resolve(venue);
+        try {
+            log.info("Fetching all activities of venue {} in RevOpsActivityService.", resolved);
+            return activityDAO.fetchAllActivities(resolved);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsActivityService while fetching activities: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching activities", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the activities of several categories of a venue at once by interacting with the {@code ActivityDAO}.
+     *
+     * @param venue The venue, or {@code null} for the default venue.
+     * @param categories The categories to load activities for.
+     * @return List of activities of the given categories as {@code List<ActivityResponse>}.
+     * @throws IllegalArgumentException if the venue is not served.
+     */
+    public List<ActivityResponse> fetchActivitiesByCategories(String venue, Collection<String> categories) {
+        String resolved = venues.resolve(venue);
+        try {
+            log.info("Fetching activities for {} categories of venue {} in RevOpsActivityService.", categories.size(),
+                    resolved);
+            return activityDAO.fetchActivitiesByCategories(resolved, categories);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsActivityService while fetching activities by category: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching activities by category", ex.getMessage());
+        }
+    }
+
+    /**
+     * Soft-deletes an activity by interacting with the {@code ActivityDAO}.
+     *
+     * @param id The ID of the activity to disable.
+     * @return int The number of records updated (1 for success, 0 if the activity does not exist), or
+     * {@code WRITE_REGISTERED} if the write was registered in the outage journal.
+     */
+    public int disableActivity(UUID id) {
+        try {
+            log.info("Processing disableActivity in RevOpsActivityService for activity ID: {}", id);
+            return writeOrRegister(() -> activityDAO.disableActivity(id),
+                    () -> JournaledWrite.builder().type(JournaledWrite.Type.DISABLE).activityId(id).build());
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsActivityService while disabling activity: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while disabling activity", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches the image location of an enabled activity by interacting with the {@code ActivityDAO}.
+     *
+     * @param id The ID of the activity.
+     * @return {@code Optional<String>} The image location, or empty if the activity has none or is not enabled.
+     */
+    public Optional<String> fetchImageLocation(UUID id) {
+        try {
+            log.debug("Fetching image location for activity ID: {} in RevOpsActivityService.", id);
+            return activityDAO.fetchImageLocation(id);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsActivityService while fetching an image location: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching image location", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches one page of catalog changes of a venue after the given cursor by interacting with the
+     * {@code ActivityDAO}.
+     *
+     * <p>
+     * The limit is capped at {@code changes.maxLimit}. The returned {@code nextSince} is the change version of the
+     * last change in the page, or the given cursor if there were no changes.
+     * </p>
+     *
+     * @param venue The venue, or {@code null} for the default venue.
+     * @param since The change version the client has already seen.
+     * @param limit The maximum number of changes the client wants.
+     * @return {@code ActivityChangesResponse} The changes and the cursor for the next call.
+     * @throws IllegalArgumentException if the venue is not served.
+     */
+    public ActivityChangesResponse fetchChangesSince(String venue, long since, int limit) {
+        String resolved = venues.resolve(venue);
+        try {
+            int pageSize = Math.max(1, Math.min(limit, changesMaxLimit));
+            log.info("Fetching up to {} activity changes of venue {} since version {} in RevOpsActivityService.",
+                    pageSize, resolved, since);
+            List<ActivityChange> changes = activityDAO.fetchChangesSince(resolved, since, pageSize, changesSettleMs);
+            long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getChangeVersion();
+            return new ActivityChangesResponse(since, nextSince, changes.size() == pageSize, changes);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsActivityService while fetching activity changes: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching activity changes", ex.getMessage());
+        }
+    }
+
+    /**
+     * Runs a write, or registers it in the outage journal if the database is unreachable.
+     *
+     * <p>
+     * While earlier writes are waiting in the journal the write is registered right away, so writes are applied in
+     * the order they were accepted.
+     * </p>
+     *
+     * @param write The write against the database.
+     * @param journaledWrite Builds the write to register.
+     * @return int The result of the write, or {@code WRITE_REGISTERED}.
+     */
+    private int writeOrRegister(Supplier<Integer> write, Supplier<JournaledWrite> journaledWrite) {
+        if (outageJournal.isActive()) {
+            outageJournal.register(journaledWrite.get());
+            return ApplicationConstants.WRITE_REGISTERED;
+        }
+        try {
+            return write.get();
+        } catch (RuntimeException ex) {
+            if (!outageJournal.isOutage(ex)) {
+                throw ex;
+            }
+            log.warn("The database is unreachable; registering the write in the outage journal. Cause: {}", ex.getMessage());
+            outageJournal.register(journaledWrite.get());
+            return ApplicationConstants.WRITE_REGISTERED;
+        }
+    }
 }
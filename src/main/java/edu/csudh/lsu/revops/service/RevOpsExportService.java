@@ -0,0 +1,98 @@
+package edu.csudh.lsu.revops.service;
+
+import edu.csudh.lsu.revops.export.DataExporter;
+import edu.csudh.lsu.revops.export.ExportDataset;
+import edu.csudh.lsu.revops.export.ExportFormat;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.Semaphore;
+
+/**
+ * <p>
+ * The {@code RevOpsExportService} class is the service layer for finance exports.
+ * </p>
+ *
+ * <p>
+ * It checks the requested range against {@code export.maxDays} and lets at most {@code export.maxConcurrent} exports
+ * run at once; an export beyond that is refused rather than queued, since the client would only time out waiting.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Service
+public class RevOpsExportService {
+
+    @Autowired
+    private DataExporter dataExporter;
+
+    @Value("${export.maxDays:400}")
+    private long maxDays;
+
+    @Value("${export.maxConcurrent:2}")
+    private int maxConcurrent;
+
+    private Semaphore permits;
+
+    @PostConstruct
+    public void init() {
+        permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Checks a requested range of business days.
+     *
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @throws IllegalArgumentException if the range is empty or longer than {@code export.maxDays}.
+     */
+    public void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The export range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("Exports are limited to " + maxDays + " days");
+        }
+    }
+
+    /**
+     * Streams an export into the given stream.
+     *
+     * @param dataset What to export.
+     * @param format The output format.
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @param out The stream to write to.
+     * @return long The number of rows written.
+     * @throws IllegalStateException if {@code export.maxConcurrent} exports are already running.
+     * @throws IOException if the export fails.
+     */
+    public long export(ExportDataset dataset, ExportFormat format, LocalDate from, LocalDate to, OutputStream out)
+            throws IOException {
+        validateRange(from, to);
+        if (!permits.tryAcquire()) {
+            throw new IllegalStateException("Already running " + maxConcurrent + " exports");
+        }
+        try {
+            log.info("Exporting {} from {} to {} as {} in RevOpsExportService.", dataset, from, to, format);
+            return dataExporter.export(dataset, format, from, to, out);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package edu.csudh.lsu.revops.service;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.dao.PricingRuleDAO;
+import edu.csudh.lsu.revops.model.PricingRule;
+import edu.csudh.lsu.revops.model.SessionQuote;
+import edu.csudh.lsu.revops.model.SessionQuoteRequest;
+import edu.csudh.lsu.revops.pricing.PricingEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code RevOpsPricingService} class encapsulates the business logic for pricing rules and session charges.
+ * </p>
+ *
+ * <p>
+ * Rule sets are validated by compiling them before they are stored, so an invalid set never reaches the database.
+ * After a successful change the {@code PricingEngine} on this node is reloaded right away; other nodes follow with
+ * their next scheduled reload.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Service
+public class RevOpsPricingService {
+
+    @Autowired
+    private PricingRuleDAO pricingRuleDAO;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    /**
+     * Fetches every pricing rule by interacting with the {@code PricingRuleDAO}.
+     *
+     * @return List of all rules as {@code List<PricingRule>}.
+     */
+    public List<PricingRule> fetchAllRules() {
+        try {
+            return pricingRuleDAO.fetchAllRules();
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsPricingService while fetching pricing rules: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching pricing rules", ex.getMessage());
+        }
+    }
+
+    /**
+     * Validates and stores a complete rule set, then swaps it into the {@code PricingEngine}.
+     *
+     * @param rules The new rules.
+     * @return long The version of the rate table compiled from them.
+     * @throws IllegalArgumentException if a rule is out of range.
+     */
+    public long replaceRules(List<PricingRule> rules) {
+        pricingEngine.validate(rules);
+        try {
+            log.info("Replacing the pricing rules with {} rules in RevOpsPricingService.", rules.size());
+            pricingRuleDAO.replaceRules(rules);
+            return pricingEngine.reload();
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsPricingService while replacing pricing rules: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while replacing pricing rules", ex.getMessage());
+        }
+    }
+
+    /**
+     * Quotes a single session.
+     *
+     * @param request The session to price.
+     * @return {@code SessionQuote} The charge.
+     */
+    public SessionQuote quote(SessionQuoteRequest request) {
+        return pricingEngine.quote(request);
+    }
+
+    /**
+     * Re-prices a batch of sessions under one rule set.
+     *
+     * @param requests The sessions to price.
+     * @return List of charges as {@code List<SessionQuote>}, in the order of the requests.
+     */
+    public List<SessionQuote> reprice(List<SessionQuoteRequest> requests) {
+        long started = System.nanoTime();
+        List<SessionQuote> quotes = pricingEngine.reprice(requests);
+        log.info("Re-priced {} sessions in {} us.", quotes.size(), (System.nanoTime() - started) / 1000);
+        return quotes;
+    }
+}
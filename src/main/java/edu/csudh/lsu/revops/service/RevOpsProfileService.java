@@ -0,0 +1,107 @@
+package edu.csudh.lsu.revops.service;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.dao.StudentProfileDAO;
+import edu.csudh.lsu.revops.model.StudentProfile;
+import edu.csudh.lsu.revops.profile.ProfileSearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * <p>
+ * The {@code RevOpsProfileService} class encapsulates the business logic for student profiles.
+ * </p>
+ *
+ * <p>
+ * Profiles are read and written through the {@code StudentProfileDAO}; searches are answered by the
+ * {@code ProfileSearchIndex} in memory and never reach the database.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Service
+public class RevOpsProfileService {
+
+    @Autowired
+    private StudentProfileDAO studentProfileDAO;
+
+    @Autowired
+    private ProfileSearchIndex profileSearchIndex;
+
+    /**
+     * Saves or updates a profile by interacting with the {@code StudentProfileDAO}.
+     *
+     * @param profile The profile to save.
+     * @return {@code StudentProfile} The profile as stored.
+     * @throws IllegalArgumentException if the ID or a name is missing.
+     */
+    public StudentProfile saveOrUpdateProfile(StudentProfile profile) {
+        if (isBlank(profile.getStudentId()) || isBlank(profile.getFirstName()) || isBlank(profile.getLastName())) {
+            throw new IllegalArgumentException("A profile needs a student ID, a first name and a last name");
+        }
+        try {
+            log.info("Saving profile {} in RevOpsProfileService.", profile.getStudentId());
+            return studentProfileDAO.saveOrUpdateProfile(profile);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsProfileService while saving a profile: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while saving a profile", ex.getMessage());
+        }
+    }
+
+    /**
+     * Disables a profile by interacting with the {@code StudentProfileDAO}.
+     *
+     * @param studentId The ID of the profile.
+     * @return int The number of records updated (1 for success, 0 if the profile does not exist).
+     */
+    public int disableProfile(String studentId) {
+        try {
+            return studentProfileDAO.disableProfile(studentId);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsProfileService while disabling a profile: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while disabling a profile", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches a profile by interacting with the {@code StudentProfileDAO}.
+     *
+     * @param studentId The ID of the profile.
+     * @return {@code Optional<StudentProfile>} The profile, or empty if it does not exist.
+     */
+    public Optional<StudentProfile> fetchProfile(String studentId) {
+        try {
+            return studentProfileDAO.fetchProfile(studentId);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsProfileService while fetching a profile: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching a profile", ex.getMessage());
+        }
+    }
+
+    /**
+     * Finds the enabled profiles best matching the text typed so far.
+     *
+     * @param query Part of a name or student ID.
+     * @param limit The maximum number of matches.
+     * @return List of profiles as {@code List<StudentProfile>}, best match first.
+     */
+    public List<StudentProfile> searchProfiles(String query, int limit) {
+        return profileSearchIndex.search(query, limit);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
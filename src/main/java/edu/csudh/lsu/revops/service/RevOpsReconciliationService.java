@@ -0,0 +1,69 @@
+package edu.csudh.lsu.revops.service;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.dao.ShiftTotalDAO;
+import edu.csudh.lsu.revops.model.ReconcileStatus;
+import edu.csudh.lsu.revops.model.ReconciliationReport;
+import edu.csudh.lsu.revops.model.ShiftReconciliation;
+import edu.csudh.lsu.revops.reconciliation.ShiftReconciliationJob;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code RevOpsReconciliationService} class is the service layer for shift reconciliation: manual runs and the
+ * review list of shifts that did not reconcile.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Service
+public class RevOpsReconciliationService {
+
+    @Autowired
+    private ShiftReconciliationJob shiftReconciliationJob;
+
+    @Autowired
+    private ShiftTotalDAO shiftTotalDAO;
+
+    /**
+     * Reconciles one business day now.
+     *
+     * @param businessDay The day to reconcile.
+     * @return ReconciliationReport The report of the run.
+     * @throws IllegalStateException if a reconciliation is already running.
+     */
+    public ReconciliationReport reconcile(LocalDate businessDay) {
+        log.info("Reconciling {} on request in RevOpsReconciliationService.", businessDay);
+        return shiftReconciliationJob.reconcile(businessDay);
+    }
+
+    /**
+     * Fetches the most recent shifts with a given reconciliation status by interacting with the {@code ShiftTotalDAO}.
+     *
+     * @param status The status to look for.
+     * @param limit The maximum number of shifts.
+     * @return List of shifts as {@code List<ShiftReconciliation>}, newest first.
+     */
+    public List<ShiftReconciliation> fetchShifts(ReconcileStatus status, int limit) {
+        try {
+            return shiftTotalDAO.fetchShiftTotalsByStatus(status, limit);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsReconciliationService while fetching {} shifts: {}", status,
+                    ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching shifts", ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package edu.csudh.lsu.revops.service;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.dao.StationReservationDAO;
+import edu.csudh.lsu.revops.model.*;
+import edu.csudh.lsu.revops.reservation.ReservationBook;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * <p>
+ * The {@code RevOpsReservationService} class encapsulates the business logic for station reservations.
+ * </p>
+ *
+ * <p>
+ * Requests are validated here; bookings, cancellations and availability are handled by the {@code ReservationBook},
+ * and single reservations are read through the {@code StationReservationDAO}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Service
+public class RevOpsReservationService {
+
+    @Autowired
+    private ReservationBook reservationBook;
+
+    @Autowired
+    private StationReservationDAO stationReservationDAO;
+
+    // How far ahead reservations can be booked
+    @Value("${reservations.maxDaysAhead:60}")
+    private long maxDaysAhead;
+
+    // Most stations booked together, such as for a tournament slot, or searched at once
+    @Value("${reservations.maxStations:32}")
+    private int maxStations;
+
+    /**
+     * Books one or several stations for a period, all of them or none.
+     *
+     * @param request The booking.
+     * @return {@code ReservationResult} The reservations made, or the confirmed reservations in the way.
+     * @throws IllegalArgumentException if the stations or the period are missing or out of range.
+     */
+    public ReservationResult book(ReservationRequest request) {
+        List<String> stationIds = validateStations(request.getStationIds());
+        Instant startsAt = request.getStartsAt();
+        Instant endsAt = request.getEndsAt();
+        if (startsAt == null || endsAt == null || !endsAt.isAfter(startsAt)) {
+            throw new IllegalArgumentException("A reservation needs a start and an end after it");
+        }
+        Instant now = Instant.now();
+        if (startsAt.isBefore(now.truncatedTo(ChronoUnit.MINUTES))) {
+            throw new IllegalArgumentException("A reservation cannot start in the past");
+        }
+        if (startsAt.isAfter(now.plus(Duration.ofDays(maxDaysAhead)))) {
+            throw new IllegalArgumentException("Reservations can be booked at most " + maxDaysAhead + " days ahead");
+        }
+        if (Duration.between(startsAt, endsAt).compareTo(reservationBook.maxLength()) > 0) {
+            throw new IllegalArgumentException("A reservation can last at most " + reservationBook.maxLength().toMinutes()
+                    + " minutes");
+        }
+        UUID groupId = UUID.randomUUID();
+        List<StationReservation> reservations = stationIds.stream()
+                .map(stationId -> StationReservation.builder()
+                        .reservationId(UUID.randomUUID())
+                        .groupId(groupId)
+                        .stationId(stationId)
+                        .memberId(request.getMemberId())
+                        .type(request.getType() == null ? ReservationType.PLAY : request.getType())
+                        .title(request.getTitle())
+                        .startsAt(startsAt)
+                        .endsAt(endsAt)
+                        .status(ReservationStatus.CONFIRMED)
+                        .build())
+                .toList();
+        try {
+            log.info("Booking {} stations from {} to {} in RevOpsReservationService.", stationIds.size(), startsAt, endsAt);
+            return reservationBook.book(reservations);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsReservationService while booking stations: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while booking stations", ex.getMessage());
+        }
+    }
+
+    /**
+     * Cancels a confirmed reservation.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return {@code Optional<StationReservation>} The cancelled reservation, or empty if there is no confirmed
+     * reservation with that ID.
+     */
+    public Optional<StationReservation> cancel(UUID reservationId) {
+        try {
+            return reservationBook.cancel(reservationId);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsReservationService while cancelling a reservation: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while cancelling a reservation", ex.getMessage());
+        }
+    }
+
+    /**
+     * Fetches a reservation by interacting with the {@code StationReservationDAO}.
+     *
+     * @param reservationId The ID of the reservation.
+     * @return {@code Optional<StationReservation>} The reservation, or empty if it does not exist.
+     */
+    public Optional<StationReservation> getReservation(UUID reservationId) {
+        try {
+            return stationReservationDAO.fetchReservation(reservationId);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsReservationService while fetching a reservation: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while fetching a reservation", ex.getMessage());
+        }
+    }
+
+    /**
+     * Lists the confirmed reservations of a station overlapping a period.
+     *
+     * @param stationId The station.
+     * @param from The start of the period.
+     * @param to The end of the period, exclusive.
+     * @return List of reservations as {@code List<StationReservation>}, by start.
+     * @throws IllegalArgumentException if the period is empty or longer than {@code reservations.maxDaysAhead}.
+     */
+    public List<StationReservation> getStationReservations(String stationId, Instant from, Instant to) {
+        validatePeriod(from, to);
+        return reservationBook.reservations(stationId, from, to);
+    }
+
+    /**
+     * Finds the free windows of stations in a period.
+     *
+     * @param stationIds The stations.
+     * @param from The start of the period.
+     * @param to The end of the period, exclusive.
+     * @param minMinutes The shortest window worth reporting.
+     * @return List of windows as {@code List<AvailabilityWindow>}, by station and then by start.
+     * @throws IllegalArgumentException if the stations or the period are missing or out of range.
+     */
+    public List<AvailabilityWindow> getAvailability(List<String> stationIds, Instant from, Instant to, int minMinutes) {
+        List<String> stations = validateStations(stationIds);
+        validatePeriod(from, to);
+        if (minMinutes < 1) {
+            throw new IllegalArgumentException("A window must be at least one minute long");
+        }
+        return reservationBook.availability(stations, from, to, Duration.ofMinutes(minMinutes));
+    }
+
+    private List<String> validateStations(List<String> stationIds) {
+        if (stationIds == null || stationIds.isEmpty() || stationIds.stream().anyMatch(id -> id == null || id.isBlank())) {
+            throw new IllegalArgumentException("At least one station is needed and station IDs cannot be blank");
+        }
+        List<String> distinct = stationIds.stream().map(String::trim).distinct().toList();
+        if (distinct.size() > maxStations) {
+            throw new IllegalArgumentException("At most " + maxStations + " stations can be booked or searched at once");
+        }
+        return distinct;
+    }
+
+    private void validatePeriod(Instant from, Instant to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("The period ends before it starts");
+        }
+        if (Duration.between(from, to).compareTo(Duration.ofDays(maxDaysAhead)) > 0) {
+            throw new IllegalArgumentException("Periods are limited to " + maxDaysAhead + " days");
+        }
+    }
+}
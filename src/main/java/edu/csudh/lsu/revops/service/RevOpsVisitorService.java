@@ -0,0 +1,91 @@
+package edu.csudh.lsu.revops.service;
+
+import edu.csudh.lsu.persistence.exception.PersistenceException;
+import edu.csudh.lsu.revops.model.SketchGranularity;
+import edu.csudh.lsu.revops.model.UniqueVisitors;
+import edu.csudh.lsu.revops.visitor.VisitorSketches;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * <p>
+ * The {@code RevOpsVisitorService} class encapsulates the business logic for unique visitor reports.
+ * </p>
+ *
+ * <p>
+ * Counts are estimated by the {@code VisitorSketches} from stored HyperLogLog sketches; requested ranges are limited
+ * to {@code visitors.maxDays} business days.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Service
+public class RevOpsVisitorService {
+
+    @Autowired
+    private VisitorSketches visitorSketches;
+
+    @Value("${visitors.maxDays:400}")
+    private long maxDays;
+
+    /**
+     * Estimates the distinct members over a range of business days.
+     *
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @param category A category, or {@code null} for all categories.
+     * @return {@code UniqueVisitors} The estimate.
+     * @throws IllegalArgumentException if the range is empty or longer than {@code visitors.maxDays}.
+     */
+    public UniqueVisitors uniques(LocalDate from, LocalDate to, String category) {
+        validateRange(from, to);
+        try {
+            return visitorSketches.uniques(from, to, category);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsVisitorService while estimating unique visitors: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while estimating unique visitors", ex.getMessage());
+        }
+    }
+
+    /**
+     * Estimates the distinct members per shift, day or category over a range of business days.
+     *
+     * @param from The first day, inclusive.
+     * @param to The last day, inclusive.
+     * @param by {@code SHIFT} or {@code DAY}, or {@code null} for one estimate per category.
+     * @return List of estimates as {@code List<UniqueVisitors>}.
+     * @throws IllegalArgumentException if the range is empty or longer than {@code visitors.maxDays}.
+     */
+    public List<UniqueVisitors> breakdown(LocalDate from, LocalDate to, SketchGranularity by) {
+        validateRange(from, to);
+        try {
+            return visitorSketches.breakdown(from, to, by);
+        } catch (Exception ex) {
+            log.error("An error occurred in RevOpsVisitorService while estimating unique visitors: {}", ex.getMessage(), ex);
+            throw new PersistenceException("Error occurred while estimating unique visitors", ex.getMessage());
+        }
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("The range ends before it starts");
+        }
+        if (ChronoUnit.DAYS.between(from, to) + 1 > maxDays) {
+            throw new IllegalArgumentException("Unique visitor reports are limited to " + maxDays + " days");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package edu.csudh.lsu.revops.session;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * The {@code HierarchicalTimingWheel} class schedules a large number of timeouts with constant-time insertion,
+ * cancellation and expiry.
+ * </p>
+ *
+ * <p>
+ * Level 0 has {@code slots} buckets of one tick each. Every further level has the same number of buckets, each
+ * covering a full turn of the level below, so four levels of 64 one-second buckets reach about 194 days. A timeout is
+ * put into the lowest level whose span covers its delay. When the wheel turns past a bucket of a higher level, the
+ * timeouts in it are moved down to the level matching their remaining delay, until they expire from level 0. Timeouts
+ * further away than the top level are kept in its buckets and placed again on every turn.
+ * </p>
+ *
+ * <p>
+ * The buckets are only touched by the thread calling {@link #advance(long)}. Other threads hand new timeouts over
+ * through a lock-free queue that is drained on the next advance, and cancel them by setting a flag; cancelled
+ * timeouts are dropped when their bucket is reached. Neither {@link #schedule(long, Object)} nor
+ * {@link Timeout#cancel()} ever blocks. A timeout fires on the first tick at or after its deadline.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ *
+ * @param <T> the type of the payload handed to the expiry handler
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMs;
+    private final int slots;
+    private final long[] levelTickMs;
+    private final Queue<Timeout<T>>[][] buckets;
+    private final Queue<Timeout<T>> incoming = new ConcurrentLinkedQueue<>();
+    private final Consumer<T> expiryHandler;
+
+    // Start of the current tick; only read and written by the advancing thread
+    private long currentTimeMs;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickMs the length of one level 0 bucket
+     * @param slots the number of buckets per level
+     * @param levels the number of levels
+     * @param startTimeMs the current time
+     * @param expiryHandler called on the advancing thread with the payload of every expired timeout
+     */
+    @SuppressWarnings("unchecked")
+    public HierarchicalTimingWheel(long tickMs, int slots, int levels, long startTimeMs, Consumer<T> expiryHandler) {
+        this.tickMs = tickMs;
+        this.slots = slots;
+        this.expiryHandler = expiryHandler;
+        this.currentTimeMs = startTimeMs - startTimeMs % tickMs;
+        this.levelTickMs = new long[levels];
+        this.buckets = new Queue[levels][slots];
+        long levelTick = tickMs;
+        for (int level = 0; level < levels; level++) {
+            levelTickMs[level] = levelTick;
+            for (int slot = 0; slot < slots; slot++) {
+                buckets[level][slot] = new ArrayDeque<>();
+            }
+            levelTick *= slots;
+        }
+    }
+
+    /**
+     * Schedules a timeout. Safe to call from any thread.
+     *
+     * @param deadlineMs the time at which the timeout expires
+     * @param payload the value handed to the expiry handler
+     * @return a handle to cancel the timeout
+     */
+    public Timeout<T> schedule(long deadlineMs, T payload) {
+        Timeout<T> timeout = new Timeout<>(deadlineMs, payload);
+        incoming.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Turns the wheel up to the given time and runs the expiry handler for every timeout that is due.
+     * Must always be called from the same thread, or from threads that hand over to each other safely.
+     *
+     * @param nowMs the current time
+     */
+    public void advance(long nowMs) {
+        drainIncoming();
+        while (currentTimeMs + tickMs <= nowMs) {
+            currentTimeMs += tickMs;
+            // Move timeouts down from every higher level whose bucket boundary was just crossed, highest first
+            for (int level = levelTickMs.length - 1; level > 0; level--) {
+                if (currentTimeMs % levelTickMs[level] == 0) {
+                    Queue<Timeout<T>> bucket = bucket(level, currentTimeMs);
+                    for (int remaining = bucket.size(); remaining > 0; remaining--) {
+                        place(bucket.poll());
+                    }
+                }
+            }
+            expire(bucket(0, currentTimeMs));
+            drainIncoming();
+        }
+    }
+
+    private void drainIncoming() {
+        for (Timeout<T> timeout = incoming.poll(); timeout != null; timeout = incoming.poll()) {
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        if (timeout.isDone()) {
+            return;
+        }
+        // Rounded up to a tick boundary, so timeouts fire at most one tick late and never early
+        long dueMs = dueTick(timeout);
+        long delayMs = dueMs - currentTimeMs;
+        if (delayMs <= 0) {
+            timeout.expire(expiryHandler);
+            return;
+        }
+        int top = levelTickMs.length - 1;
+        for (int level = 0; level <= top; level++) {
+            if (delayMs < levelTickMs[level] * slots || level == top) {
+                bucket(level, dueMs).add(timeout);
+                return;
+            }
+        }
+    }
+
+    private void expire(Queue<Timeout<T>> bucket) {
+        for (Timeout<T> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+            if (dueTick(timeout) > currentTimeMs) {
+                // Beyond the span of the top level; place it again for a later turn
+                place(timeout);
+            } else {
+                timeout.expire(expiryHandler);
+            }
+        }
+    }
+
+    private long dueTick(Timeout<T> timeout) {
+        return Math.floorDiv(timeout.deadlineMs + tickMs - 1, tickMs) * tickMs;
+    }
+
+    private Queue<Timeout<T>> bucket(int level, long timeMs) {
+        return buckets[level][(int) ((timeMs / levelTickMs[level]) % slots)];
+    }
+
+    /**
+     * A scheduled timeout.
+     *
+     * @param <T> the type of the payload
+     */
+    public static final class Timeout<T> {
+
+        private final long deadlineMs;
+        private final T payload;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Timeout(long deadlineMs, T payload) {
+            this.deadlineMs = deadlineMs;
+            this.payload = payload;
+        }
+
+        /**
+         * Cancels the timeout. Safe to call from any thread, and a no-op once the timeout has expired.
+         *
+         * @return {@code true} if the timeout was cancelled before it expired
+         */
+        public boolean cancel() {
+            return done.compareAndSet(false, true);
+        }
+
+        /**
+         * Returns whether the timeout was cancelled or has expired.
+         *
+         * @return {@code true} once the timeout will no longer fire
+         */
+        public boolean isDone() {
+            return done.get();
+        }
+
+        public long getDeadlineMs() {
+            return deadlineMs;
+        }
+
+        private void expire(Consumer<T> expiryHandler) {
+            if (done.compareAndSet(false, true)) {
+                expiryHandler.accept(payload);
+            }
+        }
+    }
+}
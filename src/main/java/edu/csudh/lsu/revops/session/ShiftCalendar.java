@@ -0,0 +1,82 @@
+package edu.csudh.lsu.revops.session;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * <p>
+ * The {@code ShiftCalendar} class maps instants to the staff shift they fall in.
+ * </p>
+ *
+ * <p>
+ * Shifts are {@code shifts.hours} long and follow the local wall clock in {@code pricing.zoneId}, starting at midnight,
+ * so the 8:00 shift starts at 8:00 on daylight saving days too. The last shift of a day ends at midnight even if it is
+ * shorter, so a business day always holds whole shifts.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Component
+public class ShiftCalendar {
+
+    @Value("${shifts.hours:8}")
+    private int shiftHours;
+
+    @Value("${pricing.zoneId:America/Los_Angeles}")
+    private ZoneId zoneId;
+
+    /**
+     * Returns the start of the shift an instant falls in.
+     *
+     * @param instant the instant
+     * @return the start of its shift
+     */
+    public Instant shiftStart(Instant instant) {
+        LocalDateTime local = LocalDateTime.ofInstant(instant, zoneId);
+        int shiftIndex = local.getHour() / shiftHours;
+        return local.toLocalDate().atTime(shiftIndex * shiftHours, 0).atZone(zoneId).toInstant();
+    }
+
+    /**
+     * Returns the end of a shift, which is the start of the next one.
+     *
+     * @param shiftStart the start of the shift
+     * @return the start of the next shift
+     */
+    public Instant shiftEnd(Instant shiftStart) {
+        LocalDateTime local = LocalDateTime.ofInstant(shiftStart, zoneId);
+        return shiftStart(local.plusHours(shiftHours).atZone(zoneId).toInstant());
+    }
+
+    /**
+     * Returns the first instant of a business day.
+     *
+     * @param date the business day
+     * @return local midnight of that day
+     */
+    public Instant dayStart(LocalDate date) {
+        return date.atStartOfDay(zoneId).toInstant();
+    }
+
+    /**
+     * Returns the business day an instant falls in.
+     *
+     * @param instant the instant
+     * @return the local date
+     */
+    public LocalDate businessDay(Instant instant) {
+        return LocalDate.ofInstant(instant, zoneId);
+    }
+}
@@ -0,0 +1,557 @@
+package edu.csudh.lsu.revops.session;
+
+import edu.csudh.lsu.revops.dao.StationSessionDAO;
+import edu.csudh.lsu.revops.model.MemberType;
+import edu.csudh.lsu.revops.model.SessionQuote;
+import edu.csudh.lsu.revops.model.SessionQuoteRequest;
+import edu.csudh.lsu.revops.model.StationSession;
+import edu.csudh.lsu.revops.model.StationSessionEvent;
+import edu.csudh.lsu.revops.model.StationSessionEventType;
+import edu.csudh.lsu.revops.model.StationSessionRequest;
+import edu.csudh.lsu.revops.pricing.PricingEngine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * The {@code StationSessionRegistry} class tracks which stations are in use, since when and by whom.
+ * </p>
+ *
+ * <p>
+ * Running sessions are kept in a {@code ConcurrentHashMap} keyed by station. Starting, extending and ending a session
+ * are compare-and-set operations on that map ({@code putIfAbsent}, {@code replace} and {@code remove} against the
+ * expected value), so two requests for the same station cannot both win and no request ever waits for a lock.
+ * The database is written when a session starts, is extended and ends, and read once on startup to recover the
+ * sessions that were still open.
+ * </p>
+ *
+ * <p>
+ * Every node only holds the sessions started, recovered or looked up through it. A request about a station this node
+ * holds no session for reads the open session of that station from {@code activity_session} and adopts it, so a
+ * session can be extended or ended through any node. Extensions and expiries are only written if the stored expiry is
+ * still the one this node knows; when another node has changed the session meanwhile, the outdated copy is dropped and
+ * the station is looked up again. The occupancy counts and the list of sessions cover the sessions held by this node
+ * only; route all requests of a station to one node where they must be exact.
+ * </p>
+ *
+ * <p>
+ * Each session has two timeouts in a {@code HierarchicalTimingWheel}: a warning {@code sessions.warnBeforeMinutes}
+ * before it expires, published as a {@code WARNING} event, and the expiry itself, which ends the session with reason
+ * {@code EXPIRED}. The wheel is turned every {@code sessions.tickMs} by a single thread; ending a session, which writes
+ * to the database, is handed to a separate executor so the wheel never waits on I/O. If the end of an expired session
+ * cannot be written, it is retried after {@code sessions.endRetryMs}, doubling up to {@code sessions.endRetryMaxMs},
+ * and only the first failure is logged as an error. Ended sessions are priced by the {@code PricingEngine} and the
+ * charge is stored with the session.
+ * </p>
+ *
+ * <p>
+ * A session recovered on startup whose stored expiry has already passed, because no node was running when it expired,
+ * is given {@code sessions.recoveryGraceMinutes} and a warning instead of being ended right away.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class StationSessionRegistry {
+
+    public static final String END_REASON_ENDED = "ENDED";
+    public static final String END_REASON_EXPIRED = "EXPIRED";
+
+    @Autowired
+    private StationSessionDAO stationSessionDAO;
+
+    @Autowired
+    private PricingEngine pricingEngine;
+
+    @Autowired
+    private ShiftCalendar shiftCalendar;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sessions.tickMs:1000}")
+    private long tickMs;
+
+    @Value("${sessions.wheelSlots:64}")
+    private int wheelSlots;
+
+    @Value("${sessions.wheelLevels:4}")
+    private int wheelLevels;
+
+    // Warning sent to the station this long before a session expires
+    @Value("${sessions.warnBeforeMinutes:5}")
+    private long warnBeforeMinutes;
+
+    // Time given to a recovered session whose stored expiry has passed
+    @Value("${sessions.recoveryGraceMinutes:5}")
+    private long recoveryGraceMinutes;
+
+    // Longest session that can be booked or reached by extensions
+    @Value("${sessions.maxMinutes:480}")
+    private long maxMinutes;
+
+    // First delay before the end of an expired session is retried after a failure; doubled on every further failure
+    @Value("${sessions.endRetryMs:1000}")
+    private long endRetryMs;
+
+    @Value("${sessions.endRetryMaxMs:60000}")
+    private long endRetryMaxMs;
+
+    private final Clock clock = Clock.systemUTC();
+
+    private final ConcurrentMap<String, ActiveSession> sessions = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, AtomicInteger> occupiedByCategory = new ConcurrentHashMap<>();
+
+    private final AtomicInteger occupied = new AtomicInteger();
+
+    private HierarchicalTimingWheel<SessionTimer> timingWheel;
+
+    private ScheduledExecutorService wheelExecutor;
+
+    private ExecutorService expiryExecutor;
+
+    /**
+     * Creates the timing wheel and its threads and registers the occupancy gauge.
+     */
+    @PostConstruct
+    public void init() {
+        timingWheel = new HierarchicalTimingWheel<>(tickMs, wheelSlots, wheelLevels, clock.millis(), this::onTimer);
+        wheelExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> daemon(runnable, "station-session-wheel"));
+        expiryExecutor = Executors.newSingleThreadExecutor(runnable -> daemon(runnable, "station-session-expiry"));
+        wheelExecutor.scheduleAtFixedRate(this::advanceWheel, tickMs, tickMs, TimeUnit.MILLISECONDS);
+
+        Gauge.builder("revops.stations.occupied", occupied, AtomicInteger::get)
+                .description("Stations with a running session")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Stops the timing wheel. Sessions stay open in the database and are recovered on the next start.
+     */
+    @PreDestroy
+    public void shutdown() {
+        wheelExecutor.shutdownNow();
+        expiryExecutor.shutdown();
+    }
+
+    /**
+     * Recovers the sessions that were still open when the application last stopped.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOpenSessions() {
+        try {
+            Instant graceExpiry = now().plus(Duration.ofMinutes(recoveryGraceMinutes));
+            List<StationSession> openSessions = stationSessionDAO.fetchOpenSessions();
+            for (StationSession session : openSessions) {
+                StationSession recovered = session;
+                if (session.getExpiresAt().isBefore(graceExpiry)) {
+                    if (stationSessionDAO.extendSession(session.getSessionId(), session.getExpiresAt(), graceExpiry) == 0) {
+                        // Changed through another node since it was read; adopted on the next lookup instead
+                        continue;
+                    }
+                    recovered = session.toBuilder().expiresAt(graceExpiry).build();
+                }
+                adopt(recovered);
+            }
+            log.info("Recovered {} open station sessions.", openSessions.size());
+        } catch (Exception ex) {
+            log.error("Unable to recover open station sessions; they stay open in the database.", ex);
+        }
+    }
+
+    /**
+     * Starts a session on a station.
+     *
+     * @param stationId the station
+     * @param request the booking
+     * @return the new session
+     * @throws IllegalStateException if the station already has a running session
+     * @throws IllegalArgumentException if the booked length is out of range
+     */
+    public StationSession start(String stationId, StationSessionRequest request) {
+        if (request.getMinutes() <= 0 || request.getMinutes() > maxMinutes) {
+            throw new IllegalArgumentException("Session length must be between 1 and " + maxMinutes + " minutes");
+        }
+        Instant now = now();
+        StationSession session = StationSession.builder()
+                .sessionId(UUID.randomUUID())
+                .stationId(stationId)
+                .activityId(request.getActivityId())
+                .category(request.getCategory())
+                .memberId(request.getMemberId())
+                .memberType(request.getMemberType() == null ? MemberType.GUEST : request.getMemberType())
+                .startedAt(now)
+                .expiresAt(now.plus(Duration.ofMinutes(request.getMinutes())))
+                .build();
+        ActiveSession active = new ActiveSession(session);
+        if (sessions.putIfAbsent(stationId, active) != null) {
+            throw new IllegalStateException("Station " + stationId + " is already in use");
+        }
+        try {
+            stationSessionDAO.insertSession(session);
+        } catch (DuplicateKeyException ex) {
+            sessions.remove(stationId, active);
+            throw new IllegalStateException("Station " + stationId + " is already in use on another node", ex);
+        } catch (RuntimeException ex) {
+            sessions.remove(stationId, active);
+            throw ex;
+        }
+        countStarted(session);
+        scheduleTimers(active);
+        publish(StationSessionEventType.STARTED, session, null);
+        return session;
+    }
+
+    /**
+     * Extends the running session of a station.
+     *
+     * @param stationId the station
+     * @param minutes the minutes to add
+     * @return the extended session, or empty if the station has no running session
+     * @throws IllegalArgumentException if the extension is out of range
+     */
+    public Optional<StationSession> extend(String stationId, int minutes) {
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("An extension must add at least one minute");
+        }
+        while (true) {
+            ActiveSession current = lookup(stationId);
+            if (current == null) {
+                return Optional.empty();
+            }
+            StationSession session = current.session;
+            Instant expiresAt = session.getExpiresAt().plus(Duration.ofMinutes(minutes));
+            if (Duration.between(session.getStartedAt(), expiresAt).toMinutes() > maxMinutes) {
+                throw new IllegalArgumentException("Sessions cannot run longer than " + maxMinutes + " minutes");
+            }
+            ActiveSession extended = new ActiveSession(session.toBuilder().expiresAt(expiresAt).build());
+            if (!sessions.replace(stationId, current, extended)) {
+                // Another request changed the session meanwhile; retry against the new one
+                continue;
+            }
+            int updated;
+            try {
+                updated = stationSessionDAO.extendSession(session.getSessionId(), session.getExpiresAt(), expiresAt);
+            } catch (RuntimeException ex) {
+                if (sessions.replace(stationId, extended, current)) {
+                    // Its expiry may have fired and been ignored meanwhile
+                    current.cancelTimers();
+                    scheduleTimers(current);
+                }
+                throw ex;
+            }
+            current.cancelTimers();
+            if (updated == 0) {
+                // Ended or extended through another node; drop the outdated copy and look the station up again
+                if (sessions.remove(stationId, extended)) {
+                    countEnded(session);
+                }
+                continue;
+            }
+            scheduleTimers(extended);
+            publish(StationSessionEventType.EXTENDED, extended.session, null);
+            return Optional.of(extended.session);
+        }
+    }
+
+    /**
+     * Ends the running session of a station.
+     *
+     * @param stationId the station
+     * @return the charge of the ended session, or empty if the station has no running session
+     */
+    public Optional<SessionQuote> end(String stationId) {
+        ActiveSession current = lookup(stationId);
+        if (current == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(end(current, END_REASON_ENDED));
+    }
+
+    /**
+     * Returns the running session of a station.
+     *
+     * @param stationId the station
+     * @return the session, or empty if the station is free
+     */
+    public Optional<StationSession> get(String stationId) {
+        ActiveSession active = lookup(stationId);
+        return active == null ? Optional.empty() : Optional.of(active.session);
+    }
+
+    /**
+     * Returns whether a station has a running session.
+     *
+     * @param stationId the station
+     * @return {@code true} if the station is in use
+     */
+    public boolean isOccupied(String stationId) {
+        return lookup(stationId) != null;
+    }
+
+    /**
+     * Returns the number of stations in use.
+     *
+     * @return the number of running sessions held by this node
+     */
+    public int occupiedCount() {
+        return occupied.get();
+    }
+
+    /**
+     * Returns the number of stations of a category in use.
+     *
+     * @param category the activity category
+     * @return the number of running sessions of that category held by this node
+     */
+    public int occupiedCount(String category) {
+        AtomicInteger count = occupiedByCategory.get(category);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * Returns the number of stations in use per category.
+     *
+     * @return the non-zero counts, ordered by category
+     */
+    public Map<String, Integer> occupiedByCategory() {
+        Map<String, Integer> counts = new TreeMap<>();
+        occupiedByCategory.forEach((category, count) -> {
+            if (count.get() > 0) {
+                counts.put(category, count.get());
+            }
+        });
+        return counts;
+    }
+
+    /**
+     * Returns all running sessions.
+     *
+     * @return a snapshot of the running sessions held by this node
+     */
+    public List<StationSession> sessions() {
+        Collection<ActiveSession> active = sessions.values();
+        return active.stream().map(session -> session.session).toList();
+    }
+
+    private SessionQuote end(ActiveSession active, String endReason) {
+        StationSession session = active.session;
+        if (!sessions.remove(session.getStationId(), active)) {
+            // Ended, extended or expired by another request meanwhile
+            return null;
+        }
+        active.cancelTimers();
+        boolean expired = END_REASON_EXPIRED.equals(endReason);
+        Instant endedAt = now();
+        SessionQuote quote = quote(session, endedAt);
+        int ended;
+        try {
+            ended = stationSessionDAO.endSession(session.getSessionId(), endedAt, shiftCalendar.shiftStart(endedAt),
+                    endReason, quote, expired);
+        } catch (RuntimeException ex) {
+            // Keep the session running so the end can be retried
+            if (sessions.putIfAbsent(session.getStationId(), active) == null) {
+                if (expired) {
+                    scheduleEndRetry(active);
+                } else {
+                    scheduleTimers(active);
+                }
+            }
+            throw ex;
+        }
+        countEnded(session);
+        if (ended == 0) {
+            // Ended or extended through another node meanwhile; an extended session is adopted on the next lookup
+            return null;
+        }
+        if (active.endFailures > 0) {
+            log.info("Ended expired session {} on station {} after {} failed attempts.", session.getSessionId(),
+                    session.getStationId(), active.endFailures);
+        }
+        publish(expired ? StationSessionEventType.EXPIRED : StationSessionEventType.ENDED, session, quote);
+        return quote;
+    }
+
+    private SessionQuote quote(StationSession session, Instant endedAt) {
+        // Minutes started count as full minutes
+        long seconds = Math.max(0, Duration.between(session.getStartedAt(), endedAt).getSeconds());
+        int minutes = (int) ((seconds + 59) / 60);
+        return pricingEngine.quote(new SessionQuoteRequest(session.getSessionId(), session.getCategory(),
+                session.getMemberType(), OffsetDateTime.ofInstant(session.getStartedAt(), ZoneOffset.UTC), minutes));
+    }
+
+    /**
+     * Returns the session this node holds for a station, or adopts the open session stored for it.
+     */
+    private ActiveSession lookup(String stationId) {
+        ActiveSession active = sessions.get(stationId);
+        if (active != null) {
+            return active;
+        }
+        return stationSessionDAO.fetchOpenSession(stationId).map(this::adopt).orElse(null);
+    }
+
+    private ActiveSession adopt(StationSession session) {
+        ActiveSession adopted = new ActiveSession(session);
+        ActiveSession existing = sessions.putIfAbsent(session.getStationId(), adopted);
+        if (existing != null) {
+            return existing;
+        }
+        countStarted(session);
+        scheduleTimers(adopted);
+        return adopted;
+    }
+
+    private void scheduleTimers(ActiveSession active) {
+        long expiresAtMs = active.session.getExpiresAt().toEpochMilli();
+        long warnAtMs = expiresAtMs - TimeUnit.MINUTES.toMillis(warnBeforeMinutes);
+        active.warning = timingWheel.schedule(warnAtMs, new SessionTimer(active, false));
+        active.expiry = timingWheel.schedule(expiresAtMs, new SessionTimer(active, true));
+    }
+
+    /**
+     * Schedules the next attempt to end an expired session after a failed one. Runs on the expiry executor only.
+     */
+    private void scheduleEndRetry(ActiveSession active) {
+        int failures = ++active.endFailures;
+        long delayMs = Math.min(endRetryMaxMs, endRetryMs << Math.min(failures - 1, 30));
+        active.warning = null;
+        active.expiry = timingWheel.schedule(clock.millis() + delayMs, new SessionTimer(active, true));
+    }
+
+    private void advanceWheel() {
+        try {
+            timingWheel.advance(clock.millis());
+        } catch (Exception ex) {
+            log.error("Error while advancing the station session timing wheel.", ex);
+        }
+    }
+
+    /**
+     * Runs on the wheel thread; anything slow is handed to the expiry executor.
+     */
+    private void onTimer(SessionTimer timer) {
+        ActiveSession active = timer.active;
+        if (sessions.get(active.session.getStationId()) != active) {
+            return;
+        }
+        if (!timer.expiry) {
+            publish(StationSessionEventType.WARNING, active.session, null);
+            return;
+        }
+        expiryExecutor.execute(() -> {
+            try {
+                end(active, END_REASON_EXPIRED);
+            } catch (Exception ex) {
+                if (active.endFailures <= 1) {
+                    log.error("Unable to end expired session {} on station {}; retrying with a backoff of up to {} ms.",
+                            active.session.getSessionId(), active.session.getStationId(), endRetryMaxMs, ex);
+                } else {
+                    log.debug("Attempt {} to end expired session {} failed: {}", active.endFailures,
+                            active.session.getSessionId(), ex.getMessage());
+                }
+            }
+        });
+    }
+
+    private void countStarted(StationSession session) {
+        occupied.incrementAndGet();
+        if (session.getCategory() != null) {
+            occupiedByCategory.computeIfAbsent(session.getCategory(), category -> new AtomicInteger()).incrementAndGet();
+        }
+    }
+
+    private void countEnded(StationSession session) {
+        occupied.decrementAndGet();
+        if (session.getCategory() != null) {
+            occupiedByCategory.get(session.getCategory()).decrementAndGet();
+        }
+    }
+
+    private void publish(StationSessionEventType type, StationSession session, SessionQuote quote) {
+        applicationEventPublisher.publishEvent(new StationSessionEvent(type, session, clock.instant(), quote));
+    }
+
+    /**
+     * The current time at the precision of the database, so stored expiries compare equal to the ones in memory.
+     */
+    private Instant now() {
+        return clock.instant().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private static Thread daemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * A running session together with its timeouts.
+     */
+    private static final class ActiveSession {
+
+        private final StationSession session;
+        private volatile HierarchicalTimingWheel.Timeout<SessionTimer> warning;
+        private volatile HierarchicalTimingWheel.Timeout<SessionTimer> expiry;
+        // Failed attempts to end the session after it expired; only changed on the expiry executor
+        private volatile int endFailures;
+
+        private ActiveSession(StationSession session) {
+            this.session = session;
+        }
+
+        private void cancelTimers() {
+            if (warning != null) {
+                warning.cancel();
+            }
+            if (expiry != null) {
+                expiry.cancel();
+            }
+        }
+    }
+
+    private record SessionTimer(ActiveSession active, boolean expiry) {
+    }
+}
@@ -0,0 +1,269 @@
+package edu.csudh.lsu.revops.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * <p>
+ * The {@code MinuteColumn} class holds one value per minute over a trailing window of whole hours, such as the
+ * revenue of each minute of the last 90 days, in primitive arrays.
+ * </p>
+ *
+ * <p>
+ * Minutes are grouped in blocks of one hour. The block of the latest minute written is kept open as a plain
+ * {@code long[60]}, so appending to the current minute is an array write. When a later hour starts, the open block is
+ * sealed into a ring of {@code blocks} hours: its values are delta encoded, each zigzag encoded delta bit-packed at the
+ * width of the largest delta of the block, and its sum is kept next to it. An hour without activity takes no space
+ * beyond its entry in the ring, and a quiet hour a few bits per minute. A write to a sealed hour decodes and
+ * re-encodes that hour only; writes older than the ring are dropped.
+ * </p>
+ *
+ * <p>
+ * {@link #sum(long, int, long[])} totals consecutive buckets of minutes into an array supplied by the caller, taking
+ * the sum of every sealed hour that falls entirely inside a bucket without decoding it. The class is not thread safe
+ * and allocates nothing to answer a query.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class MinuteColumn {
+
+    public static final int BLOCK_MINUTES = 60;
+
+    private final int blocks;
+    private final long[] sums;
+    private final byte[] widths;
+    private final long[][] packed;
+    private final long[] open = new long[BLOCK_MINUTES];
+    private final long[] scratch = new long[BLOCK_MINUTES];
+    // Number of the open block, counted in hours from the epoch; -1 before the first write
+    private long openBlock = -1;
+
+    /**
+     * @param blocks the number of sealed hours kept besides the open one
+     */
+    public MinuteColumn(int blocks) {
+        this.blocks = blocks;
+        sums = new long[blocks];
+        widths = new byte[blocks];
+        packed = new long[blocks][];
+    }
+
+    /**
+     * Adds to the value of a minute.
+     *
+     * @param minute the minute, counted from the epoch
+     * @param value the amount to add
+     */
+    public void add(long minute, long value) {
+        long block = Math.floorDiv(minute, BLOCK_MINUTES);
+        int offset = (int) Math.floorMod(minute, BLOCK_MINUTES);
+        if (block > openBlock) {
+            advance(block);
+        }
+        if (block == openBlock) {
+            open[offset] += value;
+        } else if (holdsSealed(block)) {
+            int slot = slot(block);
+            decode(slot, scratch);
+            scratch[offset] += value;
+            encode(slot, scratch);
+        }
+    }
+
+    /**
+     * Adds to or replaces the values of consecutive minutes, decoding each sealed hour touched once.
+     *
+     * @param fromMinute the first minute, counted from the epoch
+     * @param values the values
+     * @param offset the index of the value of {@code fromMinute}
+     * @param length the number of minutes
+     * @param replace whether the values replace the current ones rather than add to them
+     */
+    public void write(long fromMinute, long[] values, int offset, int length, boolean replace) {
+        long minute = fromMinute;
+        int index = offset;
+        int end = offset + length;
+        while (index < end) {
+            long block = Math.floorDiv(minute, BLOCK_MINUTES);
+            int from = (int) Math.floorMod(minute, BLOCK_MINUTES);
+            int count = Math.min(BLOCK_MINUTES - from, end - index);
+            if (block > openBlock) {
+                advance(block);
+            }
+            long[] target = block == openBlock ? open : null;
+            if (target == null && holdsSealed(block)) {
+                decode(slot(block), scratch);
+                target = scratch;
+            }
+            if (target != null) {
+                for (int i = 0; i < count; i++) {
+                    target[from + i] = replace ? values[index + i] : target[from + i] + values[index + i];
+                }
+                if (target == scratch) {
+                    encode(slot(block), scratch);
+                }
+            }
+            minute += count;
+            index += count;
+        }
+    }
+
+    /**
+     * Totals consecutive buckets of minutes. Minutes outside the window count as zero.
+     *
+     * @param fromMinute the first minute of the first bucket, counted from the epoch
+     * @param stepMinutes the number of minutes of each bucket
+     * @param out receives the total of each bucket; its length is the number of buckets
+     */
+    public void sum(long fromMinute, int stepMinutes, long[] out) {
+        Arrays.fill(out, 0);
+        long end = fromMinute + (long) stepMinutes * out.length;
+        long minute = fromMinute;
+        int bucket = 0;
+        long bucketEnd = fromMinute + stepMinutes;
+        while (minute < end) {
+            while (minute >= bucketEnd) {
+                bucket++;
+                bucketEnd += stepMinutes;
+            }
+            long block = Math.floorDiv(minute, BLOCK_MINUTES);
+            long blockStart = block * BLOCK_MINUTES;
+            long blockEnd = Math.min(blockStart + BLOCK_MINUTES, end);
+            if (block != openBlock && !holdsSealed(block)) {
+                minute = blockEnd;
+            } else if (block != openBlock && minute == blockStart && blockEnd == blockStart + BLOCK_MINUTES
+                    && blockEnd <= bucketEnd) {
+                out[bucket] += sums[slot(block)];
+                minute = blockEnd;
+            } else {
+                long[] values = open;
+                if (block != openBlock) {
+                    decode(slot(block), scratch);
+                    values = scratch;
+                }
+                for (; minute < blockEnd; minute++) {
+                    if (minute == bucketEnd) {
+                        bucket++;
+                        bucketEnd += stepMinutes;
+                    }
+                    out[bucket] += values[(int) (minute - blockStart)];
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the approximate number of bytes held, encoded hours and ring included
+     */
+    public long sizeInBytes() {
+        long size = (long) blocks * (Long.BYTES + 1 + 4) + 2L * BLOCK_MINUTES * Long.BYTES;
+        for (long[] words : packed) {
+            if (words != null) {
+                size += 16 + (long) words.length * Long.BYTES;
+            }
+        }
+        return size;
+    }
+
+    private boolean holdsSealed(long block) {
+        return block < openBlock && block >= openBlock - blocks;
+    }
+
+    private int slot(long block) {
+        return (int) Math.floorMod(block, blocks);
+    }
+
+    /**
+     * Seals the open block and opens a later one, clearing the hours skipped in between.
+     */
+    private void advance(long block) {
+        if (openBlock >= 0) {
+            for (long skipped = Math.max(openBlock + 1, block - blocks); skipped < block; skipped++) {
+                clear(slot(skipped));
+            }
+            if (openBlock >= block - blocks) {
+                encode(slot(openBlock), open);
+            }
+        }
+        Arrays.fill(open, 0);
+        openBlock = block;
+    }
+
+    private void clear(int slot) {
+        sums[slot] = 0;
+        widths[slot] = 0;
+        packed[slot] = null;
+    }
+
+    private void encode(int slot, long[] values) {
+        long sum = 0;
+        long previous = 0;
+        long bits = 0;
+        for (long value : values) {
+            sum += value;
+            bits |= zigzag(value - previous);
+            previous = value;
+        }
+        int width = Long.SIZE - Long.numberOfLeadingZeros(bits);
+        sums[slot] = sum;
+        widths[slot] = (byte) width;
+        if (width == 0) {
+            packed[slot] = null;
+            return;
+        }
+        int length = (BLOCK_MINUTES * width + Long.SIZE - 1) / Long.SIZE;
+        long[] words = packed[slot];
+        if (words == null || words.length != length) {
+            words = new long[length];
+        } else {
+            Arrays.fill(words, 0);
+        }
+        previous = 0;
+        for (int index = 0; index < BLOCK_MINUTES; index++) {
+            long delta = zigzag(values[index] - previous);
+            previous = values[index];
+            int bit = index * width;
+            int word = bit >>> 6;
+            int shift = bit & 63;
+            words[word] |= delta << shift;
+            if (shift + width > Long.SIZE) {
+                words[word + 1] |= delta >>> (Long.SIZE - shift);
+            }
+        }
+        packed[slot] = words;
+    }
+
+    private void decode(int slot, long[] values) {
+        int width = widths[slot];
+        if (width == 0) {
+            Arrays.fill(values, 0);
+            return;
+        }
+        long[] words = packed[slot];
+        long mask = width == Long.SIZE ? -1L : (1L << width) - 1;
+        long value = 0;
+        for (int index = 0; index < BLOCK_MINUTES; index++) {
+            int bit = index * width;
+            int word = bit >>> 6;
+            int shift = bit & 63;
+            long delta = words[word] >>> shift;
+            if (shift + width > Long.SIZE) {
+                delta |= words[word + 1] << (Long.SIZE - shift);
+            }
+            delta &= mask;
+            value += (delta >>> 1) ^ -(delta & 1);
+            values[index] = value;
+        }
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
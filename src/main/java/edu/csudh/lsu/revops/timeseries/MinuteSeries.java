@@ -0,0 +1,95 @@
+package edu.csudh.lsu.revops.timeseries;
+
+import edu.csudh.lsu.revops.model.UsageMetric;
+
+/**
+ * <p>
+ * The {@code MinuteSeries} class holds the per-minute usage of one series, such as one station, as one
+ * {@link MinuteColumn} per {@link UsageMetric}.
+ * </p>
+ *
+ * <p>
+ * All methods are synchronized; writes arrive at the rate sessions start and end.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+public class MinuteSeries {
+
+    private static final UsageMetric[] METRICS = UsageMetric.values();
+
+    private final MinuteColumn[] columns = new MinuteColumn[METRICS.length];
+
+    /**
+     * @param blocks the number of sealed hours kept besides the current one
+     */
+    public MinuteSeries(int blocks) {
+        for (int index = 0; index < columns.length; index++) {
+            columns[index] = new MinuteColumn(blocks);
+        }
+    }
+
+    /**
+     * Adds to a minute.
+     *
+     * @param minute the minute, counted from the epoch
+     * @param sessions the sessions started
+     * @param billedMinutes the minutes billed
+     * @param revenueCents the revenue
+     */
+    public synchronized void add(long minute, long sessions, long billedMinutes, long revenueCents) {
+        if (sessions != 0) {
+            columns[UsageMetric.SESSIONS.ordinal()].add(minute, sessions);
+        }
+        if (billedMinutes != 0) {
+            columns[UsageMetric.BILLED_MINUTES.ordinal()].add(minute, billedMinutes);
+        }
+        if (revenueCents != 0) {
+            columns[UsageMetric.REVENUE_CENTS.ordinal()].add(minute, revenueCents);
+        }
+    }
+
+    /**
+     * Adds to or replaces consecutive minutes of every metric.
+     *
+     * @param fromMinute the first minute, counted from the epoch
+     * @param values the values of each metric in {@code UsageMetric} order, {@code minutes} values each
+     * @param minutes the number of minutes
+     * @param replace whether the values replace the current ones rather than add to them
+     */
+    public synchronized void write(long fromMinute, long[] values, int minutes, boolean replace) {
+        for (int index = 0; index < columns.length; index++) {
+            columns[index].write(fromMinute, values, index * minutes, minutes, replace);
+        }
+    }
+
+    /**
+     * Totals consecutive buckets of minutes of one metric.
+     *
+     * @param metric the metric
+     * @param fromMinute the first minute of the first bucket, counted from the epoch
+     * @param stepMinutes the number of minutes of each bucket
+     * @param out receives the total of each bucket
+     */
+    public synchronized void sum(UsageMetric metric, long fromMinute, int stepMinutes, long[] out) {
+        columns[metric.ordinal()].sum(fromMinute, stepMinutes, out);
+    }
+
+    /**
+     * @return the approximate number of bytes held
+     */
+    public synchronized long sizeInBytes() {
+        long size = 0;
+        for (MinuteColumn column : columns) {
+            size += column.sizeInBytes();
+        }
+        return size;
+    }
+}
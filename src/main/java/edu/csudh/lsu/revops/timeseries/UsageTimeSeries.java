@@ -0,0 +1,265 @@
+package edu.csudh.lsu.revops.timeseries;
+
+import edu.csudh.lsu.revops.dao.UsageRollupDAO;
+import edu.csudh.lsu.revops.model.*;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>
+ * The {@code UsageTimeSeries} class keeps the per-minute usage and revenue of the last {@code timeseries.retentionDays}
+ * in memory, for all stations together, per category and per station, and answers the dashboard charts from it.
+ * </p>
+ *
+ * <p>
+ * Each series is a {@link MinuteSeries} of delta-encoded {@link MinuteColumn}s. On startup the series are loaded one
+ * day at a time from the minute rollups of {@code activity_session}, up to the minute the node started; from that
+ * minute on they are appended to by the session events of this node. Every {@code timeseries.resyncIntervalMs}
+ * the last {@code timeseries.resyncMinutes} minutes that are older than {@code timeseries.settleMs} are rolled up
+ * again and replace what is in memory, which adds the sessions started and ended through other nodes.
+ * </p>
+ *
+ * <p>
+ * Charts are totals over buckets of whole minutes, computed into a {@code long[]} without touching the database.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class UsageTimeSeries {
+
+    private static final String ALL = "";
+    private static final String CATEGORY_PREFIX = "category:";
+    private static final String STATION_PREFIX = "station:";
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final int METRICS = UsageMetric.values().length;
+
+    @Autowired
+    private UsageRollupDAO usageRollupDAO;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${timeseries.retentionDays:90}")
+    private int retentionDays;
+
+    @Value("${timeseries.resyncMinutes:15}")
+    private int resyncMinutes;
+
+    @Value("${timeseries.settleMs:120000}")
+    private long settleMs;
+
+    @Value("${timeseries.maxPoints:1500}")
+    private int maxPoints;
+
+    private final Clock clock = Clock.systemUTC();
+
+    private final Map<String, MinuteSeries> series = new ConcurrentHashMap<>();
+
+    // First minute counted from session events; earlier minutes come from the startup load
+    private long liveFrom;
+
+    /**
+     * Registers the metrics of the store.
+     */
+    @PostConstruct
+    public void init() {
+        liveFrom = minuteOf(clock.instant());
+        Gauge.builder("revops.timeseries.series", series, Map::size)
+                .description("Usage series held in memory")
+                .register(meterRegistry);
+        Gauge.builder("revops.timeseries.bytes", this, UsageTimeSeries::sizeInBytes)
+                .description("Approximate memory held by the usage series")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Loads the usage before the node started once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long loadFrom = liveFrom - (long) retentionDays * MINUTES_PER_DAY;
+        long loaded = 0;
+        try {
+            for (long chunk = loadFrom; chunk < liveFrom; chunk += MINUTES_PER_DAY) {
+                int minutes = (int) Math.min(MINUTES_PER_DAY, liveFrom - chunk);
+                List<UsageRollup> rollups = usageRollupDAO.fetchMinuteRollups(instantOf(chunk), instantOf(chunk + minutes));
+                apply(rollups, chunk, minutes, false);
+                loaded += rollups.size();
+            }
+            log.info("Loaded {} minute rollups into {} usage series ({} bytes).", loaded, series.size(), sizeInBytes());
+        } catch (Exception ex) {
+            log.error("Unable to load the usage history; charts start at {}.", instantOf(liveFrom), ex);
+        }
+    }
+
+    /**
+     * Counts a started or ended session in the minute it happened.
+     *
+     * @param event the session event published by the {@code StationSessionRegistry}
+     */
+    @EventListener
+    public void onStationSessionEvent(StationSessionEvent event) {
+        StationSession session = event.getSession();
+        StationSessionEventType type = event.getType();
+        if (type == StationSessionEventType.STARTED) {
+            add(session, minuteOf(session.getStartedAt()), 1, 0, 0);
+        } else if (type == StationSessionEventType.ENDED || type == StationSessionEventType.EXPIRED) {
+            SessionQuote quote = event.getQuote();
+            if (quote != null) {
+                add(session, minuteOf(event.getOccurredAt()), 0, quote.getBilledMinutes(), quote.getAmountCents());
+            }
+        }
+    }
+
+    /**
+     * Replaces the recent minutes with the rollups of the database, which include the writes of other nodes.
+     */
+    @Scheduled(fixedDelayString = "${timeseries.resyncIntervalMs:60000}", initialDelayString = "${timeseries.resyncIntervalMs:60000}")
+    public void resync() {
+        long to = minuteOf(clock.instant().minusMillis(settleMs));
+        long from = Math.max(liveFrom, to - resyncMinutes);
+        if (from >= to) {
+            return;
+        }
+        try {
+            apply(usageRollupDAO.fetchMinuteRollups(instantOf(from), instantOf(to)), from, (int) (to - from), true);
+        } catch (Exception ex) {
+            log.error("Resynchronizing the usage series from {} to {} failed.", instantOf(from), instantOf(to), ex);
+        }
+    }
+
+    /**
+     * Totals a metric over consecutive buckets of minutes.
+     *
+     * @param metric the metric
+     * @param from the start of the range, rounded down to the minute, or to the hour for buckets of whole hours
+     * @param to the end of the range, rounded up to the minute; the last bucket may end after it
+     * @param stepMinutes the number of minutes of each bucket
+     * @param category a category, or {@code null}
+     * @param stationId a station, or {@code null}; at most one of category and station may be given
+     * @return the series, all zero if nothing was recorded for the category or station
+     * @throws IllegalArgumentException if the range is empty, the step is not positive, both a category and a station
+     *                                  are given, or the series would have more than {@code timeseries.maxPoints} points
+     */
+    public UsageSeries series(UsageMetric metric, Instant from, Instant to, int stepMinutes, String category,
+                              String stationId) {
+        if (category != null && stationId != null) {
+            throw new IllegalArgumentException("A series is for a category or a station, not both");
+        }
+        if (stepMinutes < 1) {
+            throw new IllegalArgumentException("The step must be at least one minute");
+        }
+        long fromMinute = minuteOf(from);
+        if (stepMinutes % MinuteColumn.BLOCK_MINUTES == 0) {
+            // Buckets of whole hours start on the hour, so they are totalled from the hourly sums
+            fromMinute = Math.floorDiv(fromMinute, MinuteColumn.BLOCK_MINUTES) * MinuteColumn.BLOCK_MINUTES;
+        }
+        long minutes = Math.floorDiv(to.getEpochSecond() + 59, 60) - fromMinute;
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("The range ends before it starts");
+        }
+        long points = (minutes + stepMinutes - 1) / stepMinutes;
+        if (points > maxPoints) {
+            throw new IllegalArgumentException("A series is limited to " + maxPoints + " points");
+        }
+        long[] values = new long[(int) points];
+        MinuteSeries minuteSeries = series.get(category != null ? CATEGORY_PREFIX + category
+                : stationId != null ? STATION_PREFIX + stationId : ALL);
+        if (minuteSeries != null) {
+            minuteSeries.sum(metric, fromMinute, stepMinutes, values);
+        }
+        long total = 0;
+        for (long value : values) {
+            total += value;
+        }
+        return new UsageSeries(metric, category, stationId, instantOf(fromMinute),
+                instantOf(fromMinute + points * stepMinutes), stepMinutes, total, values);
+    }
+
+    private void add(StationSession session, long minute, long sessions, long billedMinutes, long revenueCents) {
+        if (minute < liveFrom) {
+            // Counted by the startup load
+            return;
+        }
+        for (String key : keys(session.getCategory(), session.getStationId())) {
+            series(key).add(minute, sessions, billedMinutes, revenueCents);
+        }
+    }
+
+    /**
+     * Adds or replaces consecutive minutes of every series the rollups touch.
+     */
+    private void apply(List<UsageRollup> rollups, long fromMinute, int minutes, boolean replace) {
+        Map<String, long[]> values = new HashMap<>();
+        for (UsageRollup rollup : rollups) {
+            int index = (int) (minuteOf(rollup.getMinute()) - fromMinute);
+            if (index < 0 || index >= minutes) {
+                continue;
+            }
+            for (String key : keys(rollup.getCategory(), rollup.getStationId())) {
+                long[] columns = values.computeIfAbsent(key, k -> new long[METRICS * minutes]);
+                columns[UsageMetric.SESSIONS.ordinal() * minutes + index] += rollup.getSessions();
+                columns[UsageMetric.BILLED_MINUTES.ordinal() * minutes + index] += rollup.getBilledMinutes();
+                columns[UsageMetric.REVENUE_CENTS.ordinal() * minutes + index] += rollup.getRevenueCents();
+            }
+        }
+        values.forEach((key, columns) -> series(key).write(fromMinute, columns, minutes, replace));
+    }
+
+    private MinuteSeries series(String key) {
+        return series.computeIfAbsent(key, k -> new MinuteSeries(retentionDays * 24));
+    }
+
+    private long sizeInBytes() {
+        long size = 0;
+        for (MinuteSeries minuteSeries : series.values()) {
+            size += minuteSeries.sizeInBytes();
+        }
+        return size;
+    }
+
+    private static List<String> keys(String category, String stationId) {
+        List<String> keys = new ArrayList<>(3);
+        keys.add(ALL);
+        if (category != null) {
+            keys.add(CATEGORY_PREFIX + category);
+        }
+        if (stationId != null) {
+            keys.add(STATION_PREFIX + stationId);
+        }
+        return keys;
+    }
+
+    private static long minuteOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), 60);
+    }
+
+    private static Instant instantOf(long minute) {
+        return Instant.ofEpochSecond(minute * 60);
+    }
+}
@@ -1,11 +1,14 @@
 package edu.csudh.lsu.revops.utils;
 
 import edu.csudh.lsu.persistence.model.activity.Activity;
+import edu.csudh.lsu.revops.model.ActivityChangeEvent;
+import edu.csudh.lsu.revops.model.ActivityChangeType;
 import edu.csudh.lsu.revops.model.ActivityResponse;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.Map;
 
@@ -89,6 +92,25 @@ public class ActivityHelper {
         return activity;
     }
 
+    /**
+     * Builds the {@code ActivityChangeEvent} recorded in the outbox for a write of the given {@code Activity}.
+     *
+     * @param activity The {@code Activity} entity as it was written.
+     * @param changeType The kind of write that was performed.
+     * @return {@code ActivityChangeEvent} The event describing the state of the activity after the write.
+     */
+    public static ActivityChangeEvent toChangeEvent(Activity activity, ActivityChangeType changeType) {
+        return ActivityChangeEvent.builder()
+                .activityId(activity.getId())
+                .changeType(changeType)
+                .activity(activity.getActivity())
+                .category(activity.getCategory())
+                .price(activity.getPrice())
+                .imageLocation(activity.getImageLocation())
+                .occurredAt(Instant.now())
+                .build();
+    }
+
     /**
      * Parses a date string to create a {@code Timestamp} for the {@code createdTime} field using {@code DateUtil}.
      *
@@ -118,27 +140,35 @@ public class ActivityHelper {
      *
      * @param activity The existing {@code Activity} entity to update.
      * @param updates A map of field names and values to update.
+     * @throws IllegalArgumentException if a field is unknown or its value has the wrong type.
      */
     public static void applyUpdates(Activity activity, Map<String, Object> updates) {
-        // Example logic for applying updates to the Activity entity
         updates.forEach((field, value) -> {
-            switch (field) {
-                case "activity":
-                    activity.setActivity((String) value);
-                    break;
-                case "category":
-                    activity.setCategory((String) value);
-                    break;
-                case "price":
-                    activity.setPrice((Integer) value);
-                    break;
-                case "imageLocation":
-                    activity.setImageLocation((String) value);
-                    break;
-                // Add more cases for other fields that can be updated
-                default:
-                    throw new IllegalArgumentException("Unknown field: " + field);
+            try {
+                applyUpdate(activity, field, value);
+            } catch (ClassCastException ex) {
+                throw new IllegalArgumentException("Invalid value for field " + field + ": " + value, ex);
             }
         });
     }
+
+    private static void applyUpdate(Activity activity, String field, Object value) {
+        switch (field) {
+            case "activity":
+                activity.setActivity((String) value);
+                break;
+            case "category":
+                activity.setCategory((String) value);
+                break;
+            case "price":
+                activity.setPrice((Integer) value);
+                break;
+            case "imageLocation":
+                activity.setImageLocation((String) value);
+                break;
+            // Add more cases for other fields that can be updated
+            default:
+                throw new IllegalArgumentException("Unknown field: " + field);
+        }
+    }
 }
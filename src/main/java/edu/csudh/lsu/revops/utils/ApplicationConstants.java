@@ -41,6 +41,10 @@ public class ApplicationConstants {
     public static final String DATA_SOURCE = "data-source";
     public static final String DB_CONNECTION = "DB Connection";
     public static final String MESSAGE = "message";
+    public static final String OUTBOX = "outbox";
+    public static final String OUTBOX_RELAY = "Outbox Relay";
+    public static final String JOURNAL = "journal";
+    public static final String OUTAGE_JOURNAL = "Outage Journal";
     public static final String FAILED = "FAILED";
     public static final String REGISTERED = "REGISTERED";
     public static final String PROCESSING = "PROCESSING";
@@ -54,4 +58,9 @@ public class ApplicationConstants {
     public static final String IGNORED = "IGNORED";
     public static final String THE_RECORD_IS_DUPLICATE = "The record is duplicate";
 
+    /**
+     * Result of an activity write that was registered in the outage journal instead of being applied.
+     */
+    public static final int WRITE_REGISTERED = 2;
+
 }
@@ -0,0 +1,91 @@
+package edu.csudh.lsu.revops.venue;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * <p>
+ * The {@code Venues} class knows the venues served by this deployment, such as the game room, the bowling lanes and
+ * the esports lab, and resolves the venue key of a request.
+ * </p>
+ *
+ * <p>
+ * Every activity belongs to one venue, and the catalog is read, cached, invalidated and measured per venue. Only the
+ * venues listed in {@code venues.ids} are accepted, so the per-venue caches and meters stay bounded whatever keys
+ * clients send. Requests without a venue are served for {@code venues.default}, which is where the activities
+ * created before venues existed live.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class Venues {
+
+    @Value("${venues.ids:game-room}")
+    private List<String> ids;
+
+    @Value("${venues.default:game-room}")
+    private String defaultVenue;
+
+    /**
+     * Normalizes the configured venues and checks that the default venue is one of them.
+     */
+    @PostConstruct
+    public void init() {
+        ids = ids.stream().map(Venues::normalize).distinct().toList();
+        defaultVenue = normalize(defaultVenue);
+        if (!ids.contains(defaultVenue)) {
+            throw new IllegalStateException("venues.default " + defaultVenue + " is not one of venues.ids " + ids);
+        }
+        log.info("Serving venues {}; requests without a venue go to {}.", ids, defaultVenue);
+    }
+
+    /**
+     * Resolves the venue key of a request.
+     *
+     * @param venue the venue sent by the client, may be {@code null}
+     * @return the venue, or the default venue if none was sent
+     * @throws IllegalArgumentException if the venue is not served by this deployment
+     */
+    public String resolve(String venue) {
+        if (venue == null || venue.isBlank()) {
+            return defaultVenue;
+        }
+        String normalized = normalize(venue);
+        if (!ids.contains(normalized)) {
+            throw new IllegalArgumentException("Unknown venue: " + venue);
+        }
+        return normalized;
+    }
+
+    /**
+     * @return the venues served by this deployment
+     */
+    public List<String> ids() {
+        return ids;
+    }
+
+    /**
+     * @return the venue of requests that do not name one
+     */
+    public String defaultVenue() {
+        return defaultVenue;
+    }
+
+    private static String normalize(String venue) {
+        return venue.trim().toLowerCase(Locale.ROOT);
+    }
+}
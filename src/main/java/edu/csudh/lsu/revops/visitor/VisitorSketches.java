@@ -0,0 +1,169 @@
+package edu.csudh.lsu.revops.visitor;
+
+import edu.csudh.lsu.revops.dao.VisitorSketchDAO;
+import edu.csudh.lsu.revops.model.*;
+import edu.csudh.lsu.revops.session.ShiftCalendar;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * <p>
+ * The {@code VisitorSketches} class maintains the unique visitor sketches and answers unique visitor counts from
+ * them.
+ * </p>
+ *
+ * <p>
+ * Every session start with a member ID adds the member to four {@link HyperLogLog} sketches: those of its shift and
+ * of its business day, each for its category and for all categories together. The sketches are collected in memory
+ * and merged into {@code visitor_sketch} every {@code visitors.flushIntervalMs}; a flush that fails is kept and merged
+ * with the next one. Counts therefore lag the session starts by up to one flush interval.
+ * </p>
+ *
+ * <p>
+ * Uniques over a week, a month or a semester are the merge of the day sketches of the range, a few hundred
+ * kilobytes at most, so no query counts distinct members over the session history. Estimates carry the relative
+ * standard error of the sketches, {@code 1.04 / sqrt(2^visitors.precision)}.
+ * </p>
+ *
+ * <p>
+ * Created by: Digvijay Hethur Jagadeesha
+ * Date: October 18 2026
+ * </p>
+ *
+ * <p>
+ * All Rights Reserved by Loker Student Union, Inc at California State University Dominguez Hills from 2024.
+ * </p>
+ */
+@Slf4j
+@Component
+public class VisitorSketches {
+
+    @Autowired
+    private VisitorSketchDAO visitorSketchDAO;
+
+    @Autowired
+    private ShiftCalendar shiftCalendar;
+
+    @Value("${visitors.precision:12}")
+    private int precision;
+
+    private Map<VisitorSketchKey, HyperLogLog> pending = new HashMap<>();
+
+    /**
+     * Adds the member of a started session to the sketches of its shift and day.
+     *
+     * @param event the session event
+     */
+    @EventListener
+    public void onStationSessionEvent(StationSessionEvent event) {
+        StationSession session = event.getSession();
+        if (event.getType() != StationSessionEventType.STARTED || session.getMemberId() == null) {
+            return;
+        }
+        long hash = HyperLogLog.hash(session.getMemberId());
+        Instant shiftStart = shiftCalendar.shiftStart(session.getStartedAt());
+        Instant dayStart = shiftCalendar.dayStart(shiftCalendar.businessDay(session.getStartedAt()));
+        List<String> categories = session.getCategory() == null
+                ? List.of(VisitorSketchKey.ALL_CATEGORIES)
+                : List.of(VisitorSketchKey.ALL_CATEGORIES, session.getCategory());
+        synchronized (this) {
+            for (String category : categories) {
+                add(new VisitorSketchKey(SketchGranularity.SHIFT, shiftStart, category), hash);
+                add(new VisitorSketchKey(SketchGranularity.DAY, dayStart, category), hash);
+            }
+        }
+    }
+
+    /**
+     * Merges the visitors collected since the last flush into the stored sketches.
+     */
+    @Scheduled(fixedDelayString = "${visitors.flushIntervalMs:10000}")
+    @PreDestroy
+    public void flush() {
+        Map<VisitorSketchKey, HyperLogLog> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+        try {
+            visitorSketchDAO.mergeSketches(batch);
+        } catch (Exception ex) {
+            log.error("Storing {} visitor sketches failed; they are kept for the next flush.", batch.size(), ex);
+            synchronized (this) {
+                batch.forEach((key, sketch) -> pending.merge(key, sketch, (current, failed) -> {
+                    current.merge(failed);
+                    return current;
+                }));
+            }
+        }
+    }
+
+    /**
+     * Estimates the distinct members over a range of business days.
+     *
+     * @param from the first day
+     * @param to the last day, inclusive
+     * @param category a category, or {@code null} for all categories
+     * @return the estimate
+     */
+    public UniqueVisitors uniques(LocalDate from, LocalDate to, String category) {
+        Instant start = shiftCalendar.dayStart(from);
+        Instant end = shiftCalendar.dayStart(to.plusDays(1));
+        Map<VisitorSketchKey, HyperLogLog> sketches = visitorSketchDAO.fetchSketches(SketchGranularity.DAY, start, end,
+                category == null ? VisitorSketchKey.ALL_CATEGORIES : category);
+        return estimate(category, start, end, sketches.values());
+    }
+
+    /**
+     * Estimates the distinct members of each shift, day or category over a range of business days.
+     *
+     * @param from the first day
+     * @param to the last day, inclusive
+     * @param by {@code SHIFT} or {@code DAY} for one estimate per bucket over all categories, or {@code null} for one
+     *           estimate per category over the whole range
+     * @return the estimates, by bucket or by category
+     */
+    public List<UniqueVisitors> breakdown(LocalDate from, LocalDate to, SketchGranularity by) {
+        Instant start = shiftCalendar.dayStart(from);
+        Instant end = shiftCalendar.dayStart(to.plusDays(1));
+        List<UniqueVisitors> breakdown = new ArrayList<>();
+        if (by == null) {
+            Map<String, List<HyperLogLog>> byCategory = new TreeMap<>();
+            visitorSketchDAO.fetchCategorySketches(SketchGranularity.DAY, start, end).forEach((key, sketch) ->
+                    byCategory.computeIfAbsent(key.getCategory(), category -> new ArrayList<>()).add(sketch));
+            byCategory.forEach((category, sketches) -> breakdown.add(estimate(category, start, end, sketches)));
+            return breakdown;
+        }
+        visitorSketchDAO.fetchSketches(by, start, end, VisitorSketchKey.ALL_CATEGORIES).forEach((key, sketch) -> {
+            Instant bucketEnd = by == SketchGranularity.SHIFT
+                    ? shiftCalendar.shiftEnd(key.getBucketStart())
+                    : shiftCalendar.dayStart(shiftCalendar.businessDay(key.getBucketStart()).plusDays(1));
+            breakdown.add(estimate(null, key.getBucketStart(), bucketEnd, List.of(sketch)));
+        });
+        return breakdown;
+    }
+
+    private UniqueVisitors estimate(String category, Instant from, Instant to, Collection<HyperLogLog> sketches) {
+        HyperLogLog merged = new HyperLogLog(precision);
+        for (HyperLogLog sketch : sketches) {
+            merged.merge(sketch);
+        }
+        return new UniqueVisitors(category, from, to, merged.estimate(), merged.relativeStandardError(), sketches.size());
+    }
+
+    private void add(VisitorSketchKey key, long hash) {
+        pending.computeIfAbsent(key, k -> new HyperLogLog(precision)).addHash(hash);
+    }
+}
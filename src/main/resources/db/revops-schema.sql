@@ -0,0 +1,185 @@
+-- Tables owned by the RevOps service. The activity table itself is managed by the
+-- csudh-lsu-cockroachdb-persistance entities through Hibernate's ddl-auto, so this
+-- script only adds what the service needs on top of it. Every statement must stay
+-- idempotent because it runs on each startup (see spring.sql.init in application.yml).
+
+-- Transactional outbox: one row per ActivityDAO write, appended in the write's transaction
+-- and drained to Kafka by the OutboxRelay.
+CREATE TABLE IF NOT EXISTS activity_outbox (
+    id           BIGSERIAL PRIMARY KEY,
+    aggregate_id UUID        NOT NULL,
+    event_type   VARCHAR(32) NOT NULL,
+    payload      TEXT        NOT NULL,
+    created_at   TIMESTAMPTZ NOT NULL DEFAULT now(),
+    published_at TIMESTAMPTZ
+);
+
+-- The relay claims rows in change_version order, the order in which the writes of one activity committed, and leases
+-- them through claimed_by and claimed_until so that no lock is held while Kafka is awaited (see ActivityOutboxDAO).
+ALTER TABLE activity_outbox ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE activity_outbox ADD COLUMN IF NOT EXISTS claimed_by UUID;
+ALTER TABLE activity_outbox ADD COLUMN IF NOT EXISTS claimed_until TIMESTAMPTZ;
+
+-- Superseded by idx_activity_outbox_unpublished_version, since the relay no longer claims in id order.
+DROP INDEX IF EXISTS idx_activity_outbox_unpublished;
+
+CREATE INDEX IF NOT EXISTS idx_activity_outbox_unpublished_version
+    ON activity_outbox (change_version, id) WHERE published_at IS NULL;
+
+CREATE INDEX IF NOT EXISTS idx_activity_outbox_unpublished_aggregate
+    ON activity_outbox (aggregate_id, change_version, id) WHERE published_at IS NULL;
+
+-- Delta sync: every ActivityDAO write stamps the row with the next change version, and soft deletes
+-- flip status to DISABLE instead of removing the row, so kiosks can ask for everything after a cursor.
+CREATE SEQUENCE IF NOT EXISTS activity_change_version_seq;
+
+ALTER TABLE activity ADD COLUMN IF NOT EXISTS change_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE activity ADD COLUMN IF NOT EXISTS changed_at TIMESTAMPTZ;
+ALTER TABLE activity ADD COLUMN IF NOT EXISTS status VARCHAR(16) NOT NULL DEFAULT 'ENABLE';
+
+-- Superseded by idx_activity_venue_change_version, since every change_version query filters on the venue.
+DROP INDEX IF EXISTS idx_activity_change_version;
+
+-- Give rows written before delta sync existed their own versions, so a cursor can page through them. This runs on
+-- every startup; the partial index only holds unstamped rows, which every write stamps, so once the backfill is done
+-- it is empty and the UPDATE finds nothing without scanning the table.
+CREATE INDEX IF NOT EXISTS idx_activity_unstamped ON activity (id) WHERE change_version = 0;
+UPDATE activity SET change_version = nextval('activity_change_version_seq') WHERE change_version = 0;
+
+-- Venues: every activity belongs to one venue (venues.ids in application.yml) and all catalog reads filter on it.
+-- Rows written before venues existed belong to the game room. The indexes lead with the venue so the catalog and
+-- delta sync queries of one venue only ever scan that venue's rows.
+ALTER TABLE activity ADD COLUMN IF NOT EXISTS venue VARCHAR(32) NOT NULL DEFAULT 'game-room';
+
+CREATE INDEX IF NOT EXISTS idx_activity_venue_catalog ON activity (venue, status, category, activity);
+CREATE INDEX IF NOT EXISTS idx_activity_venue_change_version ON activity (venue, change_version);
+
+-- On a multi-region CockroachDB cluster, operators can also home each venue's rows in the region of the venue.
+-- These statements need a multi-region database and are therefore run by hand, once per deployment:
+--   ALTER DATABASE revops SET PRIMARY REGION "us-west1";
+--   ALTER DATABASE revops ADD REGION "us-west2";
+--   ALTER TABLE activity ADD COLUMN crdb_region crdb_internal_region NOT VISIBLE NOT NULL
+--       AS (CASE venue WHEN 'esports' THEN 'us-west2' ELSE 'us-west1' END) STORED;
+--   ALTER TABLE activity SET LOCALITY REGIONAL BY ROW AS crdb_region;
+
+-- Time-of-day pricing: compiled into a RateTable by the PricingEngine. Minutes are minutes of the local day,
+-- weekday is ISO (1 = Monday), and NULL in category, weekday or member_type matches everything.
+CREATE TABLE IF NOT EXISTS pricing_rule (
+    id                        UUID PRIMARY KEY,
+    category                  VARCHAR(255),
+    weekday                   SMALLINT CHECK (weekday BETWEEN 1 AND 7),
+    start_minute              INT         NOT NULL CHECK (start_minute BETWEEN 0 AND 1439),
+    end_minute                INT         NOT NULL CHECK (end_minute BETWEEN 0 AND 1440),
+    member_type               VARCHAR(16),
+    hourly_rate_cents         INT         NOT NULL CHECK (hourly_rate_cents >= 0),
+    billing_increment_minutes INT         NOT NULL DEFAULT 1 CHECK (billing_increment_minutes >= 1),
+    priority                  INT         NOT NULL DEFAULT 0
+);
+
+-- Station sessions: the StationSessionRegistry keeps running sessions in memory and writes the row when a session
+-- starts, is extended and ends. The partial unique index allows one open session per station across nodes and serves
+-- the lookups of a station's open session by nodes that do not hold it.
+CREATE TABLE IF NOT EXISTS activity_session (
+    id             UUID PRIMARY KEY,
+    station_id     VARCHAR(64) NOT NULL,
+    activity_id    UUID,
+    category       VARCHAR(255),
+    member_id      VARCHAR(64),
+    member_type    VARCHAR(16),
+    started_at     TIMESTAMPTZ NOT NULL,
+    expires_at     TIMESTAMPTZ NOT NULL,
+    ended_at       TIMESTAMPTZ,
+    end_reason     VARCHAR(16),
+    billed_minutes INT,
+    amount_cents   BIGINT,
+    rules_version  BIGINT
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_activity_session_open_station
+    ON activity_session (station_id) WHERE ended_at IS NULL;
+
+-- Keyset scans over ended sessions (nightly reconciliation, exports).
+CREATE INDEX IF NOT EXISTS idx_activity_session_ended ON activity_session (ended_at, id);
+
+-- Minute rollups of started sessions for the dashboard time series (UsageTimeSeries).
+CREATE INDEX IF NOT EXISTS idx_activity_session_started ON activity_session (started_at);
+
+-- Stored shift totals: every session end adds its charge in the same transaction. The nightly reconciliation
+-- recomputes each shift from activity_session and marks shifts that disagree as FAILED_MANUAL for staff review.
+CREATE TABLE IF NOT EXISTS shift_total (
+    shift_start               TIMESTAMPTZ PRIMARY KEY,
+    sessions                  BIGINT      NOT NULL DEFAULT 0,
+    billed_minutes            BIGINT      NOT NULL DEFAULT 0,
+    revenue_cents             BIGINT      NOT NULL DEFAULT 0,
+    updated_at                TIMESTAMPTZ NOT NULL DEFAULT now(),
+    reconcile_status          VARCHAR(16),
+    reconciled_at             TIMESTAMPTZ,
+    recomputed_sessions       BIGINT,
+    recomputed_billed_minutes BIGINT,
+    recomputed_revenue_cents  BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_shift_total_status ON shift_total (reconcile_status);
+
+-- Writes of the outage journal that were replayed. A replayed write inserts its id in the same transaction as the
+-- write itself, so replaying it again after a crash is a no-op.
+CREATE TABLE IF NOT EXISTS journal_replay (
+    write_id    UUID PRIMARY KEY,
+    replayed_at TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+-- Student profiles looked up at the counter. The ProfileSearchIndex keeps every enabled profile in memory and
+-- follows change_version to pick up writes made through other nodes; searches never touch this table.
+CREATE SEQUENCE IF NOT EXISTS student_profile_change_version_seq;
+
+CREATE TABLE IF NOT EXISTS student_profile (
+    student_id     VARCHAR(64)  PRIMARY KEY,
+    first_name     VARCHAR(255) NOT NULL,
+    last_name      VARCHAR(255) NOT NULL,
+    member_type    VARCHAR(16)  NOT NULL DEFAULT 'STUDENT',
+    status         VARCHAR(16)  NOT NULL DEFAULT 'ENABLE',
+    change_version BIGINT       NOT NULL DEFAULT nextval('student_profile_change_version_seq'),
+    changed_at     TIMESTAMPTZ  NOT NULL DEFAULT clock_timestamp()
+);
+
+CREATE INDEX IF NOT EXISTS idx_student_profile_change_version ON student_profile (change_version);
+
+-- Unique visitors: one HyperLogLog sketch of member IDs per shift or business day and category, where the category ''
+-- holds every category. Uniques over any range are the merge of its sketches, never a COUNT(DISTINCT).
+CREATE TABLE IF NOT EXISTS visitor_sketch (
+    granularity  VARCHAR(8)   NOT NULL,
+    bucket_start TIMESTAMPTZ  NOT NULL,
+    category     VARCHAR(255) NOT NULL,
+    sketch       BYTEA        NOT NULL,
+    updated_at   TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    PRIMARY KEY (granularity, bucket_start, category)
+);
+
+-- Station reservations made ahead of time. The ReservationBook keeps the confirmed reservations that have not ended
+-- in memory per station and follows change_version to pick up bookings made through other nodes. A booking checks
+-- for overlapping confirmed reservations and inserts in one transaction, explicitly SERIALIZABLE whatever the cluster
+-- default, so two nodes cannot both book the same time.
+CREATE SEQUENCE IF NOT EXISTS station_reservation_change_version_seq;
+
+CREATE TABLE IF NOT EXISTS station_reservation (
+    id             UUID         PRIMARY KEY,
+    group_id       UUID         NOT NULL,
+    station_id     VARCHAR(64)  NOT NULL,
+    member_id      VARCHAR(64),
+    type           VARCHAR(16)  NOT NULL,
+    title          VARCHAR(255),
+    starts_at      TIMESTAMPTZ  NOT NULL,
+    ends_at        TIMESTAMPTZ  NOT NULL,
+    status         VARCHAR(16)  NOT NULL DEFAULT 'CONFIRMED',
+    change_version BIGINT       NOT NULL DEFAULT nextval('station_reservation_change_version_seq'),
+    changed_at     TIMESTAMPTZ  NOT NULL DEFAULT clock_timestamp(),
+    CHECK (ends_at > starts_at)
+);
+
+CREATE INDEX IF NOT EXISTS idx_station_reservation_confirmed
+    ON station_reservation (station_id, starts_at) WHERE status = 'CONFIRMED';
+
+CREATE INDEX IF NOT EXISTS idx_station_reservation_upcoming
+    ON station_reservation (ends_at) WHERE status = 'CONFIRMED';
+
+CREATE INDEX IF NOT EXISTS idx_station_reservation_change_version ON station_reservation (change_version);
@@ -0,0 +1,162 @@
+package edu.csudh.lsu.revops.cache
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import javax.imageio.ImageIO
+import java.awt.image.BufferedImage
+import java.nio.file.Files
+import java.nio.file.Path
+
+class ActivityImageCacheSpec extends Specification {
+
+    @TempDir
+    Path directory
+
+    ActivityImageCache cache = new ActivityImageCache()
+
+    def setup() {
+        cache.meterRegistry = new SimpleMeterRegistry()
+        cache.directory = directory.toString()
+        cache.maxBytes = 100
+        cache.maxWidth = 480
+        cache.maxHeight = 480
+        cache.fetchTimeoutMs = 1000
+        cache.fetchMaxBytes = 10_485_760
+        cache.fetchMaxPixels = 1_000
+        cache.baseUrl = 'https://cdn.example.edu/revops/images'
+        cache.allowedHosts = [' images.example.edu ', '']
+        cache.deleteGraceMs = 60_000
+        cache.init()
+    }
+
+    @Unroll
+    def "fetches #location from #expected"() {
+        expect:
+        cache.resolve(location) == URI.create(expected)
+
+        where:
+        location                                             | expected
+        'bowling.png'                                        | 'https://cdn.example.edu/revops/images/bowling.png'
+        'https://cdn.example.edu/revops/images/a/b.png'      | 'https://cdn.example.edu/revops/images/a/b.png'
+        'https://cdn.example.edu:443/revops/images/b.png'    | 'https://cdn.example.edu:443/revops/images/b.png'
+        'https://IMAGES.example.edu/any/path.jpg'            | 'https://IMAGES.example.edu/any/path.jpg'
+        'http://images.example.edu/any/path.jpg'             | 'http://images.example.edu/any/path.jpg'
+    }
+
+    @Unroll
+    def "rejects the image location #location"() {
+        when:
+        cache.resolve(location)
+
+        then:
+        thrown(IOException)
+
+        where:
+        location << [
+                'http://169.254.169.254/latest/meta-data/',
+                'http://localhost:8080/actuator',
+                'https://cdn.example.edu/other/secret.png',
+                '../../other/secret.png',
+                'https://cdn.example.edu/revops/images/../../other/secret.png',
+                'http://cdn.example.edu/revops/images/plain-http.png',
+                'https://images.example.edu:8443/internal.png',
+                'https://user@images.example.edu/a.png',
+                'https://images.example.edu.attacker.test/a.png',
+                'file:///etc/passwd',
+                'https://cdn.example.edu/ revops'
+        ]
+    }
+
+    def "rejects relative locations when no base URL is configured"() {
+        given:
+        cache.baseUrl = ''
+        cache.init()
+
+        when:
+        cache.resolve('bowling.png')
+
+        then:
+        thrown(IOException)
+    }
+
+    def "rejects an image over the pixel cap before decoding it"() {
+        when:
+        cache.decode(URI.create('https://images.example.edu/large.png'), png(40, 30))
+
+        then:
+        def ex = thrown(IOException)
+        ex.message.contains('1200 pixels')
+    }
+
+    def "decodes an image within the pixel cap"() {
+        when:
+        def image = cache.decode(URI.create('https://images.example.edu/small.png'), png(40, 25))
+
+        then:
+        image.width == 40
+        image.height == 25
+    }
+
+    def "keeps an evicted thumbnail on disk until its grace period has passed"() {
+        given:
+        def first = thumbnail('a', 60)
+        cache.store(first)
+
+        when:
+        cache.store(thumbnail('b', 60))
+        cache.deleteRetired()
+
+        then:
+        cache.totalBytes() == 60
+        Files.exists(first.path)
+    }
+
+    def "deletes an evicted thumbnail once its grace period has passed"() {
+        given:
+        cache.deleteGraceMs = 0
+        def first = thumbnail('a', 60)
+        cache.store(first)
+
+        when:
+        cache.store(thumbnail('b', 60))
+
+        then:
+        Files.exists(first.path)
+
+        when:
+        cache.deleteRetired()
+
+        then:
+        !Files.exists(first.path)
+    }
+
+    def "does not delete an evicted thumbnail that was stored again"() {
+        given:
+        cache.deleteGraceMs = 0
+        def first = thumbnail('a', 60)
+        cache.store(first)
+        cache.store(thumbnail('b', 60))
+
+        when:
+        cache.store(first)
+        cache.deleteRetired()
+
+        then:
+        Files.exists(first.path)
+    }
+
+    private ActivityImage thumbnail(String name, int size) {
+        Path path = directory.resolve(name + '.jpg')
+        Files.write(path, new byte[size])
+        new ActivityImage(name, path, '"' + name + '"', 'image/jpeg', size)
+    }
+
+    private static byte[] png(int width, int height) {
+        def output = new ByteArrayOutputStream()
+        ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), 'png', output)
+        output.toByteArray()
+    }
+}
@@ -0,0 +1,79 @@
+package edu.csudh.lsu.revops.cache
+
+import edu.csudh.lsu.revops.dao.ActivityDAO
+import edu.csudh.lsu.revops.model.ActivityChangeEvent
+import edu.csudh.lsu.revops.venue.Venues
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class CatalogInvalidationBusSpec extends Specification {
+
+    ActivityDAO activityDAO = Mock()
+    CatalogVersion catalogVersion = new CatalogVersion()
+    CatalogInvalidationBus bus = new CatalogInvalidationBus()
+
+    def setup() {
+        def venues = new Venues()
+        venues.ids = ['game-room']
+        venues.defaultVenue = 'game-room'
+        venues.init()
+        def meterRegistry = new SimpleMeterRegistry()
+        catalogVersion.venues = venues
+        catalogVersion.meterRegistry = meterRegistry
+        catalogVersion.init()
+        bus.catalogVersion = catalogVersion
+        bus.activityDAO = activityDAO
+        bus.venues = venues
+        bus.meterRegistry = meterRegistry
+        bus.settleMs = 2000
+        bus.init()
+    }
+
+    def cleanup() {
+        bus.shutdown()
+    }
+
+    def "picks up a write that committed after one with a higher version once it settled"() {
+        given: 'this node wrote version 12 itself'
+        catalogVersion.onActivityChanged(new ActivityChangeEvent(venue: 'game-room', changeVersion: 12))
+        activityDAO.fetchLatestChangeVersion('game-room') >> 12
+        activityDAO.fetchSettledChangeVersion('game-room', 2000) >>> [10, 12]
+        bus.poll()
+        long generation = catalogVersion.generation('game-room')
+
+        when: 'version 11 of another node commits late, which leaves the latest version at 12'
+        bus.poll()
+
+        then:
+        catalogVersion.generation('game-room') > generation
+    }
+
+    def "does not move the generation while nothing changed"() {
+        given:
+        activityDAO.fetchLatestChangeVersion('game-room') >> 12
+        activityDAO.fetchSettledChangeVersion('game-room', 2000) >> 12
+        bus.poll()
+        long generation = catalogVersion.generation('game-room')
+
+        when:
+        3.times { bus.poll() }
+
+        then:
+        catalogVersion.generation('game-room') == generation
+    }
+
+    def "moves the generation as soon as the latest version moves"() {
+        given:
+        activityDAO.fetchLatestChangeVersion('game-room') >>> [12, 13]
+        activityDAO.fetchSettledChangeVersion('game-room', 2000) >> 12
+        bus.poll()
+        long generation = catalogVersion.generation('game-room')
+
+        when:
+        bus.poll()
+
+        then:
+        catalogVersion.current('game-room') == 13
+        catalogVersion.generation('game-room') > generation
+    }
+}
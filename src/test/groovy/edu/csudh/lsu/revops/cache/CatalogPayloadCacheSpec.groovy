@@ -0,0 +1,86 @@
+package edu.csudh.lsu.revops.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import edu.csudh.lsu.revops.dao.SingleFlight
+import edu.csudh.lsu.revops.model.ActivityChangeEvent
+import edu.csudh.lsu.revops.model.ActivityResponse
+import edu.csudh.lsu.revops.service.RevOpsActivityService
+import edu.csudh.lsu.revops.venue.Venues
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class CatalogPayloadCacheSpec extends Specification {
+
+    List<ActivityResponse> catalog = [activity('Pool', 500)]
+
+    def "gives the same catalog the same ETag on every node"() {
+        given: 'two nodes, one of which saw more writes and so counts a higher generation'
+        def node = cache()
+        def otherNode = cache()
+        otherNode.catalogVersion.onActivityChanged(new ActivityChangeEvent(venue: 'game-room', changeVersion: 7))
+
+        expect:
+        node.activities(null, CatalogFormat.JSON).ETag == otherNode.activities(null, CatalogFormat.JSON).ETag
+    }
+
+    def "keeps the ETag when a rebuild produced the same body"() {
+        given:
+        def node = cache()
+        def before = node.activities(null, CatalogFormat.JSON)
+
+        when:
+        node.catalogVersion.onActivityChanged(new ActivityChangeEvent(venue: 'game-room', changeVersion: 7))
+        def after = node.activities(null, CatalogFormat.JSON)
+
+        then:
+        after.generation > before.generation
+        after.ETag == before.ETag
+    }
+
+    def "gives a changed catalog and another format another ETag"() {
+        given:
+        def node = cache()
+        def json = node.activities(null, CatalogFormat.JSON)
+        def cbor = node.activities(null, CatalogFormat.CBOR)
+
+        when:
+        catalog = [activity('Pool', 600)]
+        node.catalogVersion.onActivityChanged(new ActivityChangeEvent(venue: 'game-room', changeVersion: 7))
+
+        then:
+        cbor.ETag != json.ETag
+        node.activities(null, CatalogFormat.JSON).ETag != json.ETag
+    }
+
+    private CatalogPayloadCache cache() {
+        def venues = new Venues()
+        venues.ids = ['game-room']
+        venues.defaultVenue = 'game-room'
+        venues.init()
+        def meterRegistry = new SimpleMeterRegistry()
+        def catalogVersion = new CatalogVersion()
+        catalogVersion.venues = venues
+        catalogVersion.meterRegistry = meterRegistry
+        catalogVersion.init()
+        def singleFlight = new SingleFlight()
+        singleFlight.meterRegistry = meterRegistry
+        RevOpsActivityService revOpsActivityService = Stub()
+        revOpsActivityService.fetchAllActivities(_) >> { catalog }
+
+        def cache = new CatalogPayloadCache()
+        cache.revOpsActivityService = revOpsActivityService
+        cache.catalogVersion = catalogVersion
+        cache.objectMapper = new ObjectMapper()
+        cache.meterRegistry = meterRegistry
+        cache.venues = venues
+        cache.singleFlight = singleFlight
+        cache.compressionMinSize = 1024
+        cache.init()
+        cache
+    }
+
+    private static ActivityResponse activity(String name, int price) {
+        new ActivityResponse(id: UUID.fromString('7d0f7a52-4b6e-4f43-9a3c-0d3b5c1e2f10'), activity: name,
+                category: 'Billiards', price: price, venue: 'game-room')
+    }
+}
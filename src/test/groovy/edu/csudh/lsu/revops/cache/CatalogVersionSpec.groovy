@@ -0,0 +1,80 @@
+package edu.csudh.lsu.revops.cache
+
+import edu.csudh.lsu.revops.model.ActivityChangeEvent
+import edu.csudh.lsu.revops.venue.Venues
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class CatalogVersionSpec extends Specification {
+
+    CatalogVersion catalogVersion = new CatalogVersion()
+
+    def setup() {
+        def venues = new Venues()
+        venues.ids = ['game-room', 'bowling']
+        venues.defaultVenue = 'game-room'
+        venues.init()
+        catalogVersion.venues = venues
+        catalogVersion.meterRegistry = new SimpleMeterRegistry()
+        catalogVersion.init()
+    }
+
+    def "moves the generation for a write that commits after a higher version was seen"() {
+        given:
+        catalogVersion.onActivityChanged(event('game-room', 12))
+        long generation = catalogVersion.generation('game-room')
+
+        when:
+        catalogVersion.onActivityChanged(event('game-room', 11))
+
+        then:
+        catalogVersion.current('game-room') == 12
+        catalogVersion.generation('game-room') == generation + 1
+    }
+
+    def "only moves the generation when the latest version read from the database moves"() {
+        given:
+        catalogVersion.advanceTo('game-room', 5)
+        long generation = catalogVersion.generation('game-room')
+
+        when:
+        catalogVersion.advanceTo('game-room', 5)
+        catalogVersion.advanceTo('game-room', 3)
+
+        then:
+        catalogVersion.generation('game-room') == generation
+
+        when:
+        catalogVersion.advanceTo('game-room', 6)
+
+        then:
+        catalogVersion.generation('game-room') == generation + 1
+    }
+
+    def "keeps the generations of the other venues"() {
+        when:
+        catalogVersion.onActivityChanged(event('bowling', 7))
+
+        then:
+        catalogVersion.generation('game-room') == 0
+        catalogVersion.generation('bowling') == 1
+        catalogVersion.current() == 7
+    }
+
+    def "ignores changes of venues that are not served"() {
+        when:
+        catalogVersion.onActivityChanged(event('esports', 9))
+
+        then:
+        notThrown(Exception)
+        catalogVersion.current() == 0
+    }
+
+    private static ActivityChangeEvent event(String venue, long changeVersion) {
+        def event = new ActivityChangeEvent()
+        event.activityId = UUID.randomUUID()
+        event.venue = venue
+        event.changeVersion = changeVersion
+        event
+    }
+}
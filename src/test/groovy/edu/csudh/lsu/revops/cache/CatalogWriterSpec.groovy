@@ -0,0 +1,80 @@
+package edu.csudh.lsu.revops.cache
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory
+import com.fasterxml.jackson.dataformat.smile.SmileFactory
+import edu.csudh.lsu.revops.model.ActivityResponse
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class CatalogWriterSpec extends Specification {
+
+    static final ObjectMapper JSON = Jackson2ObjectMapperBuilder.json().build()
+
+    static final Map<String, ObjectMapper> MAPPERS = [
+            json : JSON,
+            cbor : JSON.copyWith(new CBORFactory()),
+            smile: JSON.copyWith(new SmileFactory())
+    ]
+
+    @Unroll
+    def "writes activities exactly as the #format mapper binds them"() {
+        given:
+        def mapper = MAPPERS[format]
+        def activities = [
+                activity(UUID.randomUUID(), 'Bowling', 'Lanes', 450, 'https://cdn.example.edu/bowling.png', 'bowling'),
+                activity(UUID.randomUUID(), 'Caf\u00e9 \u201cpool\u201d \\ "8-ball"', 'Billiards', 0, null, 'game-room'),
+                activity(null, null, null, null, null, null)
+        ]
+
+        expect:
+        write(mapper) { CatalogWriter.writeActivities(it, activities) } == mapper.writeValueAsBytes(activities)
+        write(mapper) { CatalogWriter.writeActivities(it, []) } == mapper.writeValueAsBytes([])
+
+        where:
+        format << MAPPERS.keySet()
+    }
+
+    @Unroll
+    def "writes categories exactly as the #format mapper binds them"() {
+        given:
+        def mapper = MAPPERS[format]
+        def categories = ['Billiards', 'Lanes', 'Table tennis \u2013 doubles']
+
+        expect:
+        write(mapper) { CatalogWriter.writeCategories(it, categories) } == mapper.writeValueAsBytes(categories)
+
+        where:
+        format << MAPPERS.keySet()
+    }
+
+    def "follows the output settings of the mapper"() {
+        given:
+        def mapper = Jackson2ObjectMapperBuilder.json().indentOutput(true).build()
+        def activities = [activity(UUID.randomUUID(), 'Bowling', 'Lanes', 450, null, 'bowling')]
+
+        expect:
+        write(mapper) { CatalogWriter.writeActivities(it, activities) } == mapper.writeValueAsBytes(activities)
+    }
+
+    private static byte[] write(ObjectMapper mapper, Closure body) {
+        def buffer = new ByteArrayOutputStream()
+        def generator = mapper.createGenerator(buffer)
+        body(generator)
+        generator.close()
+        buffer.toByteArray()
+    }
+
+    private static ActivityResponse activity(UUID id, String name, String category, Integer price, String imageLocation,
+                                             String venue) {
+        def activity = new ActivityResponse()
+        activity.id = id
+        activity.activity = name
+        activity.category = category
+        activity.price = price
+        activity.imageLocation = imageLocation
+        activity.venue = venue
+        activity
+    }
+}
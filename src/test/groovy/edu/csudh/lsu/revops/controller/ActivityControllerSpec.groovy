@@ -0,0 +1,175 @@
+package edu.csudh.lsu.revops.controller
+
+import edu.csudh.lsu.revops.model.ActivityChange
+import edu.csudh.lsu.revops.model.ConditionalUpdateResult
+import edu.csudh.lsu.revops.service.RevOpsActivityService
+import org.springframework.http.HttpHeaders
+import org.springframework.http.MediaType
+import org.springframework.test.web.servlet.MockMvc
+import org.springframework.test.web.servlet.setup.MockMvcBuilders
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static edu.csudh.lsu.revops.model.ConditionalUpdateResult.Outcome.CONFLICT
+import static edu.csudh.lsu.revops.model.ConditionalUpdateResult.Outcome.NOT_FOUND
+import static edu.csudh.lsu.revops.model.ConditionalUpdateResult.Outcome.UNAVAILABLE
+import static edu.csudh.lsu.revops.model.ConditionalUpdateResult.Outcome.UPDATED
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status
+
+class ActivityControllerSpec extends Specification {
+
+    static final UUID ID = UUID.fromString('7d0f7a52-4b6e-4f43-9a3c-0d3b5c1e2f10')
+    static final String COMPLETE = '{"activity":"Pool","category":"Billiards","price":450,"imageLocation":"pool.png"}'
+
+    RevOpsActivityService revOpsActivityService = Mock()
+    ActivityController controller = new ActivityController()
+    MockMvc mockMvc
+
+    def setup() {
+        controller.revOpsActivityService = revOpsActivityService
+        controller.requireIfMatch = false
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build()
+    }
+
+    def "returns the version of an activity as its ETag"() {
+        given:
+        def activity = new ActivityChange()
+        activity.id = ID
+        activity.changeVersion = 41
+        revOpsActivityService.fetchActivity(ID) >> Optional.of(activity)
+
+        expect:
+        mockMvc.perform(get("/activities/$ID"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, '"41"'))
+    }
+
+    @Unroll
+    def "updates the given fields if the activity still has the version of If-Match #ifMatch"() {
+        when:
+        def result = mockMvc.perform(patch("/activities/$ID").header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON).content('{"price":500}'))
+
+        then:
+        1 * revOpsActivityService.updateActivityIfVersion(ID, [price: 500], 41) >> new ConditionalUpdateResult(UPDATED, 42)
+        0 * revOpsActivityService.partialUpdateActivity(*_)
+        result.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, '"42"'))
+
+        where:
+        ifMatch << ['"41"', 'W/"41"', '41', ' "41" ']
+    }
+
+    def "answers a stale If-Match with 412 and the current version"() {
+        given:
+        revOpsActivityService.updateActivityIfVersion(ID, _, 41) >> new ConditionalUpdateResult(CONFLICT, 45)
+
+        expect:
+        mockMvc.perform(patch("/activities/$ID").header(HttpHeaders.IF_MATCH, '"41"')
+                .contentType(MediaType.APPLICATION_JSON).content('{"price":500}'))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, '"45"'))
+    }
+
+    @Unroll
+    def "answers a conditional update that was #outcome with #expected"() {
+        given:
+        revOpsActivityService.updateActivityIfVersion(ID, _, 41) >> new ConditionalUpdateResult(outcome, 0)
+
+        expect:
+        mockMvc.perform(patch("/activities/$ID").header(HttpHeaders.IF_MATCH, '"41"')
+                .contentType(MediaType.APPLICATION_JSON).content('{"price":500}'))
+                .andExpect(status().is(expected))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+
+        where:
+        outcome     | expected
+        NOT_FOUND   | 404
+        UNAVAILABLE | 503
+    }
+
+    @Unroll
+    def "rejects a conditional update the service refuses as invalid: #body"() {
+        given:
+        revOpsActivityService.updateActivityIfVersion(ID, _, 41) >> { throw new IllegalArgumentException(message) }
+
+        expect:
+        mockMvc.perform(patch("/activities/$ID").header(HttpHeaders.IF_MATCH, '"41"')
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest())
+
+        where:
+        body                  | message
+        '{}'                  | 'No fields to update'
+        '{"colour":"red"}'    | 'Unknown field: colour'
+        '{"price":"cheap"}'   | 'Invalid value for field price: cheap'
+    }
+
+    def "rejects an If-Match that does not carry a version"() {
+        when:
+        def result = mockMvc.perform(patch("/activities/$ID").header(HttpHeaders.IF_MATCH, '"abc"')
+                .contentType(MediaType.APPLICATION_JSON).content('{"price":500}'))
+
+        then:
+        0 * revOpsActivityService._
+        result.andExpect(status().isBadRequest())
+    }
+
+    def "updates without a version check when If-Match is absent or *"() {
+        when:
+        def result = mockMvc.perform(patch("/activities/$ID").header(HttpHeaders.IF_MATCH, '*')
+                .contentType(MediaType.APPLICATION_JSON).content('{"price":500}'))
+
+        then:
+        1 * revOpsActivityService.partialUpdateActivity(ID, [price: 500]) >> 1
+        0 * revOpsActivityService.updateActivityIfVersion(*_)
+        result.andExpect(status().isOk())
+    }
+
+    def "requires If-Match when configured to"() {
+        given:
+        controller.requireIfMatch = true
+
+        when:
+        def result = mockMvc.perform(patch("/activities/$ID")
+                .contentType(MediaType.APPLICATION_JSON).content('{"price":500}'))
+
+        then:
+        0 * revOpsActivityService._
+        result.andExpect(status().isPreconditionRequired())
+    }
+
+    def "replaces every field of an activity on a conditional PUT"() {
+        when:
+        def result = mockMvc.perform(put("/activities/$ID").header(HttpHeaders.IF_MATCH, '"41"')
+                .contentType(MediaType.APPLICATION_JSON).content(COMPLETE))
+
+        then:
+        1 * revOpsActivityService.updateActivityIfVersion(ID,
+                [activity: 'Pool', category: 'Billiards', price: 450, imageLocation: 'pool.png'], 41) >>
+                new ConditionalUpdateResult(UPDATED, 42)
+        result.andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, '"42"'))
+    }
+
+    @Unroll
+    def "rejects a PUT without #missing instead of clearing it"() {
+        when:
+        def result = mockMvc.perform(put("/activities/$ID").header(HttpHeaders.IF_MATCH, ifMatch)
+                .contentType(MediaType.APPLICATION_JSON).content(body))
+
+        then:
+        0 * revOpsActivityService._
+        result.andExpect(status().isBadRequest())
+
+        where:
+        missing    | ifMatch | body
+        'price'    | '"41"'  | '{"activity":"Pool","category":"Billiards"}'
+        'category' | '"41"'  | '{"activity":"Pool","price":450}'
+        'activity' | '*'     | '{"category":"Billiards","price":450}'
+    }
+}
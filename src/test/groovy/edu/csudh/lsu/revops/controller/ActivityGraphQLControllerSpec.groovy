@@ -0,0 +1,124 @@
+package edu.csudh.lsu.revops.controller
+
+import edu.csudh.lsu.revops.configuration.GraphQLConfig
+import edu.csudh.lsu.revops.model.ActivityCategory
+import edu.csudh.lsu.revops.model.ActivityResponse
+import edu.csudh.lsu.revops.service.RevOpsActivityService
+import edu.csudh.lsu.revops.venue.Venues
+import org.springframework.context.support.GenericApplicationContext
+import org.springframework.core.io.ClassPathResource
+import org.springframework.graphql.ExecutionGraphQlResponse
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer
+import org.springframework.graphql.execution.BatchLoaderRegistry
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry
+import org.springframework.graphql.execution.DefaultExecutionGraphQlService
+import org.springframework.graphql.execution.GraphQlSource
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest
+import spock.lang.Specification
+
+class ActivityGraphQLControllerSpec extends Specification {
+
+    RevOpsActivityService revOpsActivityService = Mock()
+    ActivityGraphQLController controller = new ActivityGraphQLController()
+
+    def setup() {
+        def venues = new Venues()
+        venues.ids = ['game-room', 'bowling']
+        venues.defaultVenue = 'game-room'
+        venues.init()
+        controller.revOpsActivityService = revOpsActivityService
+        controller.venues = venues
+    }
+
+    def "returns the activities of every category in key order and an empty list for categories without any"() {
+        given:
+        def keys = [category('Darts'), category('Billiards'), category('Bowling', 'bowling'), category('Chess')]
+
+        when:
+        def result = controller.categoryActivities(keys)
+
+        then: 'one query per venue, whatever order the activities come back in'
+        1 * revOpsActivityService.fetchActivitiesByCategories('game-room', ['Darts', 'Billiards', 'Chess']) >>
+                [activity('Pool', 'Billiards'), activity('Dartboard', 'Darts'), activity('Snooker', 'Billiards')]
+        1 * revOpsActivityService.fetchActivitiesByCategories('bowling', ['Bowling']) >> [activity('Lane 1', 'Bowling')]
+        0 * revOpsActivityService._
+        result.keySet() as List == keys
+        result[category('Darts')]*.activity == ['Dartboard']
+        result[category('Billiards')]*.activity == ['Pool', 'Snooker']
+        result[category('Bowling', 'bowling')]*.activity == ['Lane 1']
+        result[category('Chess')] == []
+    }
+
+    def "does not attribute an activity to a category of the same name in another venue"() {
+        when:
+        def result = controller.categoryActivities([category('Billiards', 'bowling')])
+
+        then:
+        1 * revOpsActivityService.fetchActivitiesByCategories('bowling', ['Billiards']) >> [activity('Pool', 'Billiards')]
+        result[category('Billiards', 'bowling')]*.activity == ['Pool']
+        !result.containsKey(category('Billiards'))
+    }
+
+    def "loads the activities of all selected categories with one batch through the schema"() {
+        given:
+        def service = graphQlService(new GraphQLConfig(maxDepth: 6, maxComplexity: 200))
+
+        when:
+        def response = execute(service, '{ categories { name activities { activity } } }')
+
+        then:
+        1 * revOpsActivityService.fetchAllCategories('game-room') >> ['Billiards', 'Chess', 'Darts']
+        1 * revOpsActivityService.fetchActivitiesByCategories('game-room', ['Billiards', 'Chess', 'Darts']) >>
+                [activity('Dartboard', 'Darts'), activity('Pool', 'Billiards')]
+        response.errors.isEmpty()
+        response.data.categories == [
+                [name: 'Billiards', activities: [[activity: 'Pool']]],
+                [name: 'Chess', activities: []],
+                [name: 'Darts', activities: [[activity: 'Dartboard']]]]
+    }
+
+    def "rejects an operation deeper than the configured limit before resolving it"() {
+        given:
+        def service = graphQlService(new GraphQLConfig(maxDepth: 2, maxComplexity: 200))
+
+        when:
+        def response = execute(service, '{ categories { name activities { activity } } }')
+
+        then:
+        0 * revOpsActivityService._
+        !response.errors.isEmpty()
+        response.errors[0].message.contains('depth')
+    }
+
+    private DefaultExecutionGraphQlService graphQlService(GraphQLConfig graphQLConfig) {
+        def context = new GenericApplicationContext()
+        BatchLoaderRegistry batchLoaderRegistry = new DefaultBatchLoaderRegistry()
+        context.beanFactory.registerSingleton('activityGraphQLController', controller)
+        context.beanFactory.registerSingleton('batchLoaderRegistry', batchLoaderRegistry)
+        context.refresh()
+        def configurer = new AnnotatedControllerConfigurer()
+        configurer.applicationContext = context
+        configurer.afterPropertiesSet()
+        def graphQlSource = GraphQlSource.schemaResourceBuilder()
+                .schemaResources(new ClassPathResource('graphql/schema.graphqls'))
+                .configureRuntimeWiring(configurer)
+                .instrumentation([graphQLConfig.maxQueryDepthInstrumentation(),
+                                  graphQLConfig.maxQueryComplexityInstrumentation()])
+                .build()
+        def service = new DefaultExecutionGraphQlService(graphQlSource)
+        service.addDataLoaderRegistrar(batchLoaderRegistry)
+        service
+    }
+
+    private static ExecutionGraphQlResponse execute(DefaultExecutionGraphQlService service, String document) {
+        service.execute(new DefaultExecutionGraphQlRequest(document, null, null, null, '1', null)).block()
+    }
+
+    private static ActivityCategory category(String name, String venue = 'game-room') {
+        new ActivityCategory(name, venue)
+    }
+
+    private static ActivityResponse activity(String name, String category) {
+        new ActivityResponse(id: UUID.randomUUID(), activity: name, category: category, price: 500)
+    }
+}
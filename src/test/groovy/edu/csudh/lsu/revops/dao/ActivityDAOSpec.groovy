@@ -0,0 +1,137 @@
+package edu.csudh.lsu.revops.dao
+
+import edu.csudh.lsu.persistence.model.activity.Activity
+import edu.csudh.lsu.revops.model.ActivityResponse
+import edu.csudh.lsu.revops.model.JournaledWrite
+import edu.csudh.lsu.revops.venue.Venues
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.core.RowMapper
+import org.springframework.transaction.support.TransactionCallback
+import spock.lang.Specification
+
+class ActivityDAOSpec extends Specification {
+
+    static final UUID ID = UUID.fromString('7d0f7a52-4b6e-4f43-9a3c-0d3b5c1e2f10')
+
+    JdbcTemplate jdbcTemplate = Mock()
+    CockroachTransactionExecutor cockroachTransactionExecutor = Stub()
+    ActivityOutboxDAO activityOutboxDAO = Mock()
+    ApplicationEventPublisher applicationEventPublisher = Mock()
+    ActivityTable activityTable = Stub()
+    Venues venues = Stub()
+
+    ActivityDAO activityDAO = new ActivityDAO()
+
+    // The rows of journal_replay
+    Set<UUID> replayed = []
+
+    def setup() {
+        cockroachTransactionExecutor.execute(_, _) >> { String operation, TransactionCallback work ->
+            work.doInTransaction(null)
+        }
+        activityTable.column(_) >> { String property -> property }
+        activityTable.upsertSql(*_) >> 'INSERT INTO activity ON CONFLICT (id) DO UPDATE'
+        activityTable.insertValues(*_) >> { Activity activity, Object[] extra -> [activity.id, *extra] as Object[] }
+        venues.resolve(_) >> 'game-room'
+        jdbcTemplate.update({ it.startsWith('INSERT INTO journal_replay') }, *_) >> { String sql, Object[] args ->
+            replayed.add(args[0] as UUID) ? 1 : 0
+        }
+        activityDAO.jdbcTemplate = jdbcTemplate
+        activityDAO.cockroachTransactionExecutor = cockroachTransactionExecutor
+        activityDAO.activityOutboxDAO = activityOutboxDAO
+        activityDAO.applicationEventPublisher = applicationEventPublisher
+        activityDAO.activityTable = activityTable
+        activityDAO.venues = venues
+        activityDAO.init()
+    }
+
+    def "applies a journaled disable once when the journal is replayed again"() {
+        given:
+        def write = journaledWrite(JournaledWrite.Type.DISABLE)
+
+        when:
+        def first = activityDAO.replayJournaledWrite(write)
+
+        then:
+        1 * jdbcTemplate.query({ it.startsWith('UPDATE activity SET status') }, _ as RowMapper, *_) >> [activity()]
+        1 * activityOutboxDAO.append(_)
+        1 * applicationEventPublisher.publishEvent(_)
+        first == 1
+
+        when:
+        def second = activityDAO.replayJournaledWrite(write)
+
+        then:
+        0 * jdbcTemplate.query(*_)
+        0 * activityOutboxDAO._
+        0 * applicationEventPublisher._
+        second == 1
+        replayed == [write.writeId] as Set
+    }
+
+    def "applies a journaled partial update once when the journal is replayed again"() {
+        given:
+        def write = journaledWrite(JournaledWrite.Type.PARTIAL_UPDATE)
+        write.updates = [price: 500]
+
+        when:
+        activityDAO.replayJournaledWrite(write)
+        activityDAO.replayJournaledWrite(write)
+
+        then:
+        1 * jdbcTemplate.query({ it.startsWith('UPDATE activity SET price = ?') }, _ as RowMapper, *_) >> [activity()]
+        1 * applicationEventPublisher.publishEvent(_)
+    }
+
+    def "applies distinct journaled writes of the same activity each"() {
+        when:
+        activityDAO.replayJournaledWrite(journaledWrite(JournaledWrite.Type.DISABLE))
+        activityDAO.replayJournaledWrite(journaledWrite(JournaledWrite.Type.DISABLE))
+
+        then:
+        2 * jdbcTemplate.query({ it.startsWith('UPDATE activity SET status') }, _ as RowMapper, *_) >> [activity()]
+        replayed.size() == 2
+    }
+
+    def "does not record live writes in journal_replay"() {
+        when:
+        activityDAO.disableActivity(ID)
+
+        then:
+        1 * jdbcTemplate.query({ it.startsWith('UPDATE activity SET status') }, _ as RowMapper, *_) >> [activity()]
+        replayed.isEmpty()
+    }
+
+    def "replays a save whose live commit was lost as an upsert of the same activity"() {
+        given:
+        def activity = new ActivityResponse(id: ID, activity: 'Pool', category: 'Billiards', price: 500)
+        def write = JournaledWrite.builder().writeId(UUID.randomUUID()).type(JournaledWrite.Type.SAVE).activityId(ID)
+                .activity(activity).build()
+        List<UUID> upserted = []
+
+        when: 'the live attempt commits but its client sees the connection drop, and the write is replayed'
+        activityDAO.saveOrUpdateActivity(activity)
+        activityDAO.replayJournaledWrite(write)
+
+        then:
+        2 * jdbcTemplate.update({ it.startsWith('INSERT INTO activity') }, _ as Object[]) >> { String sql, Object[] args ->
+            upserted << (args[0] as UUID)
+            1
+        }
+        upserted == [ID, ID]
+        replayed == [write.writeId] as Set
+    }
+
+    private static JournaledWrite journaledWrite(JournaledWrite.Type type) {
+        JournaledWrite.builder().writeId(UUID.randomUUID()).type(type).activityId(ID).build()
+    }
+
+    private static Activity activity() {
+        def activity = new Activity()
+        activity.id = ID
+        activity.activity = 'Pool'
+        activity.category = 'Billiards'
+        activity
+    }
+}
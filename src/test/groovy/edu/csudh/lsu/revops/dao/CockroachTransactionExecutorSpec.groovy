@@ -0,0 +1,199 @@
+package edu.csudh.lsu.revops.dao
+
+import edu.csudh.lsu.revops.configuration.RetryTemplateConfig
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hibernate.exception.JDBCConnectionException
+import org.springframework.jdbc.UncategorizedSQLException
+import org.springframework.orm.jpa.JpaSystemException
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.support.SimpleTransactionStatus
+import org.springframework.transaction.support.TransactionCallback
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.BatchUpdateException
+import java.sql.Connection
+import java.sql.SQLException
+import java.sql.Savepoint
+
+class CockroachTransactionExecutorSpec extends Specification {
+
+    PlatformTransactionManager transactionManager = Mock()
+    DataSource dataSource = Stub()
+    Connection connection = Mock()
+    Savepoint savepoint = Stub()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    CockroachTransactionExecutor executor = new CockroachTransactionExecutor()
+
+    def setup() {
+        dataSource.getConnection() >> connection
+        transactionManager.getTransaction(_) >> { new SimpleTransactionStatus() }
+        def retryTemplateConfig = new RetryTemplateConfig()
+        retryTemplateConfig.backoffPeriodMs = 0
+        retryTemplateConfig.maxAttempts = 3
+        executor.transactionTemplate = new TransactionTemplate(transactionManager)
+        executor.dataSource = dataSource
+        executor.retryTemplate = retryTemplateConfig.retryTemplate()
+        executor.meterRegistry = meterRegistry
+        executor.maxAttempts = 4
+    }
+
+    def "finds a serialization failure anywhere in the cause chain"() {
+        expect:
+        CockroachTransactionExecutor.isSerializationFailure(
+                new JpaSystemException(new RuntimeException(serializationFailure())))
+        CockroachTransactionExecutor.isSerializationFailure(
+                new UncategorizedSQLException('saveOrUpdateActivity', 'UPDATE', serializationFailure()))
+    }
+
+    def "finds a serialization failure in the next exceptions of a batch"() {
+        given:
+        def batchFailure = new BatchUpdateException('batch aborted', '25P02', new int[0])
+        batchFailure.setNextException(new SQLException('aborted', '40P01'))
+        batchFailure.getNextException().setNextException(serializationFailure())
+
+        expect:
+        CockroachTransactionExecutor.isSerializationFailure(new RuntimeException(batchFailure))
+    }
+
+    def "does not take other failures for serialization failures"() {
+        expect:
+        !CockroachTransactionExecutor.isSerializationFailure(new SQLException('duplicate key', '23505'))
+        !CockroachTransactionExecutor.isSerializationFailure(new IllegalStateException('no SQL state'))
+        !CockroachTransactionExecutor.isSerializationFailure(null)
+    }
+
+    def "restarts the work at the savepoint when it fails with 40001"() {
+        given:
+        int runs = 0
+        TransactionCallback<String> work = {
+            if (++runs == 1) {
+                throw new UncategorizedSQLException('saveOrUpdateActivity', 'UPDATE', serializationFailure())
+            }
+            'written'
+        }
+
+        when:
+        def result = executor.execute('saveOrUpdateActivity', work)
+
+        then:
+        1 * connection.setSavepoint('cockroach_restart') >> savepoint
+        1 * connection.rollback(savepoint)
+        1 * connection.releaseSavepoint(savepoint)
+        1 * transactionManager.commit(_)
+        result == 'written'
+        runs == 2
+        attempts('committed') == 2
+    }
+
+    def "restarts the work at the savepoint when the release fails with 40001"() {
+        given:
+        int runs = 0
+
+        when:
+        def result = executor.execute('saveOrUpdateActivity', { ++runs } as TransactionCallback)
+
+        then:
+        1 * connection.setSavepoint('cockroach_restart') >> savepoint
+        2 * connection.releaseSavepoint(savepoint) >> { throw serializationFailure() } >> {}
+        1 * connection.rollback(savepoint)
+        1 * transactionManager.commit(_)
+        result == 2
+    }
+
+    def "retries the whole transaction when the commit fails with 40001"() {
+        given:
+        int runs = 0
+
+        when:
+        def result = executor.execute('saveOrUpdateActivity', { ++runs } as TransactionCallback)
+
+        then:
+        2 * connection.setSavepoint('cockroach_restart') >> savepoint
+        0 * connection.rollback(_)
+        2 * transactionManager.commit(_) >> { throw commitFailure() } >> {}
+        result == 2
+        attempts('committed') == 2
+    }
+
+    def "gives up once the attempts are spent"() {
+        given:
+        int runs = 0
+        TransactionCallback<String> work = {
+            runs++
+            throw new UncategorizedSQLException('saveOrUpdateActivity', 'UPDATE', serializationFailure())
+        }
+
+        when:
+        executor.execute('saveOrUpdateActivity', work)
+
+        then:
+        connection.setSavepoint(_) >> savepoint
+        thrown(UncategorizedSQLException)
+        runs == 4
+        attempts('exhausted') == 4
+    }
+
+    def "does not let the retry template retry a serialization failure that exhausted the attempts at commit"() {
+        given:
+        int runs = 0
+
+        when:
+        executor.execute('saveOrUpdateActivity', { ++runs } as TransactionCallback)
+
+        then:
+        connection.setSavepoint(_) >> savepoint
+        transactionManager.commit(_) >> { throw commitFailure() }
+        thrown(JpaSystemException)
+        runs == 4
+        attempts('exhausted') == 4
+    }
+
+    def "retries a lost connection through the retry template"() {
+        given:
+        int runs = 0
+        TransactionCallback<String> work = {
+            if (++runs == 1) {
+                throw new JDBCConnectionException('connection reset', new SQLException('reset', '08006'))
+            }
+            'written'
+        }
+
+        when:
+        def result = executor.execute('saveOrUpdateActivity', work)
+
+        then:
+        connection.setSavepoint(_) >> savepoint
+        2 * transactionManager.getTransaction(_) >> { new SimpleTransactionStatus() }
+        0 * connection.rollback(_)
+        result == 'written'
+    }
+
+    def "propagates any other failure on the first attempt"() {
+        given:
+        int runs = 0
+
+        when:
+        executor.execute('saveOrUpdateActivity', { runs++; throw new IllegalArgumentException('bad price') } as TransactionCallback)
+
+        then:
+        connection.setSavepoint(_) >> savepoint
+        1 * transactionManager.rollback(_)
+        thrown(IllegalArgumentException)
+        runs == 1
+        attempts('failed') == 1
+    }
+
+    private double attempts(String outcome) {
+        meterRegistry.get('revops.tx.attempts').tag('outcome', outcome).summary().totalAmount()
+    }
+
+    private static SQLException serializationFailure() {
+        new SQLException('restart transaction: TransactionRetryWithProtoRefreshError', '40001')
+    }
+
+    private static JpaSystemException commitFailure() {
+        new JpaSystemException(new RuntimeException('commit failed', serializationFailure()))
+    }
+}
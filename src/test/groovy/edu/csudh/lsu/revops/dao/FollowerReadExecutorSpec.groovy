@@ -0,0 +1,107 @@
+package edu.csudh.lsu.revops.dao
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.jdbc.BadSqlGrammarException
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.mock.env.MockEnvironment
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.TransactionDefinition
+import org.springframework.transaction.support.SimpleTransactionStatus
+import spock.lang.Specification
+
+import java.sql.SQLException
+import java.util.function.Supplier
+
+class FollowerReadExecutorSpec extends Specification {
+
+    JdbcTemplate jdbcTemplate = Mock()
+    PlatformTransactionManager transactionManager = Mock()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    MockEnvironment environment = new MockEnvironment()
+    FollowerReadExecutor executor = new FollowerReadExecutor()
+
+    def setup() {
+        environment.setProperty('followerReads.operations.fetchAllActivities', 'follower')
+        environment.setProperty('followerReads.operations.fetchAllCategories', '10s')
+        environment.setProperty('followerReads.operations.fetchActivityById', 'strong')
+        executor.jdbcTemplate = jdbcTemplate
+        executor.transactionManager = transactionManager
+        executor.meterRegistry = meterRegistry
+        executor.environment = environment
+        executor.enabled = true
+        executor.baselineSampleRate = 0
+        executor.init()
+    }
+
+    def "starts a read-only transaction at the follower read timestamp"() {
+        when:
+        def result = executor.read('fetchAllActivities', { 'catalog' } as Supplier)
+
+        then:
+        1 * transactionManager.getTransaction({ TransactionDefinition definition -> definition.readOnly }) >>
+                new SimpleTransactionStatus()
+        1 * jdbcTemplate.execute('SET TRANSACTION AS OF SYSTEM TIME follower_read_timestamp()')
+        1 * transactionManager.commit(_)
+        result == 'catalog'
+        reads('fetchAllActivities', 'follower') == 1
+    }
+
+    def "reads a configured duration in the past"() {
+        when:
+        executor.read('fetchAllCategories', { [] } as Supplier)
+
+        then:
+        1 * transactionManager.getTransaction(_) >> new SimpleTransactionStatus()
+        1 * jdbcTemplate.execute("SET TRANSACTION AS OF SYSTEM TIME '-10.000s'")
+    }
+
+    def "reads strongly when the operation is not routed to followers"() {
+        when:
+        executor.read(operation, { 'row' } as Supplier)
+
+        then:
+        0 * transactionManager._
+        0 * jdbcTemplate._
+        reads(operation, 'strong') == 1
+
+        where:
+        operation << ['fetchActivityById', 'fetchActivitiesByCategories']
+    }
+
+    def "reads strongly when follower reads are switched off"() {
+        given:
+        executor.enabled = false
+
+        when:
+        executor.read('fetchAllActivities', { 'catalog' } as Supplier)
+
+        then:
+        0 * transactionManager._
+        0 * jdbcTemplate._
+        reads('fetchAllActivities', 'strong') == 1
+    }
+
+    def "falls back to strong reads for good once the database rejects AS OF SYSTEM TIME"() {
+        given:
+        int runs = 0
+
+        when:
+        def first = executor.read('fetchAllActivities', { ++runs } as Supplier)
+        def second = executor.read('fetchAllActivities', { ++runs } as Supplier)
+
+        then:
+        1 * transactionManager.getTransaction(_) >> new SimpleTransactionStatus()
+        1 * jdbcTemplate.execute(_ as String) >> {
+            throw new BadSqlGrammarException('followerRead', 'SET TRANSACTION', new SQLException('syntax error', '42601'))
+        }
+        1 * transactionManager.rollback(_)
+        first == 1
+        second == 2
+        !executor.enabled
+        reads('fetchAllActivities', 'strong') == 2
+    }
+
+    private long reads(String operation, String routing) {
+        meterRegistry.get('revops.dao.read').tag('operation', operation).tag('routing', routing).timer().count()
+    }
+}
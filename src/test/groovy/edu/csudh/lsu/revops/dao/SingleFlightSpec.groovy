@@ -0,0 +1,157 @@
+package edu.csudh.lsu.revops.dao
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Supplier
+
+class SingleFlightSpec extends Specification {
+
+    static final int CALLERS = 8
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    SingleFlight singleFlight = new SingleFlight()
+    def executor = Executors.newFixedThreadPool(CALLERS)
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    def setup() {
+        singleFlight.meterRegistry = meterRegistry
+        singleFlight.enabled = true
+    }
+
+    def cleanup() {
+        executor.shutdownNow()
+    }
+
+    def "lets concurrent callers of the same read share one call"() {
+        given:
+        def release = new CountDownLatch(1)
+        def calls = new AtomicInteger()
+        def result = new Object()
+
+        when:
+        def futures = submitAll {
+            singleFlight.execute('findById', 'id-1', {
+                calls.incrementAndGet()
+                release.await(5, TimeUnit.SECONDS)
+                result
+            } as Supplier)
+        }
+        conditions.eventually {
+            assert count('collapsed') == CALLERS - 1
+        }
+        release.countDown()
+
+        then:
+        futures.every { it.get(5, TimeUnit.SECONDS).is(result) }
+        calls.get() == 1
+        count('executed') == 1
+    }
+
+    def "hands the failure of the shared call to every waiter"() {
+        given:
+        def release = new CountDownLatch(1)
+        def failure = new IllegalStateException('database down')
+
+        when:
+        def futures = submitAll {
+            singleFlight.execute('findById', 'id-1', {
+                release.await(5, TimeUnit.SECONDS)
+                throw failure
+            } as Supplier)
+        }
+        conditions.eventually {
+            assert count('collapsed') == CALLERS - 1
+        }
+        release.countDown()
+        def thrown = futures.collect {
+            try {
+                it.get(5, TimeUnit.SECONDS)
+                null
+            } catch (ExecutionException ex) {
+                ex.cause
+            }
+        }
+
+        then:
+        thrown.every { it.is(failure) }
+        count('executed') == 1
+    }
+
+    def "releases the key once the call succeeded"() {
+        given:
+        def calls = new AtomicInteger()
+        Supplier<Integer> read = { calls.incrementAndGet() }
+
+        expect:
+        singleFlight.execute('findById', 'id-1', read) == 1
+        singleFlight.execute('findById', 'id-1', read) == 2
+        singleFlight.inFlight.isEmpty()
+    }
+
+    def "releases the key once the call failed"() {
+        when:
+        singleFlight.execute('findById', 'id-1', { throw new IllegalStateException('database down') } as Supplier)
+
+        then:
+        thrown(IllegalStateException)
+        singleFlight.inFlight.isEmpty()
+        singleFlight.execute('findById', 'id-1', { 'recovered' } as Supplier) == 'recovered'
+    }
+
+    def "does not share calls of different keys or operations"() {
+        given:
+        def release = new CountDownLatch(1)
+        def calls = new AtomicInteger()
+        def read = { key ->
+            {
+                calls.incrementAndGet()
+                release.await(5, TimeUnit.SECONDS)
+                key
+            } as Supplier
+        }
+
+        when:
+        def futures = [
+                executor.submit({ singleFlight.execute('findById', 'id-1', read('a')) } as Callable),
+                executor.submit({ singleFlight.execute('findById', 'id-2', read('b')) } as Callable),
+                executor.submit({ singleFlight.execute('findByName', 'id-1', read('c')) } as Callable)
+        ]
+        conditions.eventually {
+            assert calls.get() == 3
+        }
+        release.countDown()
+
+        then:
+        futures*.get(5, TimeUnit.SECONDS) == ['a', 'b', 'c']
+        count('collapsed') == 0
+    }
+
+    def "runs every call when disabled"() {
+        given:
+        singleFlight.enabled = false
+        def calls = new AtomicInteger()
+
+        when:
+        2.times { singleFlight.execute('findById', 'id-1', { calls.incrementAndGet() } as Supplier) }
+
+        then:
+        calls.get() == 2
+        singleFlight.inFlight.isEmpty()
+    }
+
+    private List submitAll(Closure call) {
+        (1..CALLERS).collect { executor.submit(call as Callable) }
+    }
+
+    private double count(String outcome) {
+        meterRegistry.find('revops.dao.singleflight.calls').tag('outcome', outcome).counters()*.count().sum(0d) as double
+    }
+}
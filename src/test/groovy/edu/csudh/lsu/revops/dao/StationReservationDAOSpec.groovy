@@ -0,0 +1,85 @@
+package edu.csudh.lsu.revops.dao
+
+import edu.csudh.lsu.revops.model.ReservationResult
+import edu.csudh.lsu.revops.model.ReservationType
+import edu.csudh.lsu.revops.model.StationReservation
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.jdbc.core.JdbcTemplate
+import org.springframework.jdbc.core.RowMapper
+import org.springframework.retry.support.RetryTemplate
+import org.springframework.transaction.PlatformTransactionManager
+import org.springframework.transaction.TransactionDefinition
+import org.springframework.transaction.support.SimpleTransactionStatus
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Specification
+
+import javax.sql.DataSource
+import java.sql.Connection
+import java.sql.Savepoint
+import java.time.Duration
+import java.time.Instant
+
+class StationReservationDAOSpec extends Specification {
+
+    static final Instant T0 = Instant.parse('2026-10-20T16:00:00Z')
+
+    PlatformTransactionManager transactionManager = Mock()
+    JdbcTemplate jdbcTemplate = Mock()
+    CockroachTransactionExecutor cockroachTransactionExecutor = new CockroachTransactionExecutor()
+    StationReservationDAO stationReservationDAO = new StationReservationDAO()
+
+    def setup() {
+        DataSource dataSource = Stub()
+        Connection connection = Stub()
+        connection.setSavepoint(_) >> Stub(Savepoint)
+        dataSource.getConnection() >> connection
+        cockroachTransactionExecutor.transactionTemplate = new TransactionTemplate(transactionManager)
+        cockroachTransactionExecutor.dataSource = dataSource
+        cockroachTransactionExecutor.retryTemplate = new RetryTemplate()
+        cockroachTransactionExecutor.meterRegistry = new SimpleMeterRegistry()
+        cockroachTransactionExecutor.maxAttempts = 3
+        stationReservationDAO.jdbcTemplate = jdbcTemplate
+        stationReservationDAO.cockroachTransactionExecutor = cockroachTransactionExecutor
+    }
+
+    def "checks for overlaps and inserts in one serializable transaction"() {
+        given:
+        def request = reservation()
+        List<TransactionDefinition> definitions = []
+
+        when:
+        def result = stationReservationDAO.insertReservations([request], Duration.ofHours(8))
+
+        then:
+        1 * transactionManager.getTransaction(_) >> { TransactionDefinition definition ->
+            definitions << definition
+            new SimpleTransactionStatus()
+        }
+        1 * jdbcTemplate.query({ it.contains('FROM station_reservation WHERE station_id = ?') }, _ as RowMapper, *_) >> []
+        1 * jdbcTemplate.queryForObject({ it.startsWith('INSERT INTO station_reservation') }, _ as RowMapper, *_) >> request
+        1 * transactionManager.commit(_)
+        result.outcome == ReservationResult.Outcome.BOOKED
+        definitions*.isolationLevel == [TransactionDefinition.ISOLATION_SERIALIZABLE]
+    }
+
+    def "leaves the isolation of other writes to the default"() {
+        given:
+        List<TransactionDefinition> definitions = []
+
+        when:
+        stationReservationDAO.cancelReservation(UUID.randomUUID())
+
+        then:
+        1 * transactionManager.getTransaction(_) >> { TransactionDefinition definition ->
+            definitions << definition
+            new SimpleTransactionStatus()
+        }
+        1 * jdbcTemplate.query({ it.startsWith('UPDATE station_reservation') }, _ as RowMapper, *_) >> []
+        definitions*.isolationLevel == [TransactionDefinition.ISOLATION_DEFAULT]
+    }
+
+    private static StationReservation reservation() {
+        StationReservation.builder().reservationId(UUID.randomUUID()).groupId(UUID.randomUUID()).stationId('s1')
+                .type(ReservationType.PLAY).startsAt(T0).endsAt(T0.plus(Duration.ofHours(1))).build()
+    }
+}
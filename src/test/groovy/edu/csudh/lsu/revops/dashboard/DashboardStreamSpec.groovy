@@ -0,0 +1,158 @@
+package edu.csudh.lsu.revops.dashboard
+
+import edu.csudh.lsu.revops.session.ShiftCalendar
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.ZoneOffset
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+class DashboardStreamSpec extends Specification {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    DashboardStream stream = new DashboardStream()
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    // Releases sends that block to simulate a slow client
+    CountDownLatch unblock = new CountDownLatch(1)
+
+    def setup() {
+        def shiftCalendar = new ShiftCalendar()
+        shiftCalendar.shiftHours = 8
+        shiftCalendar.zoneId = ZoneOffset.UTC
+        stream.shiftCalendar = shiftCalendar
+        stream.meterRegistry = meterRegistry
+        // The producer never ticks on its own; the spec publishes the frames
+        stream.tickMs = 3_600_000
+        stream.heartbeatMs = 15_000
+        stream.subscriberQueueSize = 2
+        stream.slowConsumerMs = 5_000
+        stream.maxSubscribers = 3
+        stream.senderThreads = 2
+        stream.streamTimeoutMs = 60_000
+        stream.init()
+    }
+
+    def cleanup() {
+        unblock.countDown()
+        stream.shutdown()
+    }
+
+    def "sends every frame to every subscriber in order"() {
+        given:
+        def clients = (1..3).collect { client() }
+
+        when:
+        stream.publish(frame('1'))
+        stream.publish(frame('2'))
+
+        then:
+        conditions.eventually {
+            assert clients.every { it.sent as List == ['1', '2'] }
+        }
+        stream.subscribers.size() == 3
+    }
+
+    def "removes a subscriber whose send fails and keeps sending to the others"() {
+        given:
+        def healthy = client()
+        def gone = client { throw new IOException('Broken pipe') }
+
+        when:
+        stream.publish(frame('1'))
+
+        then:
+        conditions.eventually {
+            assert !stream.subscribers.containsKey(gone.subscriber.id())
+            assert gone.completed.get() == 1
+        }
+
+        when:
+        stream.publish(frame('2'))
+
+        then:
+        conditions.eventually {
+            assert healthy.sent as List == ['1', '2']
+        }
+        gone.sent.isEmpty()
+        stream.subscribers.keySet() as List == [healthy.subscriber.id()]
+        meterRegistry.get('revops.dashboard.dropped').counter().count() == 0
+    }
+
+    def "drops a subscriber that falls a full queue behind"() {
+        given:
+        def healthy = client()
+        def slow = client { unblock.await() }
+        stream.publish(frame('1'))
+        conditions.eventually {
+            assert slow.subscriber.sendingSinceMillis() > 0
+        }
+
+        when: 'the blocked send leaves room for two more frames only'
+        (2..4).each { id ->
+            stream.publish(frame(id as String))
+            conditions.eventually {
+                assert healthy.sent.size() == id
+            }
+        }
+
+        then:
+        !stream.subscribers.containsKey(slow.subscriber.id())
+        stream.subscribers.containsKey(healthy.subscriber.id())
+        healthy.sent as List == ['1', '2', '3', '4']
+        meterRegistry.get('revops.dashboard.dropped').counter().count() == 1
+    }
+
+    def "refuses streams beyond the limit"() {
+        given:
+        3.times { stream.subscribe() }
+
+        expect:
+        !stream.subscribe().present
+        stream.subscribers.size() == 3
+        meterRegistry.get('revops.dashboard.subscribers').gauge().value() == 3
+    }
+
+    /**
+     * Registers a subscriber whose emitter runs the given action before each send.
+     */
+    private RecordingEmitter client(Closure onSend = {}) {
+        def emitter = new RecordingEmitter(onSend: onSend)
+        emitter.subscriber = new DashboardSubscriber(stream.subscriberIds.incrementAndGet(), emitter,
+                stream.subscriberQueueSize)
+        stream.subscribers.put(emitter.subscriber.id(), emitter.subscriber)
+        emitter
+    }
+
+    private static DashboardSubscriber.Frame frame(String id) {
+        new DashboardSubscriber.Frame(id, 'update', "{\"sequence\":${id}}")
+    }
+
+    /**
+     * Records the ids of the events sent. Spock mocks handle invocations one at a time, so a send blocking in a mock
+     * would hold up the other subscribers' sends as well.
+     */
+    static class RecordingEmitter extends SseEmitter {
+
+        Closure onSend
+        DashboardSubscriber subscriber
+        Queue<String> sent = new ConcurrentLinkedQueue<>()
+        AtomicInteger completed = new AtomicInteger()
+
+        @Override
+        void send(SseEmitter.SseEventBuilder builder) throws IOException {
+            onSend()
+            String event = builder.build()*.data.join()
+            sent << (event =~ /id:(\S+)/)[0][1]
+        }
+
+        @Override
+        void complete() {
+            completed.incrementAndGet()
+        }
+    }
+}
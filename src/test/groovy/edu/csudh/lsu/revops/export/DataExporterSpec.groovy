@@ -0,0 +1,150 @@
+package edu.csudh.lsu.revops.export
+
+import org.springframework.jdbc.core.ConnectionCallback
+import org.springframework.jdbc.core.JdbcTemplate
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.sql.Connection
+import java.sql.PreparedStatement
+import java.sql.ResultSet
+import java.sql.SQLException
+import java.sql.Timestamp
+import java.time.LocalDate
+import java.time.ZoneOffset
+import java.util.concurrent.ConcurrentLinkedQueue
+
+class DataExporterSpec extends Specification {
+
+    static final LocalDate FIRST = LocalDate.parse('2026-10-16')
+    static final LocalDate SECOND = LocalDate.parse('2026-10-17')
+    static final LocalDate LAST = LocalDate.parse('2026-10-18')
+
+    // Revenue rows per business day, and what the connections saw
+    Map<LocalDate, List<List>> revenue = [:]
+    Set<LocalDate> failing = []
+    Queue<String> calls = new ConcurrentLinkedQueue<>()
+
+    JdbcTemplate jdbcTemplate = new JdbcTemplate() {
+        @Override
+        <T> T execute(ConnectionCallback<T> action) {
+            action.doInConnection(connection())
+        }
+    }
+
+    @TempDir
+    Path directory
+
+    DataExporter exporter = new DataExporter(jdbcTemplate, ZoneOffset.UTC, 2, 250, 4, 1024 * 1024)
+
+    def setup() {
+        // The oldest day has the most rows, so it is read last while the other days are buffered
+        revenue[FIRST] = (1..10).collect { [FIRST, "Category ${it}".toString(), 'STUDENT', 1L, 30L, 500L] }
+        revenue[SECOND] = [[SECOND, 'Billiards', null, 2L, 60L, 1000L]]
+        revenue[LAST] = [[LAST, 'Bowling', 'GUEST', 3L, 90L, 1500L], [LAST, 'Darts', 'STUDENT', 1L, 15L, 0L]]
+    }
+
+    def cleanup() {
+        exporter.close()
+    }
+
+    def "reads every day through a forward-only cursor with the configured fetch size"() {
+        when:
+        def rows = exporter.export(ExportDataset.REVENUE, ExportFormat.CSV, FIRST, LAST, new ByteArrayOutputStream())
+
+        then:
+        rows == 13
+        calls.findAll { it.startsWith('prepare') } as List == ['prepare forward-only read-only'] * 3
+        calls.findAll { it.startsWith('fetchSize') } as List == ['fetchSize 250'] * 3
+        calls.count('autoCommit false') == 3
+        calls.count('commit') == 3
+        calls.count('autoCommit true') == 3
+        !calls.contains('rollback')
+    }
+
+    def "writes the days in date order into a single stream"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        exporter.export(ExportDataset.REVENUE, ExportFormat.CSV, FIRST, LAST, out)
+
+        then:
+        def lines = out.toString(StandardCharsets.UTF_8).split('\r\n') as List
+        lines[0] == 'business_date,category,member_type,sessions,billed_minutes,revenue_cents'
+        lines.drop(1) == [revenue[FIRST], revenue[SECOND], revenue[LAST]].sum()
+                .collect { row -> row.collect { it == null ? '' : it.toString() }.join(',') }
+    }
+
+    def "writes one file per day and leaves no partial files behind"() {
+        when:
+        def files = exporter.exportToDirectory(ExportDataset.REVENUE, ExportFormat.CSV, FIRST, LAST, directory)
+
+        then:
+        files*.fileName*.toString() == ['revenue-2026-10-16.csv', 'revenue-2026-10-17.csv', 'revenue-2026-10-18.csv']
+        Files.readAllLines(files[2]) == ['business_date,category,member_type,sessions,billed_minutes,revenue_cents',
+                                         '2026-10-18,Bowling,GUEST,3,90,1500', '2026-10-18,Darts,STUDENT,1,15,0']
+        Files.list(directory).withCloseable { it.count() } == 3
+    }
+
+    def "rolls back and restores auto-commit when a day cannot be read"() {
+        given:
+        failing << SECOND
+
+        when:
+        exporter.exportToDirectory(ExportDataset.REVENUE, ExportFormat.CSV, FIRST, LAST, directory)
+
+        then:
+        def ex = thrown(IOException)
+        ex.cause instanceof SQLException
+        calls.count('rollback') == 1
+        calls.count('autoCommit true') == 3
+        !Files.exists(directory.resolve('revenue-2026-10-17.csv.partial'))
+        !Files.exists(directory.resolve('revenue-2026-10-17.csv'))
+    }
+
+    /**
+     * A connection that serves the revenue rows of the day bound to the query.
+     */
+    private Connection connection() {
+        boolean autoCommit = true
+        [getAutoCommit   : { autoCommit },
+         setAutoCommit   : { boolean value -> autoCommit = value; calls << "autoCommit ${value}".toString() },
+         prepareStatement: { String sql, int type, int concurrency ->
+             calls << ('prepare ' + (type == ResultSet.TYPE_FORWARD_ONLY ? 'forward-only ' : 'scrollable ') +
+                     (concurrency == ResultSet.CONCUR_READ_ONLY ? 'read-only' : 'updatable'))
+             statement()
+         },
+         commit          : { calls << 'commit' },
+         rollback        : { calls << 'rollback' }] as Connection
+    }
+
+    private PreparedStatement statement() {
+        LocalDate date
+        [setFetchSize: { int rows -> calls << "fetchSize ${rows}".toString() },
+         setObject   : { int index, Object value -> date = value as LocalDate },
+         setTimestamp: { int index, Timestamp value -> },
+         executeQuery: {
+             if (date in failing) {
+                 throw new SQLException('node unavailable', '08006')
+             }
+             resultSet(revenue[date] ?: [])
+         },
+         close       : {}] as PreparedStatement
+    }
+
+    private static ResultSet resultSet(List<List> rows) {
+        int index = -1
+        Object last = null
+        def value = { int column -> last = rows[index][column - 1] }
+        [next     : { ++index < rows.size() },
+         getString: { int column -> value(column) },
+         getLong  : { int column -> value(column) ?: 0L },
+         getObject: { int column, Class type -> value(column) },
+         wasNull  : { last == null },
+         close    : {}] as ResultSet
+    }
+}
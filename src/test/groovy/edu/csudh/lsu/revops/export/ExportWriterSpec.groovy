@@ -0,0 +1,129 @@
+package edu.csudh.lsu.revops.export
+
+import org.apache.parquet.example.data.Group
+import org.apache.parquet.hadoop.ParquetReader
+import org.apache.parquet.hadoop.api.ReadSupport
+import org.apache.parquet.hadoop.example.GroupReadSupport
+import org.apache.parquet.io.LocalInputFile
+import org.apache.parquet.schema.LogicalTypeAnnotation
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Instant
+import java.time.LocalDate
+
+class ExportWriterSpec extends Specification {
+
+    static final List<ExportColumn> COLUMNS = [ExportColumn.string('activity'), ExportColumn.int32('price'),
+                                               ExportColumn.int64('change_version'), ExportColumn.timestamp('changed_at'),
+                                               ExportColumn.date('business_date')]
+
+    static final List<Object[]> ROWS = [
+            ['Pool', 500, 12L, Instant.parse('2026-10-18T09:15:30.250Z'), LocalDate.parse('2026-10-18')] as Object[],
+            ['Air hockey, "pro" table', 750, 13L, Instant.parse('2026-10-18T23:59:59.999Z'),
+             LocalDate.parse('2026-10-18')] as Object[],
+            ['Darts\r\nand more', null, null, null, null] as Object[]]
+
+    @TempDir
+    Path directory
+
+    def "writes a header and one RFC 4180 record per row"() {
+        given:
+        def out = new ByteArrayOutputStream()
+
+        when:
+        def writer = ExportFormat.CSV.open(out, COLUMNS, 0)
+        ROWS.each { writer.write(it) }
+        writer.finish()
+
+        then:
+        out.toString(StandardCharsets.UTF_8) ==
+                'activity,price,change_version,changed_at,business_date\r\n' +
+                'Pool,500,12,2026-10-18T09:15:30.250Z,2026-10-18\r\n' +
+                '"Air hockey, ""pro"" table",750,13,2026-10-18T23:59:59.999Z,2026-10-18\r\n' +
+                '"Darts\r\nand more",,,,\r\n'
+        parseCsv(out.toString(StandardCharsets.UTF_8)).drop(1) == ROWS.collect { row -> row.collect { it?.toString() ?: '' } }
+    }
+
+    def "writes Parquet that reads back to the same rows and types"() {
+        given:
+        def file = directory.resolve('export.parquet')
+
+        when:
+        def writer = ExportFormat.PARQUET.open(Files.newOutputStream(file), COLUMNS, 1024 * 1024)
+        ROWS.each { writer.write(it) }
+        writer.finish()
+        def groups = readParquet(file)
+
+        then:
+        def schema = groups[0].type
+        schema.fields*.name == COLUMNS*.name()
+        schema.getType('activity').logicalTypeAnnotation == LogicalTypeAnnotation.stringType()
+        schema.getType('changed_at').logicalTypeAnnotation ==
+                LogicalTypeAnnotation.timestampType(true, LogicalTypeAnnotation.TimeUnit.MILLIS)
+        schema.getType('business_date').logicalTypeAnnotation == LogicalTypeAnnotation.dateType()
+        groups.collect { toRow(it) } == ROWS.collect { it as List }
+    }
+
+    private static List<List<String>> parseCsv(String text) {
+        List<List<String>> records = []
+        List<String> fields = []
+        String field = ''
+        boolean quoted = false
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i)
+            if (quoted) {
+                if (c == '"' as char && i + 1 < text.length() && text.charAt(i + 1) == '"' as char) {
+                    field += c
+                    i++
+                } else if (c == '"' as char) {
+                    quoted = false
+                } else {
+                    field += c
+                }
+            } else if (c == '"' as char) {
+                quoted = true
+            } else if (c == ',' as char) {
+                fields << field
+                field = ''
+            } else if (c == '\r' as char) {
+                fields << field
+                field = ''
+                records << fields
+                fields = []
+                i++
+            } else {
+                field += c
+            }
+        }
+        records
+    }
+
+    private static List<Group> readParquet(Path file) {
+        def builder = new ParquetReader.Builder<Group>(new LocalInputFile(file)) {
+            @Override
+            protected ReadSupport<Group> getReadSupport() {
+                new GroupReadSupport()
+            }
+        }
+        List<Group> groups = []
+        builder.build().withCloseable { reader ->
+            for (Group group = reader.read(); group != null; group = reader.read()) {
+                groups << group
+            }
+        }
+        groups
+    }
+
+    private static List<Object> toRow(Group group) {
+        def present = { String name -> group.getFieldRepetitionCount(name) > 0 }
+        [present('activity') ? group.getString('activity', 0) : null,
+         present('price') ? group.getInteger('price', 0) : null,
+         present('change_version') ? group.getLong('change_version', 0) : null,
+         present('changed_at') ? Instant.ofEpochMilli(group.getLong('changed_at', 0)) : null,
+         present('business_date') ? LocalDate.ofEpochDay(group.getInteger('business_date', 0)) : null]
+    }
+}
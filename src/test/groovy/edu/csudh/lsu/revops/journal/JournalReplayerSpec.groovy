@@ -0,0 +1,163 @@
+package edu.csudh.lsu.revops.journal
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule
+import edu.csudh.lsu.revops.dao.ActivityDAO
+import edu.csudh.lsu.revops.health.DataBaseHealthCheck
+import edu.csudh.lsu.revops.health.HealthCheckResult
+import edu.csudh.lsu.revops.model.JournaledWrite
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.hibernate.exception.JDBCConnectionException
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Path
+import java.sql.SQLException
+
+class JournalReplayerSpec extends Specification {
+
+    @TempDir
+    Path directory
+
+    DataBaseHealthCheck dataBaseHealthCheck = Stub()
+    ActivityDAO activityDAO = Mock()
+    OutageJournal outageJournal = new OutageJournal()
+    JournalReplayer replayer = new JournalReplayer()
+
+    // The write ids recorded in journal_replay, and the writes actually applied
+    Set<UUID> replayed = []
+    List<UUID> applied = []
+
+    def setup() {
+        dataBaseHealthCheck.checkDataBaseHealth() >> new HealthCheckResult('database', 'database',
+                HealthCheckResult.Result.success, '')
+        outageJournal.objectMapper = new ObjectMapper().registerModule(new JavaTimeModule())
+        outageJournal.dataBaseHealthCheck = dataBaseHealthCheck
+        outageJournal.meterRegistry = new SimpleMeterRegistry()
+        outageJournal.enabled = true
+        outageJournal.file = directory.resolve('activity-writes.journal')
+        outageJournal.capacityMb = 1
+        outageJournal.forceOnWrite = false
+        outageJournal.init()
+        replayer.outageJournal = outageJournal
+        replayer.activityDAO = activityDAO
+        replayer.dataBaseHealthCheck = dataBaseHealthCheck
+        replayer.meterRegistry = new SimpleMeterRegistry()
+        replayer.batchSize = 2
+        replayer.init()
+    }
+
+    def cleanup() {
+        outageJournal.shutdown()
+    }
+
+    def "replays the registered writes in order and empties the journal"() {
+        given:
+        def writes = register(5)
+
+        when:
+        replayer.replay()
+
+        then:
+        5 * activityDAO.replayJournaledWrite(_) >> { JournaledWrite write -> apply(write) }
+        applied == writes
+        outageJournal.depth() == 0
+        !outageJournal.isActive()
+    }
+
+    def "applies every write once when a batch is replayed again after a crash"() {
+        given:
+        def writes = register(5)
+        int calls = 0
+        activityDAO.replayJournaledWrite(_) >> { JournaledWrite write ->
+            apply(write)
+            if (++calls == 3) {
+                // Applied and recorded in journal_replay, but the node dies before the batch is marked drained
+                throw new OutOfMemoryError('crash')
+            }
+            1
+        }
+
+        when:
+        replayer.replay()
+
+        then:
+        thrown(OutOfMemoryError)
+        applied == writes.take(3)
+        outageJournal.depth() == 3
+
+        when:
+        restart()
+        replayer.replay()
+
+        then:
+        applied == writes
+        outageJournal.depth() == 0
+    }
+
+    def "stops at a write the database cannot take and resumes from it"() {
+        given:
+        def writes = register(4)
+        boolean down = true
+        activityDAO.replayJournaledWrite(_) >> { JournaledWrite write ->
+            if (down && write.writeId == writes[2]) {
+                throw new JDBCConnectionException('connection refused', new SQLException('refused', '08001'))
+            }
+            apply(write)
+        }
+
+        when:
+        replayer.replay()
+
+        then:
+        applied == writes.take(2)
+        outageJournal.depth() == 2
+
+        when:
+        down = false
+        replayer.replay()
+
+        then:
+        applied == writes
+        outageJournal.depth() == 0
+    }
+
+    def "skips a write that fails for a reason other than an outage"() {
+        given:
+        def writes = register(3)
+        activityDAO.replayJournaledWrite(_) >> { JournaledWrite write ->
+            if (write.writeId == writes[1]) {
+                throw new IllegalStateException('rejected')
+            }
+            apply(write)
+        }
+
+        when:
+        replayer.replay()
+
+        then:
+        applied == [writes[0], writes[2]]
+        outageJournal.depth() == 0
+    }
+
+    private List<UUID> register(int count) {
+        (1..count).collect {
+            def write = JournaledWrite.builder().type(JournaledWrite.Type.DISABLE).activityId(UUID.randomUUID()).build()
+            outageJournal.register(write)
+            write.writeId
+        }
+    }
+
+    // Stands in for ActivityDAO.replayJournaledWrite, which skips a write already recorded in journal_replay
+    private int apply(JournaledWrite write) {
+        if (replayed.add(write.writeId)) {
+            applied << write.writeId
+        }
+        1
+    }
+
+    private void restart() {
+        outageJournal.shutdown()
+        outageJournal.init()
+    }
+}
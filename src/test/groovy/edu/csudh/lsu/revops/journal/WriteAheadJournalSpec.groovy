@@ -0,0 +1,278 @@
+package edu.csudh.lsu.revops.journal
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.ByteBuffer
+import java.nio.channels.FileChannel
+import java.nio.charset.StandardCharsets
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+class WriteAheadJournalSpec extends Specification {
+
+    static final int HEADER_BYTES = 64
+    static final int RECORD_HEADER_BYTES = 16
+
+    @TempDir
+    Path directory
+
+    Path file
+
+    WriteAheadJournal journal
+
+    def setup() {
+        file = directory.resolve('writes.journal')
+        journal = new WriteAheadJournal(file, 1024, true)
+    }
+
+    def cleanup() {
+        journal.close()
+    }
+
+    def "reads the appended records in order without consuming them"() {
+        given:
+        journal.append(bytes('a'))
+        journal.append(bytes('bb'))
+        journal.append(bytes('ccc'))
+
+        when:
+        def records = journal.read(2)
+
+        then:
+        records*.payload().collect { text(it) } == ['a', 'bb']
+        records[0].nextOffset() == records[1].offset()
+        journal.read(10).size() == 3
+        journal.depth() == 3
+    }
+
+    def "consumes the records before the drained offset"() {
+        given:
+        ['a', 'b', 'c'].each { journal.append(bytes(it)) }
+
+        when:
+        journal.markDrained(journal.read(2)[1].nextOffset())
+
+        then:
+        journal.depth() == 1
+        journal.read(10)*.payload().collect { text(it) } == ['c']
+    }
+
+    def "ignores a drained offset outside the records waiting"() {
+        given:
+        journal.append(bytes('a'))
+        def record = journal.read(1)[0]
+
+        when:
+        journal.markDrained(record.offset())
+        journal.markDrained(record.nextOffset() + 100)
+
+        then:
+        journal.depth() == 1
+    }
+
+    def "recovers the records not drained before a restart"() {
+        given:
+        ['a', 'b', 'c'].each { journal.append(bytes(it)) }
+        journal.markDrained(journal.read(1)[0].nextOffset())
+
+        when:
+        reopen()
+
+        then:
+        journal.depth() == 2
+        journal.read(10)*.payload().collect { text(it) } == ['b', 'c']
+    }
+
+    def "discards a tail record whose checksum does not match"() {
+        given:
+        ['a', 'b', 'c'].each { journal.append(bytes(it)) }
+        def torn = journal.read(3)[2]
+        journal.close()
+        corrupt(torn.offset() + RECORD_HEADER_BYTES, 'x' as char)
+
+        when:
+        reopen()
+
+        then:
+        journal.depth() == 2
+        journal.read(10)*.payload().collect { text(it) } == ['a', 'b']
+    }
+
+    def "discards a tail record torn before its payload was written"() {
+        given:
+        ['a', 'b'].each { journal.append(bytes(it)) }
+        def end = journal.read(2)[1].nextOffset()
+        journal.close()
+        // Length written, checksum, timestamp and payload lost
+        writeInt(end, 40)
+
+        when:
+        reopen()
+
+        then:
+        journal.depth() == 2
+        journal.read(10)*.payload().collect { text(it) } == ['a', 'b']
+    }
+
+    def "discards a tail record whose length runs past the end of the file"() {
+        given:
+        journal.append(bytes('a'))
+        def end = journal.read(1)[0].nextOffset()
+        journal.close()
+        writeInt(end, 4096)
+
+        when:
+        reopen()
+
+        then:
+        journal.depth() == 1
+    }
+
+    def "appends after a discarded tail record and keeps them across a restart"() {
+        given:
+        ['a', 'b'].each { journal.append(bytes(it)) }
+        def torn = journal.read(2)[1]
+        journal.close()
+        corrupt(torn.offset() + 4, 0 as char)
+        reopen()
+
+        when:
+        journal.append(bytes('c'))
+        reopen()
+
+        then:
+        journal.read(10)*.payload().collect { text(it) } == ['a', 'c']
+    }
+
+    def "keeps taking appends while it is drained under steady traffic"() {
+        given:
+        def payload = bytes('x' * 48)
+        int appended = 0
+        int drained = 0
+
+        when: 'far more records pass through than the file holds, with a few always waiting'
+        200.times {
+            journal.append(payload)
+            appended++
+            if (journal.depth() > 3) {
+                journal.markDrained(journal.read(2)[1].nextOffset())
+                drained += 2
+            }
+        }
+
+        then:
+        notThrown(IllegalStateException)
+        journal.depth() == appended - drained
+        journal.depth() > 0
+        journal.usage() < 0.5
+    }
+
+    def "keeps the waiting records in order when it compacts"() {
+        given:
+        (1..10).each { journal.append(bytes("record-$it")) }
+
+        when:
+        journal.markDrained(journal.read(7)[6].nextOffset())
+
+        then: 'the three waiting records were moved to the beginning of the file'
+        journal.read(10)[0].offset() == HEADER_BYTES
+
+        when:
+        journal.append(bytes('record-11'))
+        reopen()
+
+        then:
+        journal.read(10)*.payload().collect { text(it) } == ['record-8', 'record-9', 'record-10', 'record-11']
+    }
+
+    def "does not compact while the waiting records take more room than the drained ones"() {
+        given:
+        (1..10).each { journal.append(bytes("record-$it")) }
+
+        when:
+        journal.markDrained(journal.read(3)[2].nextOffset())
+
+        then:
+        journal.read(1)[0].offset() > HEADER_BYTES
+        journal.depth() == 7
+    }
+
+    def "starts over at the beginning of the file once every record is drained"() {
+        given:
+        ['a', 'b'].each { journal.append(bytes(it)) }
+
+        when:
+        journal.markDrained(journal.read(2)[1].nextOffset())
+        journal.append(bytes('c'))
+
+        then:
+        journal.depth() == 1
+        journal.read(1)[0].offset() == HEADER_BYTES
+    }
+
+    def "does not resurrect stale records left behind a compaction"() {
+        given: 'a compaction that moved one record to the front, leaving the drained records behind it'
+        (1..6).each { journal.append(bytes("record-$it")) }
+        journal.markDrained(journal.read(5)[4].nextOffset())
+
+        when:
+        reopen()
+
+        then:
+        journal.read(10)*.payload().collect { text(it) } == ['record-6']
+
+        when:
+        journal.append(bytes('record-7'))
+        reopen()
+
+        then:
+        journal.read(10)*.payload().collect { text(it) } == ['record-6', 'record-7']
+    }
+
+    def "refuses a record it has no room for"() {
+        when:
+        journal.append(new byte[1024])
+
+        then:
+        thrown(IllegalStateException)
+        journal.depth() == 0
+    }
+
+    def "reports the age of the oldest waiting record"() {
+        expect:
+        journal.oldestAppendedAtMillis() == 0
+
+        when:
+        long before = System.currentTimeMillis()
+        journal.append(bytes('a'))
+
+        then:
+        journal.oldestAppendedAtMillis() >= before
+    }
+
+    private void reopen() {
+        journal.close()
+        journal = new WriteAheadJournal(file, 1024, true)
+    }
+
+    private void corrupt(long offset, char value) {
+        FileChannel.open(file, StandardOpenOption.WRITE).withCloseable {
+            it.write(ByteBuffer.wrap([value as byte] as byte[]), offset)
+        }
+    }
+
+    private void writeInt(long offset, int value) {
+        FileChannel.open(file, StandardOpenOption.WRITE).withCloseable {
+            it.write(ByteBuffer.allocate(4).putInt(0, value), offset)
+        }
+    }
+
+    private static byte[] bytes(String text) {
+        text.getBytes(StandardCharsets.UTF_8)
+    }
+
+    private static String text(byte[] bytes) {
+        new String(bytes, StandardCharsets.UTF_8)
+    }
+}
@@ -0,0 +1,121 @@
+package edu.csudh.lsu.revops.leaderboard
+
+import edu.csudh.lsu.revops.model.LeaderboardEntry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+
+class SlidingTopKSpec extends Specification {
+
+    // Start of a bucket of a minute
+    static final Instant T0 = Instant.parse('2026-10-18T12:00:00Z')
+
+    def "merges the counts of every bucket of the window"() {
+        given:
+        def topK = new SlidingTopK(3, Duration.ofMinutes(1), 10)
+        record(topK, 'pool', at(0), 2)
+        record(topK, 'pool', at(60), 1)
+        record(topK, 'bowling', at(60), 2)
+        record(topK, 'pool', at(120), 1)
+
+        expect:
+        top(topK, 10, at(150)) == [['pool', 4, 4], ['bowling', 2, 2]]
+    }
+
+    def "drops a bucket once it has left the window"() {
+        given:
+        def topK = new SlidingTopK(3, Duration.ofMinutes(1), 10)
+        record(topK, 'pool', at(0), 5)
+        record(topK, 'bowling', at(60), 2)
+
+        expect:
+        top(topK, 10, at(179)) == [['pool', 5, 5], ['bowling', 2, 2]]
+        top(topK, 10, at(180)) == [['bowling', 2, 2]]
+        top(topK, 10, at(240)) == []
+        topK.windowStart(at(180)) == at(60)
+    }
+
+    def "clears a slot of the ring when a new bucket takes it over"() {
+        given:
+        def topK = new SlidingTopK(3, Duration.ofMinutes(1), 10)
+        record(topK, 'pool', at(0), 5)
+
+        when: 'three buckets later, the same slot of the ring'
+        record(topK, 'bowling', at(180), 1)
+
+        then:
+        top(topK, 10, at(180)) == [['bowling', 1, 1]]
+    }
+
+    def "ignores an occurrence older than every bucket of the ring"() {
+        given:
+        def topK = new SlidingTopK(3, Duration.ofMinutes(1), 10)
+        record(topK, 'pool', at(180), 1)
+
+        when:
+        record(topK, 'bowling', at(0), 1)
+
+        then:
+        top(topK, 10, at(180)) == [['pool', 1, 1]]
+    }
+
+    def "adds the floor of every full bucket that lost a key"() {
+        given:
+        def topK = new SlidingTopK(2, Duration.ofMinutes(1), 2)
+        record(topK, 'a', at(0), 3)
+        record(topK, 'b', at(0), 2)
+        record(topK, 'a', at(60), 1)
+        record(topK, 'b', at(60), 1)
+        // Evicts a, the first of the lowest, from the second bucket
+        record(topK, 'c', at(60), 1)
+
+        expect: 'a may have reached the floor of 1 in the second bucket, c that of 2 in the first'
+        top(topK, 10, at(60)) == [['a', 4, 3], ['c', 4, 1], ['b', 3, 3]]
+    }
+
+    def "keeps every merged count between the guaranteed count and the true count"() {
+        given:
+        def topK = new SlidingTopK(4, Duration.ofMinutes(1), 8)
+        def random = new Random(7)
+        def truth = [:].withDefault { 0L }
+        Instant now = at(4 * 60 - 1)
+
+        when:
+        (0..<4_000).each { occurrence ->
+            String key = 'k' + (int) Math.floor(Math.pow(random.nextDouble(), 2) * 40)
+            topK.record(key, T0.plusMillis(occurrence * 60L))
+            truth[key]++
+        }
+
+        then:
+        def entries = topK.top(100, now)
+        !entries.isEmpty()
+        entries.every { it.guaranteedCount <= truth[it.key] && truth[it.key] <= it.count }
+        entries.collect { it.count } == entries.collect { it.count }.sort().reverse()
+    }
+
+    def "returns at most the given number of keys, most frequent first"() {
+        given:
+        def topK = new SlidingTopK(1, Duration.ofMinutes(1), 10)
+        record(topK, 'c', at(0), 1)
+        record(topK, 'b', at(0), 2)
+        record(topK, 'a', at(0), 2)
+        record(topK, 'd', at(0), 3)
+
+        expect:
+        top(topK, 3, at(0))*.get(0) == ['d', 'a', 'b']
+    }
+
+    private static Instant at(long seconds) {
+        T0.plusSeconds(seconds)
+    }
+
+    private static void record(SlidingTopK topK, String key, Instant at, int times) {
+        times.times { topK.record(key, at) }
+    }
+
+    private static List<List> top(SlidingTopK topK, int limit, Instant now) {
+        topK.top(limit, now).collect { LeaderboardEntry entry -> [entry.key, entry.count, entry.guaranteedCount] }
+    }
+}
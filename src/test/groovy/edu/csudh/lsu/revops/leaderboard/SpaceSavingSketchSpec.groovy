@@ -0,0 +1,96 @@
+package edu.csudh.lsu.revops.leaderboard
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class SpaceSavingSketchSpec extends Specification {
+
+    def "counts exactly while it has free counters"() {
+        given:
+        def sketch = new SpaceSavingSketch(3)
+
+        when:
+        sketch.offer('a', 1)
+        sketch.offer('b', 2)
+        sketch.offer('a', 3)
+
+        then:
+        counters(sketch) == [a: [4, 0], b: [2, 0]]
+        sketch.floor() == 0
+    }
+
+    def "hands the lowest counter to a new key once it is full"() {
+        given:
+        def sketch = new SpaceSavingSketch(2)
+        sketch.offer('a', 5)
+        sketch.offer('b', 2)
+
+        when:
+        sketch.offer('c', 1)
+
+        then:
+        counters(sketch) == [a: [5, 0], c: [3, 2]]
+        !sketch.contains('b')
+        sketch.floor() == 3
+    }
+
+    @Unroll
+    def "keeps every count between its true count and the true count plus its error with #capacity counters"() {
+        given:
+        def sketch = new SpaceSavingSketch(capacity)
+        def truth = [:].withDefault { 0L }
+        def random = new Random(seed)
+
+        when:
+        10_000.times {
+            // Skewed, so a few keys are heavy hitters among a long tail
+            String key = 'k' + (int) Math.floor(Math.pow(random.nextDouble(), 3) * 500)
+            sketch.offer(key, 1)
+            truth[key]++
+        }
+
+        then:
+        def held = counters(sketch)
+        held.size() == capacity
+        held.every { key, bounds -> bounds[0] - bounds[1] <= truth[key] && truth[key] <= bounds[0] }
+        truth.findAll { key, count -> !held.containsKey(key) }.every { key, count -> count <= sketch.floor() }
+        truth.findAll { key, count -> count > 10_000 / capacity }.every { key, count -> held.containsKey(key) }
+
+        where:
+        capacity | seed
+        10       | 1
+        50       | 2
+        200      | 3
+    }
+
+    def "forgets every key when cleared"() {
+        given:
+        def sketch = new SpaceSavingSketch(2)
+        sketch.offer('a', 1)
+        sketch.offer('b', 1)
+        sketch.offer('c', 1)
+
+        when:
+        sketch.clear()
+        sketch.offer('d', 1)
+
+        then:
+        counters(sketch) == [d: [1, 0]]
+        !sketch.contains('a')
+        sketch.floor() == 0
+    }
+
+    def "needs at least one counter"() {
+        when:
+        new SpaceSavingSketch(0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private static Map<String, List<Long>> counters(SpaceSavingSketch sketch) {
+        Map<String, List<Long>> counters = [:]
+        sketch.forEach { key, count, error -> counters[key] = [count, error] }
+        counters
+    }
+}
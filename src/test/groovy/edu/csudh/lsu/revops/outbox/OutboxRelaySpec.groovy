@@ -0,0 +1,178 @@
+package edu.csudh.lsu.revops.outbox
+
+import edu.csudh.lsu.revops.dao.ActivityOutboxDAO
+import edu.csudh.lsu.revops.dao.CockroachTransactionExecutor
+import edu.csudh.lsu.revops.model.OutboxEvent
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.apache.kafka.clients.consumer.ConsumerConfig
+import org.apache.kafka.clients.consumer.KafkaConsumer
+import org.apache.kafka.common.serialization.StringDeserializer
+import org.apache.kafka.common.serialization.StringSerializer
+import org.springframework.kafka.core.DefaultKafkaProducerFactory
+import org.springframework.kafka.core.KafkaTemplate
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker
+import org.springframework.kafka.test.utils.KafkaTestUtils
+import org.springframework.transaction.support.TransactionCallback
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+
+class OutboxRelaySpec extends Specification {
+
+    static final String TOPIC = 'lsu.revops.activity-changes'
+
+    ActivityOutboxDAO outboxDAO = Mock()
+    OutboxPublisher publisher = Mock()
+    CockroachTransactionExecutor cockroachTransactionExecutor = Stub()
+    OutboxRelay relay = new OutboxRelay()
+
+    // Whether the claim transaction is open
+    boolean inTransaction
+
+    def setup() {
+        cockroachTransactionExecutor.execute(_, _) >> { String operation, TransactionCallback work ->
+            inTransaction = true
+            try {
+                work.doInTransaction(null)
+            } finally {
+                inTransaction = false
+            }
+        }
+        relay.activityOutboxDAO = outboxDAO
+        relay.outboxPublisher = publisher
+        relay.cockroachTransactionExecutor = cockroachTransactionExecutor
+        relay.meterRegistry = new SimpleMeterRegistry()
+        relay.batchSize = 3
+        relay.claimLeaseMs = 30000
+        relay.registerMetrics()
+    }
+
+    def "marks every acknowledged event of a batch as published"() {
+        given:
+        def batch = [event(1, 'a'), event(2, 'b'), event(3, 'a')]
+
+        when:
+        int published = relay.relayBatch()
+
+        then:
+        1 * outboxDAO.claimUnpublished(_, 3, 30000) >> batch
+        1 * publisher.publish(batch) >> ([1L, 2L, 3L] as Set)
+        1 * outboxDAO.markPublished([1L, 2L, 3L])
+        0 * outboxDAO.releaseClaim(_)
+        published == 3
+    }
+
+    def "publishes the claimed batch only after the claim transaction ended"() {
+        given:
+        def batch = [event(1, 'a')]
+        boolean publishedInTransaction = true
+
+        when:
+        relay.relayBatch()
+
+        then:
+        1 * outboxDAO.claimUnpublished(_, 3, 30000) >> {
+            assert inTransaction
+            batch
+        }
+        1 * publisher.publish(batch) >> {
+            publishedInTransaction = inTransaction
+            [1L] as Set
+        }
+        !publishedInTransaction
+    }
+
+    def "releases the claim on the events it could not mark as published"() {
+        given:
+        def batch = [event(1, 'a'), event(2, 'b'), event(3, 'a')]
+        UUID claimId = null
+
+        when:
+        int published = relay.relayBatch()
+
+        then:
+        1 * outboxDAO.claimUnpublished(_, 3, 30000) >> { UUID id, int limit, long leaseMs ->
+            claimId = id
+            batch
+        }
+        1 * publisher.publish(batch) >> ([2L, 3L] as Set)
+        1 * outboxDAO.markPublished([2L])
+        1 * outboxDAO.releaseClaim({ it == claimId })
+        published == 1
+    }
+
+    def "releases the claim when publishing fails"() {
+        when:
+        relay.relayBatch()
+
+        then:
+        1 * outboxDAO.claimUnpublished(_, 3, 30000) >> [event(1, 'a')]
+        1 * publisher.publish(_) >> { throw new IllegalStateException('producer closed') }
+        1 * outboxDAO.releaseClaim(_)
+        0 * outboxDAO.markPublished(_)
+        thrown(IllegalStateException)
+    }
+
+    def "holds back later events of an activity whose earlier event failed"() {
+        given:
+        def batch = [event(1, 'a'), event(2, 'b'), event(3, 'a'), event(4, 'b')]
+
+        when:
+        def publishable = OutboxRelay.publishableInOrder(batch, [2L, 3L, 4L] as Set)
+
+        then:
+        publishable == [2L, 4L]
+    }
+
+    def "reports the lag of the oldest unpublished event after a tick"() {
+        when:
+        relay.relay()
+
+        then:
+        1 * outboxDAO.claimUnpublished(_, 3, 30000) >> []
+        1 * outboxDAO.fetchRelayLag() >> Duration.ofSeconds(4)
+        relay.relayLagMs == 4000
+        relay.lastRelayAt != null
+    }
+
+    def "publishes keyed records to an embedded broker in outbox order"() {
+        given:
+        def broker = new EmbeddedKafkaKraftBroker(1, 2, TOPIC)
+        broker.afterPropertiesSet()
+        def kafkaPublisher = new KafkaOutboxPublisher()
+        kafkaPublisher.kafkaTemplate = new KafkaTemplate<String, String>(new DefaultKafkaProducerFactory<String, String>(
+                KafkaTestUtils.producerProps(broker), new StringSerializer(), new StringSerializer()))
+        kafkaPublisher.topic = TOPIC
+        kafkaPublisher.sendTimeoutMs = 10000
+        def batch = (1..6).collect { event(it, it % 2 == 0 ? 'a' : 'b') }
+
+        when:
+        def acknowledged = kafkaPublisher.publish(batch)
+        def consumerProps = KafkaTestUtils.consumerProps('outbox-spec', 'false', broker)
+        consumerProps[ConsumerConfig.AUTO_OFFSET_RESET_CONFIG] = 'earliest'
+        def consumer = new KafkaConsumer<String, String>(consumerProps, new StringDeserializer(), new StringDeserializer())
+        broker.consumeFromAnEmbeddedTopic(consumer, TOPIC)
+        def records = KafkaTestUtils.getRecords(consumer, Duration.ofSeconds(10), 6)
+        def eventIdsByKey = records.groupBy { it.key() }.collectEntries { key, recs ->
+            [key, recs.collect { new String(it.headers().lastHeader(KafkaOutboxPublisher.EVENT_ID_HEADER).value()) as long }]
+        }
+
+        then:
+        acknowledged == (1L..6L) as Set
+        eventIdsByKey[uuid('a').toString()] == [2L, 4L, 6L]
+        eventIdsByKey[uuid('b').toString()] == [1L, 3L, 5L]
+
+        cleanup:
+        consumer?.close()
+        broker?.destroy()
+    }
+
+    private static OutboxEvent event(long id, String key) {
+        new OutboxEvent(id, uuid(key), 'UPSERTED', '{}', Instant.now(), id)
+    }
+
+    private static UUID uuid(String key) {
+        UUID.nameUUIDFromBytes(key.bytes)
+    }
+}
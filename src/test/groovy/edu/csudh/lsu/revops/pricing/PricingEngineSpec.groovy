@@ -0,0 +1,164 @@
+package edu.csudh.lsu.revops.pricing
+
+import edu.csudh.lsu.revops.dao.PricingRuleDAO
+import edu.csudh.lsu.revops.model.MemberType
+import edu.csudh.lsu.revops.model.PricingRule
+import edu.csudh.lsu.revops.model.SessionQuoteRequest
+import edu.csudh.lsu.revops.service.RevOpsActivityService
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.OffsetDateTime
+import java.time.ZoneId
+
+class PricingEngineSpec extends Specification {
+
+    static final PricingRule MONDAY_MORNING = new PricingRule(null, null, 1, 9 * 60, 10 * 60, null, 600, 15, 0)
+    static final PricingRule STUDENT_DISCOUNT = new PricingRule(null, 'Bowling', null, 0, 24 * 60, MemberType.STUDENT, 60, 15, 5)
+
+    PricingRuleDAO pricingRuleDAO = Mock()
+    RevOpsActivityService revOpsActivityService = Mock()
+    PricingEngine engine = new PricingEngine()
+
+    def setup() {
+        engine.pricingRuleDAO = pricingRuleDAO
+        engine.revOpsActivityService = revOpsActivityService
+        engine.meterRegistry = new SimpleMeterRegistry()
+        engine.zoneId = ZoneId.of('America/Los_Angeles')
+        engine.init()
+    }
+
+    @Unroll
+    def "prices #start by the local wall-clock time of the game room"() {
+        given:
+        rules([MONDAY_MORNING])
+
+        expect:
+        engine.quote(request(null, null, start, 60)).amountCents == amountCents
+
+        where:
+        start                       | amountCents
+        // 09:00 PDT, after the change to daylight saving time on March 8
+        '2026-03-09T16:00:00Z'      | 600
+        // 08:00 PST, the same UTC time a week earlier
+        '2026-03-02T16:00:00Z'      | 0
+        '2026-03-02T17:00:00Z'      | 600
+        '2026-03-02T09:30:00-08:00' | 300
+    }
+
+    def "quotes the billed minutes and the version of the rate table"() {
+        given:
+        long version = rules([MONDAY_MORNING])
+        def sessionId = UUID.randomUUID()
+
+        when:
+        def quote = engine.quote(new SessionQuoteRequest(sessionId, null, null, OffsetDateTime.parse('2026-03-09T09:00:00-07:00'), 31))
+
+        then:
+        quote.sessionId == sessionId
+        quote.minutes == 31
+        quote.billedMinutes == 45
+        quote.amountCents == 450
+        quote.rulesVersion == version
+    }
+
+    def "prices a session without a member type as a guest"() {
+        given:
+        rules([MONDAY_MORNING, STUDENT_DISCOUNT])
+        def start = '2026-03-09T09:00:00-07:00'
+
+        expect:
+        engine.quote(request('Bowling', null, start, 60)).amountCents == 600
+        engine.quote(request('Bowling', MemberType.STUDENT, start, 60)).amountCents == 60
+    }
+
+    def "keeps the rate table when neither the rules nor the categories changed"() {
+        given:
+        long version = rules([MONDAY_MORNING])
+
+        when:
+        long reloaded = engine.reload()
+
+        then:
+        1 * pricingRuleDAO.fetchAllRules() >> [MONDAY_MORNING]
+        1 * revOpsActivityService.fetchCategoriesOfAllVenues() >> ['Bowling']
+        reloaded == version
+    }
+
+    def "compiles a new rate table when the rules changed"() {
+        given:
+        long version = rules([MONDAY_MORNING])
+        def start = '2026-03-09T09:00:00-07:00'
+
+        when:
+        long reloaded = engine.reload()
+
+        then:
+        1 * pricingRuleDAO.fetchAllRules() >> [MONDAY_MORNING, STUDENT_DISCOUNT]
+        1 * revOpsActivityService.fetchCategoriesOfAllVenues() >> ['Bowling']
+        reloaded > version
+        engine.currentVersion() == reloaded
+        engine.quote(request('Bowling', MemberType.STUDENT, start, 60)).amountCents == 60
+    }
+
+    def "keeps the current rate table when a scheduled reload fails"() {
+        given:
+        long version = rules([MONDAY_MORNING])
+
+        when:
+        engine.scheduledReload()
+
+        then:
+        1 * pricingRuleDAO.fetchAllRules() >> { throw new IllegalStateException('database down') }
+        engine.currentVersion() == version
+    }
+
+    def "reprices a batch in the order of the requests"() {
+        given:
+        long version = rules([MONDAY_MORNING])
+
+        when:
+        def quotes = engine.reprice([
+                request(null, null, '2026-03-09T09:00:00-07:00', 60),
+                request(null, null, '2026-03-09T10:00:00-07:00', 60),
+                request(null, null, '2026-03-09T09:30:00-07:00', 60)
+        ])
+
+        then:
+        quotes*.amountCents == [600, 0, 300]
+        quotes*.rulesVersion == [version] * 3
+    }
+
+    @Unroll
+    def "rejects a session with start #start and #minutes minutes"() {
+        when:
+        engine.quote(request(null, null, start, minutes))
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        start                       | minutes
+        null                        | 60
+        '2026-03-09T09:00:00-07:00' | -1
+    }
+
+    def "rejects a rule set that does not compile"() {
+        when:
+        engine.validate([new PricingRule(null, null, 9, 0, 60, null, 100, 1, 0)])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    private long rules(List<PricingRule> rules) {
+        pricingRuleDAO.fetchAllRules() >> rules
+        revOpsActivityService.fetchCategoriesOfAllVenues() >> ['Bowling']
+        engine.reload()
+    }
+
+    private static SessionQuoteRequest request(String category, MemberType memberType, String start, int minutes) {
+        new SessionQuoteRequest(UUID.randomUUID(), category, memberType, start == null ? null : OffsetDateTime.parse(start), minutes)
+    }
+}
@@ -0,0 +1,209 @@
+package edu.csudh.lsu.revops.pricing
+
+import edu.csudh.lsu.revops.model.MemberType
+import edu.csudh.lsu.revops.model.PricingRule
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import static edu.csudh.lsu.revops.pricing.RateTable.MINUTES_PER_DAY
+import static edu.csudh.lsu.revops.pricing.RateTable.MINUTES_PER_WEEK
+
+class RateTableSpec extends Specification {
+
+    static final int FRIDAY = 5
+    static final int SUNDAY = 7
+
+    def "prices a rule crossing midnight into the next morning"() {
+        given:
+        def table = RateTable.compile(1, [rule(weekday: FRIDAY, startMinute: 22 * 60, endMinute: 2 * 60, hourlyRateCents: 600)], [])
+        int slot = table.categorySlot('Billiards')
+
+        expect:
+        // Friday 23:00 to Saturday 01:00 lies inside the band
+        table.charge(slot, MemberType.GUEST.ordinal(), at(FRIDAY, 23, 0), 120) == 1200
+        // Saturday 02:00 is past the end of the Friday band
+        table.charge(slot, MemberType.GUEST.ordinal(), at(FRIDAY + 1, 1, 30), 60) == 300
+    }
+
+    def "carries a Sunday night band into Monday morning across the end of the week"() {
+        given:
+        def table = RateTable.compile(1, [rule(weekday: SUNDAY, startMinute: 23 * 60, endMinute: 60, hourlyRateCents: 600)], [])
+        int slot = table.categorySlot(null)
+
+        expect:
+        table.charge(slot, MemberType.GUEST.ordinal(), at(SUNDAY, 23, 30), 60) == 600
+        table.charge(slot, MemberType.GUEST.ordinal(), at(1, 0, 0), 60) == 600
+        table.charge(slot, MemberType.GUEST.ordinal(), at(1, 1, 0), 60) == 0
+    }
+
+    def "treats an end of midnight as the end of the day"() {
+        given:
+        def table = RateTable.compile(1, [rule(startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 120)], [])
+
+        expect:
+        table.charge(table.categorySlot(null), MemberType.GUEST.ordinal(), at(3, 23, 0), 120) == 240
+    }
+
+    def "lets the higher priority win where rules overlap"() {
+        given:
+        def table = RateTable.compile(1, [
+                rule(startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 300, priority: 0),
+                rule(startMinute: 18 * 60, endMinute: 22 * 60, hourlyRateCents: 600, priority: 10)
+        ], [])
+        int slot = table.categorySlot(null)
+
+        expect:
+        // One hour at the base rate, one hour at the evening rate
+        table.charge(slot, MemberType.GUEST.ordinal(), at(2, 17, 0), 120) == 900
+        table.charge(slot, MemberType.GUEST.ordinal(), at(2, 21, 0), 120) == 900
+    }
+
+    def "prefers the higher priority over the more specific rule"() {
+        given:
+        def table = RateTable.compile(1, [
+                rule(category: 'Billiards', memberType: MemberType.STUDENT, weekday: 2, startMinute: 0,
+                        endMinute: MINUTES_PER_DAY, hourlyRateCents: 100, priority: 1),
+                rule(startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 500, priority: 2)
+        ], [])
+
+        expect:
+        table.charge(table.categorySlot('Billiards'), MemberType.STUDENT.ordinal(), at(2, 12, 0), 60) == 500
+    }
+
+    @Unroll
+    def "at equal priority lets the rule naming #named win over the wildcard"() {
+        given:
+        def table = RateTable.compile(1, [
+                rule([startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 200] + fields),
+                // Listed after the specific rule, so only the specificity keeps it from winning
+                rule(startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 900)
+        ], [])
+
+        expect:
+        table.charge(table.categorySlot('Billiards'), MemberType.STUDENT.ordinal(), at(2, 12, 0), 60) == 200
+
+        where:
+        named         | fields
+        'a category'  | [category: 'Billiards']
+        'a member'    | [memberType: MemberType.STUDENT]
+        'a weekday'   | [weekday: 2]
+    }
+
+    @Unroll
+    def "bills #minutes minutes as #billed with a #increment minute increment"() {
+        given:
+        def table = RateTable.compile(1, [rule(category: 'Bowling', startMinute: 0, endMinute: MINUTES_PER_DAY,
+                hourlyRateCents: 600, billingIncrementMinutes: increment)], [])
+        int slot = table.categorySlot('Bowling')
+
+        expect:
+        table.billedMinutes(slot, minutes) == billed
+        table.charge(slot, MemberType.GUEST.ordinal(), at(1, 10, 0), minutes) == billed * 10
+
+        where:
+        increment | minutes | billed
+        15        | 0       | 0
+        15        | 1       | 15
+        15        | 15      | 15
+        15        | 31      | 45
+        30        | 59      | 60
+        0         | 7       | 7
+        1         | 7       | 7
+    }
+
+    def "takes the billing increment of a category from its highest precedence rule"() {
+        given:
+        def table = RateTable.compile(1, [
+                rule(startMinute: 0, endMinute: MINUTES_PER_DAY, billingIncrementMinutes: 60, priority: 0),
+                rule(category: 'Bowling', startMinute: 0, endMinute: 60, billingIncrementMinutes: 10, priority: 5)
+        ], ['Darts'])
+
+        expect:
+        table.billedMinutes(table.categorySlot('Bowling'), 11) == 20
+        table.billedMinutes(table.categorySlot('Darts'), 11) == 60
+        table.billedMinutes(table.categorySlot('Unknown'), 11) == 60
+    }
+
+    def "rounds the charge to the nearest cent, half up"() {
+        given:
+        def table = RateTable.compile(1, [rule(startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 1)], [])
+        int slot = table.categorySlot(null)
+
+        expect:
+        table.charge(slot, MemberType.GUEST.ordinal(), at(1, 0, 0), 29) == 0
+        table.charge(slot, MemberType.GUEST.ordinal(), at(1, 0, 0), 30) == 1
+        table.charge(slot, MemberType.GUEST.ordinal(), at(1, 0, 0), 89) == 1
+        table.charge(slot, MemberType.GUEST.ordinal(), at(1, 0, 0), 90) == 2
+    }
+
+    def "applies NULL category, member type and weekday as wildcards"() {
+        given:
+        def table = RateTable.compile(1, [
+                rule(startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 400),
+                rule(category: 'Bowling', memberType: MemberType.STUDENT, startMinute: 0, endMinute: MINUTES_PER_DAY,
+                        hourlyRateCents: 100, priority: 1)
+        ], ['Darts'])
+
+        expect:
+        table.charge(table.categorySlot('Bowling'), MemberType.STUDENT.ordinal(), at(day, 9, 0), 60) == 100
+        table.charge(table.categorySlot('Bowling'), MemberType.STAFF.ordinal(), at(day, 9, 0), 60) == 400
+        table.charge(table.categorySlot('Darts'), MemberType.STUDENT.ordinal(), at(day, 9, 0), 60) == 400
+        table.charge(table.categorySlot('Unknown'), MemberType.STUDENT.ordinal(), at(day, 9, 0), 60) == 400
+        table.charge(table.categorySlot(null), MemberType.GUEST.ordinal(), at(day, 9, 0), 60) == 400
+
+        where:
+        day << (1..7)
+    }
+
+    def "prices a category that no rule names from the category-independent rules only"() {
+        given:
+        def table = RateTable.compile(1, [
+                rule(category: 'Bowling', startMinute: 0, endMinute: MINUTES_PER_DAY, hourlyRateCents: 900)
+        ], ['Darts'])
+
+        expect:
+        table.charge(table.categorySlot('Darts'), MemberType.GUEST.ordinal(), at(1, 9, 0), 60) == 0
+        table.charge(table.categorySlot('Unknown'), MemberType.GUEST.ordinal(), at(1, 9, 0), 60) == 0
+        table.charge(table.categorySlot('Bowling'), MemberType.GUEST.ordinal(), at(1, 9, 0), 60) == 900
+    }
+
+    def "prices a session longer than a week"() {
+        given:
+        def table = RateTable.compile(1, [rule(weekday: 3, startMinute: 10 * 60, endMinute: 12 * 60, hourlyRateCents: 600)], [])
+        int slot = table.categorySlot(null)
+
+        expect:
+        // Two full weeks hold the band twice; the remaining hour starting at 10:00 on Wednesday holds it once more
+        table.charge(slot, MemberType.GUEST.ordinal(), at(3, 10, 0), 2 * MINUTES_PER_WEEK + 60) == 2 * 1200 + 600
+    }
+
+    @Unroll
+    def "rejects the rule #fields"() {
+        when:
+        RateTable.compile(1, [rule([startMinute: 0, endMinute: 60] + fields)], [])
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        fields << [
+                [startMinute: -1],
+                [startMinute: MINUTES_PER_DAY],
+                [endMinute: MINUTES_PER_DAY + 1],
+                [weekday: 0],
+                [weekday: 8],
+                [hourlyRateCents: -1],
+                [billingIncrementMinutes: -5]
+        ]
+    }
+
+    private static PricingRule rule(Map fields) {
+        def rule = new PricingRule()
+        fields.each { name, value -> rule[name] = value }
+        rule
+    }
+
+    private static int at(int weekday, int hour, int minute) {
+        (weekday - 1) * MINUTES_PER_DAY + hour * 60 + minute
+    }
+}
@@ -0,0 +1,192 @@
+package edu.csudh.lsu.revops.profile
+
+import edu.csudh.lsu.revops.model.StudentProfile
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ProfilePrefixIndexSpec extends Specification {
+
+    ProfilePrefixIndex index = new ProfilePrefixIndex(2000)
+
+    @Unroll
+    def "splits #text into #expected"() {
+        expect:
+        ProfilePrefixIndex.tokenize(text) as List == expected
+
+        where:
+        text                 | expected
+        'John Smith'         | ['john', 'smith']
+        "O'Brien"            | ['obrien']
+        'O’Brien'       | ['obrien']
+        'Smith-Jones'        | ['smith', 'jones']
+        'Zoë  Núñez'         | ['zoe', 'nunez']
+        '2024-0012'          | ['2024', '0012']
+        'ana ANA'            | ['ana']
+        ' -- '               | []
+        null                 | []
+    }
+
+    def "finds a profile by the prefixes of several words in any order"() {
+        given:
+        add('1', 'John', 'Smith')
+        add('2', 'John', 'Doe')
+        add('3', 'Sam', 'Smith')
+
+        expect:
+        ids('jo sm') == ['1']
+        ids('sm jo') == ['1']
+        ids('smith') == ['1', '3']
+        ids('jo') == ['2', '1']
+        ids('jo xy') == []
+    }
+
+    def "finds a profile by a name with an apostrophe, a hyphen or accents"() {
+        given:
+        add('1', 'Seán', "O'Brien-Núñez")
+
+        expect:
+        ids('sean') == ['1']
+        ids('obri') == ['1']
+        ids("o'bri") == ['1']
+        ids('nunez') == ['1']
+        ids('Núñ') == ['1']
+    }
+
+    def "finds a profile by the parts of its student ID and by the whole ID"() {
+        given:
+        add('2024-0012', 'Ana', 'Lopez')
+
+        expect:
+        ids('0012') == ['2024-0012']
+        ids('2024') == ['2024-0012']
+        ids('20240') == ['2024-0012']
+        ids('2024-00') == ['2024-0012']
+        ids('0013') == []
+    }
+
+    def "ranks a complete word above the start of a longer one"() {
+        given:
+        add('1', 'Johnathan', 'Avery')
+        add('2', 'John', 'Young')
+        add('3', 'Jo', 'Zimmer')
+
+        expect:
+        ids('jo') == ['3', '2', '1']
+        ids('john') == ['2', '1']
+    }
+
+    def "sums the scores of every query word"() {
+        given: 'scoring 1 + 5/8, 3/7 + 1 and 1 + 1'
+        add('1', 'Ann', 'Smithson')
+        add('2', 'Annabel', 'Smith')
+        add('3', 'Ann', 'Smith')
+
+        expect:
+        ids('ann smith') == ['3', '1', '2']
+    }
+
+    def "breaks ties by last name, first name and student ID"() {
+        given:
+        add('3', 'Maria', 'Garcia')
+        add('2', 'Mark', 'Brown')
+        add('1', 'Mary', 'Brown')
+        add('0', 'Mary', 'Brown')
+
+        expect:
+        ids('mar') == ['2', '0', '1', '3']
+    }
+
+    def "returns the best matches up to the limit"() {
+        given:
+        add('1', 'Jo', 'A')
+        add('2', 'Joe', 'B')
+        add('3', 'John', 'C')
+        add('4', 'Jonah', 'D')
+
+        expect:
+        ids('jo', 2) == ['1', '2']
+        ids('jo', 0) == []
+    }
+
+    def "keeps the best matches of the other words when the longest word matches many profiles"() {
+        given:
+        (1..20).each { add("$it", 'Sam', "Smith$it") }
+        add('21', 'Zed', 'Smithers')
+
+        expect:
+        ids('smith ze', 3) == ['21']
+    }
+
+    def "stops reading after maxScan entries"() {
+        given:
+        index = new ProfilePrefixIndex(5)
+        (1..9).each { add("$it", 'Sam', "Smith$it") }
+        add('10', 'Zed', 'Smithy')
+
+        expect: 'the only profile matching both words sorts after the first five'
+        ids('smith', 25).size() == 5
+        ids('smith ze') == []
+    }
+
+    def "finds nothing for a query without letters or digits"() {
+        given:
+        add('1', 'John', 'Smith')
+
+        expect:
+        ids('') == []
+        ids('  ') == []
+        ids('--') == []
+    }
+
+    def "replaces the words of a renamed profile"() {
+        given:
+        add('1', 'John', 'Smith', 1)
+
+        when:
+        add('1', 'John', 'Taylor', 2)
+
+        then:
+        ids('smith') == []
+        ids('taylor') == ['1']
+        ids('john') == ['1']
+        index.size() == 1
+    }
+
+    def "removes a profile that is no longer enabled"() {
+        given:
+        add('1', 'John', 'Smith', 1)
+
+        when:
+        index.apply(profile('1', 'John', 'Smith', 2), false)
+
+        then:
+        ids('john') == []
+        index.size() == 0
+    }
+
+    def "ignores an older version of a profile"() {
+        given:
+        add('1', 'John', 'Taylor', 5)
+
+        when:
+        def applied = index.apply(profile('1', 'John', 'Smith', 4), true)
+
+        then:
+        !applied
+        ids('taylor') == ['1']
+        ids('smith') == []
+    }
+
+    private void add(String studentId, String firstName, String lastName, long changeVersion = 1) {
+        index.apply(profile(studentId, firstName, lastName, changeVersion), true)
+    }
+
+    private List<String> ids(String query, int limit = 10) {
+        index.search(query, limit)*.studentId
+    }
+
+    private static StudentProfile profile(String studentId, String firstName, String lastName, long changeVersion) {
+        StudentProfile.builder().studentId(studentId).firstName(firstName).lastName(lastName)
+                .status('ENABLE').changeVersion(changeVersion).build()
+    }
+}
@@ -0,0 +1,134 @@
+package edu.csudh.lsu.revops.profile
+
+import edu.csudh.lsu.revops.dao.StudentProfileDAO
+import edu.csudh.lsu.revops.model.StudentProfile
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class ProfileSearchIndexSpec extends Specification {
+
+    StudentProfileDAO studentProfileDAO = Mock()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ProfileSearchIndex searchIndex = new ProfileSearchIndex()
+
+    def setup() {
+        searchIndex.studentProfileDAO = studentProfileDAO
+        searchIndex.meterRegistry = meterRegistry
+        searchIndex.pageSize = 2
+        searchIndex.settleMs = 2000
+        searchIndex.maxScan = 2000
+        searchIndex.maxLimit = 3
+        searchIndex.init()
+    }
+
+    def "loads every profile page by page in change_version order"() {
+        when:
+        def read = searchIndex.refresh()
+
+        then:
+        1 * studentProfileDAO.fetchChangesSince(0, 2, 2000) >> [profile('1', 'John', 'Smith', 10), profile('2', 'Ann', 'Lee', 11)]
+        1 * studentProfileDAO.fetchChangesSince(11, 2, 2000) >> [profile('3', 'Sam', 'Smith', 12), profile('4', 'Jo', 'Park', 13)]
+        1 * studentProfileDAO.fetchChangesSince(13, 2, 2000) >> [profile('5', 'Eve', 'Adams', 14)]
+        0 * studentProfileDAO._
+        read == 5
+        ids('smith') == ['1', '3']
+        meterRegistry.get('revops.profiles.indexed').gauge().value() == 5
+    }
+
+    def "catches up from the last change_version it read"() {
+        given:
+        studentProfileDAO.fetchChangesSince(0, _, _) >> [profile('1', 'John', 'Smith', 10)]
+        searchIndex.refresh()
+
+        when:
+        def read = searchIndex.refresh()
+
+        then:
+        1 * studentProfileDAO.fetchChangesSince(10, 2, 2000) >> [profile('1', 'John', 'Taylor', 15)]
+        read == 1
+        ids('smith') == []
+        ids('taylor') == ['1']
+    }
+
+    def "reads nothing more when no profile changed"() {
+        given:
+        studentProfileDAO.fetchChangesSince(0, _, _) >> [profile('1', 'John', 'Smith', 10)]
+        searchIndex.refresh()
+
+        when:
+        def read = searchIndex.refresh()
+
+        then:
+        1 * studentProfileDAO.fetchChangesSince(10, 2, 2000) >> []
+        read == 0
+        ids('john') == ['1']
+    }
+
+    def "removes a profile that was disabled through another node"() {
+        given:
+        studentProfileDAO.fetchChangesSince(0, _, _) >> [profile('1', 'John', 'Smith', 10)]
+        studentProfileDAO.fetchChangesSince(10, _, _) >> [profile('1', 'John', 'Smith', 11, 'DISABLE')]
+
+        when:
+        searchIndex.refresh()
+        searchIndex.refresh()
+
+        then:
+        ids('john') == []
+        meterRegistry.get('revops.profiles.indexed').gauge().value() == 0
+    }
+
+    def "applies a write made through this node before the refresh reads it"() {
+        when:
+        searchIndex.onProfileChanged(profile('1', 'John', 'Smith', 10))
+
+        then:
+        ids('john') == ['1']
+
+        when: 'the refresh reads an older copy of the profile'
+        searchIndex.refresh()
+
+        then:
+        1 * studentProfileDAO.fetchChangesSince(0, 2, 2000) >> [profile('1', 'John', 'Doe', 9)]
+        ids('smith') == ['1']
+        ids('doe') == []
+    }
+
+    def "keeps its version when a refresh fails"() {
+        given:
+        studentProfileDAO.fetchChangesSince(0, _, _) >> [profile('1', 'John', 'Smith', 10)]
+        searchIndex.refresh()
+
+        when:
+        searchIndex.scheduledRefresh()
+        searchIndex.scheduledRefresh()
+
+        then:
+        1 * studentProfileDAO.fetchChangesSince(10, _, _) >> { throw new IllegalStateException('unreachable') }
+        1 * studentProfileDAO.fetchChangesSince(10, _, _) >> [profile('2', 'Ann', 'Lee', 12)]
+        ids('ann') == ['2']
+    }
+
+    def "caps the number of matches at maxLimit"() {
+        given:
+        studentProfileDAO.fetchChangesSince(0, _, _) >> (1..5).collect { profile("$it", 'Sam', "Smith$it", it) }
+
+        when:
+        searchIndex.refresh()
+
+        then:
+        searchIndex.search('sam', 25).size() == 3
+        searchIndex.search('sam', 2).size() == 2
+        meterRegistry.get('revops.profiles.search').timer().count() == 2
+    }
+
+    private List<String> ids(String query) {
+        searchIndex.search(query, 3)*.studentId
+    }
+
+    private static StudentProfile profile(String studentId, String firstName, String lastName, long changeVersion,
+                                          String status = 'ENABLE') {
+        StudentProfile.builder().studentId(studentId).firstName(firstName).lastName(lastName)
+                .status(status).changeVersion(changeVersion).build()
+    }
+}
@@ -0,0 +1,186 @@
+package edu.csudh.lsu.revops.reconciliation
+
+import edu.csudh.lsu.revops.dao.ShiftTotalDAO
+import edu.csudh.lsu.revops.model.ReconcileStatus
+import edu.csudh.lsu.revops.model.SessionCharge
+import edu.csudh.lsu.revops.model.ShiftReconciliation
+import edu.csudh.lsu.revops.session.ShiftCalendar
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneOffset
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ForkJoinPool
+
+class ShiftReconciliationJobSpec extends Specification {
+
+    static final LocalDate DAY = LocalDate.parse('2026-10-18')
+    static final Instant DAY_START = Instant.parse('2026-10-18T00:00:00Z')
+    static final Instant MORNING = DAY_START
+    static final Instant DAY_SHIFT = Instant.parse('2026-10-18T08:00:00Z')
+    static final Instant EVENING = Instant.parse('2026-10-18T16:00:00Z')
+
+    ShiftTotalDAO shiftTotalDAO = Stub()
+    ShiftCalendar shiftCalendar = new ShiftCalendar()
+    ShiftReconciliationJob job = new ShiftReconciliationJob()
+
+    // Sessions in the database, and the ranges the tasks scanned
+    List<SessionCharge> charges = []
+    Queue<List<Instant>> scanned = new ConcurrentLinkedQueue<>()
+    List<ShiftReconciliation> stored = []
+    List<ShiftReconciliation> recorded
+
+    def setup() {
+        shiftCalendar.shiftHours = 8
+        shiftCalendar.zoneId = ZoneOffset.UTC
+        shiftTotalDAO.fetchChargesPage(_, _, _, _) >> { Instant from, Instant to, SessionCharge after, int limit ->
+            if (after == null) {
+                scanned << [from, to]
+            }
+            charges.findAll { !it.endedAt.isBefore(from) && it.endedAt.isBefore(to) }
+                    .sort { a, b -> a.endedAt <=> b.endedAt ?: a.sessionId <=> b.sessionId }
+                    .findAll { after == null || it.endedAt > after.endedAt
+                            || (it.endedAt == after.endedAt && it.sessionId > after.sessionId) }
+                    .take(limit)
+        }
+        shiftTotalDAO.fetchShiftTotals(DAY_START, DAY_START + Duration.ofDays(1)) >> { stored }
+        shiftTotalDAO.recordReconciliations(_) >> { arguments ->
+            recorded = arguments[0]
+            recorded.size()
+        }
+        job.shiftTotalDAO = shiftTotalDAO
+        job.shiftCalendar = shiftCalendar
+        job.meterRegistry = new SimpleMeterRegistry()
+        job.parallelism = 4
+        job.partitionMinutes = 60
+        job.pageSize = 2
+        job.init()
+    }
+
+    def cleanup() {
+        job.shutdown()
+    }
+
+    def "marks shifts whose recomputed totals match the stored ones OK"() {
+        given:
+        charge('2026-10-18T01:00:00Z', 60, 500)
+        charge('2026-10-18T02:00:00Z', 30, 250)
+        charge('2026-10-18T09:00:00Z', 15, 125)
+        stored << totals(MORNING, 2, 90, 750) << totals(DAY_SHIFT, 1, 15, 125)
+
+        when:
+        def report = job.reconcile(DAY)
+
+        then:
+        report.rowsScanned == 3
+        report.shiftsChecked == 2
+        report.mismatches.isEmpty()
+        recorded*.status == [ReconcileStatus.OK, ReconcileStatus.OK]
+        recorded[0].recomputedRevenueCents == 750
+    }
+
+    def "marks a shift whose revenue differs FAILED_MANUAL"() {
+        given:
+        charge('2026-10-18T01:00:00Z', 60, 500)
+        stored << totals(MORNING, 1, 60, 400)
+
+        when:
+        def report = job.reconcile(DAY)
+
+        then:
+        report.mismatches*.shiftStart == [MORNING]
+        recorded[0].status == ReconcileStatus.FAILED_MANUAL
+        recorded[0].revenueCents == 400
+        recorded[0].recomputedRevenueCents == 500
+    }
+
+    def "marks a shift with sessions that were never charged FAILED_MANUAL even if the totals agree"() {
+        given:
+        charge('2026-10-18T01:00:00Z', 60, 500)
+        charges << new SessionCharge(UUID.randomUUID(), Instant.parse('2026-10-18T03:00:00Z'), null, null)
+        stored << totals(MORNING, 2, 60, 500)
+
+        when:
+        job.reconcile(DAY)
+
+        then:
+        recorded[0].recomputedSessions == 2
+        recorded[0].status == ReconcileStatus.FAILED_MANUAL
+    }
+
+    def "covers shifts found only in the sessions or only in the stored totals"() {
+        given:
+        charge('2026-10-18T17:00:00Z', 60, 500)
+        stored << totals(MORNING, 3, 90, 750) << totals(DAY_SHIFT, 0, 0, 0)
+
+        when:
+        def report = job.reconcile(DAY)
+
+        then: 'ordered by shift start'
+        recorded*.shiftStart == [MORNING, DAY_SHIFT, EVENING]
+        recorded*.status == [ReconcileStatus.FAILED_MANUAL, ReconcileStatus.OK, ReconcileStatus.FAILED_MANUAL]
+        recorded[0].recomputedSessions == 0
+        recorded[2].sessions == 0
+        recorded[2].recomputedSessions == 1
+        report.mismatches*.shiftStart == [MORNING, EVENING]
+    }
+
+    def "scans the day in contiguous partitions, each session once"() {
+        given: 'sessions on, just before and just after partition boundaries, across pages'
+        ['00:00:00', '00:59:59.999', '01:00:00', '07:59:59', '08:00:00', '13:30:00', '23:59:59'].each {
+            charge("2026-10-18T${it}Z", 10, 100)
+        }
+        charge('2026-10-19T00:00:00Z', 10, 100)
+        stored << totals(MORNING, 4, 40, 400) << totals(DAY_SHIFT, 2, 20, 200) << totals(EVENING, 1, 10, 100)
+
+        when:
+        def report = job.reconcile(DAY)
+
+        then:
+        report.partitions == 24
+        report.rowsScanned == 7
+        report.mismatches.isEmpty()
+        def ranges = scanned.sort { it[0] }
+        ranges.size() == 24
+        ranges.first()[0] == DAY_START
+        ranges.last()[1] == DAY_START + Duration.ofDays(1)
+        (1..<ranges.size()).every { ranges[it][0] == ranges[it - 1][1] }
+        ranges.every { Duration.between(it[0], it[1]) == Duration.ofHours(1) }
+    }
+
+    def "splits a range that is not a whole number of partitions at partition boundaries"() {
+        given:
+        def from = DAY_START
+        def to = DAY_START + Duration.ofMinutes(150)
+        def partition = Duration.ofMinutes(60)
+        charge('2026-10-18T02:15:00Z', 10, 100)
+        def pool = new ForkJoinPool(2)
+
+        when:
+        def tallies = pool.invoke(
+                new ReconciliationTask(shiftTotalDAO, shiftCalendar, from, to, partition, 2))
+
+        then:
+        ReconciliationTask.partitions(from, to, partition) == 3
+        ReconciliationTask.partitions(from, from, partition) == 1
+        def one = Instant.parse('2026-10-18T01:00:00Z')
+        def two = Instant.parse('2026-10-18T02:00:00Z')
+        scanned.sort { it[0] } == [[from, one], [one, two], [two, to]]
+        tallies[MORNING].sessions == 1
+
+        cleanup:
+        pool.shutdown()
+    }
+
+    private void charge(String endedAt, int billedMinutes, long amountCents) {
+        charges << new SessionCharge(UUID.randomUUID(), Instant.parse(endedAt), billedMinutes, amountCents)
+    }
+
+    private static ShiftReconciliation totals(Instant shiftStart, long sessions, long billedMinutes, long revenueCents) {
+        ShiftReconciliation.builder().shiftStart(shiftStart).sessions(sessions).billedMinutes(billedMinutes)
+                .revenueCents(revenueCents).build()
+    }
+}
@@ -0,0 +1,200 @@
+package edu.csudh.lsu.revops.reservation
+
+import edu.csudh.lsu.revops.dao.StationReservationDAO
+import edu.csudh.lsu.revops.model.ReservationResult
+import edu.csudh.lsu.revops.model.ReservationStatus
+import edu.csudh.lsu.revops.model.ReservationType
+import edu.csudh.lsu.revops.model.StationReservation
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+
+class ReservationBookSpec extends Specification {
+
+    // Tomorrow, so every reservation of the spec is upcoming
+    static final Instant T0 = Instant.now().plus(1, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS)
+
+    StationReservationDAO stationReservationDAO = Mock()
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry()
+    ReservationBook book = new ReservationBook()
+
+    def setup() {
+        book.stationReservationDAO = stationReservationDAO
+        book.meterRegistry = meterRegistry
+        book.lockStripes = 8
+        book.maxMinutes = 480
+        book.pageSize = 2
+        book.settleMs = 2000
+        book.init()
+    }
+
+    def "books a free station and remembers the reservation"() {
+        given:
+        def request = reservation('s1', 0, 60)
+
+        when:
+        def result = book.book([request])
+
+        then:
+        1 * stationReservationDAO.insertReservations([request], Duration.ofMinutes(480)) >>
+                booked(stored(request, 5))
+        result.outcome == ReservationResult.Outcome.BOOKED
+        book.reservations('s1', at(0), at(60))*.reservationId == [request.reservationId]
+        meterRegistry.get('revops.reservations.upcoming').gauge().value() == 1
+    }
+
+    def "turns a conflict it knows of away without asking the database"() {
+        given:
+        def existing = reservation('s1', 0, 60)
+        stationReservationDAO.insertReservations(_, _) >> booked(stored(existing, 5))
+        book.book([existing])
+
+        when:
+        def result = book.book([reservation('s1', 30, 90), reservation('s2', 30, 90)])
+
+        then:
+        0 * stationReservationDAO._
+        result.outcome == ReservationResult.Outcome.CONFLICT
+        result.reservations*.reservationId == [existing.reservationId]
+    }
+
+    def "learns of a reservation booked through another node from a conflict the database reports"() {
+        given:
+        def elsewhere = stored(reservation('s1', 0, 60), 7)
+
+        when:
+        def first = book.book([reservation('s1', 30, 90)])
+        def second = book.book([reservation('s1', 45, 90)])
+
+        then:
+        1 * stationReservationDAO.insertReservations(_, _) >>
+                new ReservationResult(ReservationResult.Outcome.CONFLICT, [elsewhere])
+        first.outcome == ReservationResult.Outcome.CONFLICT
+        second.outcome == ReservationResult.Outcome.CONFLICT
+        second.reservations*.reservationId == [elsewhere.reservationId]
+    }
+
+    def "frees the period of a cancelled reservation"() {
+        given:
+        def request = reservation('s1', 0, 60)
+        stationReservationDAO.insertReservations(_, _) >> booked(stored(request, 5))
+        book.book([request])
+
+        when:
+        book.cancel(request.reservationId)
+
+        then:
+        1 * stationReservationDAO.cancelReservation(request.reservationId) >>
+                Optional.of(stored(request, 6).toBuilder().status(ReservationStatus.CANCELLED).build())
+        book.reservations('s1', at(0), at(60)) == []
+        windows(['s1'], 0, 60) == [['s1', 0, 60]]
+    }
+
+    def "follows the changes made through other nodes page by page"() {
+        given:
+        def a = stored(reservation('s1', 0, 60), 11)
+        def b = stored(reservation('s2', 0, 60), 12)
+        def c = stored(reservation('s3', 0, 60), 13)
+
+        when:
+        book.load()
+        book.refresh()
+
+        then:
+        1 * stationReservationDAO.fetchSettledVersion(2000) >> 10
+        1 * stationReservationDAO.fetchUpcomingReservations(_) >> []
+        1 * stationReservationDAO.fetchChangesSince(10, 2, 2000) >> [a, b]
+        1 * stationReservationDAO.fetchChangesSince(12, 2, 2000) >> [c]
+        ['s1', 's2', 's3'].every { book.reservations(it, at(0), at(60)).size() == 1 }
+
+        when:
+        book.refresh()
+
+        then:
+        1 * stationReservationDAO.fetchChangesSince(13, 2, 2000) >>
+                [c.toBuilder().status(ReservationStatus.CANCELLED).changeVersion(14).build()]
+        book.reservations('s3', at(0), at(60)) == []
+    }
+
+    def "keeps a newer version of a reservation over an older one read late"() {
+        given:
+        def request = reservation('s1', 0, 60)
+        def cancelled = stored(request, 9).toBuilder().status(ReservationStatus.CANCELLED).build()
+        stationReservationDAO.cancelReservation(_) >> Optional.of(cancelled)
+        book.cancel(request.reservationId)
+
+        when: 'the refresh reads the booking that came before the cancellation'
+        book.refresh()
+
+        then:
+        1 * stationReservationDAO.fetchChangesSince(0, 2, 2000) >> [stored(request, 8)]
+        book.reservations('s1', at(0), at(60)) == []
+    }
+
+    def "books a tournament slot on every station or on none"() {
+        given:
+        def blocker = reservation('s2', 0, 60)
+        stationReservationDAO.insertReservations([blocker], _) >> booked(stored(blocker, 5))
+        book.book([blocker])
+        def group = UUID.randomUUID()
+        def slot = ['s1', 's2', 's3'].collect {
+            reservation(it, 30, 90).toBuilder().groupId(group).type(ReservationType.TOURNAMENT).build()
+        }
+
+        when:
+        def result = book.book(slot)
+
+        then:
+        0 * stationReservationDAO.insertReservations(*_)
+        result.outcome == ReservationResult.Outcome.CONFLICT
+        book.reservations('s1', at(0), at(120)) == []
+        book.reservations('s3', at(0), at(120)) == []
+    }
+
+    def "reports the free windows of each station, whole periods for stations without reservations"() {
+        given:
+        def request = reservation('s1', 30, 60)
+        stationReservationDAO.insertReservations(_, _) >> booked(stored(request, 5))
+        book.book([request])
+
+        expect:
+        windows(['s1', 's2'], 0, 120) == [['s1', 0, 30], ['s1', 60, 120], ['s2', 0, 120]]
+        windows(['s2'], 0, 10, 15) == []
+    }
+
+    def "keeps booking after the first load fails"() {
+        when:
+        book.load()
+
+        then:
+        1 * stationReservationDAO.fetchSettledVersion(_) >> { throw new IllegalStateException('unreachable') }
+        noExceptionThrown()
+        book.maxLength() == Duration.ofMinutes(480)
+    }
+
+    private List<List> windows(List<String> stationIds, long from, long to, long minMinutes = 1) {
+        book.availability(stationIds, at(from), at(to), Duration.ofMinutes(minMinutes)).collect {
+            [it.stationId, Duration.between(T0, it.from).toMinutes(), Duration.between(T0, it.to).toMinutes()]
+        }
+    }
+
+    private static Instant at(long minutes) {
+        T0.plus(Duration.ofMinutes(minutes))
+    }
+
+    private static StationReservation reservation(String stationId, long from, long to) {
+        StationReservation.builder().reservationId(UUID.randomUUID()).groupId(UUID.randomUUID()).stationId(stationId)
+                .memberId('m1').type(ReservationType.PLAY).startsAt(at(from)).endsAt(at(to)).build()
+    }
+
+    private static StationReservation stored(StationReservation request, long changeVersion) {
+        request.toBuilder().status(ReservationStatus.CONFIRMED).changeVersion(changeVersion).build()
+    }
+
+    private static ReservationResult booked(StationReservation reservation) {
+        new ReservationResult(ReservationResult.Outcome.BOOKED, [reservation])
+    }
+}
@@ -0,0 +1,164 @@
+package edu.csudh.lsu.revops.reservation
+
+import edu.csudh.lsu.revops.model.ReservationStatus
+import edu.csudh.lsu.revops.model.ReservationType
+import edu.csudh.lsu.revops.model.StationReservation
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Duration
+import java.time.Instant
+
+class StationScheduleSpec extends Specification {
+
+    static final Instant T0 = Instant.parse('2026-10-20T16:00:00Z')
+
+    StationSchedule schedule = new StationSchedule()
+
+    @Unroll
+    def "finds the reservation in the way of #from to #to minutes"() {
+        given:
+        def first = reservation(0, 60)
+        def second = reservation(90, 120)
+        [first, second].each { schedule.put(it) }
+
+        expect:
+        schedule.conflict(at(from), at(to)).map { it.reservationId }.orElse(null) ==
+                [first: first, second: second][expected]?.reservationId
+
+        where:
+        from | to  | expected
+        -30  | 0   | null
+        -30  | 1   | 'first'
+        0    | 60  | 'first'
+        30   | 45  | 'first'
+        59   | 90  | 'first'
+        60   | 90  | null
+        60   | 91  | 'second'
+        -30  | 150 | 'second'
+        119  | 150 | 'second'
+        120  | 180 | null
+    }
+
+    def "finds no conflict on an empty schedule"() {
+        expect:
+        !schedule.conflict(at(0), at(60)).isPresent()
+    }
+
+    def "finds the free windows of a period that are long enough"() {
+        given:
+        schedule.put(reservation(-30, 15))
+        schedule.put(reservation(30, 60))
+        schedule.put(reservation(60, 90))
+        schedule.put(reservation(100, 150))
+
+        expect:
+        windows(0, 180, 11) == [[15, 30], [150, 180]]
+        windows(0, 180, 5) == [[15, 30], [90, 100], [150, 180]]
+        windows(40, 55, 1) == []
+        windows(160, 200, 60) == []
+    }
+
+    def "finds the whole period free on an empty schedule"() {
+        expect:
+        windows(0, 60, 60) == [[0, 60]]
+    }
+
+    def "lists the reservations overlapping a period, including one started before it"() {
+        given:
+        def first = reservation(0, 60)
+        def second = reservation(60, 90)
+        def third = reservation(120, 150)
+        [third, first, second].each { schedule.put(it) }
+
+        expect:
+        schedule.reservations(at(30), at(120))*.reservationId == [first, second]*.reservationId
+        schedule.reservations(at(90), at(120)) == []
+    }
+
+    def "drops the stale reservations a confirmed one overlaps"() {
+        given:
+        def stale = reservation(0, 60)
+        def untouched = reservation(60, 90)
+        schedule.put(stale)
+        schedule.put(untouched)
+
+        when:
+        def dropped = schedule.put(reservation(-30, 30))
+
+        then:
+        dropped*.reservationId == [stale.reservationId]
+        schedule.size() == 2
+    }
+
+    def "replaces a reservation by a later version of itself without reporting it"() {
+        given:
+        def original = reservation(0, 60)
+        schedule.put(original)
+
+        when:
+        def dropped = schedule.put(original.toBuilder().endsAt(at(45)).changeVersion(2).build())
+
+        then:
+        dropped.isEmpty()
+        schedule.size() == 1
+        !schedule.conflict(at(45), at(60)).isPresent()
+    }
+
+    def "removes a reservation only if it is still the one held"() {
+        given:
+        def held = reservation(0, 60)
+        schedule.put(held)
+
+        when:
+        schedule.remove(reservation(0, 60))
+
+        then:
+        schedule.size() == 1
+
+        when:
+        schedule.remove(held.toBuilder().status(ReservationStatus.CANCELLED).build())
+
+        then:
+        schedule.size() == 0
+    }
+
+    def "forgets the reservations that ended"() {
+        given:
+        [reservation(0, 60), reservation(60, 90), reservation(90, 120)].each { schedule.put(it) }
+
+        when:
+        schedule.removeEndedBefore(at(90))
+
+        then:
+        schedule.size() == 1
+        schedule.reservations(at(0), at(200))*.startsAt == [at(90)]
+    }
+
+    def "answers a conflict check among thousands of reservations"() {
+        given: 'back-to-back reservations of 10 minutes with a gap of 5 after each'
+        (0..<5_000).each { schedule.put(reservation(it * 15, it * 15 + 10)) }
+
+        expect:
+        schedule.conflict(at(2_500 * 15 + 10), at(2_500 * 15 + 15)).isEmpty()
+        schedule.conflict(at(2_500 * 15 + 9), at(2_500 * 15 + 15)).get().startsAt == at(2_500 * 15)
+        schedule.available('s1', at(0), at(150), Duration.ofMinutes(5)).size() == 10
+    }
+
+    private List<List<Long>> windows(long from, long to, long minMinutes) {
+        schedule.available('s1', at(from), at(to), Duration.ofMinutes(minMinutes)).collect {
+            assert it.stationId == 's1'
+            [Duration.between(T0, it.from).toMinutes(), Duration.between(T0, it.to).toMinutes()]
+        }
+    }
+
+    private static Instant at(long minutes) {
+        T0.plus(Duration.ofMinutes(minutes))
+    }
+
+    private static StationReservation reservation(long from, long to) {
+        StationReservation.builder().reservationId(UUID.randomUUID()).groupId(UUID.randomUUID()).stationId('s1')
+                .type(ReservationType.PLAY).startsAt(at(from)).endsAt(at(to)).status(ReservationStatus.CONFIRMED)
+                .changeVersion(1).build()
+    }
+}
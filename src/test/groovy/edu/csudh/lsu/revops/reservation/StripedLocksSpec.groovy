@@ -0,0 +1,146 @@
+package edu.csudh.lsu.revops.reservation
+
+import spock.lang.Specification
+import spock.lang.Timeout
+import spock.lang.Unroll
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class StripedLocksSpec extends Specification {
+
+    @Unroll
+    def "rounds #stripes stripes up to #expected"() {
+        expect:
+        new StripedLocks(stripes).size() == expected
+
+        where:
+        stripes | expected
+        0       | 1
+        1       | 1
+        2       | 2
+        3       | 4
+        64      | 64
+        65      | 128
+    }
+
+    def "locks the stripes of several keys once each, in order"() {
+        given:
+        def locks = new StripedLocks(4)
+        def keys = (1..50).collect { "station-$it" as String }
+
+        when:
+        def locked = locks.lockAll(keys + keys)
+
+        then:
+        locked as List == (locked as List).unique().sort()
+        locked.length <= 4
+
+        cleanup:
+        locks.unlockAll(locked)
+    }
+
+    def "lets the holder lock its keys again"() {
+        given:
+        def locks = new StripedLocks(8)
+        def outer = locks.lockAll(['s1', 's2'])
+
+        when:
+        def inner = locks.lockAll(['s1'])
+        locks.unlockAll(inner)
+        locks.unlockAll(outer)
+
+        then:
+        noExceptionThrown()
+    }
+
+    def "makes a writer to the same key wait"() {
+        given:
+        def locks = new StripedLocks(8)
+        def executor = Executors.newSingleThreadExecutor()
+        def locked = locks.lockAll(['s1'])
+        def acquired = new CountDownLatch(1)
+
+        when:
+        executor.submit({
+            def other = locks.lockAll(['s1'])
+            acquired.countDown()
+            locks.unlockAll(other)
+        } as Runnable)
+
+        then:
+        !acquired.await(100, TimeUnit.MILLISECONDS)
+
+        when:
+        locks.unlockAll(locked)
+
+        then:
+        acquired.await(5, TimeUnit.SECONDS)
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "does not make a writer to a key of another stripe wait"() {
+        given:
+        def locks = new StripedLocks(64)
+        def other = (1..1000).collect { "station-$it" as String }
+                .find { locks.lockAll([it]).with { stripe -> locks.unlockAll(stripe); stripe[0] } != stripeOf(locks, 's1') }
+        def executor = Executors.newSingleThreadExecutor()
+        def locked = locks.lockAll(['s1'])
+
+        when:
+        def future = executor.submit({
+            def stripe = locks.lockAll([other])
+            locks.unlockAll(stripe)
+            true
+        } as Callable)
+
+        then:
+        future.get(5, TimeUnit.SECONDS)
+
+        cleanup:
+        locks.unlockAll(locked)
+        executor.shutdownNow()
+    }
+
+    @Timeout(30)
+    def "does not deadlock callers locking overlapping keys in opposite orders"() {
+        given:
+        def locks = new StripedLocks(16)
+        def keys = (1..16).collect { "station-$it" as String }
+        def executor = Executors.newFixedThreadPool(4)
+        int counter = 0
+
+        when:
+        def futures = (0..<4).collect { worker ->
+            executor.submit({
+                def random = new Random(worker)
+                2_000.times {
+                    def subset = keys.findAll { random.nextBoolean() } + ['station-1']
+                    def locked = locks.lockAll(worker % 2 == 0 ? subset : subset.reverse())
+                    try {
+                        counter++
+                    } finally {
+                        locks.unlockAll(locked)
+                    }
+                }
+            } as Callable)
+        }
+        futures*.get(20, TimeUnit.SECONDS)
+
+        then: 'every worker held the stripe of station-1, so no increment was lost'
+        counter == 8_000
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    private static int stripeOf(StripedLocks locks, String key) {
+        def locked = locks.lockAll([key])
+        locks.unlockAll(locked)
+        locked[0]
+    }
+}
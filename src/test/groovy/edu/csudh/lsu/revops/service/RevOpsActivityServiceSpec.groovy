@@ -0,0 +1,130 @@
+package edu.csudh.lsu.revops.service
+
+import edu.csudh.lsu.revops.dao.ActivityDAO
+import edu.csudh.lsu.revops.journal.OutageJournal
+import edu.csudh.lsu.revops.model.ActivityResponse
+import edu.csudh.lsu.revops.model.ConditionalUpdateResult
+import edu.csudh.lsu.revops.model.JournaledWrite
+import edu.csudh.lsu.revops.utils.ApplicationConstants
+import edu.csudh.lsu.revops.venue.Venues
+import org.hibernate.exception.JDBCConnectionException
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.sql.SQLException
+
+import static edu.csudh.lsu.revops.model.ConditionalUpdateResult.Outcome.UNAVAILABLE
+import static edu.csudh.lsu.revops.model.ConditionalUpdateResult.Outcome.UPDATED
+
+class RevOpsActivityServiceSpec extends Specification {
+
+    static final UUID ID = UUID.fromString('7d0f7a52-4b6e-4f43-9a3c-0d3b5c1e2f10')
+
+    ActivityDAO activityDAO = Mock()
+    OutageJournal outageJournal = Mock()
+    Venues venues = Stub()
+    RevOpsActivityService service = new RevOpsActivityService()
+
+    def setup() {
+        venues.resolve(_) >> 'game-room'
+        service.activityDAO = activityDAO
+        service.outageJournal = outageJournal
+        service.venues = venues
+    }
+
+    @Unroll
+    def "rejects the conditional update #updates as invalid before writing it"() {
+        when:
+        service.updateActivityIfVersion(ID, updates, 41)
+
+        then:
+        thrown(IllegalArgumentException)
+        0 * activityDAO._
+        0 * outageJournal._
+
+        where:
+        updates << [[:], [colour: 'red'], [price: 'cheap']]
+    }
+
+    def "passes a valid conditional update to the database"() {
+        given:
+        def updated = new ConditionalUpdateResult(UPDATED, 42)
+
+        when:
+        def result = service.updateActivityIfVersion(ID, [price: 500], 41)
+
+        then:
+        1 * activityDAO.updateActivityIfVersion(ID, [price: 500], 41) >> updated
+        result.is(updated)
+    }
+
+    def "does not journal a conditional update while registered writes are waiting"() {
+        given:
+        outageJournal.isActive() >> true
+
+        when:
+        def result = service.updateActivityIfVersion(ID, [price: 500], 41)
+
+        then:
+        0 * activityDAO._
+        0 * outageJournal.register(*_)
+        result.outcome == UNAVAILABLE
+    }
+
+    def "does not journal a conditional update the database could not take"() {
+        given:
+        def failure = new JDBCConnectionException('connection refused', new SQLException('refused', '08001'))
+        activityDAO.updateActivityIfVersion(ID, _, 41) >> { throw failure }
+        outageJournal.isOutage(failure) >> true
+
+        when:
+        def result = service.updateActivityIfVersion(ID, [price: 500], 41)
+
+        then:
+        0 * outageJournal.register(*_)
+        result.outcome == UNAVAILABLE
+    }
+
+    def "lets an invalid partial update through as an IllegalArgumentException"() {
+        when:
+        service.partialUpdateActivity(ID, [price: 'cheap'])
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.message == 'Invalid value for field price: cheap'
+        0 * activityDAO._
+        0 * outageJournal._
+    }
+
+    def "journals a new activity whose commit was lost under the id of the live attempt"() {
+        given:
+        def activity = new ActivityResponse(activity: 'Pool', category: 'Billiards', price: 500)
+        def lost = new JDBCConnectionException('connection reset', new SQLException('reset', '08006'))
+        outageJournal.isOutage(lost) >> true
+        UUID attemptedId = null
+        JournaledWrite journaled = null
+
+        when:
+        def result = service.saveOrUpdateActivity(activity)
+
+        then:
+        1 * activityDAO.saveOrUpdateActivity(_) >> { ActivityResponse written ->
+            // The server may have committed before the connection dropped
+            attemptedId = written.id
+            throw lost
+        }
+        1 * outageJournal.register(_) >> { JournaledWrite write -> journaled = write }
+        result == ApplicationConstants.WRITE_REGISTERED
+        attemptedId != null
+        journaled.activityId == attemptedId
+        journaled.activity.id == attemptedId
+    }
+
+    def "keeps the id of an activity the client named"() {
+        when:
+        service.saveOrUpdateActivity(new ActivityResponse(id: ID, activity: 'Pool', category: 'Billiards', price: 500))
+
+        then:
+        1 * activityDAO.saveOrUpdateActivity({ it.id == ID }) >> 1
+    }
+}
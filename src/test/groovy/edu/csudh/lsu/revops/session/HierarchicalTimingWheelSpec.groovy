@@ -0,0 +1,142 @@
+package edu.csudh.lsu.revops.session
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class HierarchicalTimingWheelSpec extends Specification {
+
+    static final long TICK = 10
+    // Levels span 40, 160 and 640 ms
+    static final int SLOTS = 4
+    static final int LEVELS = 3
+
+    long now = 0
+    Map<String, Long> fired = [:]
+    HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(TICK, SLOTS, LEVELS, 0, { fired[it] = now })
+
+    @Unroll
+    def "fires a timeout due at #deadline ms on its tick, never early"() {
+        given:
+        wheel.schedule(deadline, 'timeout')
+
+        when:
+        turnTo(deadline + 3 * TICK)
+
+        then:
+        fired.timeout == expected
+
+        where:
+        deadline | expected
+        1        | 10
+        10       | 10
+        25       | 30
+        39       | 40
+        // Placed on level 1 and moved down once
+        150      | 150
+        159      | 160
+        // Placed on level 2 and moved down across both levels below
+        600      | 600
+        633      | 640
+        // Beyond the span of the top level, placed again on a later turn
+        5_000    | 5_000
+        12_345   | 12_350
+    }
+
+    def "fires every timeout on its tick whatever level it was placed on"() {
+        given:
+        def random = new Random(42)
+        Map<String, Long> deadlines = (0..<2_000).collectEntries { ["t$it".toString(), 1 + random.nextInt(3_000) as long] }
+        deadlines.each { name, deadline -> wheel.schedule(deadline, name) }
+
+        when:
+        turnTo(3_100)
+
+        then:
+        fired.size() == deadlines.size()
+        deadlines.every { name, deadline -> fired[name] == Math.ceil(deadline / TICK) * TICK }
+    }
+
+    def "fires timeouts scheduled while the wheel turns relative to the current tick"() {
+        given:
+        turnTo(1_000)
+
+        when:
+        wheel.schedule(1_170, 'late')
+        turnTo(1_300)
+
+        then:
+        fired.late == 1_170
+    }
+
+    def "fires every due timeout in deadline order when the wheel is turned by several ticks at once"() {
+        given:
+        def order = []
+        def jumping = new HierarchicalTimingWheel<String>(TICK, SLOTS, LEVELS, 0, { order << it })
+        [500, 20, 170, 40, 610].each { jumping.schedule(it, "t$it".toString()) }
+
+        when:
+        jumping.advance(1_000)
+
+        then:
+        order == ['t20', 't40', 't170', 't500', 't610']
+    }
+
+    def "fires a timeout whose deadline has passed on the next turn"() {
+        given:
+        turnTo(500)
+
+        when:
+        wheel.schedule(100, 'overdue')
+        wheel.advance(500)
+
+        then:
+        fired.overdue == 500
+    }
+
+    def "does not fire a cancelled timeout"() {
+        given:
+        def cancelled = wheel.schedule(150, 'cancelled')
+        wheel.schedule(150, 'kept')
+        turnTo(100)
+
+        when:
+        boolean wasPending = cancelled.cancel()
+        turnTo(400)
+
+        then:
+        wasPending
+        cancelled.isDone()
+        fired.keySet() == ['kept'] as Set
+    }
+
+    def "cannot cancel a timeout that has fired"() {
+        given:
+        def timeout = wheel.schedule(30, 'fired')
+        turnTo(30)
+
+        expect:
+        timeout.isDone()
+        !timeout.cancel()
+        fired.fired == 30
+    }
+
+    def "fires a timeout only once"() {
+        given:
+        int calls = 0
+        def counting = new HierarchicalTimingWheel<String>(TICK, SLOTS, LEVELS, 0, { calls++ })
+        counting.schedule(700, 'once')
+
+        when:
+        (1..300).each { counting.advance(it * TICK) }
+
+        then:
+        calls == 1
+    }
+
+    private void turnTo(long timeMs) {
+        while (now < timeMs) {
+            now += TICK
+            wheel.advance(now)
+        }
+    }
+}
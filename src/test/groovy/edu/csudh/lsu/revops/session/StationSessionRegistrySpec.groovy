@@ -0,0 +1,279 @@
+package edu.csudh.lsu.revops.session
+
+import edu.csudh.lsu.revops.dao.StationSessionDAO
+import edu.csudh.lsu.revops.model.MemberType
+import edu.csudh.lsu.revops.model.SessionQuote
+import edu.csudh.lsu.revops.model.StationSession
+import edu.csudh.lsu.revops.model.StationSessionEvent
+import edu.csudh.lsu.revops.model.StationSessionEventType
+import edu.csudh.lsu.revops.model.StationSessionRequest
+import edu.csudh.lsu.revops.pricing.PricingEngine
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.context.ApplicationEventPublisher
+import org.springframework.dao.DataAccessResourceFailureException
+import org.springframework.dao.DuplicateKeyException
+import spock.lang.Specification
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.time.Instant
+import java.time.temporal.ChronoUnit
+import java.util.concurrent.CopyOnWriteArrayList
+
+class StationSessionRegistrySpec extends Specification {
+
+    StationSessionDAO stationSessionDAO = Mock()
+    PricingEngine pricingEngine = Stub()
+    ShiftCalendar shiftCalendar = Stub()
+    List<StationSessionEvent> events = new CopyOnWriteArrayList<>()
+    StationSessionRegistry registry = new StationSessionRegistry()
+    PollingConditions conditions = new PollingConditions(timeout: 5)
+
+    def setup() {
+        pricingEngine.quote(_) >> { args -> new SessionQuote(args[0].sessionId, args[0].minutes, args[0].minutes, 100, 1) }
+        shiftCalendar.shiftStart(_) >> Instant.EPOCH
+        registry.stationSessionDAO = stationSessionDAO
+        registry.pricingEngine = pricingEngine
+        registry.shiftCalendar = shiftCalendar
+        registry.applicationEventPublisher = { events << it } as ApplicationEventPublisher
+        registry.meterRegistry = new SimpleMeterRegistry()
+        registry.tickMs = 10
+        registry.wheelSlots = 64
+        registry.wheelLevels = 4
+        registry.warnBeforeMinutes = 5
+        registry.recoveryGraceMinutes = 5
+        registry.maxMinutes = 480
+        registry.endRetryMs = 100
+        registry.endRetryMaxMs = 200
+        registry.init()
+    }
+
+    def cleanup() {
+        registry.shutdown()
+    }
+
+    def "starts a session and occupies the station"() {
+        when:
+        def session = registry.start('pool-1', new StationSessionRequest(null, 'Billiards', 'm-1', null, 60))
+
+        then:
+        1 * stationSessionDAO.insertSession({ it.stationId == 'pool-1' })
+        session.memberType == MemberType.GUEST
+        Duration.between(session.startedAt, session.expiresAt) == Duration.ofMinutes(60)
+        registry.isOccupied('pool-1')
+        registry.occupiedCount() == 1
+        registry.occupiedCount('Billiards') == 1
+        events*.type == [StationSessionEventType.STARTED]
+    }
+
+    def "rejects a second session on a station in use"() {
+        given:
+        registry.start('pool-1', request(60))
+
+        when:
+        registry.start('pool-1', request(30))
+
+        then:
+        thrown(IllegalStateException)
+        0 * stationSessionDAO.insertSession(_)
+    }
+
+    def "frees the station when another node already holds an open session on it"() {
+        given:
+        stationSessionDAO.insertSession(_) >> { throw new DuplicateKeyException('idx_activity_session_open_station') }
+
+        when:
+        registry.start('pool-1', request(60))
+
+        then:
+        thrown(IllegalStateException)
+        registry.occupiedCount() == 0
+        registry.sessions().isEmpty()
+    }
+
+    def "adopts the open session another node started when asked about its station"() {
+        given:
+        def stored = session('pool-1', 30)
+
+        when:
+        def found = registry.get('pool-1')
+        def again = registry.get('pool-1')
+
+        then:
+        1 * stationSessionDAO.fetchOpenSession('pool-1') >> Optional.of(stored)
+        found.get().sessionId == stored.sessionId
+        again.get().sessionId == stored.sessionId
+        registry.occupiedCount('Billiards') == 1
+    }
+
+    def "reports a station without a stored open session as free"() {
+        when:
+        def found = registry.get('pool-1')
+
+        then:
+        1 * stationSessionDAO.fetchOpenSession('pool-1') >> Optional.empty()
+        found.isEmpty()
+        registry.occupiedCount() == 0
+    }
+
+    def "ends a session started through another node"() {
+        given:
+        def stored = session('pool-1', 30)
+        stationSessionDAO.fetchOpenSession('pool-1') >> Optional.of(stored)
+
+        when:
+        def quote = registry.end('pool-1')
+
+        then:
+        1 * stationSessionDAO.endSession(stored.sessionId, _, Instant.EPOCH, StationSessionRegistry.END_REASON_ENDED, _, false) >> 1
+        quote.get().sessionId == stored.sessionId
+        registry.occupiedCount() == 0
+        events*.type == [StationSessionEventType.ENDED]
+    }
+
+    def "drops a session that was already ended through another node"() {
+        given:
+        def started = registry.start('pool-1', request(60))
+
+        when:
+        def quote = registry.end('pool-1')
+
+        then:
+        1 * stationSessionDAO.endSession(started.sessionId, *_) >> 0
+        quote.isEmpty()
+        registry.occupiedCount() == 0
+        events*.type == [StationSessionEventType.STARTED]
+    }
+
+    def "writes an extension conditional on the expiry it extends"() {
+        given:
+        def started = registry.start('pool-1', request(60))
+
+        when:
+        def extended = registry.extend('pool-1', 30)
+
+        then:
+        1 * stationSessionDAO.extendSession(started.sessionId, started.expiresAt, started.expiresAt.plus(Duration.ofMinutes(30))) >> 1
+        extended.get().expiresAt == started.expiresAt.plus(Duration.ofMinutes(30))
+        registry.get('pool-1').get().expiresAt == extended.get().expiresAt
+        events*.type == [StationSessionEventType.STARTED, StationSessionEventType.EXTENDED]
+    }
+
+    def "extends the stored session when another node extended it meanwhile"() {
+        given:
+        def started = registry.start('pool-1', request(60))
+        def stored = started.toBuilder().expiresAt(started.expiresAt.plus(Duration.ofMinutes(15))).build()
+
+        when:
+        def extended = registry.extend('pool-1', 30)
+
+        then:
+        1 * stationSessionDAO.extendSession(started.sessionId, started.expiresAt, _) >> 0
+        1 * stationSessionDAO.fetchOpenSession('pool-1') >> Optional.of(stored)
+        1 * stationSessionDAO.extendSession(started.sessionId, stored.expiresAt, stored.expiresAt.plus(Duration.ofMinutes(30))) >> 1
+        extended.get().expiresAt == stored.expiresAt.plus(Duration.ofMinutes(30))
+        registry.occupiedCount() == 1
+    }
+
+    def "keeps the session unchanged when the extension cannot be written"() {
+        given:
+        def started = registry.start('pool-1', request(60))
+        stationSessionDAO.extendSession(*_) >> { throw new DataAccessResourceFailureException('down') }
+
+        when:
+        registry.extend('pool-1', 30)
+
+        then:
+        thrown(DataAccessResourceFailureException)
+        registry.get('pool-1').get().expiresAt == started.expiresAt
+    }
+
+    def "rejects an extension past the longest session"() {
+        given:
+        registry.start('pool-1', request(470))
+
+        when:
+        registry.extend('pool-1', 30)
+
+        then:
+        thrown(IllegalArgumentException)
+        0 * stationSessionDAO.extendSession(*_)
+    }
+
+    def "ends an expired session only if its stored expiry has passed"() {
+        given:
+        def stored = session('pool-1', -1)
+        stationSessionDAO.fetchOpenSession('pool-1') >> Optional.of(stored)
+
+        when:
+        registry.get('pool-1')
+        conditions.eventually {
+            assert events*.type == [StationSessionEventType.WARNING, StationSessionEventType.EXPIRED]
+        }
+
+        then:
+        1 * stationSessionDAO.endSession(stored.sessionId, _, _, StationSessionRegistry.END_REASON_EXPIRED, _, true) >> 1
+        registry.occupiedCount() == 0
+    }
+
+    def "backs off between attempts to end an expired session"() {
+        given:
+        List<Long> attempts = new CopyOnWriteArrayList<>()
+        int failures = 2
+        stationSessionDAO.fetchOpenSession('pool-1') >> Optional.of(session('pool-1', -1))
+        stationSessionDAO.endSession(*_) >> {
+            attempts << System.currentTimeMillis()
+            if (attempts.size() <= failures) {
+                throw new DataAccessResourceFailureException('down')
+            }
+            1
+        }
+
+        when:
+        registry.get('pool-1')
+
+        then:
+        conditions.eventually {
+            assert events*.type.contains(StationSessionEventType.EXPIRED)
+        }
+        attempts.size() == 3
+        // Retried after endRetryMs, then after twice that, instead of on every tick
+        attempts[1] - attempts[0] >= 90
+        attempts[2] - attempts[1] >= 190
+        registry.occupiedCount() == 0
+    }
+
+    def "gives a recovered session whose expiry passed a grace period"() {
+        given:
+        def expired = session('pool-1', -10)
+        def changed = session('pool-2', -10)
+        def running = session('pool-3', 30)
+        stationSessionDAO.fetchOpenSessions() >> [expired, changed, running]
+
+        when:
+        registry.recoverOpenSessions()
+
+        then:
+        1 * stationSessionDAO.extendSession(expired.sessionId, expired.expiresAt, { it.isAfter(Instant.now().plus(Duration.ofMinutes(4))) }) >> 1
+        1 * stationSessionDAO.extendSession(changed.sessionId, changed.expiresAt, _) >> 0
+        0 * stationSessionDAO.extendSession(running.sessionId, *_)
+        registry.sessions()*.stationId.sort() == ['pool-1', 'pool-3']
+        registry.occupiedCount() == 2
+    }
+
+    private static StationSessionRequest request(int minutes) {
+        new StationSessionRequest(null, 'Billiards', 'm-1', MemberType.STUDENT, minutes)
+    }
+
+    private static StationSession session(String stationId, int minutesLeft) {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS)
+        StationSession.builder()
+                .sessionId(UUID.randomUUID())
+                .stationId(stationId)
+                .category('Billiards')
+                .memberType(MemberType.STUDENT)
+                .startedAt(now.minus(Duration.ofMinutes(30)))
+                .expiresAt(now.plus(Duration.ofMinutes(minutesLeft)))
+                .build()
+    }
+}
@@ -0,0 +1,196 @@
+package edu.csudh.lsu.revops.timeseries
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class MinuteColumnSpec extends Specification {
+
+    static final int HOUR = MinuteColumn.BLOCK_MINUTES
+    // First minute of an arbitrary hour, counted from the epoch
+    static final long BASE = 490_000L * HOUR
+
+    @Unroll
+    def "reads back a sealed hour of #description"() {
+        given:
+        def column = new MinuteColumn(4)
+        column.write(BASE, values, 0, HOUR, false)
+
+        when: 'a later hour starts, sealing the first'
+        column.add(BASE + HOUR, 1)
+
+        then:
+        minutes(column, BASE, HOUR) == values as List
+        hourly(column, BASE, 1) == [values.sum() as long]
+
+        where:
+        description                    | values
+        'zeros'                        | hour { 0L }
+        'a constant'                   | hour { 7L }
+        'rising values'                | hour { it * 3L }
+        'falling values'               | hour { 1_000L - it * 17L }
+        'alternating signs'            | hour { it % 2 == 0 ? -5L : 5L }
+        'negative values'              | hour { -it * 1_000_000L }
+        'sparse spikes'                | hour { it % 15 == 0 ? 250_000L : 0L }
+        'deltas of the widest width'   | hour { it % 2 == 0 ? Long.MAX_VALUE : Long.MIN_VALUE }
+        'a single extreme minute'      | hour { it == 59 ? Long.MIN_VALUE : 0L }
+        'deltas of 2^61'               | hour { it % 2 == 0 ? (1L << 60) : -(1L << 60) }
+        'deltas of 2^62'               | hour { it % 2 == 0 ? (1L << 61) : -(1L << 61) }
+    }
+
+    def "packs a block at the width of its widest delta"() {
+        given:
+        def quiet = new MinuteColumn(1)
+        def busy = new MinuteColumn(1)
+        def empty = new MinuteColumn(1)
+
+        when:
+        quiet.write(BASE, hour { it % 2 }, 0, HOUR, false)
+        busy.write(BASE, hour { it % 2 == 0 ? Long.MAX_VALUE : Long.MIN_VALUE }, 0, HOUR, false)
+        [quiet, busy, empty].each { it.add(BASE + HOUR, 0) }
+
+        then: 'two bits a minute for deltas of -1 and 1, 64 bits for the widest, nothing for an empty hour'
+        quiet.sizeInBytes() - empty.sizeInBytes() == 16 + 2 * Long.BYTES
+        busy.sizeInBytes() - empty.sizeInBytes() == 16 + HOUR * Long.BYTES
+    }
+
+    def "adds to a minute of a sealed hour"() {
+        given:
+        def column = new MinuteColumn(4)
+        column.add(BASE + 10, 5)
+        column.add(BASE + HOUR, 1)
+
+        when:
+        column.add(BASE + 10, -8)
+        column.add(BASE + 11, 2)
+
+        then:
+        minutes(column, BASE + 9, 4) == [0, -3, 2, 0]
+        hourly(column, BASE, 2) == [-1, 1]
+    }
+
+    def "replaces the values of minutes across hours"() {
+        given:
+        def column = new MinuteColumn(4)
+        column.write(BASE, ([1L] * (2 * HOUR)) as long[], 0, 2 * HOUR, false)
+
+        when:
+        column.write(BASE + HOUR - 2, [9L, 9L, 9L, 9L] as long[], 0, 4, true)
+
+        then:
+        minutes(column, BASE + HOUR - 3, 6) == [1, 9, 9, 9, 9, 1]
+        hourly(column, BASE, 2) == [HOUR - 2 + 18, HOUR - 2 + 18]
+    }
+
+    def "totals buckets that are not aligned to hours"() {
+        given:
+        def column = new MinuteColumn(4)
+        (0..<3 * HOUR).each { column.add(BASE + it, it) }
+        def out = new long[4]
+
+        when:
+        column.sum(BASE + 30, 45, out)
+
+        then: 'the last bucket runs past the minutes written'
+        out as List == (0..<4).collect { bucket ->
+            (30 + bucket * 45..<30 + (bucket + 1) * 45).findAll { it < 3 * HOUR }.sum() as long
+        }
+    }
+
+    def "totals buckets spanning several hours from the sums of sealed hours"() {
+        given:
+        def column = new MinuteColumn(24)
+        (0..<10 * HOUR).each { column.add(BASE + it, 2) }
+        def out = new long[3]
+
+        when:
+        column.sum(BASE, 4 * HOUR, out)
+
+        then: 'the last bucket covers the two hours written and two not written yet'
+        out as List == [4 * HOUR * 2, 4 * HOUR * 2, 2 * HOUR * 2]
+    }
+
+    def "totals the hours on both sides of the wrap of the ring"() {
+        given:
+        def column = new MinuteColumn(3)
+
+        when: 'the ring of three hours has wrapped twice'
+        (0..<7).each { hourIndex -> column.add(BASE + hourIndex * HOUR + 5, hourIndex + 1) }
+
+        then:
+        hourly(column, BASE + 3 * HOUR, 4) == [4, 5, 6, 7]
+        sumOf(column, BASE + 3 * HOUR + 5, 3 * HOUR + 1) == 4 + 5 + 6 + 7
+    }
+
+    def "evicts the hours older than the retention"() {
+        given:
+        def column = new MinuteColumn(3)
+        (0..<5).each { hourIndex -> column.add(BASE + hourIndex * HOUR, 10) }
+
+        expect: 'the open hour and the three sealed before it are kept'
+        hourly(column, BASE, 5) == [0, 10, 10, 10, 10]
+    }
+
+    def "drops writes older than the retention"() {
+        given:
+        def column = new MinuteColumn(2)
+        column.add(BASE + 3 * HOUR, 1)
+
+        when:
+        column.add(BASE, 100)
+        column.write(BASE + HOUR - 1, [7L, 7L] as long[], 0, 2, false)
+
+        then:
+        hourly(column, BASE, 4) == [0, 7, 0, 1]
+    }
+
+    def "clears the hours skipped when writes resume after a gap"() {
+        given:
+        def column = new MinuteColumn(4)
+        (0..<4).each { hourIndex -> column.add(BASE + hourIndex * HOUR, 3) }
+
+        when: 'nothing was written for two hours'
+        column.add(BASE + 6 * HOUR, 1)
+
+        then:
+        hourly(column, BASE, 7) == [0, 0, 3, 3, 0, 0, 1]
+
+        when: 'nothing was written for longer than the retention'
+        column.add(BASE + 20 * HOUR, 2)
+
+        then:
+        hourly(column, BASE + 14 * HOUR, 7) == [0, 0, 0, 0, 0, 0, 2]
+    }
+
+    def "counts minutes outside the window as zero"() {
+        given:
+        def column = new MinuteColumn(2)
+        column.add(BASE + 5, 4)
+
+        expect:
+        sumOf(column, BASE - 10 * HOUR, 20 * HOUR) == 4
+        sumOf(column, BASE + HOUR, HOUR) == 0
+        new MinuteColumn(2).with { sumOf(it, BASE, HOUR) } == 0
+    }
+
+    private static long[] hour(Closure<Long> value) {
+        (0..<HOUR).collect { value(it) as long } as long[]
+    }
+
+    private static List<Long> minutes(MinuteColumn column, long from, int count) {
+        def out = new long[count]
+        column.sum(from, 1, out)
+        out as List
+    }
+
+    private static List<Long> hourly(MinuteColumn column, long from, int hours) {
+        def out = new long[hours]
+        column.sum(from, HOUR, out)
+        out as List
+    }
+
+    private static long sumOf(MinuteColumn column, long from, int minutes) {
+        def out = new long[1]
+        column.sum(from, minutes, out)
+        out[0]
+    }
+}
@@ -0,0 +1,111 @@
+package edu.csudh.lsu.revops.visitor
+
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class HyperLogLogSpec extends Specification {
+
+    static final int PRECISION = HyperLogLog.DEFAULT_PRECISION
+    static final double STANDARD_ERROR = HyperLogLog.relativeStandardError(PRECISION)
+
+    @Unroll
+    def "estimates #exact distinct members within three standard errors"() {
+        given:
+        def sketch = new HyperLogLog(PRECISION)
+
+        when:
+        members(exact, 0).each { sketch.add(it) }
+
+        then:
+        Math.abs(sketch.estimate() - exact) <= 3 * STANDARD_ERROR * exact
+
+        where:
+        exact << [10, 100, 1_000, 10_000, 100_000, 1_000_000]
+    }
+
+    def "keeps the root mean square error near the documented standard error"() {
+        given:
+        int trials = 40
+        int exact = 50_000
+        double squaredErrors = 0
+
+        when:
+        trials.times { trial ->
+            def sketch = new HyperLogLog(PRECISION)
+            members(exact, trial * exact).each { sketch.add(it) }
+            double relativeError = (sketch.estimate() - exact) / exact
+            squaredErrors += relativeError * relativeError
+        }
+        double rootMeanSquareError = Math.sqrt(squaredErrors / trials)
+
+        then:
+        STANDARD_ERROR < 0.0163
+        rootMeanSquareError <= 1.5 * STANDARD_ERROR
+    }
+
+    def "counts a member seen many times once"() {
+        given:
+        def sketch = new HyperLogLog(PRECISION)
+
+        when:
+        5.times { members(1_000, 0).each { sketch.add(it) } }
+
+        then:
+        Math.abs(sketch.estimate() - 1_000) <= 3 * STANDARD_ERROR * 1_000
+    }
+
+    def "merges overlapping sketches into the sketch of their union"() {
+        given:
+        def week = (0..<7).collect { day ->
+            def sketch = new HyperLogLog(PRECISION)
+            // Each day a third new members and the rest returning from the previous days
+            members(30_000, day * 10_000).each { sketch.add(it) }
+            sketch
+        }
+        def union = new HyperLogLog(PRECISION)
+        members(90_000, 0).each { union.add(it) }
+
+        when:
+        def merged = new HyperLogLog(PRECISION)
+        week.each { merged.merge(it) }
+        week.each { merged.merge(it) }
+
+        then:
+        merged == union
+        Math.abs(merged.estimate() - 90_000) <= 3 * STANDARD_ERROR * 90_000
+    }
+
+    def "refuses to merge sketches of different precision"() {
+        when:
+        new HyperLogLog(12).merge(new HyperLogLog(10))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    @Unroll
+    def "restores a sketch of #exact members from its #format form of at most #maxBytes bytes"() {
+        given:
+        def sketch = new HyperLogLog(PRECISION)
+        members(exact, 0).each { sketch.add(it) }
+
+        when:
+        byte[] bytes = sketch.toBytes()
+
+        then:
+        bytes[0] == formatByte
+        bytes.length <= maxBytes
+        HyperLogLog.fromBytes(bytes) == sketch
+        HyperLogLog.fromBytes(bytes).estimate() == sketch.estimate()
+
+        where:
+        exact   | format   | formatByte | maxBytes
+        0       | 'sparse' | 0          | 2
+        300     | 'sparse' | 0          | 2 + 3 * 300
+        100_000 | 'dense'  | 1          | 2 + 3 * 1024
+    }
+
+    private static List<String> members(int count, int firstId) {
+        (firstId..<(firstId + count)).collect { String.format('%09d', 100_000_000 + it) }
+    }
+}